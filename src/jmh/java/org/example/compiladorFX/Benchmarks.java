@@ -0,0 +1,35 @@
+package org.example.compiladorFX;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Utilidades comunes de los benchmarks de JMH.
+ * <p>
+ * Los benchmarks no forman parte de la aplicación: se compilan solo con el perfil {@code jmh} de Maven, que agrega
+ * {@code src/jmh/java} a las fuentes de prueba, y se ejecutan con JMH en una JVM aparte:
+ * {@code mvn -P jmh test-compile exec:exec -Djmh.args="EngineBenchmark -prof gc"}. Sin {@code jmh.args} se corren
+ * todos. El perfilador {@code gc} agrega los bytes asignados por operación ({@code gc.alloc.rate.norm}).
+ */
+final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Analiza un programa como las interfaces, con los identificadores internados.
+     */
+    static gParser.ProgramContext parse(String code) {
+        gParser parser = new gParser(new CommonTokenStream(new SymbolDictionary().install(new gLexer(CharStreams.fromString(code)))));
+        return parser.program();
+    }
+
+    static String read(String file) throws IOException {
+        return new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8);
+    }
+}
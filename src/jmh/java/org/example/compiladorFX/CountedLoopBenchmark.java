@@ -0,0 +1,66 @@
+package org.example.compiladorFX;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide los for con forma de ciclo contado en {@link MyVisitorFX}, con y sin el camino rápido
+ * ({@link MyVisitorFX#setCountedLoops}).
+ * <p>
+ * Dos for anidados de la forma {@code for (int i = 0; i < n; i++)} con un cuerpo corto, para que pese lo que cuesta
+ * evaluar la condición y la actualización en cada vuelta; el ciclo interno da {@code laps} vueltas por cada vuelta
+ * del externo. Conviene medir sin activar las categorías de {@link Trace}.
+ * <p>
+ * Uso: {@code -Djmh.args="CountedLoopBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CountedLoopBenchmark {
+
+    @Param("300")
+    public int laps;
+
+    @Param({"true", "false"})
+    public boolean counted;
+
+    private gParser.ProgramContext tree;
+
+    static String program(int laps) {
+        return "int n = " + laps + ";\n"
+                + "double s = 0;\n"
+                + "for (int i = 0; i < n; i++) {\n"
+                + "    for (int j = 0; j < n; j++) {\n"
+                + "        s += j;\n"
+                + "    }\n"
+                + "}\n"
+                + "print(s);\n";
+    }
+
+    @Setup
+    public void setUp() {
+        tree = Benchmarks.parse(program(laps));
+    }
+
+    @Benchmark
+    public String run() {
+        MyVisitorFX visitor = new MyVisitorFX("", "");
+        visitor.setCountedLoops(counted);
+        visitor.visit(tree);
+        return visitor.getTextOut();
+    }
+}
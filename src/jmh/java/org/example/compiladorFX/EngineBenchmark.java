@@ -0,0 +1,137 @@
+package org.example.compiladorFX;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de los modos de ejecución: tiempo por ejecución de un script ya bajado y optimizado. Con
+ * {@code -prof gc} se agregan los bytes asignados por ejecución.
+ * <p>
+ * Con {@code file} vacío usa la serie de pi de test.lang con más términos. {@code hoist}, {@code inline} y
+ * {@code memo} en false desactivan el movimiento de invariantes, la copia de funciones en las llamadas y la
+ * memoización de funciones puras, para comparar con y sin cada optimización. Con memoización cada ejecución empieza
+ * con la caché vacía. Los closures y el bytecode se construyen una sola vez: cada ejecución reutiliza el código ya
+ * optimizado por el JIT.
+ * <p>
+ * Uso: {@code -Djmh.args="EngineBenchmark -p mode=closures,bytecode -p file=programa.lang -p memo=false"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineBenchmark {
+
+    static final String PI_SERIES = "int nTerminos = 20000;\n"
+            + "double pi = 0;\n"
+            + "for (int i = 0; i < nTerminos; i++) {\n"
+            + "    pi += (-1 ^ i) / (2 * i + 1);\n"
+            + "}\n"
+            + "pi = pi * 4;\n"
+            + "print(pi);\n";
+
+    /**
+     * Un modo de ejecución: ejecuta el programa ya bajado y devuelve la salida.
+     */
+    interface Runner {
+        String run();
+    }
+
+    @Param({"ast-boxed", "ast-specialized", "closures", "register-vm", "bytecode"})
+    public String mode;
+
+    @Param("")
+    public String file;
+
+    @Param("true")
+    public boolean hoist;
+
+    @Param("true")
+    public boolean inline;
+
+    @Param("true")
+    public boolean memo;
+
+    private Runner runner;
+
+    @Setup
+    public void setUp() throws IOException {
+        Engine.Options options = new Engine.Options();
+        options.setHoistInvariants(hoist);
+        if (!inline) {
+            options.setInlineThreshold(0);
+        }
+        if (!memo) {
+            options.setMemoCapacity(0);
+        }
+        String code = file.isEmpty() ? PI_SERIES : Benchmarks.read(file);
+        Ast.Program program = Engine.prepare(Benchmarks.parse(code), options, new StringBuilder());
+        runner = runner(mode, program, options);
+    }
+
+    @Benchmark
+    public String run() {
+        return runner.run();
+    }
+
+    static Runner runner(String mode, Ast.Program program, Engine.Options options) {
+        switch (mode) {
+            case "ast-boxed":
+                return () -> {
+                    AstInterpreter interpreter = new AstInterpreter(program);
+                    interpreter.setSpecialized(false);
+                    interpreter.setMemoCache(Engine.memoCache(options));
+                    interpreter.run();
+                    return interpreter.getTextOut();
+                };
+            case "ast-specialized":
+                return () -> {
+                    AstInterpreter interpreter = new AstInterpreter(program);
+                    interpreter.setMemoCache(Engine.memoCache(options));
+                    interpreter.run();
+                    return interpreter.getTextOut();
+                };
+            case "closures": {
+                ClosureInterpreter interpreter = new ClosureInterpreter(program);
+                return () -> {
+                    interpreter.setMemoCache(Engine.memoCache(options));
+                    interpreter.run();
+                    return interpreter.getTextOut();
+                };
+            }
+            case "register-vm": {
+                RegisterCode code = RegisterCompiler.compile(program);
+                return () -> {
+                    RegisterVM vm = new RegisterVM(code);
+                    vm.setMemoCache(Engine.memoCache(options));
+                    vm.run();
+                    return vm.getTextOut();
+                };
+            }
+            case "bytecode": {
+                BytecodeCompiler.CompiledProgram compiled = BytecodeCompiler.compile(program, Engine.memoCache(options) != null);
+                return () -> {
+                    BytecodeRuntime runtime = new BytecodeRuntime();
+                    runtime.setMemoCache(Engine.memoCache(options));
+                    compiled.run(runtime);
+                    return runtime.getTextOut();
+                };
+            }
+            default:
+                throw new IllegalArgumentException("Modo desconocido: " + mode);
+        }
+    }
+}
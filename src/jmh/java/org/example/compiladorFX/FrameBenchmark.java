@@ -0,0 +1,78 @@
+package org.example.compiladorFX;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide {@link AstInterpreter} con ranuras primitivas en los ámbitos y con todas las ranuras como referencia
+ * ({@link AstInterpreter#setPrimitiveFrames}).
+ * <p>
+ * Cada vuelta incrementa un int local, acumula en un double local y llama a una función con un parámetro int y otro
+ * double que declara un local de cada tipo. Con referencias cada asignación numérica crea un Double y cada llamada un
+ * arreglo de argumentos; con ranuras primitivas queda solo el marco de la llamada y el ámbito del cuerpo del ciclo.
+ * El ciclo está dentro de una función para que sus variables sean locales. Se corre sin copiar funciones en las
+ * llamadas, para que la llamada no desaparezca. Con {@code -prof gc}, {@code gc.alloc.rate.norm} dividido por
+ * {@code laps} da los bytes por vuelta.
+ * <p>
+ * Uso: {@code -Djmh.args="FrameBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameBenchmark {
+
+    @Param("10000")
+    public int laps;
+
+    @Param({"true", "false"})
+    public boolean primitive;
+
+    private Ast.Program program;
+
+    static String program(int laps) {
+        return "double paso(int i, double s) {\n"
+                + "    int doble = i * 2;\n"
+                + "    double mitad = s / 2;\n"
+                + "    return doble + mitad;\n"
+                + "}\n"
+                + "double ciclo(int n) {\n"
+                + "    int i = 0;\n"
+                + "    double s = 0;\n"
+                + "    while (i < n) {\n"
+                + "        s += paso(i, s) / n;\n"
+                + "        i++;\n"
+                + "    }\n"
+                + "    return s;\n"
+                + "}\n"
+                + "print(ciclo(" + laps + "));\n";
+    }
+
+    @Setup
+    public void setUp() {
+        Engine.Options options = new Engine.Options();
+        options.setInlineThreshold(0);
+        program = Engine.prepare(Benchmarks.parse(program(laps)), options, new StringBuilder());
+    }
+
+    @Benchmark
+    public String run() {
+        AstInterpreter interpreter = new AstInterpreter(program);
+        interpreter.setPrimitiveFrames(primitive);
+        interpreter.run();
+        return interpreter.getTextOut();
+    }
+}
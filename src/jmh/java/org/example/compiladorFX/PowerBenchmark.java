@@ -0,0 +1,138 @@
+package org.example.compiladorFX;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de {@link AstInterpreter#intPower} frente a {@link Math#pow} para las potencias que
+ * {@link AstOptimizer} reduce: {@code (-1)^i}, {@code x^2} y potencias de bases enteras. El tiempo es por potencia.
+ * <p>
+ * Antes de medir verifica que los dos den el mismo resultado bit a bit sobre valores especiales y aleatorios; si
+ * alguno difiere, el benchmark falla.
+ * <p>
+ * Uso: {@code -Djmh.args="PowerBenchmark -p pattern=signo,cuadrado"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PowerBenchmark {
+
+    private static final int SIZE = 4096;
+
+    /**
+     * signo: (-1)^i de la serie de pi; cuadrado: x^2; cubo: cubo de un entero; entera: potencias enteras pequeñas;
+     * decimales: base con decimales, que usa Math.pow.
+     */
+    @Param({"signo", "cuadrado", "cubo", "entera", "decimales"})
+    public String pattern;
+
+    private final double[] bases = new double[SIZE];
+    private final double[] exponents = new double[SIZE];
+
+    @Setup
+    public void setUp() {
+        long mismatches = verify();
+        if (mismatches > 0) {
+            throw new IllegalStateException("Resultados distintos de Math.pow: " + mismatches);
+        }
+        for (int i = 0; i < SIZE; i++) {
+            switch (pattern) {
+                case "signo":
+                    bases[i] = -1;
+                    exponents[i] = i;
+                    break;
+                case "cuadrado":
+                    bases[i] = i * 0.001;
+                    exponents[i] = 2;
+                    break;
+                case "cubo":
+                    bases[i] = i % 1000;
+                    exponents[i] = 3;
+                    break;
+                case "entera":
+                    bases[i] = i % 50 - 25;
+                    exponents[i] = i % 12;
+                    break;
+                case "decimales":
+                    bases[i] = 1 + i * 1e-7;
+                    exponents[i] = 7;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Patron desconocido: " + pattern);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double pow() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            sum += Math.pow(bases[i], exponents[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public double intPower() {
+        double sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            sum += AstInterpreter.intPower(bases[i], exponents[i]);
+        }
+        return sum;
+    }
+
+    /**
+     * Compara intPower con Math.pow sobre bases especiales, enteras y aleatorias.
+     *
+     * @return La cantidad de resultados distintos.
+     */
+    static long verify() {
+        double[] special = {0.0, -0.0, 1.0, -1.0, 2.0, -2.0, 3.0, 10.0, -7.0, 0.5, -0.5, 1e-300, 1e300,
+                Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE, Double.MAX_VALUE,
+                0x1p26, 0x1p26 + 1, 0x1p53, 0x1p53 - 1, 94906265.0, 94906267.0};
+        double[] exponents = {-1e20, -1075, -64, -3, -2, -1, 0, 1, 2, 3, 4, 5, 7, 31, 32, 52, 53, 63, 64, 1023, 1024,
+                1075, 1e9, 0x1p53, 0x1p63, 1e20, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN};
+        long mismatches = 0;
+        for (double base : special) {
+            for (double exponent : exponents) {
+                mismatches += same(base, exponent) ? 0 : 1;
+            }
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000_000; i++) {
+            double base = i % 3 == 0 ? random.nextInt(2_000_001) - 1_000_000
+                    : i % 3 == 1 ? random.nextInt(201) - 100 : (random.nextDouble() - 0.5) * 1e3;
+            double exponent = random.nextInt(80) - 10;
+            mismatches += same(base, exponent) ? 0 : 1;
+        }
+        return mismatches;
+    }
+
+    private static boolean same(double base, double exponent) {
+        double expected = Math.pow(base, exponent);
+        double actual = AstInterpreter.intPower(base, exponent);
+        boolean equal = Double.doubleToLongBits(expected) == Double.doubleToLongBits(actual);
+        if (!equal) {
+            System.out.println("  " + base + " ^ " + exponent + ": Math.pow = " + expected + ", intPower = " + actual);
+        }
+        return equal;
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.compiladorFX;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide {@link MyVisitorFX} con y sin la reutilización de los ámbitos ({@link MyVisitorFX#setPooled}).
+ * <p>
+ * El ciclo declara una variable en el cuerpo y tiene un if sin declaraciones. Las trazas de errorOut se generan igual
+ * en los dos casos, así que la diferencia por vuelta es lo que ahorran las tablas y los símbolos reutilizados y el
+ * bloque sin tabla: con {@code -prof gc}, {@code gc.alloc.rate.norm} dividido por {@code laps} da los bytes por
+ * vuelta. Conviene medir sin activar las categorías de {@link Trace}.
+ * <p>
+ * Uso: {@code -Djmh.args="ScopeBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScopeBenchmark {
+
+    @Param("1000")
+    public int laps;
+
+    @Param({"true", "false"})
+    public boolean pooled;
+
+    private gParser.ProgramContext tree;
+
+    static String program(int laps) {
+        return "int i = 0;\n"
+                + "double s = 0;\n"
+                + "while (i < " + laps + ") {\n"
+                + "    double x = i * 2;\n"
+                + "    if (x > 10) {\n"
+                + "        s += x;\n"
+                + "    }\n"
+                + "    i++;\n"
+                + "}\n"
+                + "print(s);\n";
+    }
+
+    @Setup
+    public void setUp() {
+        tree = Benchmarks.parse(program(laps));
+    }
+
+    @Benchmark
+    public String run() {
+        MyVisitorFX visitor = new MyVisitorFX("", "");
+        visitor.setPooled(pooled);
+        visitor.visit(tree);
+        return visitor.getTextOut();
+    }
+}
@@ -13,7 +13,10 @@ statement:
    | for_loop
    | function_declaration
    | function_call ';'
-   | print_call ';';
+   | print_call ';'
+   | return_expression
+   | break_statement
+   | continue_statement;
 
 if_statement:
    IF '(' logical_operation ')' '{' program '}' (ELSE '{' program '}')?;
@@ -40,13 +43,25 @@ variable_update:
    | ID ('+=' | '-=') math_expression;
 
 function_declaration:
-    type ID '(' params ')' '{' program return_expression '}'
+    type ID '(' params ')' '{' function_body '}'
+    ;
+
+function_body:
+    statement*? return_expression
     ;
 
 return_expression:
     RETURN expression ';'
     ;
 
+break_statement:
+    BREAK ';'
+    ;
+
+continue_statement:
+    CONTINUE ';'
+    ;
+
 params:
     type ID|
     type ID ',' params
@@ -134,6 +149,8 @@ TRUE       : 'true';
 FALSE      : 'false';
 INT_TYPE   : 'int';
 RETURN     : 'return';
+BREAK      : 'break';
+CONTINUE   : 'continue';
 DOUBLE_TYPE: 'double';
 BOOLEAN_TYPE: 'boolean';
 STRING_TYPE: 'string';
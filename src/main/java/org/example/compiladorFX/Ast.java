@@ -0,0 +1,689 @@
+package org.example.compiladorFX;
+
+import java.util.Arrays;
+
+/**
+ * Árbol de sintaxis abstracta compacto producido por {@link AstLowering}.
+ * A diferencia del árbol de ANTLR, cada identificador ya está resuelto a un par
+ * (profundidad, ranura) o a un índice global, de modo que la ejecución solo hace
+ * accesos indexados a arreglos y nunca busca un nombre en una tabla hash.
+ */
+public final class Ast {
+
+    private Ast() {
+    }
+
+    // Etiquetas de nodos de expresión. Permiten despachar con un switch en lugar de instanceof.
+    public static final int CONST = 0;
+    public static final int LOCAL = 1;
+    public static final int GLOBAL = 2;
+    public static final int UNDEFINED = 3;
+    public static final int ARITH = 4;
+    public static final int COMPARE = 5;
+    public static final int AND = 6;
+    public static final int OR = 7;
+    public static final int NOT = 8;
+    public static final int CALL = 9;
+    public static final int CONCAT = 10;
+    public static final int INLINE = 11;
+    public static final int DYNAMIC = 12;
+
+    // Etiquetas de nodos de sentencia.
+    public static final int BLOCK = 20;
+    public static final int DECLARE = 21;
+    public static final int ASSIGN = 22;
+    public static final int UPDATE = 23;
+    public static final int IF = 24;
+    public static final int WHILE = 25;
+    public static final int DO_WHILE = 26;
+    public static final int FOR = 27;
+    public static final int FUNCTION = 28;
+    public static final int EXPR = 29;
+    public static final int PRINT = 30;
+    public static final int ERROR = 31;
+    public static final int RETURN = 32;
+    public static final int BREAK = 33;
+    public static final int CONTINUE = 34;
+
+    // Operadores aritméticos.
+    public static final int ADD = 0;
+    public static final int SUB = 1;
+    public static final int MUL = 2;
+    public static final int DIV = 3;
+    public static final int POW = 4;
+    public static final int POWI = 5; // Potencia con exponente int, introducida por AstOptimizer.
+
+    // Operadores de comparación.
+    public static final int EQ = 0;
+    public static final int NE = 1;
+    public static final int LT = 2;
+    public static final int GT = 3;
+    public static final int LE = 4;
+    public static final int GE = 5;
+
+    // Operadores de actualización.
+    public static final int INC = 0;
+    public static final int DEC = 1;
+    public static final int ADD_ASSIGN = 2;
+    public static final int SUB_ASSIGN = 3;
+
+    /**
+     * @return El nombre de la etiqueta de un nodo, para los mensajes.
+     */
+    static String tagName(int tag) {
+        switch (tag) {
+            case CONST:
+                return "constante";
+            case LOCAL:
+            case GLOBAL:
+                return "variable";
+            case UNDEFINED:
+                return "variable no declarada";
+            case DYNAMIC:
+                return "variable de quien llama";
+            case ARITH:
+                return "operacion aritmetica";
+            case COMPARE:
+                return "comparacion";
+            case AND:
+                return "&&";
+            case OR:
+                return "||";
+            case NOT:
+                return "!";
+            case CALL:
+                return "llamada";
+            case CONCAT:
+                return "concatenacion";
+            case INLINE:
+                return "funcion en linea";
+            case BLOCK:
+                return "bloque";
+            case DECLARE:
+                return "declaracion";
+            case ASSIGN:
+                return "asignacion";
+            case UPDATE:
+                return "actualizacion";
+            case IF:
+                return "if";
+            case WHILE:
+                return "while";
+            case DO_WHILE:
+                return "do-while";
+            case FOR:
+                return "for";
+            case FUNCTION:
+                return "declaracion de funcion";
+            case EXPR:
+                return "llamada como sentencia";
+            case PRINT:
+                return "print";
+            case ERROR:
+                return "error";
+            case RETURN:
+                return "return";
+            case BREAK:
+                return "break";
+            case CONTINUE:
+                return "continue";
+            default:
+                return "nodo " + tag;
+        }
+    }
+
+    static final String[] ARITH_SYMBOLS = {"+", "-", "*", "/", "^", "^"};
+    static final String[] COMPARE_SYMBOLS = {"==", "!=", "<", ">", "<=", ">="};
+    static final String[] UPDATE_SYMBOLS = {"++", "--", "+=", "-="};
+
+    /**
+     * Tipos estáticos del lenguaje.
+     */
+    public enum Type {
+        INT, DOUBLE, BOOLEAN, STRING, UNKNOWN;
+
+        /**
+         * Convierte el texto de la regla {@code type} en un tipo.
+         *
+         * @param name El nombre del tipo ("int", "double", ...).
+         * @return El tipo correspondiente o UNKNOWN.
+         */
+        static Type of(String name) {
+            switch (name) {
+                case "int":
+                    return INT;
+                case "double":
+                    return DOUBLE;
+                case "boolean":
+                    return BOOLEAN;
+                case "string":
+                    return STRING;
+                default:
+                    return UNKNOWN;
+            }
+        }
+
+        boolean isNumeric() {
+            return this == INT || this == DOUBLE;
+        }
+
+        /**
+         * @return Cómo se guarda un valor de este tipo en un marco. Los booleanos se guardan como long (0 o 1).
+         */
+        public Kind kind() {
+            switch (this) {
+                case INT:
+                case BOOLEAN:
+                    return Kind.LONG;
+                case DOUBLE:
+                    return Kind.DOUBLE;
+                default:
+                    return Kind.REF;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name().toLowerCase();
+        }
+    }
+
+    /**
+     * Representación primitiva de un valor en un marco de ejecución, asignada por {@link TypeInference}: cada
+     * ranura de variable vive en un {@code long[]}, un {@code double[]} o un {@code Object[]}.
+     */
+    public enum Kind {
+        LONG, DOUBLE, REF
+    }
+
+    /**
+     * Distribución de las ranuras de un ámbito en los arreglos de cada {@link Kind}: la ranura {@code i} vive en la
+     * posición {@code index[i]} del arreglo de su representación. Los int y boolean van al {@code long[]} (un boolean
+     * es 0 o 1), los double al {@code double[]} y el resto al {@code Object[]}.
+     */
+    public static final class Layout {
+        public final Kind[] kinds;
+        public final int[] index;
+        public final int longs;
+        public final int doubles;
+        public final int refs;
+
+        public Layout(Kind[] kinds) {
+            this.kinds = kinds;
+            this.index = new int[kinds.length];
+            int[] counts = new int[Kind.values().length];
+            for (int i = 0; i < kinds.length; i++) {
+                index[i] = counts[kinds[i].ordinal()]++;
+            }
+            this.longs = counts[Kind.LONG.ordinal()];
+            this.doubles = counts[Kind.DOUBLE.ordinal()];
+            this.refs = counts[Kind.REF.ordinal()];
+        }
+
+        /**
+         * @return Una distribución con todas las ranuras como referencia, como los ámbitos de {@code Object[]}.
+         */
+        public static Layout boxed(int size) {
+            Kind[] kinds = new Kind[size];
+            Arrays.fill(kinds, Kind.REF);
+            return new Layout(kinds);
+        }
+    }
+
+    /**
+     * Nodo base. Guarda la línea del código fuente para los mensajes de error.
+     */
+    public abstract static class Node {
+        public final int tag;
+        public int line;
+
+        Node(int tag) {
+            this.tag = tag;
+        }
+    }
+
+    //---------------------- Expresiones ----------------------
+
+    /**
+     * Expresión con su tipo estático.
+     */
+    public abstract static class Expr extends Node {
+        public Type type;
+
+        Expr(int tag, Type type) {
+            super(tag);
+            this.type = type;
+        }
+    }
+
+    /**
+     * Literal numérico, booleano o de texto. Los números se guardan como Double, igual que en {@link MyVisitorFX}.
+     */
+    public static final class Const extends Expr {
+        public final Object value;
+        public final double number; // Valor numérico ya desempaquetado (0 si no es un número).
+
+        public Const(Object value, Type type) {
+            super(CONST, type);
+            this.value = value;
+            this.number = value instanceof Number ? ((Number) value).doubleValue() : 0.0;
+        }
+    }
+
+    static final Local[] NO_LOCALS = new Local[0];
+
+    /**
+     * Referencia a una variable resuelta (local, global o de quien llama).
+     */
+    public abstract static class Var extends Expr {
+        public final String name;
+
+        Var(int tag, String name, Type type) {
+            super(tag, type);
+            this.name = name;
+        }
+    }
+
+    /**
+     * Variable local: se sube {@code depth} ámbitos y se lee la ranura {@code slot}.
+     */
+    public static final class Local extends Var {
+        public final int depth;
+        public final int slot;
+
+        public Local(String name, Type type, int depth, int slot) {
+            super(LOCAL, name, type);
+            this.depth = depth;
+            this.slot = slot;
+        }
+    }
+
+    /**
+     * Variable declarada en el nivel superior del programa.
+     */
+    public static final class Global extends Var {
+        public final int index;
+
+        public Global(String name, Type type, int index) {
+            super(GLOBAL, name, type);
+            this.index = index;
+        }
+    }
+
+    /**
+     * Variable que una función no declara y que algún ámbito local del programa sí declara. Como en
+     * {@link MyVisitorFX}, se busca en ejecución en los ámbitos de las llamadas en curso, de la más reciente a la más
+     * antigua (ámbito dinámico), con las variables que cada llamada ve ({@link Call#visible}). Si ninguna la declara
+     * es la global {@code global}, o no está declarada si {@code global} es null. El tipo es UNKNOWN si las
+     * declaraciones del nombre no coinciden.
+     */
+    public static final class Dynamic extends Var {
+        public final Global global;
+
+        public Dynamic(String name, Type type, Global global) {
+            super(DYNAMIC, name, type);
+            this.global = global;
+        }
+    }
+
+    /**
+     * Identificador que no se pudo resolver. Reproduce en ejecución el error de variable no declarada.
+     */
+    public static final class Undefined extends Expr {
+        public final String name;
+
+        public Undefined(String name, Type type) {
+            super(UNDEFINED, type);
+            this.name = name;
+        }
+    }
+
+    /**
+     * Operación aritmética binaria (+, -, *, /, ^).
+     */
+    public static final class Arith extends Expr {
+        public final int op;
+        public final Expr left;
+        public final Expr right;
+
+        public Arith(int op, Expr left, Expr right, Type type) {
+            super(ARITH, type);
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    /**
+     * Comparación (==, !=, <, >, <=, >=).
+     */
+    public static final class Compare extends Expr {
+        public final int op;
+        public final Expr left;
+        public final Expr right;
+
+        public Compare(int op, Expr left, Expr right) {
+            super(COMPARE, Type.BOOLEAN);
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    /**
+     * Conjunción (AND) o disyunción (OR) de dos operandos.
+     */
+    public static final class Logic extends Expr {
+        public final Expr left;
+        public final Expr right;
+
+        public Logic(int tag, Expr left, Expr right) {
+            super(tag, Type.BOOLEAN);
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    /**
+     * Negación lógica.
+     */
+    public static final class Not extends Expr {
+        public final Expr operand;
+
+        public Not(Expr operand) {
+            super(NOT, Type.BOOLEAN);
+            this.operand = operand;
+        }
+    }
+
+    /**
+     * Llamada a función. La función se resuelve a un índice de la tabla de funciones del programa.
+     * {@code visible} son las variables locales que se ven en la llamada y que una función llamada puede leer como
+     * {@link Dynamic}, resueltas desde el ámbito de la llamada.
+     */
+    public static final class Call extends Expr {
+        public final String name;
+        public final int function;
+        public final Expr[] args;
+        public Local[] visible = NO_LOCALS;
+
+        public Call(String name, int function, Expr[] args, Type type) {
+            super(CALL, type);
+            this.name = name;
+            this.function = function;
+            this.args = args;
+        }
+    }
+
+    /**
+     * Concatenación de literales de texto (string_expression).
+     */
+    public static final class Concat extends Expr {
+        public final Expr[] parts;
+
+        public Concat(Expr[] parts) {
+            super(CONCAT, Type.STRING);
+            this.parts = parts;
+        }
+    }
+
+    /**
+     * Llamada reemplazada por el cuerpo de la función ({@link FunctionInliner}). Las sentencias, que empiezan
+     * declarando los parámetros con los argumentos, se ejecutan en el ámbito de la llamada, en ranuras propias;
+     * después se evalúa {@code result}. El tipo es el de retorno de la función.
+     */
+    public static final class Inline extends Expr {
+        public final String name;
+        public final Stmt[] body;
+        public final Expr result;
+
+        public Inline(String name, Stmt[] body, Expr result, Type type) {
+            super(INLINE, type);
+            this.name = name;
+            this.body = body;
+            this.result = result;
+        }
+    }
+
+    //---------------------- Sentencias ----------------------
+
+    /**
+     * Sentencia base.
+     */
+    public abstract static class Stmt extends Node {
+        Stmt(int tag) {
+            super(tag);
+        }
+    }
+
+    /**
+     * Bloque con su propio ámbito de {@code size} ranuras. Después de {@link ScopeElision} un bloque sin ranuras no
+     * tiene ámbito: {@code scoped} es false y el cuerpo se ejecuta en el ámbito de afuera.
+     */
+    public static final class Block extends Stmt {
+        public final int size;
+        public final Stmt[] body;
+        public boolean scoped = true;
+        public Layout layout; // Representación de cada ranura, null hasta que corre TypeInference.
+
+        public Block(int size, Stmt[] body) {
+            super(BLOCK);
+            this.size = size;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Declaración de variable. {@code target} siempre apunta al ámbito actual (profundidad 0) o a un global.
+     */
+    public static final class Declare extends Stmt {
+        public final Var target;
+        public final Expr init;
+
+        public Declare(Var target, Expr init) {
+            super(DECLARE);
+            this.target = target;
+            this.init = init;
+        }
+    }
+
+    /**
+     * Asignación de variable.
+     */
+    public static final class Assign extends Stmt {
+        public final Var target;
+        public final Expr value;
+
+        public Assign(Var target, Expr value) {
+            super(ASSIGN);
+            this.target = target;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Actualización de variable (++, --, +=, -=). {@code value} es null para ++ y --.
+     */
+    public static final class Update extends Stmt {
+        public final Var target;
+        public final int op;
+        public final Expr value;
+
+        public Update(Var target, int op, Expr value) {
+            super(UPDATE);
+            this.target = target;
+            this.op = op;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Sentencia if. {@code otherwise} es null si no hay bloque else.
+     */
+    public static final class If extends Stmt {
+        public final Expr cond;
+        public final Block then;
+        public final Block otherwise;
+
+        public If(Expr cond, Block then, Block otherwise) {
+            super(IF);
+            this.cond = cond;
+            this.then = then;
+            this.otherwise = otherwise;
+        }
+    }
+
+    /**
+     * Bucle while o do-while, según la etiqueta.
+     */
+    public static final class Loop extends Stmt {
+        public final Expr cond;
+        public final Block body;
+
+        public Loop(int tag, Expr cond, Block body) {
+            super(tag);
+            this.cond = cond;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Bucle for. La variable de control vive en un ámbito propio de {@code size} ranuras; como en {@link Block},
+     * {@code scoped} es false si {@link ScopeElision} quitó un ámbito vacío.
+     */
+    public static final class For extends Stmt {
+        public final int size;
+        public boolean scoped = true;
+        public Layout layout; // Representación de cada ranura del ámbito de la variable de control.
+        public final Stmt init;
+        public final Expr cond;
+        public final Stmt update;
+        public final Block body;
+
+        public For(int size, Stmt init, Expr cond, Stmt update, Block body) {
+            super(FOR);
+            this.size = size;
+            this.init = init;
+            this.cond = cond;
+            this.update = update;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Declaración de función: al ejecutarse instala la función en su índice de la tabla de funciones.
+     */
+    public static final class FunctionDecl extends Stmt {
+        public final Function function;
+
+        public FunctionDecl(Function function) {
+            super(FUNCTION);
+            this.function = function;
+        }
+    }
+
+    /**
+     * Expresión evaluada como sentencia (llamada a función).
+     */
+    public static final class ExprStmt extends Stmt {
+        public final Expr expr;
+
+        public ExprStmt(Expr expr) {
+            super(EXPR);
+            this.expr = expr;
+        }
+    }
+
+    /**
+     * Llamada a print. Las partes se combinan de derecha a izquierda como en print_params.
+     */
+    public static final class Print extends Stmt {
+        public final Expr[] parts;
+
+        public Print(Expr[] parts) {
+            super(PRINT);
+            this.parts = parts;
+        }
+    }
+
+    /**
+     * Return en medio del cuerpo de una función. El return final sigue en {@link Function#returnExpr}.
+     */
+    public static final class Return extends Stmt {
+        public final Expr value;
+
+        public Return(Expr value) {
+            super(RETURN);
+            this.value = value;
+        }
+    }
+
+    /**
+     * break o continue, según la etiqueta. Siempre está dentro de un ciclo de la misma función.
+     */
+    public static final class Jump extends Stmt {
+        public Jump(int tag) {
+            super(tag);
+        }
+    }
+
+    /**
+     * Error detectado al bajar el árbol que se reporta cuando la ejecución llega a la sentencia.
+     */
+    public static final class ErrorStmt extends Stmt {
+        public final String message;
+
+        public ErrorStmt(String message) {
+            super(ERROR);
+            this.message = message;
+        }
+    }
+
+    //---------------------- Programa ----------------------
+
+    /**
+     * Función del programa. Parámetros y variables del cuerpo comparten un único ámbito de {@code frameSize} ranuras.
+     */
+    public static final class Function {
+        public final String name;
+        public final int index;
+        public final Type returnType;
+        public final String[] paramNames;
+        public final Type[] paramTypes;
+        public int frameSize;
+        public Layout layout; // Representación de cada ranura del marco, parámetros incluidos.
+        public Stmt[] body;
+        public Expr returnExpr;
+
+        public Function(String name, int index, Type returnType, String[] paramNames, Type[] paramTypes) {
+            this.name = name;
+            this.index = index;
+            this.returnType = returnType;
+            this.paramNames = paramNames;
+            this.paramTypes = paramTypes;
+        }
+    }
+
+    /**
+     * Programa completo ya resuelto.
+     */
+    public static final class Program {
+        public final Stmt[] body;
+        public final String[] globalNames;
+        public final Type[] globalTypes;
+        public final String[] functionNames;
+        public final boolean dynamicScope; // Alguna función usa variables de quien la llama (Dynamic).
+        public final boolean fractionalInts; // Un += o -= puede dejar una variable int con un valor no entero.
+        public Kind[] globalKinds; // Representación de cada global, asignada por TypeInference.
+
+        public Program(Stmt[] body, String[] globalNames, Type[] globalTypes, String[] functionNames,
+                       boolean dynamicScope, boolean fractionalInts) {
+            this.body = body;
+            this.globalNames = globalNames;
+            this.globalTypes = globalTypes;
+            this.functionNames = functionNames;
+            this.dynamicScope = dynamicScope;
+            this.fractionalInts = fractionalInts;
+        }
+    }
+}
@@ -0,0 +1,1225 @@
+package org.example.compiladorFX;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Intérprete del {@link Ast} producido por {@link AstLowering}.
+ * Las variables viven en arreglos: cada ámbito está enlazado con su padre y las globales están en un arreglo aparte,
+ * por lo que leer o escribir una variable es un acceso indexado sin buscar nombres.
+ * Produce la misma salida que {@link MyVisitorFX}, pero no registra las trazas de ámbitos y asignaciones.
+ * <p>
+ * Cada ámbito guarda sus ranuras en un {@code long[]}, un {@code double[]} y un {@code Object[]} según la
+ * {@link Ast.Layout} que calculó {@link TypeInference}, así que asignar o incrementar un int no crea un Double.
+ * Los argumentos de una llamada se evalúan directamente en las ranuras del marco nuevo. Un int se guarda exacto hasta
+ * 2^63, el mismo rango de {@link #evalLong}; un valor más grande se reporta como desbordamiento ({@link #toLong}). Con {@link #setPrimitiveFrames(boolean)} en false todas las ranuras son
+ * referencias, útil para comparar.
+ * <p>
+ * En modo especializado (por defecto) las expresiones numéricas y booleanas se evalúan con
+ * {@link #evalDouble}, {@link #evalLong} y {@link #evalBool}, que devuelven primitivos según el tipo estático
+ * de cada nodo, así que los valores intermedios de la aritmética nunca se empaquetan. Con
+ * {@link #setSpecialized(boolean)} en false se usa la evaluación genérica con {@code Object}, útil para comparar.
+ */
+public class AstInterpreter {
+
+    private static final long[] NO_LONGS = new long[0];
+    private static final double[] NO_DOUBLES = new double[0];
+    private static final Object[] NO_REFS = new Object[0];
+
+    // Señales con que termina una sentencia. Un break o un continue llega hasta el ciclo más interno; un return,
+    // hasta la llamada, con el valor en returned. Así salir antes no lanza excepciones.
+    private static final int NORMAL = 0;
+    private static final int BREAK = 1;
+    private static final int CONTINUE = 2;
+    private static final int RETURN = 3;
+
+    /**
+     * Ámbito en ejecución. Una ranura de referencia sin valor es null; una primitiva declarada sin valor, o cuya
+     * declaración falló, se marca en {@code unset}, que se crea recién con la primera. El marco de una función guarda
+     * la llamada y el ámbito desde el que se hizo, para buscar las variables de quien llama ({@link Ast.Dynamic}).
+     */
+    static final class Scope {
+        final Ast.Layout layout;
+        final long[] longs;
+        final double[] doubles;
+        final Object[] refs;
+        final Scope parent;
+        boolean[] unset;
+        Ast.Call site;  // Llamada que creó el marco, null en los demás ámbitos.
+        Scope caller;   // Ámbito de la llamada, null si se hizo desde el nivel superior sin bloques.
+
+        Scope(Ast.Layout layout, Scope parent) {
+            this.layout = layout;
+            this.longs = layout.longs == 0 ? NO_LONGS : new long[layout.longs];
+            this.doubles = layout.doubles == 0 ? NO_DOUBLES : new double[layout.doubles];
+            this.refs = layout.refs == 0 ? NO_REFS : new Object[layout.refs];
+            this.parent = parent;
+        }
+
+        /**
+         * @return true si la ranura es un int o un double con valor.
+         */
+        boolean isNumber(int slot, Ast.Type type) {
+            Ast.Kind kind = layout.kinds[slot];
+            return (kind == Ast.Kind.DOUBLE || kind == Ast.Kind.LONG && type == Ast.Type.INT)
+                    && (unset == null || !unset[slot]);
+        }
+
+        /**
+         * @return El valor de una ranura para la que {@link #isNumber} es true.
+         */
+        double number(int slot) {
+            int at = layout.index[slot];
+            return layout.kinds[slot] == Ast.Kind.LONG ? toDouble(longs[at]) : doubles[at];
+        }
+
+        /**
+         * Guarda un número ya verificado contra el tipo de la ranura.
+         */
+        void setNumber(int slot, double value) {
+            int at = layout.index[slot];
+            switch (layout.kinds[slot]) {
+                case LONG:
+                    longs[at] = toLong(value);
+                    break;
+                case DOUBLE:
+                    doubles[at] = value;
+                    break;
+                default:
+                    refs[at] = value;
+                    return;
+            }
+            if (unset != null) {
+                unset[slot] = false;
+            }
+        }
+
+        /**
+         * @return El valor de la ranura empaquetado, o null si no tiene valor.
+         */
+        Object get(int slot, Ast.Type type) {
+            int at = layout.index[slot];
+            switch (layout.kinds[slot]) {
+                case LONG:
+                    if (unset != null && unset[slot]) {
+                        return null;
+                    }
+                    return type == Ast.Type.BOOLEAN ? Boolean.valueOf(longs[at] != 0) : Double.valueOf(toDouble(longs[at]));
+                case DOUBLE:
+                    return unset != null && unset[slot] ? null : Double.valueOf(doubles[at]);
+                default:
+                    return refs[at];
+            }
+        }
+
+        /**
+         * Guarda un valor ya verificado contra el tipo de la ranura; null la deja sin valor.
+         */
+        void set(int slot, Object value) {
+            int at = layout.index[slot];
+            Ast.Kind kind = layout.kinds[slot];
+            if (kind == Ast.Kind.REF) {
+                refs[at] = value;
+                return;
+            }
+            if (value == null) {
+                if (unset == null) {
+                    unset = new boolean[layout.kinds.length];
+                }
+                unset[slot] = true;
+                return;
+            }
+            if (value instanceof Boolean) {
+                longs[at] = (Boolean) value ? 1 : 0;
+            } else if (kind == Ast.Kind.LONG) {
+                longs[at] = toLong(((Number) value).doubleValue());
+            } else {
+                doubles[at] = ((Number) value).doubleValue();
+            }
+            if (unset != null) {
+                unset[slot] = false;
+            }
+        }
+    }
+
+    private final Ast.Program program;
+    private final Object[] globals;
+    private final Ast.Function[] functions; // Funciones instaladas, por índice.
+    private final Diagnostics diagnostics = new Diagnostics();
+    private OutputSink output = new OutputSink();
+    private boolean specialized;
+    private boolean primitiveFrames;
+    private Ast.Layout[] boxedLayouts = new Ast.Layout[0]; // Distribuciones de referencias, por tamaño.
+    private long skippedOperands; // Operandos lógicos omitidos por el cortocircuito.
+    private MemoCache memo;
+    private boolean[] memoized;   // Funciones puras cuyas llamadas pasan por memo.
+    private Object returned;      // Valor del último return, hasta que lo recoge la llamada.
+    private Scope resolvedFrom;   // Ámbito de la llamada desde el que se llega a la última local que encontró resolve.
+
+    public AstInterpreter(Ast.Program program) {
+        this.program = program;
+        this.globals = new Object[program.globalNames.length];
+        this.functions = new Ast.Function[program.functionNames.length];
+        setSpecialized(true);
+        setPrimitiveFrames(true);
+    }
+
+    public String getErrorOut() {
+        return diagnostics.toText();
+    }
+
+    public Diagnostics getDiagnostics() {
+        return diagnostics;
+    }
+
+    public String getTextOut() {
+        return output.getText();
+    }
+
+    /**
+     * Cambia el destino de print.
+     *
+     * @param output El destino de la salida, en memoria por defecto.
+     */
+    public void setOutput(OutputSink output) {
+        this.output = output;
+    }
+
+    /**
+     * Cantidad de operandos de {@code &&} y {@code ||} que no se evaluaron porque el primero ya decidía el resultado.
+     *
+     * @return Los operandos omitidos desde el inicio de la ejecución.
+     */
+    public long getSkippedOperands() {
+        return skippedOperands;
+    }
+
+    /**
+     * Activa o desactiva la evaluación especializada con primitivos.
+     *
+     * @param specialized true para evaluar sin empaquetar los valores intermedios. Se ignora si un int puede tener
+     *                    decimales ({@link Ast.Program#fractionalInts}): {@link #evalLong} no los representa.
+     */
+    public void setSpecialized(boolean specialized) {
+        this.specialized = specialized && !program.fractionalInts;
+    }
+
+    /**
+     * Activa o desactiva las ranuras primitivas de los ámbitos.
+     *
+     * @param primitiveFrames true para guardar los int, boolean y double sin empaquetar; false para guardar todo
+     *                        como referencia. Se ignora si un int puede tener decimales, que una ranura long no
+     *                        guarda.
+     */
+    public void setPrimitiveFrames(boolean primitiveFrames) {
+        this.primitiveFrames = primitiveFrames && !program.fractionalInts;
+    }
+
+    /**
+     * Activa la memoización de las funciones puras según {@link PurityAnalysis}.
+     *
+     * @param memo La caché de resultados o null para no memoizar.
+     */
+    public void setMemoCache(MemoCache memo) {
+        this.memo = memo;
+        if (memo != null && memoized == null) {
+            PurityAnalysis purity = new PurityAnalysis(program);
+            memoized = new boolean[program.functionNames.length];
+            for (int i = 0; i < memoized.length; i++) {
+                memoized[i] = purity.isPure(i);
+            }
+        }
+    }
+
+    /**
+     * Ejecuta el programa.
+     */
+    public void run() {
+        execAll(program.body, null);
+    }
+
+    /**
+     * Devuelve la tabla de símbolos global en el mismo formato que {@link MyVisitorFX#getGlobalSymbols()}.
+     *
+     * @return Las variables globales y las funciones instaladas.
+     */
+    public Map<String, MyVisitorFX.Symbol> getGlobalSymbols() {
+        Map<String, MyVisitorFX.Symbol> table = new LinkedHashMap<>();
+        for (int i = 0; i < globals.length; i++) {
+            String name = program.globalNames[i];
+            table.put(name, new MyVisitorFX.Symbol(name, program.globalTypes[i].toString(), globals[i]));
+        }
+        for (Ast.Function fn : functions) {
+            if (fn != null) {
+                table.put(fn.name, new MyVisitorFX.Symbol(fn.name, fn.returnType.toString(), "funcion/" + fn.paramNames.length));
+            }
+        }
+        return table;
+    }
+
+    //---------------------- Sentencias ----------------------
+
+    /**
+     * Ejecuta las sentencias hasta el final o hasta la primera que no termina con {@link #NORMAL}.
+     *
+     * @return La señal con que terminó el bloque.
+     */
+    private int execAll(Ast.Stmt[] body, Scope scope) {
+        for (Ast.Stmt stmt : body) {
+            int signal = exec(stmt, scope);
+            if (signal != NORMAL) {
+                return signal;
+            }
+        }
+        return NORMAL;
+    }
+
+    /**
+     * Ejecuta una sentencia.
+     *
+     * @return {@link #NORMAL}, o {@link #BREAK}, {@link #CONTINUE} o {@link #RETURN} para que los bloques de
+     * afuera dejen de ejecutar hasta llegar al ciclo o a la llamada que consume la señal.
+     */
+    private int exec(Ast.Stmt stmt, Scope scope) {
+        switch (stmt.tag) {
+            case Ast.BLOCK: {
+                Ast.Block block = (Ast.Block) stmt;
+                return execAll(block.body, block.scoped ? new Scope(layout(block.layout, block.size), scope) : scope);
+            }
+            case Ast.DECLARE: {
+                Ast.Declare declare = (Ast.Declare) stmt;
+                if (declare.init != null && storeNumber(declare.target, declare.init, scope, true)) {
+                    break;
+                }
+                Object value = declare.init != null ? eval(declare.init, scope) : null;
+                if (value == null || accepts(declare.target.type, value)) {
+                    store(declare.target, scope, value);
+                } else {
+                    error("Error de tipo: Valor inicial no compatible con la variable " + declare.target.type + " '" + declare.target.name + "'");
+                    unset(declare.target, scope);
+                }
+                break;
+            }
+            case Ast.ASSIGN: {
+                Ast.Assign assign = (Ast.Assign) stmt;
+                if (assign.target.tag == Ast.DYNAMIC) {
+                    assignDynamic(assign, scope);
+                    break;
+                }
+                if (storeNumber(assign.target, assign.value, scope, false)) {
+                    break;
+                }
+                Object value = eval(assign.value, scope);
+                if (accepts(assign.target.type, value)) {
+                    store(assign.target, scope, value);
+                } else {
+                    error("Error de tipo: No se puede asignar el valor a la variable " + assign.target.type + " '" + assign.target.name + "'");
+                }
+                break;
+            }
+            case Ast.UPDATE:
+                update((Ast.Update) stmt, scope);
+                break;
+            case Ast.IF: {
+                Ast.If ifStmt = (Ast.If) stmt;
+                if (condition(ifStmt.cond, scope)) {
+                    return exec(ifStmt.then, scope);
+                } else if (ifStmt.otherwise != null) {
+                    return exec(ifStmt.otherwise, scope);
+                }
+                break;
+            }
+            case Ast.WHILE: {
+                Ast.Loop loop = (Ast.Loop) stmt;
+                while (condition(loop.cond, scope)) {
+                    int signal = exec(loop.body, scope);
+                    if (signal == BREAK) {
+                        break;
+                    } else if (signal == RETURN) {
+                        return RETURN;
+                    }
+                }
+                break;
+            }
+            case Ast.DO_WHILE: {
+                Ast.Loop loop = (Ast.Loop) stmt;
+                do {
+                    int signal = exec(loop.body, scope);
+                    if (signal == BREAK) {
+                        break;
+                    } else if (signal == RETURN) {
+                        return RETURN;
+                    }
+                } while (condition(loop.cond, scope));
+                break;
+            }
+            case Ast.FOR: {
+                Ast.For forStmt = (Ast.For) stmt;
+                Scope header = forStmt.scoped // Ámbito de la variable de control.
+                        ? new Scope(layout(forStmt.layout, forStmt.size), scope) : scope;
+                exec(forStmt.init, header);
+                while (condition(forStmt.cond, header)) {
+                    int signal = exec(forStmt.body, header);
+                    if (signal == BREAK) {
+                        break;
+                    } else if (signal == RETURN) {
+                        return RETURN;
+                    }
+                    exec(forStmt.update, header); // También después de un continue.
+                }
+                break;
+            }
+            case Ast.FUNCTION: {
+                Ast.Function fn = ((Ast.FunctionDecl) stmt).function;
+                functions[fn.index] = fn; // Instala (o reemplaza) la función.
+                break;
+            }
+            case Ast.EXPR:
+                eval(((Ast.ExprStmt) stmt).expr, scope);
+                break;
+            case Ast.PRINT:
+                print((Ast.Print) stmt, scope);
+                break;
+            case Ast.RETURN:
+                returned = eval(((Ast.Return) stmt).value, scope);
+                return RETURN;
+            case Ast.BREAK:
+                return BREAK;
+            case Ast.CONTINUE:
+                return CONTINUE;
+            case Ast.ERROR:
+                error(((Ast.ErrorStmt) stmt).message);
+                break;
+            default:
+                throw new IllegalStateException("Sentencia desconocida: " + Ast.tagName(stmt.tag));
+        }
+        return NORMAL;
+    }
+
+    /**
+     * Camino especializado de declaraciones y asignaciones numéricas: evalúa sin empaquetar y guarda en la ranura
+     * primitiva; solo se empaqueta si la variable es global o una referencia.
+     *
+     * @param declaration true si es una declaración: si el valor no es compatible, la variable queda sin valor.
+     * @return true si la sentencia se resolvió por este camino.
+     */
+    private boolean storeNumber(Ast.Var target, Ast.Expr value, Scope scope, boolean declaration) {
+        if (!specialized || !target.type.isNumeric() || !value.type.isNumeric()) {
+            return false;
+        }
+        double result = evalDouble(value, scope);
+        if (target.type == Ast.Type.INT && result != Math.rint(result)) {
+            error("Error de tipo: No se puede asignar un valor no entero a variable int '" + target.name + "'");
+            if (declaration) {
+                unset(target, scope);
+            }
+        } else {
+            storeNumber(target, scope, result);
+        }
+        return true;
+    }
+
+    /**
+     * Asigna una variable de quien llama, con el tipo de la declaración que se encuentra en ejecución.
+     */
+    private void assignDynamic(Ast.Assign assign, Scope scope) {
+        Object value = eval(assign.value, scope);
+        Ast.Var target = resolve((Ast.Dynamic) assign.target, scope);
+        if (target == null) {
+            error("Error: Variable '" + assign.target.name + "' no está declarada.");
+        } else if (accepts(target.type, value)) {
+            store(target, resolvedFrom, value);
+        } else {
+            error("Error de tipo: No se puede asignar el valor a la variable " + target.type + " '" + target.name + "'");
+        }
+    }
+
+    /**
+     * Ejecuta ++, --, += y -= sobre una variable numérica.
+     * Como en el visitor, += y -= con un double pueden dejar un int con decimales.
+     */
+    private void update(Ast.Update update, Scope scope) {
+        Ast.Var target = update.target;
+        Scope at = scope; // Ámbito desde el que se llega a la variable.
+        if (target.tag == Ast.DYNAMIC) {
+            target = resolve((Ast.Dynamic) target, scope);
+            at = resolvedFrom;
+            if (target == null) {
+                error("Error: Variable '" + update.target.name + "' no declarada.");
+                return;
+            }
+        }
+        double value;
+        Scope owner = target.tag == Ast.LOCAL ? owner((Ast.Local) target, at) : null;
+        if (owner != null && owner.isNumber(((Ast.Local) target).slot, target.type)) {
+            value = owner.number(((Ast.Local) target).slot); // Ranura primitiva: sin desempaquetar.
+        } else {
+            Object current = load(target, at);
+            if (!(current instanceof Number)) {
+                error("Error: La variable '" + target.name + "' no es numérica y no se puede usar con operadores de incremento/decremento.");
+                return;
+            }
+            value = ((Number) current).doubleValue();
+        }
+        switch (update.op) {
+            case Ast.INC:
+                value += 1;
+                break;
+            case Ast.DEC:
+                value -= 1;
+                break;
+            case Ast.ADD_ASSIGN:
+                value += number(update.value, scope);
+                break;
+            default:
+                value -= number(update.value, scope);
+                break;
+        }
+        storeNumber(target, at, value);
+    }
+
+    /**
+     * Evalúa los parámetros de print y los combina de derecha a izquierda, igual que visitPrint_params.
+     */
+    private void print(Ast.Print print, Scope scope) {
+        Object[] values = new Object[print.parts.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = eval(print.parts[i], scope);
+        }
+        Object result = values[values.length - 1];
+        for (int i = values.length - 2; i >= 0; i--) {
+            result = combine(values[i], result);
+        }
+        output.print(result);
+    }
+
+    static Object combine(Object value, Object next) {
+        if (value instanceof String) { // Concatenación de cadenas.
+            return value + String.valueOf(next);
+        } else if (next instanceof String) {
+            return value + (String) next;
+        } else if (value instanceof Number && next instanceof Number) { // Suma de números.
+            return ((Number) value).doubleValue() + ((Number) next).doubleValue();
+        }
+        throw new ExecutionError("Tipos de datos incompatibles para la operación.");
+    }
+
+    //---------------------- Expresiones ----------------------
+
+    private Object eval(Ast.Expr expr, Scope scope) {
+        switch (expr.tag) {
+            case Ast.CONST:
+                return ((Ast.Const) expr).value;
+            case Ast.LOCAL:
+            case Ast.GLOBAL: {
+                Ast.Var var = (Ast.Var) expr;
+                Object value = load(var, scope);
+                if (value == null) {
+                    error("Error: Variable '" + var.name + "' no inicializada.");
+                    return defaultValue(var.type);
+                }
+                return value;
+            }
+            case Ast.UNDEFINED: {
+                Ast.Undefined undefined = (Ast.Undefined) expr;
+                error("Error: Variable '" + undefined.name + "' no declarada.");
+                return defaultValue(undefined.type);
+            }
+            case Ast.DYNAMIC: {
+                Ast.Var var = resolve((Ast.Dynamic) expr, scope);
+                if (var == null) {
+                    error("Error: Variable '" + ((Ast.Dynamic) expr).name + "' no declarada.");
+                    return defaultValue(expr.type);
+                }
+                Object value = load(var, resolvedFrom);
+                if (value == null) {
+                    error("Error: Variable '" + var.name + "' no inicializada.");
+                    return defaultValue(var.type);
+                }
+                return value;
+            }
+            case Ast.ARITH: {
+                Ast.Arith arith = (Ast.Arith) expr;
+                double left = number(arith.left, scope);
+                double right = number(arith.right, scope);
+                return arith(arith.op, left, right);
+            }
+            case Ast.COMPARE: {
+                Ast.Compare compare = (Ast.Compare) expr;
+                if (specialized && compare.left.type.isNumeric() && compare.right.type.isNumeric()) {
+                    return evalBool(compare, scope);
+                }
+                return compare(compare.op, eval(compare.left, scope), eval(compare.right, scope));
+            }
+            case Ast.AND: {
+                Ast.Logic logic = (Ast.Logic) expr;
+                if (!bool(logic.left, scope)) {
+                    skippedOperands++;
+                    return false;
+                }
+                return bool(logic.right, scope);
+            }
+            case Ast.OR: {
+                Ast.Logic logic = (Ast.Logic) expr;
+                if (bool(logic.left, scope)) {
+                    skippedOperands++;
+                    return true;
+                }
+                return bool(logic.right, scope);
+            }
+            case Ast.NOT:
+                return !bool(((Ast.Not) expr).operand, scope);
+            case Ast.CALL:
+                return call((Ast.Call) expr, scope);
+            case Ast.INLINE: {
+                Ast.Inline inline = (Ast.Inline) expr;
+                execAll(inline.body, scope);
+                return eval(inline.result, scope);
+            }
+            case Ast.CONCAT: {
+                StringBuilder sb = new StringBuilder();
+                for (Ast.Expr part : ((Ast.Concat) expr).parts) {
+                    sb.append(eval(part, scope));
+                }
+                return sb.toString();
+            }
+            default:
+                throw new IllegalStateException("Expresión desconocida: " + Ast.tagName(expr.tag));
+        }
+    }
+
+    /**
+     * Evalúa una expresión que debe ser numérica.
+     */
+    private double number(Ast.Expr expr, Scope scope) {
+        return specialized ? evalDouble(expr, scope) : boxedNumber(expr, scope);
+    }
+
+    /**
+     * Evalúa una expresión que debe ser booleana.
+     */
+    private boolean bool(Ast.Expr expr, Scope scope) {
+        return specialized ? evalBool(expr, scope) : boxedBool(expr, scope);
+    }
+
+    /**
+     * Evaluación genérica de una expresión numérica: evalúa como Object y desempaqueta.
+     */
+    private double boxedNumber(Ast.Expr expr, Scope scope) {
+        Object value = eval(expr, scope);
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (expr.tag == Ast.CALL || expr.tag == Ast.INLINE) {
+            throw new ExecutionError("Error: La funcion '" + functionName(expr) + "' no devuelve una variable numerica");
+        }
+        error("Error: La expresión '" + describe(expr) + "' no es numerica");
+        return 0.0;
+    }
+
+    /**
+     * Evaluación genérica de una expresión booleana.
+     */
+    private boolean boxedBool(Ast.Expr expr, Scope scope) {
+        Object value = eval(expr, scope);
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (expr.tag == Ast.CALL || expr.tag == Ast.INLINE) {
+            throw new ExecutionError("Error: La funcion '" + functionName(expr) + "' no devuelve una variable booleana");
+        }
+        error("Error: La expresión '" + describe(expr) + "' no es booleana");
+        return false;
+    }
+
+    private boolean condition(Ast.Expr expr, Scope scope) {
+        return bool(expr, scope);
+    }
+
+    //---------------------- Evaluación especializada ----------------------
+
+    /**
+     * Evalúa una expresión numérica devolviendo un double sin empaquetar.
+     * Los nodos de tipo int se delegan a {@link #evalLong}.
+     */
+    double evalDouble(Ast.Expr expr, Scope scope) {
+        switch (expr.tag) {
+            case Ast.CONST:
+                return ((Ast.Const) expr).number;
+            case Ast.LOCAL: {
+                Ast.Local local = (Ast.Local) expr;
+                Scope owner = owner(local, scope);
+                if (owner.isNumber(local.slot, local.type)) {
+                    return owner.number(local.slot);
+                }
+                return boxedNumber(expr, scope); // Variable sin inicializar o no numérica: reporta el error.
+            }
+            case Ast.GLOBAL: {
+                Object value = load((Ast.Var) expr, scope);
+                if (value instanceof Double) {
+                    return (Double) value;
+                }
+                return boxedNumber(expr, scope); // Variable sin inicializar o no numérica: reporta el error.
+            }
+            case Ast.ARITH: {
+                Ast.Arith arith = (Ast.Arith) expr;
+                if (arith.type == Ast.Type.INT) {
+                    return toDouble(evalLong(arith, scope));
+                }
+                double left = evalDouble(arith.left, scope);
+                double right = evalDouble(arith.right, scope);
+                return arith(arith.op, left, right);
+            }
+            case Ast.INLINE: {
+                Ast.Inline inline = (Ast.Inline) expr;
+                if (!inline.type.isNumeric()) {
+                    return boxedNumber(expr, scope);
+                }
+                execAll(inline.body, scope);
+                return evalDouble(inline.result, scope);
+            }
+            default:
+                return boxedNumber(expr, scope);
+        }
+    }
+
+    /**
+     * Evalúa una expresión de tipo int devolviendo un long sin empaquetar. El resultado es idéntico al de la
+     * aritmética en double de {@link MyVisitorFX} (ver {@link #intArith}).
+     */
+    long evalLong(Ast.Expr expr, Scope scope) {
+        switch (expr.tag) {
+            case Ast.CONST:
+                return toLong(((Ast.Const) expr).number);
+            case Ast.LOCAL: {
+                Ast.Local local = (Ast.Local) expr;
+                Scope owner = owner(local, scope);
+                if (owner.isNumber(local.slot, local.type)) {
+                    return owner.layout.kinds[local.slot] == Ast.Kind.LONG
+                            ? owner.longs[owner.layout.index[local.slot]] : toLong(owner.number(local.slot));
+                }
+                return toLong(boxedNumber(expr, scope));
+            }
+            case Ast.GLOBAL: {
+                Object value = load((Ast.Var) expr, scope);
+                if (value instanceof Double) {
+                    return toLong((Double) value);
+                }
+                return toLong(boxedNumber(expr, scope));
+            }
+            case Ast.ARITH: {
+                Ast.Arith arith = (Ast.Arith) expr;
+                long left = evalLong(arith.left, scope);
+                long right = evalLong(arith.right, scope);
+                return intArith(arith.op, left, right);
+            }
+            case Ast.INLINE: {
+                Ast.Inline inline = (Ast.Inline) expr;
+                if (inline.type != Ast.Type.INT) {
+                    return toLong(boxedNumber(expr, scope));
+                }
+                execAll(inline.body, scope);
+                return evalLong(inline.result, scope);
+            }
+            default:
+                return toLong(boxedNumber(expr, scope));
+        }
+    }
+
+    /**
+     * Evalúa una expresión booleana devolviendo un boolean sin empaquetar.
+     */
+    boolean evalBool(Ast.Expr expr, Scope scope) {
+        switch (expr.tag) {
+            case Ast.CONST:
+                return expr.type == Ast.Type.BOOLEAN ? (Boolean) ((Ast.Const) expr).value : boxedBool(expr, scope);
+            case Ast.LOCAL: {
+                Ast.Local local = (Ast.Local) expr;
+                Scope owner = owner(local, scope);
+                if (local.type == Ast.Type.BOOLEAN && owner.layout.kinds[local.slot] == Ast.Kind.LONG
+                        && (owner.unset == null || !owner.unset[local.slot])) {
+                    return owner.longs[owner.layout.index[local.slot]] != 0;
+                }
+                return boxedBool(expr, scope);
+            }
+            case Ast.COMPARE: {
+                Ast.Compare compare = (Ast.Compare) expr;
+                if (compare.left.type == Ast.Type.INT && compare.right.type == Ast.Type.INT) {
+                    return compare(compare.op, evalLong(compare.left, scope), evalLong(compare.right, scope));
+                } else if (compare.left.type.isNumeric() && compare.right.type.isNumeric()) {
+                    return compare(compare.op, evalDouble(compare.left, scope), evalDouble(compare.right, scope));
+                }
+                return boxedBool(expr, scope);
+            }
+            case Ast.AND: {
+                Ast.Logic logic = (Ast.Logic) expr;
+                if (!evalBool(logic.left, scope)) {
+                    skippedOperands++;
+                    return false;
+                }
+                return evalBool(logic.right, scope);
+            }
+            case Ast.OR: {
+                Ast.Logic logic = (Ast.Logic) expr;
+                if (evalBool(logic.left, scope)) {
+                    skippedOperands++;
+                    return true;
+                }
+                return evalBool(logic.right, scope);
+            }
+            case Ast.NOT:
+                return !evalBool(((Ast.Not) expr).operand, scope);
+            case Ast.INLINE: {
+                Ast.Inline inline = (Ast.Inline) expr;
+                if (inline.type != Ast.Type.BOOLEAN) {
+                    return boxedBool(expr, scope);
+                }
+                execAll(inline.body, scope);
+                return evalBool(inline.result, scope);
+            }
+            default:
+                return boxedBool(expr, scope);
+        }
+    }
+
+    static boolean compare(int op, long left, long right) {
+        if (left == NEGATIVE_ZERO) { // -0 == 0, como en double.
+            left = 0;
+        }
+        if (right == NEGATIVE_ZERO) {
+            right = 0;
+        }
+        switch (op) {
+            case Ast.EQ:
+                return left == right;
+            case Ast.NE:
+                return left != right;
+            case Ast.LT:
+                return left < right;
+            case Ast.GT:
+                return left > right;
+            case Ast.LE:
+                return left <= right;
+            default:
+                return left >= right;
+        }
+    }
+
+    static double arith(int op, double left, double right) {
+        switch (op) {
+            case Ast.ADD:
+                return left + right;
+            case Ast.SUB:
+                return left - right;
+            case Ast.MUL:
+                return left * right;
+            case Ast.DIV:
+                return left / right;
+            case Ast.POW:
+                return Math.pow(left, right);
+            default:
+                return intPower(left, right);
+        }
+    }
+
+    private static final double EXACT = 0x1p53; // Desde aquí no todos los enteros son representables en un double.
+    private static final long EXACT_LONG = 1L << 53;
+
+    /**
+     * Suma, resta o multiplicación de dos int ({@code op} es ADD, SUB o MUL: la división y la potencia nunca son de
+     * tipo int).
+     * <p>
+     * Los operandos siempre son valores que también tendría un double. Si el resultado exacto no pasa de 2^53, un
+     * double lo representa y la operación en double da ese mismo valor. Si pasa, o si se sale de long, se calcula en
+     * double, con el redondeo de los motores que calculan siempre en double, en vez de dar la vuelta en silencio.
+     * Con un operando -0, o con un producto que en double da -0, el resultado es {@link #NEGATIVE_ZERO}.
+     *
+     * @return El resultado de {@code arith(op, left, right)} en double, como long.
+     */
+    static long intArith(int op, long left, long right) {
+        if (left == NEGATIVE_ZERO || right == NEGATIVE_ZERO) {
+            return toLong(arith(op, toDouble(left), toDouble(right)));
+        }
+        long exact;
+        try {
+            switch (op) {
+                case Ast.ADD:
+                    exact = Math.addExact(left, right);
+                    break;
+                case Ast.SUB:
+                    exact = Math.subtractExact(left, right);
+                    break;
+                default:
+                    exact = Math.multiplyExact(left, right);
+                    break;
+            }
+        } catch (ArithmeticException e) { // No cabe en un long.
+            return toLong(arith(op, (double) left, (double) right));
+        }
+        if (exact == 0 && op == Ast.MUL && (left < 0 || right < 0)) { // -4 * 0 es -0 en double.
+            return NEGATIVE_ZERO;
+        }
+        if (exact >= -EXACT_LONG && exact <= EXACT_LONG) {
+            return exact;
+        }
+        return toLong(arith(op, (double) left, (double) right));
+    }
+
+    /**
+     * Representación long del int -0, que en los motores que calculan en double sale por ejemplo de {@code -4 * 0} y
+     * se imprime como -0.0. Son los bits de -0.0 y ningún otro int la usa, porque {@link #toLong} no acepta -2^63.
+     */
+    static final long NEGATIVE_ZERO = Long.MIN_VALUE;
+
+    /**
+     * Convierte un valor entero de tipo int a long. Todo double entero menor que 2^63 en valor absoluto tiene un long
+     * igual, así que el valor se conserva; uno más grande no cabe en una ranura long y detiene la ejecución.
+     * -0.0 se guarda como {@link #NEGATIVE_ZERO}.
+     */
+    static long toLong(double value) {
+        if (Math.abs(value) < 0x1p63) {
+            return Double.doubleToRawLongBits(value) == NEGATIVE_ZERO ? NEGATIVE_ZERO : (long) value;
+        }
+        throw new ExecutionError("Error: Desbordamiento: el valor int " + value + " no cabe en 64 bits.");
+    }
+
+    /**
+     * Convierte un int guardado como long al double que tendría en {@link MyVisitorFX}.
+     */
+    static double toDouble(long value) {
+        return value == NEGATIVE_ZERO ? -0.0 : value;
+    }
+
+    /**
+     * Potencia con exponente entero, con el mismo resultado bit a bit que {@link Math#pow}.
+     * <p>
+     * {@code (-1)^n} se resuelve por la paridad de n, {@code x^2} es {@code x*x} (la JVM garantiza que Math.pow
+     * da lo mismo) y las potencias naturales de una base entera se calculan por cuadrados sucesivos mientras sean
+     * exactas, que es cuando Math.pow también devuelve el valor exacto. Los demás casos usan Math.pow.
+     *
+     * @param base     La base.
+     * @param exponent El exponente, normalmente un valor de una expresión int.
+     * @return {@code Math.pow(base, exponent)}.
+     */
+    static double intPower(double base, double exponent) {
+        if (base == -1.0 && Math.abs(exponent) < EXACT && exponent == (long) exponent) {
+            return ((long) exponent & 1) == 0 ? 1.0 : -1.0;
+        }
+        if (exponent == 2) {
+            return base * base;
+        }
+        if (exponent >= 0 && exponent <= Integer.MAX_VALUE && exponent == (long) exponent && base == Math.rint(base)) {
+            long n = (long) exponent;
+            double result = 1.0;
+            double square = base;
+            while (true) {
+                if ((n & 1) != 0) {
+                    result *= square;
+                    if (Math.abs(result) >= EXACT) {
+                        break;
+                    }
+                }
+                n >>= 1;
+                if (n == 0) {
+                    return result;
+                }
+                square *= square;
+                if (Math.abs(square) >= EXACT) {
+                    break;
+                }
+            }
+        }
+        return Math.pow(base, exponent);
+    }
+
+    /**
+     * Compara dos valores con la misma semántica que {@link MyVisitorFX#evalCondition}.
+     */
+    private Object compare(int op, Object left, Object right) {
+        if (left instanceof Number && right instanceof Number) {
+            return compare(op, ((Number) left).doubleValue(), ((Number) right).doubleValue());
+        } else if (left instanceof Boolean && right instanceof Boolean && (op == Ast.EQ || op == Ast.NE)) {
+            return (op == Ast.EQ) == (left.equals(right));
+        }
+        error("Error de tipos en comparacion : " + left + " " + Ast.COMPARE_SYMBOLS[op] + " " + right);
+        return false;
+    }
+
+    static boolean compare(int op, double left, double right) {
+        switch (op) {
+            case Ast.EQ:
+                return left == right;
+            case Ast.NE:
+                return left != right;
+            case Ast.LT:
+                return left < right;
+            case Ast.GT:
+                return left > right;
+            case Ast.LE:
+                return left <= right;
+            default:
+                return left >= right;
+        }
+    }
+
+    //---------------------- Funciones ----------------------
+
+    private Object call(Ast.Call call, Scope scope) {
+        Ast.Function fn = call.function >= 0 ? functions[call.function] : null;
+        if (fn == null) {
+            throw new ExecutionError("Function '" + call.name + "' not defined.");
+        }
+        if (call.args.length == fn.paramTypes.length && (memo == null || !memoized[fn.index])) {
+            Scope frame = bind(fn, call.args, scope);
+            if (frame == null) {
+                error("Error: Los argumentos de la llamada a '" + fn.name + "' no son compatibles con sus parametros.");
+                return null;
+            }
+            frame.site = call;
+            frame.caller = scope;
+            return execute(fn, frame);
+        }
+        Object[] args = new Object[call.args.length]; // La clave de la memoización guarda los argumentos.
+        for (int i = 0; i < args.length; i++) {
+            args[i] = eval(call.args[i], scope);
+        }
+        return invoke(fn, args);
+    }
+
+    /**
+     * Evalúa los argumentos directamente en las ranuras de los parámetros de un marco nuevo, sin un arreglo
+     * intermedio. Como en {@link #invoke}, se evalúan todos antes de reportar uno incompatible.
+     *
+     * @return El marco o null si algún argumento no es compatible con su parámetro.
+     */
+    private Scope bind(Ast.Function fn, Ast.Expr[] args, Scope scope) {
+        Scope frame = new Scope(layout(fn.layout, fn.frameSize), null);
+        boolean compatible = true;
+        for (int i = 0; i < args.length; i++) {
+            Ast.Type type = fn.paramTypes[i];
+            if (specialized && type.isNumeric() && args[i].type.isNumeric()) {
+                double value = evalDouble(args[i], scope);
+                if (type == Ast.Type.INT && value != Math.rint(value)) {
+                    compatible = false;
+                } else {
+                    frame.setNumber(i, value);
+                }
+            } else {
+                Object value = eval(args[i], scope);
+                if (accepts(type, value)) {
+                    frame.set(i, value);
+                } else {
+                    compatible = false;
+                }
+            }
+        }
+        return compatible ? frame : null;
+    }
+
+    /**
+     * Ejecuta una función con los argumentos ya evaluados.
+     *
+     * @param fn   La función.
+     * @param args Los valores de los argumentos. Si la función se memoiza, el arreglo pasa a ser parte de la clave.
+     * @return El valor de retorno o null si los argumentos no son compatibles.
+     */
+    Object invoke(Ast.Function fn, Object[] args) {
+        if (!checkArguments(fn, args)) {
+            error("Error: Los argumentos de la llamada a '" + fn.name + "' no son compatibles con sus parametros.");
+            return null;
+        }
+        MemoCache.Key key = null;
+        if (memo != null && memoized[fn.index]) {
+            key = new MemoCache.Key(fn.index, args);
+            Object cached = memo.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Scope frame = new Scope(layout(fn.layout, fn.frameSize), null);
+        for (int i = 0; i < args.length; i++) {
+            frame.set(i, args[i]);
+        }
+        Object returnValue = execute(fn, frame);
+        if (key != null) {
+            memo.put(key, returnValue);
+        }
+        return returnValue;
+    }
+
+    /**
+     * Ejecuta el cuerpo de una función en un marco con los parámetros ya cargados.
+     *
+     * @return El valor de retorno.
+     */
+    private Object execute(Ast.Function fn, Scope frame) {
+        Object returnValue;
+        if (execAll(fn.body, frame) == RETURN) {
+            returnValue = returned;
+            returned = null;
+        } else {
+            returnValue = eval(fn.returnExpr, frame);
+        }
+        if (!accepts(fn.returnType, returnValue)) {
+            throw new ExecutionError("Error: In function " + fn.name + ", return value is not of type " + fn.returnType);
+        }
+        return returnValue;
+    }
+
+    static boolean checkArguments(Ast.Function fn, Object[] args) {
+        if (fn.paramTypes.length != args.length) {
+            return false;
+        }
+        for (int i = 0; i < args.length; i++) {
+            if (!accepts(fn.paramTypes[i], args[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //---------------------- Variables y tipos ----------------------
+
+    /**
+     * @return El ámbito donde vive una variable local.
+     */
+    static Scope owner(Ast.Local local, Scope scope) {
+        for (int d = local.depth; d > 0; d--) {
+            scope = scope.parent;
+        }
+        return scope;
+    }
+
+    /**
+     * Busca una variable de quien llama como {@link MyVisitorFX}: en las variables que ve cada llamada en curso, de
+     * la más reciente a la más antigua, y después en las globales.
+     *
+     * @return La variable local, que se alcanza desde {@link #resolvedFrom}, la global o null si no está declarada.
+     */
+    private Ast.Var resolve(Ast.Dynamic var, Scope scope) {
+        for (Scope frame = scope; frame != null; frame = frame.caller) {
+            while (frame.parent != null) {
+                frame = frame.parent;
+            }
+            if (frame.site == null) { // Un bloque del nivel superior.
+                break;
+            }
+            for (Ast.Local local : frame.site.visible) {
+                if (local.name.equals(var.name)) {
+                    resolvedFrom = frame.caller;
+                    return local;
+                }
+            }
+        }
+        resolvedFrom = null;
+        return var.global;
+    }
+
+    private Object load(Ast.Var var, Scope scope) {
+        if (var.tag == Ast.GLOBAL) {
+            return globals[((Ast.Global) var).index];
+        }
+        Ast.Local local = (Ast.Local) var;
+        return owner(local, scope).get(local.slot, local.type);
+    }
+
+    private void store(Ast.Var var, Scope scope, Object value) {
+        if (var.tag == Ast.GLOBAL) {
+            globals[((Ast.Global) var).index] = value;
+            return;
+        }
+        Ast.Local local = (Ast.Local) var;
+        owner(local, scope).set(local.slot, value);
+    }
+
+    /**
+     * Guarda un número ya verificado contra el tipo de la variable, sin empaquetarlo si la ranura es primitiva.
+     */
+    private void storeNumber(Ast.Var var, Scope scope, double value) {
+        if (var.tag == Ast.GLOBAL) {
+            globals[((Ast.Global) var).index] = value;
+            return;
+        }
+        Ast.Local local = (Ast.Local) var;
+        owner(local, scope).setNumber(local.slot, value);
+    }
+
+    /**
+     * Deja sin valor una variable local primitiva cuya declaración falló, como la ranura null de un ámbito de
+     * referencias. Las globales y las referencias conservan su valor.
+     */
+    static void unset(Ast.Var var, Scope scope) {
+        if (var.tag == Ast.LOCAL) {
+            Ast.Local local = (Ast.Local) var;
+            Scope owner = owner(local, scope);
+            if (owner.layout.kinds[local.slot] != Ast.Kind.REF) {
+                owner.set(local.slot, null);
+            }
+        }
+    }
+
+    /**
+     * @return La distribución de un ámbito, o una de referencias si las ranuras primitivas están desactivadas o el
+     * programa no pasó por {@link TypeInference}.
+     */
+    private Ast.Layout layout(Ast.Layout layout, int size) {
+        if (primitiveFrames && layout != null) {
+            return layout;
+        }
+        if (size >= boxedLayouts.length) {
+            boxedLayouts = Arrays.copyOf(boxedLayouts, size + 1);
+        }
+        if (boxedLayouts[size] == null) {
+            boxedLayouts[size] = Ast.Layout.boxed(size);
+        }
+        return boxedLayouts[size];
+    }
+
+    /**
+     * Verifica si un valor es compatible con un tipo, con las mismas reglas que {@link MyVisitorFX}:
+     * un int acepta cualquier número con valor entero.
+     */
+    static boolean accepts(Ast.Type type, Object value) {
+        switch (type) {
+            case INT:
+                return value instanceof Number && ((Number) value).doubleValue() == Math.rint(((Number) value).doubleValue());
+            case DOUBLE:
+                return value instanceof Number;
+            case STRING:
+                return value instanceof String;
+            case BOOLEAN:
+                return value instanceof Boolean;
+            default:
+                return true;
+        }
+    }
+
+    static Object defaultValue(Ast.Type type) {
+        switch (type) {
+            case BOOLEAN:
+                return false;
+            case STRING:
+                return "";
+            default:
+                return 0.0;
+        }
+    }
+
+    static String functionName(Ast.Expr expr) {
+        return expr.tag == Ast.CALL ? ((Ast.Call) expr).name : ((Ast.Inline) expr).name;
+    }
+
+    static String describe(Ast.Expr expr) {
+        if (expr instanceof Ast.Var) {
+            return ((Ast.Var) expr).name;
+        } else if (expr instanceof Ast.Undefined) {
+            return ((Ast.Undefined) expr).name;
+        }
+        return expr.type.toString();
+    }
+
+    private void error(String message) {
+        diagnostics.error(Diagnostics.Code.EXECUTION, message);
+    }
+}
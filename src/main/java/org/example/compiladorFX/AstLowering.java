@@ -0,0 +1,617 @@
+package org.example.compiladorFX;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+import java.util.*;
+
+/**
+ * Baja el árbol de {@link gParser} a un {@link Ast} compacto.
+ * Cada identificador se resuelve una sola vez a un par (profundidad, ranura) o a un índice global,
+ * replicando los ámbitos de {@link MyVisitorFX}: el nivel superior es el ámbito global, cada bloque
+ * '{ program }' y cada cabecera de for abren un ámbito, y una función comparte un único ámbito entre
+ * sus parámetros y las variables de su cuerpo.
+ * <p>
+ * Como en {@link MyVisitorFX}, una función ve sus propias variables y las de quien la llama (ámbito dinámico). Un
+ * nombre que la función no declara es la global si ningún ámbito local del programa lo declara; si alguno lo declara,
+ * se baja como {@link Ast.Dynamic} y cada llamada guarda las variables locales que ve ({@link Ast.Call#visible}), para
+ * que el intérprete lo busque en las llamadas en curso. Los cuerpos se bajan al final, cuando ya se conocen todas las
+ * variables globales del programa.
+ * <p>
+ * Bajar un programa nunca lanza excepciones: una sentencia con errores de sintaxis, que el parser dejó incompleta, o
+ * con un literal que no se puede representar se baja como {@link Ast.ErrorStmt}.
+ */
+public class AstLowering extends gBaseVisitor<Ast.Node> {
+
+    /**
+     * Ámbito de compilación. Asigna una ranura a cada variable declarada en él.
+     */
+    private static final class Scope {
+        final Scope parent;
+        final boolean global;
+        final Map<String, Integer> slots = new HashMap<>();
+        final List<String> names = new ArrayList<>();
+        final List<Ast.Type> types = new ArrayList<>();
+
+        Scope(Scope parent, boolean global) {
+            this.parent = parent;
+            this.global = global;
+        }
+
+        int declare(String name, Ast.Type type) {
+            int slot = names.size();
+            slots.put(name, slot);
+            names.add(name);
+            types.add(type);
+            return slot;
+        }
+    }
+
+    private final Map<String, Integer> functionIndex = new HashMap<>(); // Nombre de función -> índice.
+    private final List<String> functionNames = new ArrayList<>();
+    private final List<Ast.Type> functionTypes = new ArrayList<>(); // Tipo de retorno, UNKNOWN si las declaraciones difieren.
+    private final Deque<Map.Entry<gParser.Function_declarationContext, Ast.Function>> pendingBodies = new ArrayDeque<>();
+    private final Map<String, Ast.Type> localNames = new HashMap<>(); // Declarados en ámbitos locales y usados en funciones.
+    private boolean dynamicScope; // Se bajó algún Ast.Dynamic.
+    private boolean fractionalInts; // Algún += o -= suma a una variable que puede ser int un valor que puede no serlo.
+
+    /**
+     * Error de una sentencia que se puede bajar solo en parte. La sentencia se reemplaza por un {@link Ast.ErrorStmt}.
+     */
+    private static final class LoweringError extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        LoweringError(String message) {
+            super(message);
+        }
+    }
+
+    private Scope globalScope;
+    private Scope scope;
+    private boolean inFunction; // Se baja el cuerpo de una función: se permite return.
+    private int loops;          // Ciclos abiertos dentro de la función o del nivel superior: se permiten break y continue.
+
+    /**
+     * Baja un programa completo.
+     *
+     * @param tree El árbol devuelto por {@code parser.program()}.
+     * @return El programa resuelto.
+     */
+    public Ast.Program lower(gParser.ProgramContext tree) {
+        collectFunctions(tree);
+        collectLocalNames(tree);
+        globalScope = new Scope(null, true);
+        scope = globalScope;
+
+        Ast.Stmt[] body = lowerStatements(tree.statement());
+
+        // Los cuerpos de las funciones se bajan cuando ya se conocen todas las globales.
+        while (!pendingBodies.isEmpty()) {
+            Map.Entry<gParser.Function_declarationContext, Ast.Function> pending = pendingBodies.poll();
+            lowerFunctionBody(pending.getKey(), pending.getValue());
+        }
+
+        return new Ast.Program(body,
+                globalScope.names.toArray(new String[0]),
+                globalScope.types.toArray(new Ast.Type[0]),
+                functionNames.toArray(new String[0]), dynamicScope, fractionalInts);
+    }
+
+    /**
+     * Recorre todo el árbol registrando las funciones declaradas para que las llamadas se resuelvan a un índice.
+     */
+    private void collectFunctions(ParseTree node) {
+        if (node instanceof gParser.Function_declarationContext && !hasSyntaxErrors(node)) {
+            gParser.Function_declarationContext fn = (gParser.Function_declarationContext) node;
+            String name = fn.ID().getText();
+            Ast.Type type = Ast.Type.of(fn.type().getText());
+            Integer index = functionIndex.get(name);
+            if (index == null) {
+                functionIndex.put(name, functionNames.size());
+                functionNames.add(name);
+                functionTypes.add(type);
+            } else if (functionTypes.get(index) != type) {
+                functionTypes.set(index, Ast.Type.UNKNOWN); // El tipo de la llamada depende de qué declaración se instaló.
+            }
+        }
+        for (int i = 0; i < node.getChildCount(); i++) {
+            collectFunctions(node.getChild(i));
+        }
+    }
+
+    /**
+     * Registra los nombres que algún ámbito local declara (parámetros, variables de funciones, de bloques y de
+     * encabezados de for) y que se usan dentro de alguna función: son los únicos que una función puede encontrar en
+     * los ámbitos de quien la llama. El tipo es UNKNOWN si las declaraciones no coinciden.
+     */
+    private void collectLocalNames(gParser.ProgramContext tree) {
+        Map<String, Ast.Type> declared = new HashMap<>();
+        Set<String> used = new HashSet<>();
+        collectLocalNames(tree, tree, false, declared, used);
+        for (Map.Entry<String, Ast.Type> entry : declared.entrySet()) {
+            if (used.contains(entry.getKey())) {
+                localNames.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private static void collectLocalNames(gParser.ProgramContext tree, ParseTree node, boolean inFunction,
+                                          Map<String, Ast.Type> declared, Set<String> used) {
+        if (node instanceof gParser.Function_declarationContext) {
+            inFunction = true;
+            for (gParser.ParamsContext p = ((gParser.Function_declarationContext) node).params(); p != null; p = p.params()) {
+                declareLocalName(p.ID(), p.type(), declared);
+            }
+        } else if (node instanceof gParser.Variable_declarationContext && node.getParent().getParent() != tree) {
+            gParser.Variable_declarationContext declaration = (gParser.Variable_declarationContext) node;
+            declareLocalName(declaration.ID(0), declaration.type(), declared);
+        } else if (inFunction && node instanceof TerminalNode && ((TerminalNode) node).getSymbol().getType() == gParser.ID) {
+            used.add(node.getText());
+        }
+        for (int i = 0; i < node.getChildCount(); i++) {
+            collectLocalNames(tree, node.getChild(i), inFunction, declared, used);
+        }
+    }
+
+    private static void declareLocalName(TerminalNode id, gParser.TypeContext type, Map<String, Ast.Type> declared) {
+        if (id != null && type != null) {
+            declared.merge(id.getText(), Ast.Type.of(type.getText()), (a, b) -> a == b ? a : Ast.Type.UNKNOWN);
+        }
+    }
+
+    //---------------------- Ámbitos ----------------------
+
+    /**
+     * Resuelve un identificador buscando desde el ámbito actual hacia afuera. Dentro de una función, un nombre que
+     * no está en sus ámbitos y que otro ámbito local declara se busca en ejecución ({@link Ast.Dynamic}).
+     *
+     * @param name El nombre de la variable.
+     * @return La referencia resuelta o null si no está declarada.
+     */
+    private Ast.Var resolve(String name) {
+        int depth = 0;
+        for (Scope s = scope; s != null; s = s.parent) {
+            Integer slot = s.slots.get(name);
+            if (slot != null) {
+                if (s.global) {
+                    return dynamic(name, new Ast.Global(name, s.types.get(slot), slot));
+                }
+                return new Ast.Local(name, s.types.get(slot), depth, slot);
+            }
+            if (!s.global) {
+                depth++; // Solo los ámbitos locales cuentan como niveles; los globales se acceden por índice.
+            }
+        }
+        return dynamic(name, null);
+    }
+
+    /**
+     * @param global La global con ese nombre o null.
+     * @return Una variable de quien llama si se baja una función y algún ámbito local declara el nombre; si no, la
+     * global.
+     */
+    private Ast.Var dynamic(String name, Ast.Global global) {
+        Ast.Type type = localNames.get(name);
+        if (!inFunction || type == null) {
+            return global;
+        }
+        dynamicScope = true;
+        return new Ast.Dynamic(name, global == null || global.type == type ? type : Ast.Type.UNKNOWN, global);
+    }
+
+    /**
+     * @return Las variables locales visibles desde el ámbito actual que una función llamada puede usar.
+     */
+    private Ast.Local[] visible() {
+        if (localNames.isEmpty()) {
+            return Ast.NO_LOCALS;
+        }
+        List<Ast.Local> visible = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        int depth = 0;
+        for (Scope s = scope; !s.global; s = s.parent, depth++) {
+            for (int slot = 0; slot < s.names.size(); slot++) {
+                String name = s.names.get(slot);
+                if (localNames.containsKey(name) && seen.add(name)) { // Una variable de adentro oculta a las de afuera.
+                    visible.add(new Ast.Local(name, s.types.get(slot), depth, slot));
+                }
+            }
+        }
+        return visible.toArray(Ast.NO_LOCALS);
+    }
+
+    private Ast.Var declare(String name, Ast.Type type) {
+        int slot = scope.declare(name, type);
+        if (scope.global) {
+            return new Ast.Global(name, type, slot);
+        }
+        return new Ast.Local(name, type, 0, slot);
+    }
+
+    /**
+     * Baja un bloque '{ program }' abriendo un ámbito nuevo.
+     */
+    private Ast.Block lowerBlock(gParser.ProgramContext ctx) {
+        scope = new Scope(scope, false);
+        Ast.Stmt[] body = lowerStatements(ctx.statement());
+        int size = scope.names.size();
+        scope = scope.parent;
+        return at(new Ast.Block(size, body), ctx);
+    }
+
+    private Ast.Stmt[] lowerStatements(List<gParser.StatementContext> statements) {
+        List<Ast.Stmt> body = new ArrayList<>(statements.size());
+        for (gParser.StatementContext stmt : statements) {
+            Ast.Node node = lowerStatement(stmt);
+            if (node != null) {
+                body.add((Ast.Stmt) node);
+            }
+        }
+        return body.toArray(new Ast.Stmt[0]);
+    }
+
+    /**
+     * Baja una sentencia, o la reemplaza por el error que impide bajarla.
+     */
+    private Ast.Node lowerStatement(ParserRuleContext stmt) {
+        if (hasSyntaxErrors(stmt)) {
+            return at(new Ast.ErrorStmt("Error: La sentencia tiene errores de sintaxis."), stmt);
+        }
+        Scope saved = scope;
+        int savedLoops = loops;
+        try {
+            return visit(stmt);
+        } catch (LoweringError e) {
+            scope = saved; // Un error dentro de un bloque o un ciclo los deja abiertos.
+            loops = savedLoops;
+            return at(new Ast.ErrorStmt(e.getMessage()), stmt);
+        }
+    }
+
+    /**
+     * @return true si el parser no pudo reconocer todo el subárbol: le faltan o le sobran símbolos.
+     */
+    static boolean hasSyntaxErrors(ParseTree node) {
+        if (node instanceof ErrorNode || node instanceof ParserRuleContext && ((ParserRuleContext) node).exception != null) {
+            return true;
+        }
+        for (int i = 0; i < node.getChildCount(); i++) {
+            if (hasSyntaxErrors(node.getChild(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T extends Ast.Node> T at(T node, ParserRuleContext ctx) {
+        node.line = ctx.getStart().getLine();
+        return node;
+    }
+
+    //---------------------- Sentencias ----------------------
+
+    @Override
+    public Ast.Node visitStatement(gParser.StatementContext ctx) {
+        if (ctx.function_call() != null) { // Llamada usada como sentencia.
+            return at(new Ast.ExprStmt(lowerCall(ctx.function_call())), ctx);
+        }
+        return visit(ctx.getChild(0));
+    }
+
+    @Override
+    public Ast.Node visitVariable_declaration(gParser.Variable_declarationContext ctx) {
+        String id = ctx.ID(0).getText();
+        Ast.Type type = Ast.Type.of(ctx.type().getText());
+
+        if (scope.slots.containsKey(id)) { // Ya declarada en el ámbito actual.
+            return at(new Ast.ErrorStmt("Error: Variable '" + id + "' ya declarada."), ctx);
+        }
+
+        Ast.Expr init = null;
+        if (ctx.ID(1) != null) { // Declaración con asignación de otra variable.
+            String id2 = ctx.ID(1).getText();
+            init = resolve(id2);
+            if (init == null) {
+                return at(new Ast.ErrorStmt("Error: Variable '" + id2 + "' no declarada."), ctx);
+            }
+        } else if (ctx.expression() != null) {
+            init = lowerExpression(ctx.expression()); // Se baja antes de declarar: 'int x = x' no ve la nueva variable.
+        }
+        return at(new Ast.Declare(declare(id, type), init), ctx);
+    }
+
+    @Override
+    public Ast.Node visitVariable_assign(gParser.Variable_assignContext ctx) {
+        String id = ctx.ID().getText();
+        Ast.Expr value = lowerExpression(ctx.expression());
+        Ast.Var target = resolve(id);
+        if (target == null) {
+            return at(new Ast.ErrorStmt("Error: Variable '" + id + "' no está declarada."), ctx);
+        }
+        return at(new Ast.Assign(target, value), ctx);
+    }
+
+    @Override
+    public Ast.Node visitVariable_update(gParser.Variable_updateContext ctx) {
+        String id = ctx.ID().getText();
+        Ast.Var target = resolve(id);
+        if (target == null) {
+            return at(new Ast.ErrorStmt("Error: Variable '" + id + "' no declarada."), ctx);
+        }
+        String operator = ctx.getChild(1).getText();
+        int op = Arrays.asList(Ast.UPDATE_SYMBOLS).indexOf(operator);
+        Ast.Expr value = ctx.math_expression() != null ? lowerMath(ctx.math_expression()) : null;
+        if (value != null && value.type != Ast.Type.INT && target.type != Ast.Type.DOUBLE) {
+            fractionalInts = true; // Como en el visitor, 'int x = 9; x += 0.5;' deja 9.5 en x.
+        }
+        return at(new Ast.Update(target, op, value), ctx);
+    }
+
+    @Override
+    public Ast.Node visitIf_statement(gParser.If_statementContext ctx) {
+        Ast.Expr cond = lowerLogical(ctx.logical_operation());
+        Ast.Block then = lowerBlock(ctx.program(0));
+        Ast.Block otherwise = ctx.program().size() > 1 ? lowerBlock(ctx.program(1)) : null;
+        return at(new Ast.If(cond, then, otherwise), ctx);
+    }
+
+    @Override
+    public Ast.Node visitWhile_loop(gParser.While_loopContext ctx) {
+        Ast.Expr cond = lowerLogical(ctx.logical_operation());
+        return at(new Ast.Loop(Ast.WHILE, cond, lowerLoopBody(ctx.program())), ctx);
+    }
+
+    @Override
+    public Ast.Node visitDo_while(gParser.Do_whileContext ctx) {
+        Ast.Block body = lowerLoopBody(ctx.program());
+        return at(new Ast.Loop(Ast.DO_WHILE, lowerLogical(ctx.logical_operation()), body), ctx);
+    }
+
+    @Override
+    public Ast.Node visitFor_loop(gParser.For_loopContext ctx) {
+        scope = new Scope(scope, false); // Ámbito de la variable de control.
+        Ast.Stmt init = (Ast.Stmt) visit(ctx.variable_declaration());
+        Ast.Expr cond = lowerLogical(ctx.logical_operation());
+        Ast.Stmt update = (Ast.Stmt) visit(ctx.variable_update());
+        Ast.Block body = lowerLoopBody(ctx.program());
+        int size = scope.names.size();
+        scope = scope.parent;
+        return at(new Ast.For(size, init, cond, update, body), ctx);
+    }
+
+    /**
+     * Baja el cuerpo de un ciclo, donde se permiten break y continue.
+     */
+    private Ast.Block lowerLoopBody(gParser.ProgramContext ctx) {
+        loops++;
+        Ast.Block body = lowerBlock(ctx);
+        loops--;
+        return body;
+    }
+
+    @Override
+    public Ast.Node visitBreak_statement(gParser.Break_statementContext ctx) {
+        return at(loops > 0 ? new Ast.Jump(Ast.BREAK) : new Ast.ErrorStmt("Error: break fuera de un ciclo."), ctx);
+    }
+
+    @Override
+    public Ast.Node visitContinue_statement(gParser.Continue_statementContext ctx) {
+        return at(loops > 0 ? new Ast.Jump(Ast.CONTINUE) : new Ast.ErrorStmt("Error: continue fuera de un ciclo."), ctx);
+    }
+
+    /**
+     * Un return en medio del cuerpo; el return final de la función se baja aparte en {@link #lowerFunctionBody}.
+     */
+    @Override
+    public Ast.Node visitReturn_expression(gParser.Return_expressionContext ctx) {
+        if (!inFunction) {
+            return at(new Ast.ErrorStmt("Error: return fuera de una funcion."), ctx);
+        }
+        return at(new Ast.Return(lowerExpression(ctx.expression())), ctx);
+    }
+
+    @Override
+    public Ast.Node visitFunction_declaration(gParser.Function_declarationContext ctx) {
+        List<String> names = new ArrayList<>();
+        List<Ast.Type> types = new ArrayList<>();
+        for (gParser.ParamsContext p = ctx.params(); p != null; p = p.params()) {
+            names.add(p.ID().getText());
+            types.add(Ast.Type.of(p.type().getText()));
+        }
+        String name = ctx.ID().getText();
+        Ast.Function function = new Ast.Function(name, functionIndex.get(name), Ast.Type.of(ctx.type().getText()),
+                names.toArray(new String[0]), types.toArray(new Ast.Type[0]));
+        pendingBodies.add(new AbstractMap.SimpleEntry<>(ctx, function));
+        return at(new Ast.FunctionDecl(function), ctx);
+    }
+
+    /**
+     * Baja el cuerpo de una función en un ámbito cuyo padre es el global.
+     */
+    private void lowerFunctionBody(gParser.Function_declarationContext ctx, Ast.Function function) {
+        Scope saved = scope;
+        scope = new Scope(globalScope, false);
+        for (int i = 0; i < function.paramNames.length; i++) {
+            scope.declare(function.paramNames[i], function.paramTypes[i]);
+        }
+        inFunction = true;
+        loops = 0;
+        function.body = lowerStatements(ctx.function_body().statement());
+        function.returnExpr = lowerReturn(ctx.function_body().return_expression(), function); // La gramática exige el return final.
+        function.frameSize = scope.names.size();
+        scope = saved;
+    }
+
+    /**
+     * Baja el valor del return final. Si no se puede, el error queda al final del cuerpo y la función devuelve el
+     * valor por defecto de su tipo.
+     */
+    private Ast.Expr lowerReturn(gParser.Return_expressionContext stmt, Ast.Function function) {
+        Ast.Node node = lowerStatement(stmt);
+        if (node.tag != Ast.ERROR) {
+            return ((Ast.Return) node).value;
+        }
+        function.body = Arrays.copyOf(function.body, function.body.length + 1);
+        function.body[function.body.length - 1] = (Ast.Stmt) node;
+        return at(new Ast.Const(AstInterpreter.defaultValue(function.returnType), function.returnType), stmt);
+    }
+
+    @Override
+    public Ast.Node visitPrint_call(gParser.Print_callContext ctx) {
+        List<Ast.Expr> parts = new ArrayList<>();
+        for (gParser.Print_paramsContext p = ctx.print_params(); p != null; p = p.print_params()) {
+            parts.add(lowerExpression(p.expression()));
+        }
+        return at(new Ast.Print(parts.toArray(new Ast.Expr[0])), ctx);
+    }
+
+    //---------------------- Expresiones ----------------------
+
+    /**
+     * Baja una expresión. Una math_expression formada por un único factor se baja según el tipo de ese factor,
+     * para que una variable booleana o de texto no se trate como número.
+     */
+    Ast.Expr lowerExpression(gParser.ExpressionContext ctx) {
+        if (ctx.math_expression() != null) {
+            return lowerMath(ctx.math_expression());
+        } else if (ctx.logical_operation() != null) {
+            return lowerLogical(ctx.logical_operation());
+        } else if (ctx.string_expression() != null) {
+            return lowerString(ctx.string_expression());
+        }
+        return lowerCall(ctx.function_call());
+    }
+
+    private Ast.Expr lowerString(gParser.String_expressionContext ctx) {
+        List<Ast.Expr> parts = new ArrayList<>();
+        for (gParser.String_expressionContext s = ctx; s != null; s = s.string_expression()) {
+            String text = s.STRING().getText();
+            parts.add(at(new Ast.Const(text.substring(1, text.length() - 1), Ast.Type.STRING), s)); // Remueve las comillas.
+        }
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        return at(new Ast.Concat(parts.toArray(new Ast.Expr[0])), ctx);
+    }
+
+    Ast.Expr lowerMath(gParser.Math_expressionContext ctx) {
+        Ast.Expr value = lowerTerm(ctx.term(0));
+        for (int i = 1; i < ctx.term().size(); i++) {
+            int op = ctx.getChild(2 * i - 1).getText().equals("+") ? Ast.ADD : Ast.SUB;
+            value = arith(op, value, lowerTerm(ctx.term(i)), ctx);
+        }
+        return value;
+    }
+
+    private Ast.Expr lowerTerm(gParser.TermContext ctx) {
+        Ast.Expr value = lowerPower(ctx.power_expr(0));
+        for (int i = 1; i < ctx.power_expr().size(); i++) {
+            int op = ctx.getChild(2 * i - 1).getText().equals("*") ? Ast.MUL : Ast.DIV;
+            value = arith(op, value, lowerPower(ctx.power_expr(i)), ctx);
+        }
+        return value;
+    }
+
+    private Ast.Expr lowerPower(gParser.Power_exprContext ctx) {
+        Ast.Expr base = lowerFactor(ctx.factor(0));
+        if (ctx.factor().size() > 1) {
+            return arith(Ast.POW, base, lowerFactor(ctx.factor(1)), ctx);
+        }
+        return base;
+    }
+
+    private Ast.Expr arith(int op, Ast.Expr left, Ast.Expr right, ParserRuleContext ctx) {
+        // Entero solo si ambos operandos lo son y la operación no puede producir decimales.
+        boolean integral = left.type == Ast.Type.INT && right.type == Ast.Type.INT && op != Ast.DIV && op != Ast.POW;
+        return at(new Ast.Arith(op, left, right, integral ? Ast.Type.INT : Ast.Type.DOUBLE), ctx);
+    }
+
+    private Ast.Expr lowerFactor(gParser.FactorContext ctx) {
+        if (ctx.ID() != null) {
+            return reference(ctx.ID().getText(), Ast.Type.DOUBLE, ctx);
+        } else if (ctx.number() != null) {
+            return lowerNumber(ctx.number());
+        } else if (ctx.function_call() != null) {
+            return lowerCall(ctx.function_call());
+        }
+        return lowerMath(ctx.math_expression());
+    }
+
+    private Ast.Expr lowerNumber(gParser.NumberContext ctx) {
+        boolean negative = ctx.getChild(0).getText().equals("-");
+        if (ctx.INT() != null) {
+            int value;
+            try {
+                value = Integer.parseInt(ctx.INT().getText());
+            } catch (NumberFormatException e) {
+                throw new LoweringError("Error: El numero '" + ctx.INT().getText() + "' no cabe en un int.");
+            }
+            return at(new Ast.Const((double) (negative ? -value : value), Ast.Type.INT), ctx); // Como el visitor, -0 es 0.
+        }
+        double value = Double.parseDouble(ctx.DOUBLE().getText());
+        return at(new Ast.Const(negative ? -value : value, Ast.Type.DOUBLE), ctx);
+    }
+
+    private Ast.Expr reference(String id, Ast.Type fallback, ParserRuleContext ctx) {
+        Ast.Var var = resolve(id);
+        if (var == null) {
+            return at(new Ast.Undefined(id, fallback), ctx);
+        }
+        return at(var, ctx);
+    }
+
+    private Ast.Call lowerCall(gParser.Function_callContext ctx) {
+        String name = ctx.ID().getText();
+        List<Ast.Expr> args = new ArrayList<>();
+        for (gParser.Params_callContext p = ctx.params_call(); p != null; p = p.params_call()) {
+            args.add(lowerExpression(p.expression()));
+        }
+        Integer index = functionIndex.get(name);
+        Ast.Type type = index != null ? functionTypes.get(index) : Ast.Type.UNKNOWN;
+        Ast.Call call = at(new Ast.Call(name, index != null ? index : -1, args.toArray(new Ast.Expr[0]), type), ctx);
+        call.visible = visible();
+        return call;
+    }
+
+    Ast.Expr lowerLogical(gParser.Logical_operationContext ctx) {
+        Ast.Expr value = lowerLogicalTerm(ctx.logical_term(0));
+        for (int i = 1; i < ctx.logical_term().size(); i++) {
+            value = at(new Ast.Logic(Ast.OR, value, lowerLogicalTerm(ctx.logical_term(i))), ctx);
+        }
+        return value;
+    }
+
+    private Ast.Expr lowerLogicalTerm(gParser.Logical_termContext ctx) {
+        Ast.Expr value = lowerLogicalFactor(ctx.logical_factor(0));
+        for (int i = 1; i < ctx.logical_factor().size(); i++) {
+            value = at(new Ast.Logic(Ast.AND, value, lowerLogicalFactor(ctx.logical_factor(i))), ctx);
+        }
+        return value;
+    }
+
+    private Ast.Expr lowerLogicalFactor(gParser.Logical_factorContext ctx) {
+        if (ctx.boolean_() != null) {
+            return lowerBoolean(ctx.boolean_());
+        } else if (ctx.logical_factor() != null) {
+            return at(new Ast.Not(lowerLogicalFactor(ctx.logical_factor())), ctx);
+        } else if (ctx.function_call() != null) {
+            return lowerCall(ctx.function_call());
+        }
+        return lowerLogical(ctx.logical_operation());
+    }
+
+    private Ast.Expr lowerBoolean(gParser.BooleanContext ctx) {
+        if (ctx.TRUE() != null) {
+            return at(new Ast.Const(Boolean.TRUE, Ast.Type.BOOLEAN), ctx);
+        } else if (ctx.FALSE() != null) {
+            return at(new Ast.Const(Boolean.FALSE, Ast.Type.BOOLEAN), ctx);
+        } else if (ctx.ID() != null) {
+            return reference(ctx.ID().getText(), Ast.Type.BOOLEAN, ctx);
+        }
+        String operator = ctx.comparison_operator().getText();
+        int op = Arrays.asList(Ast.COMPARE_SYMBOLS).indexOf(operator);
+        return at(new Ast.Compare(op, lowerMath(ctx.math_expression(0)), lowerMath(ctx.math_expression(1))), ctx);
+    }
+}
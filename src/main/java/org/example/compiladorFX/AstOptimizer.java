@@ -0,0 +1,505 @@
+package org.example.compiladorFX;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pasada de optimización sobre el {@link Ast.Program}, entre {@link AstLowering} y la ejecución.
+ * <p>
+ * Pliega los subárboles constantes de las expresiones aritméticas (math_expression, term, power_expr),
+ * lógicas (logical_operation, boolean) y las concatenaciones de string_expression, y aplica identidades
+ * algebraicas que no cambian el resultado: {@code x*1}, {@code x/1}, {@code x-0}, {@code x^1},
+ * {@code true && x}, {@code false || x}, {@code !!x}, {@code true || x}, {@code false && x}. Cuando el
+ * constante está a la derecha ({@code x || true}, {@code x && false}) el operando solo se descarta si no tiene
+ * efectos (no llama funciones ni reporta errores), porque se evalúa antes que el constante.
+ * <p>
+ * Las potencias con exponente int se reducen a {@link Ast#POWI}, que los motores calculan con
+ * {@link AstInterpreter#intPower}: selección por paridad para {@code (-1)^i}, una multiplicación para
+ * {@code x^2} y cuadrados sucesivos para las demás potencias de bases enteras.
+ * <p>
+ * Los valores plegados se calculan con las mismas operaciones que {@link AstInterpreter}, así que el
+ * resultado es idéntico bit a bit.
+ * <p>
+ * Al final, {@link TailCallElimination} convierte la recursión de cola en ciclos, {@link InvariantHoisting} saca
+ * los invariantes de los ciclos y {@link FunctionInliner} copia las funciones chicas en las llamadas. Un programa en
+ * que alguna función usa variables de quien la llama ({@link Ast.Program#dynamicScope}) no pasa por estas tres: la
+ * llamada puede leer y escribir variables locales del ciclo, y un marco reutilizado o una copia en línea cambian
+ * qué variables encuentra.
+ */
+public class AstOptimizer {
+
+    private int removedNodes;
+    private int hoistedExpressions;
+    private int powers;
+    private boolean eliminateTailCalls = true;
+    private boolean hoistInvariants = true;
+    private int inlineThreshold = FunctionInliner.DEFAULT_THRESHOLD;
+    private final Map<String, Integer> inlinedCalls = new LinkedHashMap<>();
+    private final Map<String, Integer> tailCalls = new LinkedHashMap<>();
+
+    /**
+     * Activa o desactiva la conversión de la recursión de cola en ciclos ({@link TailCallElimination}).
+     *
+     * @param eliminateTailCalls false para que cada llamada recursiva cree su marco.
+     */
+    public void setEliminateTailCalls(boolean eliminateTailCalls) {
+        this.eliminateTailCalls = eliminateTailCalls;
+    }
+
+    /**
+     * Activa o desactiva el movimiento de invariantes fuera de los ciclos ({@link InvariantHoisting}).
+     *
+     * @param hoistInvariants false para dejar los ciclos como están y medir la diferencia.
+     */
+    public void setHoistInvariants(boolean hoistInvariants) {
+        this.hoistInvariants = hoistInvariants;
+    }
+
+    /**
+     * Fija el tamaño máximo, en nodos, de las funciones que se copian en las llamadas ({@link FunctionInliner}).
+     *
+     * @param inlineThreshold 0 para no copiar ninguna función.
+     */
+    public void setInlineThreshold(int inlineThreshold) {
+        this.inlineThreshold = inlineThreshold;
+    }
+
+    /**
+     * Optimiza un programa. Las funciones se optimizan en su lugar.
+     *
+     * @param program El programa resuelto.
+     * @return El programa optimizado.
+     */
+    public Ast.Program optimize(Ast.Program program) {
+        int before = count(program.body);
+        Ast.Stmt[] body = statements(program.body);
+        removedNodes += before - count(body);
+        Ast.Program result = new Ast.Program(body, program.globalNames, program.globalTypes, program.functionNames,
+                program.dynamicScope, program.fractionalInts);
+        if (program.dynamicScope) { // Las tres cambian qué marcos ve una función que usa variables de quien la llama.
+            return result;
+        }
+        if (eliminateTailCalls) {
+            TailCallElimination elimination = new TailCallElimination(result);
+            result = elimination.apply();
+            elimination.getEliminated().forEach((name, calls) -> tailCalls.merge(name, calls, Integer::sum));
+        }
+        if (hoistInvariants) {
+            InvariantHoisting hoisting = new InvariantHoisting(result);
+            result = hoisting.apply();
+            hoistedExpressions += hoisting.getHoisted();
+        }
+        if (inlineThreshold > 0) {
+            FunctionInliner inliner = new FunctionInliner(result, inlineThreshold);
+            result = inliner.apply();
+            inliner.getInlined().forEach((name, calls) -> inlinedCalls.merge(name, calls, Integer::sum));
+        }
+        return result;
+    }
+
+    /**
+     * @return La cantidad de nodos eliminados por las optimizaciones.
+     */
+    public int getRemovedNodes() {
+        return removedNodes;
+    }
+
+    /**
+     * @return La cantidad de potencias con exponente int que pasaron a {@link Ast#POWI}.
+     */
+    public int getReducedPowers() {
+        return powers;
+    }
+
+    /**
+     * @return La cantidad de expresiones invariantes que se sacaron de los ciclos.
+     */
+    public int getHoistedExpressions() {
+        return hoistedExpressions;
+    }
+
+    /**
+     * @return Las funciones copiadas en las llamadas y cuántas llamadas se reemplazaron de cada una.
+     */
+    public Map<String, Integer> getInlinedCalls() {
+        return inlinedCalls;
+    }
+
+    /**
+     * @return Las funciones con recursión de cola convertida en ciclo y cuántas llamadas de cola tenía cada una.
+     */
+    public Map<String, Integer> getTailCalls() {
+        return tailCalls;
+    }
+
+    //---------------------- Sentencias ----------------------
+
+    private Ast.Stmt[] statements(Ast.Stmt[] body) {
+        Ast.Stmt[] result = new Ast.Stmt[body.length];
+        for (int i = 0; i < body.length; i++) {
+            result[i] = statement(body[i]);
+        }
+        return result;
+    }
+
+    private Ast.Block block(Ast.Block block) {
+        return block == null ? null : at(new Ast.Block(block.size, statements(block.body)), block);
+    }
+
+    private Ast.Stmt statement(Ast.Stmt stmt) {
+        switch (stmt.tag) {
+            case Ast.BLOCK:
+                return block((Ast.Block) stmt);
+            case Ast.DECLARE: {
+                Ast.Declare declare = (Ast.Declare) stmt;
+                return at(new Ast.Declare(declare.target, expression(declare.init)), stmt);
+            }
+            case Ast.ASSIGN: {
+                Ast.Assign assign = (Ast.Assign) stmt;
+                return at(new Ast.Assign(assign.target, expression(assign.value)), stmt);
+            }
+            case Ast.UPDATE: {
+                Ast.Update update = (Ast.Update) stmt;
+                return at(new Ast.Update(update.target, update.op, expression(update.value)), stmt);
+            }
+            case Ast.IF: {
+                Ast.If ifStmt = (Ast.If) stmt;
+                return at(new Ast.If(expression(ifStmt.cond), block(ifStmt.then), block(ifStmt.otherwise)), stmt);
+            }
+            case Ast.WHILE:
+            case Ast.DO_WHILE: {
+                Ast.Loop loop = (Ast.Loop) stmt;
+                return at(new Ast.Loop(stmt.tag, expression(loop.cond), block(loop.body)), stmt);
+            }
+            case Ast.FOR: {
+                Ast.For forStmt = (Ast.For) stmt;
+                return at(new Ast.For(forStmt.size, statement(forStmt.init), expression(forStmt.cond),
+                        statement(forStmt.update), block(forStmt.body)), stmt);
+            }
+            case Ast.FUNCTION: {
+                Ast.Function fn = ((Ast.FunctionDecl) stmt).function;
+                int before = count(fn.body) + count(fn.returnExpr);
+                fn.body = statements(fn.body);
+                fn.returnExpr = expression(fn.returnExpr);
+                removedNodes += before - count(fn.body) - count(fn.returnExpr);
+                return stmt;
+            }
+            case Ast.EXPR:
+                return at(new Ast.ExprStmt(expression(((Ast.ExprStmt) stmt).expr)), stmt);
+            case Ast.PRINT: {
+                Ast.Expr[] parts = ((Ast.Print) stmt).parts;
+                Ast.Expr[] result = new Ast.Expr[parts.length];
+                for (int i = 0; i < parts.length; i++) {
+                    result[i] = expression(parts[i]);
+                }
+                return at(new Ast.Print(result), stmt);
+            }
+            case Ast.RETURN:
+                return at(new Ast.Return(expression(((Ast.Return) stmt).value)), stmt);
+            default:
+                return stmt;
+        }
+    }
+
+    //---------------------- Expresiones ----------------------
+
+    private Ast.Expr expression(Ast.Expr expr) {
+        if (expr == null) {
+            return null;
+        }
+        switch (expr.tag) {
+            case Ast.ARITH:
+                return arith((Ast.Arith) expr);
+            case Ast.COMPARE:
+                return compare((Ast.Compare) expr);
+            case Ast.AND:
+            case Ast.OR:
+                return logic((Ast.Logic) expr);
+            case Ast.NOT: {
+                Ast.Expr operand = expression(((Ast.Not) expr).operand);
+                if (isBoolean(operand)) {
+                    return constant(!(Boolean) ((Ast.Const) operand).value, Ast.Type.BOOLEAN, expr);
+                } else if (operand.tag == Ast.NOT && operand.type == Ast.Type.BOOLEAN) { // !!x
+                    Ast.Expr inner = ((Ast.Not) operand).operand;
+                    if (inner.type == Ast.Type.BOOLEAN) {
+                        return inner;
+                    }
+                }
+                return at(new Ast.Not(operand), expr);
+            }
+            case Ast.CALL: {
+                Ast.Call call = (Ast.Call) expr;
+                Ast.Expr[] args = new Ast.Expr[call.args.length];
+                for (int i = 0; i < args.length; i++) {
+                    args[i] = expression(call.args[i]);
+                }
+                Ast.Call result = at(new Ast.Call(call.name, call.function, args, call.type), expr);
+                result.visible = call.visible;
+                return result;
+            }
+            case Ast.CONCAT:
+                return concat((Ast.Concat) expr);
+            default:
+                return expr;
+        }
+    }
+
+    private Ast.Expr arith(Ast.Arith arith) {
+        Ast.Expr left = expression(arith.left);
+        Ast.Expr right = expression(arith.right);
+        if (isNumber(left) && isNumber(right)) {
+            double value = AstInterpreter.arith(arith.op, ((Ast.Const) left).number, ((Ast.Const) right).number);
+            return constant(value, arith.type, arith);
+        }
+        // Identidades exactas para cualquier double: x*1, 1*x, x/1, x-0, x^1.
+        if (left.type.isNumeric() && right.type.isNumeric()) {
+            switch (arith.op) {
+                case Ast.MUL:
+                    if (isNumber(right, 1)) {
+                        return left;
+                    } else if (isNumber(left, 1)) {
+                        return right;
+                    }
+                    break;
+                case Ast.DIV:
+                    if (isNumber(right, 1)) {
+                        return left;
+                    }
+                    break;
+                case Ast.POW:
+                    if (isNumber(right, 1)) {
+                        return left;
+                    } else if (isNumber(right, 0) && isPure(left)) {
+                        return constant(1.0, Ast.Type.DOUBLE, arith); // x^0 es 1 aun para NaN e infinito.
+                    } else if (right.type == Ast.Type.INT) {
+                        // Reducción de fuerza: paridad para (-1)^n, x*x para x^2 y cuadrados sucesivos exactos.
+                        powers++;
+                        return at(new Ast.Arith(Ast.POWI, left, right, arith.type), arith);
+                    }
+                    break;
+                case Ast.SUB:
+                    // x-(-0) es x+0, que no es exacto si x es -0 (también un int, que puede valer -0).
+                    if (isNumber(right, 0) && Double.doubleToRawLongBits(((Ast.Const) right).number) == 0) {
+                        return left;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return at(new Ast.Arith(arith.op, left, right, arith.type), arith);
+    }
+
+    private Ast.Expr compare(Ast.Compare compare) {
+        Ast.Expr left = expression(compare.left);
+        Ast.Expr right = expression(compare.right);
+        if (isNumber(left) && isNumber(right)) {
+            boolean value = AstInterpreter.compare(compare.op, ((Ast.Const) left).number, ((Ast.Const) right).number);
+            return constant(value, Ast.Type.BOOLEAN, compare);
+        } else if (isBoolean(left) && isBoolean(right) && (compare.op == Ast.EQ || compare.op == Ast.NE)) {
+            boolean equal = ((Ast.Const) left).value.equals(((Ast.Const) right).value);
+            return constant(compare.op == Ast.EQ ? equal : !equal, Ast.Type.BOOLEAN, compare);
+        }
+        return at(new Ast.Compare(compare.op, left, right), compare);
+    }
+
+    private Ast.Expr logic(Ast.Logic logic) {
+        Ast.Expr left = expression(logic.left);
+        Ast.Expr right = expression(logic.right);
+        if (left.type != Ast.Type.BOOLEAN || right.type != Ast.Type.BOOLEAN) { // El intérprete reporta el error.
+            return at(new Ast.Logic(logic.tag, left, right), logic);
+        }
+        boolean and = logic.tag == Ast.AND;
+        // El neutro (true para AND, false para OR) desaparece; el absorbente decide el resultado.
+        if (isBoolean(left)) {
+            boolean value = (Boolean) ((Ast.Const) left).value;
+            if (value == and) {
+                return right;
+            }
+            return left; // Con cortocircuito el segundo operando nunca se evalúa.
+        } else if (isBoolean(right)) {
+            boolean value = (Boolean) ((Ast.Const) right).value;
+            if (value == and) {
+                return left;
+            } else if (isPure(left)) {
+                return right;
+            }
+        }
+        return at(new Ast.Logic(logic.tag, left, right), logic);
+    }
+
+    /**
+     * Une las partes constantes consecutivas de una concatenación.
+     */
+    private Ast.Expr concat(Ast.Concat concat) {
+        List<Ast.Expr> parts = new ArrayList<>();
+        for (Ast.Expr part : concat.parts) {
+            part = expression(part);
+            int last = parts.size() - 1;
+            if (last >= 0 && isString(parts.get(last)) && isString(part)) {
+                String joined = (String) ((Ast.Const) parts.get(last)).value + ((Ast.Const) part).value;
+                parts.set(last, constant(joined, Ast.Type.STRING, concat));
+            } else {
+                parts.add(part);
+            }
+        }
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        return at(new Ast.Concat(parts.toArray(new Ast.Expr[0])), concat);
+    }
+
+    //---------------------- Utilidades ----------------------
+
+    /**
+     * Una expresión es pura si evaluarla no llama funciones ni reporta errores.
+     */
+    static boolean isPure(Ast.Expr expr) {
+        switch (expr.tag) {
+            case Ast.CONST:
+            case Ast.LOCAL:
+            case Ast.GLOBAL:
+                return true;
+            case Ast.ARITH:
+                return ((Ast.Arith) expr).left.type.isNumeric() && ((Ast.Arith) expr).right.type.isNumeric()
+                        && isPure(((Ast.Arith) expr).left) && isPure(((Ast.Arith) expr).right);
+            case Ast.COMPARE: {
+                Ast.Compare compare = (Ast.Compare) expr;
+                boolean typed = (compare.left.type.isNumeric() && compare.right.type.isNumeric())
+                        || (compare.left.type == Ast.Type.BOOLEAN && compare.right.type == Ast.Type.BOOLEAN
+                        && (compare.op == Ast.EQ || compare.op == Ast.NE));
+                return typed && isPure(compare.left) && isPure(compare.right);
+            }
+            case Ast.AND:
+            case Ast.OR: {
+                Ast.Logic logic = (Ast.Logic) expr;
+                return logic.left.type == Ast.Type.BOOLEAN && logic.right.type == Ast.Type.BOOLEAN
+                        && isPure(logic.left) && isPure(logic.right);
+            }
+            case Ast.NOT:
+                return ((Ast.Not) expr).operand.type == Ast.Type.BOOLEAN && isPure(((Ast.Not) expr).operand);
+            case Ast.CONCAT:
+                for (Ast.Expr part : ((Ast.Concat) expr).parts) {
+                    if (!isPure(part)) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isNumber(Ast.Expr expr) {
+        return expr.tag == Ast.CONST && expr.type.isNumeric();
+    }
+
+    private static boolean isNumber(Ast.Expr expr, double value) {
+        return isNumber(expr) && ((Ast.Const) expr).number == value;
+    }
+
+    private static boolean isBoolean(Ast.Expr expr) {
+        return expr.tag == Ast.CONST && expr.type == Ast.Type.BOOLEAN;
+    }
+
+    private static boolean isString(Ast.Expr expr) {
+        return expr.tag == Ast.CONST && expr.type == Ast.Type.STRING;
+    }
+
+    private static Ast.Const constant(Object value, Ast.Type type, Ast.Node source) {
+        return at(new Ast.Const(value, type), source);
+    }
+
+    private static <T extends Ast.Node> T at(T node, Ast.Node source) {
+        node.line = source.line;
+        return node;
+    }
+
+    /**
+     * Cuenta los nodos de una lista de sentencias, incluidas sus expresiones.
+     */
+    static int count(Ast.Stmt[] body) {
+        int total = 0;
+        for (Ast.Stmt stmt : body) {
+            total += count(stmt);
+        }
+        return total;
+    }
+
+    static int count(Ast.Stmt stmt) {
+        if (stmt == null) {
+            return 0;
+        }
+        switch (stmt.tag) {
+            case Ast.BLOCK:
+                return 1 + count(((Ast.Block) stmt).body);
+            case Ast.DECLARE:
+                return 1 + count(((Ast.Declare) stmt).target) + count(((Ast.Declare) stmt).init);
+            case Ast.ASSIGN:
+                return 1 + count(((Ast.Assign) stmt).target) + count(((Ast.Assign) stmt).value);
+            case Ast.UPDATE:
+                return 1 + count(((Ast.Update) stmt).target) + count(((Ast.Update) stmt).value);
+            case Ast.IF: {
+                Ast.If ifStmt = (Ast.If) stmt;
+                return 1 + count(ifStmt.cond) + count(ifStmt.then) + count(ifStmt.otherwise);
+            }
+            case Ast.WHILE:
+            case Ast.DO_WHILE:
+                return 1 + count(((Ast.Loop) stmt).cond) + count(((Ast.Loop) stmt).body);
+            case Ast.FOR: {
+                Ast.For forStmt = (Ast.For) stmt;
+                return 1 + count(forStmt.init) + count(forStmt.cond) + count(forStmt.update) + count(forStmt.body);
+            }
+            case Ast.EXPR:
+                return 1 + count(((Ast.ExprStmt) stmt).expr);
+            case Ast.PRINT: {
+                int total = 1;
+                for (Ast.Expr part : ((Ast.Print) stmt).parts) {
+                    total += count(part);
+                }
+                return total;
+            }
+            case Ast.RETURN:
+                return 1 + count(((Ast.Return) stmt).value);
+            default: // Las funciones se cuentan aparte porque se optimizan en su lugar.
+                return 1;
+        }
+    }
+
+    static int count(Ast.Expr expr) {
+        if (expr == null) {
+            return 0;
+        }
+        switch (expr.tag) {
+            case Ast.ARITH:
+                return 1 + count(((Ast.Arith) expr).left) + count(((Ast.Arith) expr).right);
+            case Ast.COMPARE:
+                return 1 + count(((Ast.Compare) expr).left) + count(((Ast.Compare) expr).right);
+            case Ast.AND:
+            case Ast.OR:
+                return 1 + count(((Ast.Logic) expr).left) + count(((Ast.Logic) expr).right);
+            case Ast.NOT:
+                return 1 + count(((Ast.Not) expr).operand);
+            case Ast.CALL: {
+                int total = 1;
+                for (Ast.Expr arg : ((Ast.Call) expr).args) {
+                    total += count(arg);
+                }
+                return total;
+            }
+            case Ast.CONCAT: {
+                int total = 1;
+                for (Ast.Expr part : ((Ast.Concat) expr).parts) {
+                    total += count(part);
+                }
+                return total;
+            }
+            case Ast.INLINE:
+                return 1 + count(((Ast.Inline) expr).body) + count(((Ast.Inline) expr).result);
+            default:
+                return 1;
+        }
+    }
+}
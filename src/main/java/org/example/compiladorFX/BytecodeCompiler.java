@@ -0,0 +1,935 @@
+package org.example.compiladorFX;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.example.compiladorFX.ClassFileWriter.*;
+
+/**
+ * Compila un {@link Ast.Program} a una clase de la JVM en memoria.
+ * Cada función se convierte en un método estático con parámetros primitivos (int como long, double, boolean)
+ * y las sentencias del nivel superior en el método {@code run()}. Las variables globales son campos estáticos
+ * y las locales son variables locales de la JVM, así que HotSpot compila directamente el código del usuario.
+ * <p>
+ * Con memoización, cada función pura ({@link PurityAnalysis}) tiene además un método {@code m_} que busca el
+ * resultado en la caché de {@link BytecodeRuntime} y solo llama a {@code f_} si no está; las llamadas usan ese método.
+ * <p>
+ * La clase se define con {@link MethodHandles.Lookup#defineClass} en el paquete y el cargador de esta clase, así que
+ * el código generado usa {@link BytecodeRuntime} como cualquier clase del paquete. Cada programa tiene su propio
+ * nombre ({@code CompiledScript1}, {@code CompiledScript2}, ...) y su clase queda cargada mientras viva la aplicación.
+ * <p>
+ * Solo se compilan programas cuyos tipos se conocen estáticamente y en los que un int siempre es entero; para el
+ * resto se lanza {@link UnsupportedProgramException} y el programa se ejecuta con {@link AstInterpreter}.
+ */
+public class BytecodeCompiler {
+
+    /**
+     * El programa usa algo que el compilador no soporta (por ejemplo, tipos que solo se resuelven en ejecución).
+     */
+    public static class UnsupportedProgramException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public UnsupportedProgramException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Programa ya compilado y cargado.
+     */
+    public static final class CompiledProgram {
+        private final Ast.Program program;
+        private final Ast.Function[] functions;
+        private final MethodHandles.Lookup lookup;
+        private final MethodHandle run;
+
+        private CompiledProgram(Ast.Program program, Ast.Function[] functions, MethodHandles.Lookup lookup) throws ReflectiveOperationException {
+            this.program = program;
+            this.functions = functions;
+            this.lookup = lookup;
+            this.run = lookup.findStatic(lookup.lookupClass(), "run", MethodType.methodType(void.class, BytecodeRuntime.class));
+        }
+
+        /**
+         * Ejecuta el programa escribiendo la salida y los errores en {@code runtime}.
+         */
+        void run(BytecodeRuntime runtime) {
+            try {
+                run.invokeExact(runtime);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * Lee el valor de una variable global después de la ejecución, con la representación de {@link MyVisitorFX}.
+         */
+        Object globalValue(int index) {
+            Ast.Type type = program.globalTypes[index];
+            try {
+                MethodHandle getter = lookup.findStaticGetter(lookup.lookupClass(), "g" + index, javaType(type));
+                Object value = getter.invoke();
+                return type == Ast.Type.INT ? (Object) AstInterpreter.toDouble((Long) value) : value;
+            } catch (Throwable e) {
+                return null;
+            }
+        }
+
+        Ast.Function function(int index) {
+            return functions[index];
+        }
+
+        boolean isInstalled(int function) {
+            try {
+                return (boolean) lookup.findStaticGetter(lookup.lookupClass(), "installed" + function, boolean.class).invoke();
+            } catch (Throwable e) {
+                return false;
+            }
+        }
+    }
+
+    private static final String OWNER = "org/example/compiladorFX/CompiledScript";
+    private static final AtomicInteger compiled = new AtomicInteger(); // Programas compilados, para nombrar sus clases.
+    private static final String RUNTIME = "org/example/compiladorFX/BytecodeRuntime";
+    private static final String RUNTIME_DESC = "L" + RUNTIME + ";";
+    private static final String STRING_DESC = "Ljava/lang/String;";
+
+    private final Ast.Program program;
+    private final String owner = OWNER + compiled.incrementAndGet(); // Cada programa es una clase distinta.
+    private final ClassFileWriter writer = new ClassFileWriter(owner);
+    private final Ast.Function[] functions;
+    private final boolean[] memoized; // Funciones que se llaman a través de su método m_.
+    private final boolean initialized; // Ninguna lectura ve una variable declarada sin valor (DefiniteAssignment).
+
+    // Estado del método en compilación.
+    private ClassFileWriter.Code code;
+    private final List<int[]> scopes = new ArrayList<>(); // Índice de variable local de la JVM por (ámbito, ranura).
+    private Ast.Function function;                        // Función en compilación, null en run().
+    private final List<ClassFileWriter.Label[]> loops = new ArrayList<>(); // Destinos de break y continue de cada ciclo abierto.
+
+    private BytecodeCompiler(Ast.Program program, boolean memoize) {
+        if (program.fractionalInts) { // Los int son long: no pueden guardar el 9.5 de 'int x = 9; x += 0.5;'.
+            throw new UnsupportedProgramException("una variable int puede quedar con decimales");
+        }
+        this.program = program;
+        this.functions = collectFunctions(program);
+        this.memoized = new boolean[functions.length];
+        this.initialized = DefiniteAssignment.isInitialized(program);
+        if (memoize) {
+            PurityAnalysis purity = new PurityAnalysis(program);
+            for (int i = 0; i < memoized.length; i++) {
+                memoized[i] = purity.isPure(i);
+            }
+        }
+    }
+
+    /**
+     * Compila y carga un programa como una clase nueva del paquete.
+     *
+     * @param program El programa resuelto.
+     * @return El programa listo para ejecutarse.
+     * @throws UnsupportedProgramException si el programa no se puede compilar.
+     */
+    public static CompiledProgram compile(Ast.Program program) {
+        return compile(program, false);
+    }
+
+    /**
+     * Compila y carga un programa como una clase nueva del paquete.
+     *
+     * @param program El programa resuelto.
+     * @param memoize true para memoizar las funciones puras; el runtime debe tener una caché
+     *                ({@link BytecodeRuntime#setMemoCache}).
+     * @return El programa listo para ejecutarse.
+     * @throws UnsupportedProgramException si el programa no se puede compilar.
+     */
+    public static CompiledProgram compile(Ast.Program program, boolean memoize) {
+        BytecodeCompiler compiler = new BytecodeCompiler(program, memoize);
+        byte[] bytes = compiler.generate();
+        try {
+            Class<?> script = MethodHandles.lookup().defineClass(bytes);
+            return new CompiledProgram(program, compiler.functions, MethodHandles.privateLookupIn(script, MethodHandles.lookup()));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new UnsupportedProgramException("la clase generada no se pudo cargar: " + e);
+        }
+    }
+
+    private byte[] generate() {
+        writer.addField(ACC_STATIC, "rt", RUNTIME_DESC);
+        for (int i = 0; i < program.globalNames.length; i++) {
+            writer.addField(ACC_STATIC, "g" + i, descriptor(program.globalTypes[i]));
+        }
+        for (int i = 0; i < functions.length; i++) {
+            writer.addField(ACC_STATIC, "installed" + i, "Z");
+        }
+
+        // run(): guarda el runtime y reinicia el estado estático para que la clase se pueda ejecutar varias veces.
+        code = writer.method(ACC_STATIC, "run", "(" + RUNTIME_DESC + ")V");
+        code.local(ALOAD, 0, 1);
+        code.field(PUTSTATIC, owner, "rt", RUNTIME_DESC);
+        for (int i = 0; i < program.globalNames.length; i++) {
+            pushDefault(program.globalTypes[i]);
+            code.field(PUTSTATIC, owner, "g" + i, descriptor(program.globalTypes[i]));
+        }
+        for (int i = 0; i < functions.length; i++) {
+            code.pushInt(0);
+            code.field(PUTSTATIC, owner, "installed" + i, "Z");
+        }
+        for (Ast.Stmt stmt : program.body) {
+            statement(stmt);
+        }
+        code.op(RETURN, 0);
+        code.finish();
+
+        for (Ast.Function fn : functions) {
+            if (fn != null) {
+                function(fn);
+                if (memoized[fn.index]) {
+                    memoWrapper(fn);
+                }
+            }
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * Busca todas las declaraciones de función, incluidas las anidadas en bloques y en otras funciones.
+     * Los compiladores necesitan que cada nombre tenga una sola declaración y que las funciones usen solo sus
+     * variables y las globales, que se resuelven al compilar.
+     *
+     * @param program El programa resuelto.
+     * @return Las funciones indexadas por {@link Ast.Function#index}.
+     * @throws UnsupportedProgramException si una función se declara más de una vez o usa variables de quien la llama.
+     */
+    static Ast.Function[] collectFunctions(Ast.Program program) {
+        if (program.dynamicScope) {
+            throw new UnsupportedProgramException("una funcion usa variables de quien la llama");
+        }
+        Ast.Function[] functions = new Ast.Function[program.functionNames.length];
+        collectFunctions(program.body, functions);
+        return functions;
+    }
+
+    private static void collectFunctions(Ast.Stmt[] body, Ast.Function[] functions) {
+        for (Ast.Stmt stmt : body) {
+            switch (stmt.tag) {
+                case Ast.FUNCTION: {
+                    Ast.Function fn = ((Ast.FunctionDecl) stmt).function;
+                    if (functions[fn.index] != null) {
+                        throw new UnsupportedProgramException("la funcion '" + fn.name + "' se declara mas de una vez");
+                    }
+                    functions[fn.index] = fn;
+                    collectFunctions(fn.body, functions);
+                    break;
+                }
+                case Ast.BLOCK:
+                    collectFunctions(((Ast.Block) stmt).body, functions);
+                    break;
+                case Ast.IF: {
+                    Ast.If ifStmt = (Ast.If) stmt;
+                    collectFunctions(ifStmt.then.body, functions);
+                    if (ifStmt.otherwise != null) {
+                        collectFunctions(ifStmt.otherwise.body, functions);
+                    }
+                    break;
+                }
+                case Ast.WHILE:
+                case Ast.DO_WHILE:
+                    collectFunctions(((Ast.Loop) stmt).body.body, functions);
+                    break;
+                case Ast.FOR:
+                    collectFunctions(((Ast.For) stmt).body.body, functions);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void function(Ast.Function fn) {
+        code = writer.method(ACC_STATIC, methodName(fn), methodDescriptor(fn));
+
+        int[] frame = new int[fn.frameSize];
+        int local = 0;
+        for (int i = 0; i < fn.paramTypes.length; i++) { // Los parámetros ya ocupan las primeras locales.
+            frame[i] = local;
+            local += size(descriptor(fn.paramTypes[i]).charAt(0));
+        }
+        scopes.add(frame);
+        function = fn;
+        for (Ast.Stmt stmt : fn.body) {
+            statement(stmt);
+        }
+        ret(fn.returnExpr);
+        function = null;
+        scopes.remove(scopes.size() - 1);
+        code.finish();
+    }
+
+    /**
+     * Genera {@code m_<nombre>}: arma la clave con los parámetros, devuelve el resultado guardado si existe y si no
+     * llama a {@code f_<nombre>} y guarda su resultado.
+     */
+    private void memoWrapper(Ast.Function fn) {
+        String desc = methodDescriptor(fn);
+        code = writer.method(ACC_STATIC, memoName(fn), desc);
+        code.field(GETSTATIC, owner, "rt", RUNTIME_DESC);
+        code.pushInt(fn.index);
+        code.pushInt(fn.paramTypes.length);
+        code.invoke(INVOKEVIRTUAL, RUNTIME, "memoBegin", "(II)V");
+        int local = 0;
+        for (Ast.Type type : fn.paramTypes) {
+            code.field(GETSTATIC, owner, "rt", RUNTIME_DESC);
+            load(type, local);
+            code.invoke(INVOKEVIRTUAL, RUNTIME, "memoArg", "(" + descriptor(type) + ")V");
+            local += width(type);
+        }
+        int key = code.allocate(1);
+        code.field(GETSTATIC, owner, "rt", RUNTIME_DESC);
+        code.invoke(INVOKEVIRTUAL, RUNTIME, "memoKey", "()Ljava/lang/Object;");
+        code.local(ASTORE, key, -1);
+
+        // Acierto: se desempaqueta el valor guardado.
+        ClassFileWriter.Label miss = code.newLabel();
+        code.field(GETSTATIC, owner, "rt", RUNTIME_DESC);
+        code.local(ALOAD, key, 1);
+        code.invoke(INVOKEVIRTUAL, RUNTIME, "memoGet", "(Ljava/lang/Object;)Ljava/lang/Object;");
+        code.op(DUP, 1);
+        code.jump(IFNULL, miss, -1);
+        code.invoke(INVOKESTATIC, RUNTIME, "unbox" + descriptor(fn.returnType).charAt(0), "(Ljava/lang/Object;)" + descriptor(fn.returnType));
+        returnValue(fn.returnType);
+
+        // Fallo: se ejecuta la función y se guarda el resultado empaquetado como en las demás cachés.
+        code.mark(miss);
+        code.op(POP, -1);
+        local = 0;
+        for (Ast.Type type : fn.paramTypes) {
+            load(type, local);
+            local += width(type);
+        }
+        code.invoke(INVOKESTATIC, owner, methodName(fn), desc);
+        int result = code.allocate(width(fn.returnType));
+        store(fn.returnType, result);
+        code.field(GETSTATIC, owner, "rt", RUNTIME_DESC);
+        code.local(ALOAD, key, 1);
+        load(fn.returnType, result);
+        box(fn.returnType);
+        code.invoke(INVOKEVIRTUAL, RUNTIME, "memoPut", "(Ljava/lang/Object;Ljava/lang/Object;)V");
+        load(fn.returnType, result);
+        returnValue(fn.returnType);
+        code.finish();
+    }
+
+    /**
+     * Devuelve el valor de la función en compilación, con la verificación del return final.
+     */
+    private void ret(Ast.Expr value) {
+        Ast.Function fn = function;
+        Ast.Type type = expression(value);
+        if (fn.returnType == Ast.Type.INT && type == Ast.Type.DOUBLE) {
+            code.pushString(fn.name);
+            code.invoke(INVOKESTATIC, RUNTIME, "returnInt", "(D" + STRING_DESC + ")J");
+        } else {
+            convert(type, fn.returnType, "el valor de retorno de '" + fn.name + "'");
+        }
+        returnValue(fn.returnType);
+    }
+
+    private void returnValue(Ast.Type type) {
+        switch (type) {
+            case INT:
+                code.op(LRETURN, -2);
+                break;
+            case DOUBLE:
+                code.op(DRETURN, -2);
+                break;
+            case BOOLEAN:
+                code.op(IRETURN, -1);
+                break;
+            default:
+                code.op(ARETURN, -1);
+                break;
+        }
+    }
+
+    //---------------------- Sentencias ----------------------
+
+    /**
+     * Compila el cuerpo de un ciclo: un break salta a {@code end} y un continue a {@code next}.
+     */
+    private void loopBody(Ast.Block body, ClassFileWriter.Label end, ClassFileWriter.Label next) {
+        loops.add(new ClassFileWriter.Label[]{end, next});
+        statement(body);
+        loops.remove(loops.size() - 1);
+    }
+
+    private void block(Ast.Stmt[] body, int size, boolean scoped) {
+        int mark = code.getLocals();
+        if (scoped) {
+            scopes.add(new int[size]);
+        }
+        for (Ast.Stmt stmt : body) {
+            statement(stmt);
+        }
+        if (scoped) {
+            scopes.remove(scopes.size() - 1);
+        }
+        code.release(mark); // Las variables del bloque ya no se usan: sus locales se reutilizan.
+    }
+
+    private void statement(Ast.Stmt stmt) {
+        switch (stmt.tag) {
+            case Ast.BLOCK: {
+                Ast.Block block = (Ast.Block) stmt;
+                block(block.body, block.size, block.scoped);
+                break;
+            }
+            case Ast.DECLARE: {
+                Ast.Declare declare = (Ast.Declare) stmt;
+                Ast.Expr init = declare.init;
+                if (init == null) { // El intérprete reporta las lecturas de variables sin inicializar.
+                    if (!initialized) {
+                        throw new UnsupportedProgramException("la variable '" + declare.target.name + "' se puede leer sin valor inicial");
+                    }
+                    init = DefiniteAssignment.defaultInit(declare);
+                }
+                value(declare.target, init, true);
+                if (declare.target.tag == Ast.LOCAL) { // La local se reserva al declararla.
+                    Ast.Local local = (Ast.Local) declare.target;
+                    scopes.get(scopes.size() - 1)[local.slot] = code.allocate(size(descriptor(local.type).charAt(0)));
+                }
+                store(declare.target);
+                break;
+            }
+            case Ast.ASSIGN: {
+                Ast.Assign assign = (Ast.Assign) stmt;
+                value(assign.target, assign.value, false);
+                store(assign.target);
+                break;
+            }
+            case Ast.UPDATE:
+                update((Ast.Update) stmt);
+                break;
+            case Ast.IF: {
+                Ast.If ifStmt = (Ast.If) stmt;
+                ClassFileWriter.Label otherwise = code.newLabel();
+                ClassFileWriter.Label end = code.newLabel();
+                condition(ifStmt.cond);
+                code.jump(IFEQ, otherwise, -1);
+                statement(ifStmt.then);
+                code.jump(GOTO, end, 0);
+                code.mark(otherwise);
+                if (ifStmt.otherwise != null) {
+                    statement(ifStmt.otherwise);
+                }
+                code.mark(end);
+                break;
+            }
+            case Ast.WHILE: {
+                Ast.Loop loop = (Ast.Loop) stmt;
+                ClassFileWriter.Label top = code.newLabel();
+                ClassFileWriter.Label end = code.newLabel();
+                code.mark(top);
+                condition(loop.cond);
+                code.jump(IFEQ, end, -1);
+                loopBody(loop.body, end, top);
+                code.jump(GOTO, top, 0);
+                code.mark(end);
+                break;
+            }
+            case Ast.DO_WHILE: {
+                Ast.Loop loop = (Ast.Loop) stmt;
+                ClassFileWriter.Label top = code.newLabel();
+                ClassFileWriter.Label next = code.newLabel();
+                ClassFileWriter.Label end = code.newLabel();
+                code.mark(top);
+                loopBody(loop.body, end, next);
+                code.mark(next);
+                condition(loop.cond);
+                code.jump(IFNE, top, -1);
+                code.mark(end);
+                break;
+            }
+            case Ast.FOR: {
+                Ast.For forStmt = (Ast.For) stmt;
+                int mark = code.getLocals();
+                if (forStmt.scoped) {
+                    scopes.add(new int[forStmt.size]); // Ámbito de la variable de control.
+                }
+                statement(forStmt.init);
+                ClassFileWriter.Label top = code.newLabel();
+                ClassFileWriter.Label end = code.newLabel();
+                code.mark(top);
+                condition(forStmt.cond);
+                code.jump(IFEQ, end, -1);
+                ClassFileWriter.Label next = code.newLabel();
+                loopBody(forStmt.body, end, next);
+                code.mark(next);
+                statement(forStmt.update);
+                code.jump(GOTO, top, 0);
+                code.mark(end);
+                if (forStmt.scoped) {
+                    scopes.remove(scopes.size() - 1);
+                }
+                code.release(mark);
+                break;
+            }
+            case Ast.FUNCTION:
+                code.pushInt(1);
+                code.field(PUTSTATIC, owner, "installed" + ((Ast.FunctionDecl) stmt).function.index, "Z");
+                break;
+            case Ast.EXPR: {
+                Ast.Type type = expression(((Ast.ExprStmt) stmt).expr);
+                code.op(width(type) == 2 ? POP2 : POP, -width(type));
+                break;
+            }
+            case Ast.PRINT:
+                print((Ast.Print) stmt);
+                break;
+            case Ast.ERROR:
+                error(((Ast.ErrorStmt) stmt).message);
+                break;
+            case Ast.RETURN:
+                ret(((Ast.Return) stmt).value);
+                break;
+            case Ast.BREAK:
+                code.jump(GOTO, loops.get(loops.size() - 1)[0], 0);
+                break;
+            case Ast.CONTINUE:
+                code.jump(GOTO, loops.get(loops.size() - 1)[1], 0);
+                break;
+            default:
+                throw new UnsupportedProgramException("sentencia no soportada: " + Ast.tagName(stmt.tag));
+        }
+    }
+
+    /**
+     * Deja en la pila el valor que se va a guardar en {@code target}, con su tipo.
+     * Un double asignado a un int se verifica en ejecución igual que en el intérprete.
+     */
+    private void value(Ast.Var target, Ast.Expr value, boolean declaration) {
+        if (target.type == Ast.Type.INT && value.type == Ast.Type.DOUBLE) {
+            code.field(GETSTATIC, owner, "rt", RUNTIME_DESC);
+            expression(value);
+            if (declaration) {
+                code.pushLong(0);
+            } else {
+                load(target);
+            }
+            code.pushString(target.name);
+            code.invoke(INVOKEVIRTUAL, RUNTIME, "checkInt", "(DJ" + STRING_DESC + ")J");
+            return;
+        }
+        convert(expression(value), target.type, "la variable '" + target.name + "'");
+    }
+
+    private void update(Ast.Update update) {
+        Ast.Var target = update.target;
+        if (!target.type.isNumeric()) {
+            error("Error: La variable '" + target.name + "' no es numérica y no se puede usar con operadores de incremento/decremento.");
+            return;
+        }
+        boolean add = update.op == Ast.INC || update.op == Ast.ADD_ASSIGN;
+        if (target.type == Ast.Type.INT) { // El valor es int: un double marca el programa con fractionalInts.
+            load(target);
+            if (update.value == null) {
+                code.pushLong(1);
+            } else {
+                convert(expression(update.value), Ast.Type.INT, "la variable '" + target.name + "'");
+            }
+            code.invoke(INVOKESTATIC, RUNTIME, add ? "addInt" : "subInt", "(JJ)J");
+        } else {
+            load(target);
+            if (update.value == null) {
+                code.pushDouble(1);
+            } else {
+                convert(expression(update.value), Ast.Type.DOUBLE, "la variable '" + target.name + "'");
+            }
+            code.op(add ? DADD : DSUB, -2);
+        }
+        store(target);
+    }
+
+    /**
+     * Evalúa las partes de print, las empaqueta y las combina de derecha a izquierda sobre la pila.
+     */
+    private void print(Ast.Print print) {
+        code.field(GETSTATIC, owner, "rt", RUNTIME_DESC);
+        for (Ast.Expr part : print.parts) {
+            box(expression(part));
+        }
+        for (int i = 1; i < print.parts.length; i++) {
+            code.invoke(INVOKESTATIC, RUNTIME, "combine", "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;");
+        }
+        code.invoke(INVOKEVIRTUAL, RUNTIME, "print", "(Ljava/lang/Object;)V");
+    }
+
+    private void error(String message) {
+        code.field(GETSTATIC, owner, "rt", RUNTIME_DESC);
+        code.pushString(message);
+        code.invoke(INVOKEVIRTUAL, RUNTIME, "error", "(" + STRING_DESC + ")V");
+    }
+
+    private void condition(Ast.Expr cond) {
+        if (expression(cond) != Ast.Type.BOOLEAN) {
+            throw new UnsupportedProgramException("la condicion no es booleana");
+        }
+    }
+
+    //---------------------- Expresiones ----------------------
+
+    /**
+     * Emite una expresión y devuelve el tipo del valor que queda en la pila.
+     */
+    private Ast.Type expression(Ast.Expr expr) {
+        switch (expr.tag) {
+            case Ast.CONST: {
+                Ast.Const constant = (Ast.Const) expr;
+                switch (constant.type) {
+                    case INT:
+                        if (Math.abs(constant.number) >= 0x1p63) { // El intérprete reporta el desbordamiento.
+                            throw new UnsupportedProgramException("un int constante no cabe en 64 bits");
+                        }
+                        code.pushLong(AstInterpreter.toLong(constant.number));
+                        break;
+                    case DOUBLE:
+                        code.pushDouble(constant.number);
+                        break;
+                    case BOOLEAN:
+                        code.pushInt((Boolean) constant.value ? 1 : 0);
+                        break;
+                    default:
+                        code.pushString((String) constant.value);
+                        break;
+                }
+                return constant.type;
+            }
+            case Ast.LOCAL:
+            case Ast.GLOBAL:
+                load((Ast.Var) expr);
+                return expr.type;
+            case Ast.UNDEFINED: {
+                Ast.Undefined undefined = (Ast.Undefined) expr;
+                error("Error: Variable '" + undefined.name + "' no declarada.");
+                pushDefault(undefined.type);
+                return undefined.type;
+            }
+            case Ast.ARITH:
+                return arith((Ast.Arith) expr);
+            case Ast.COMPARE:
+                compare((Ast.Compare) expr);
+                return Ast.Type.BOOLEAN;
+            case Ast.AND:
+            case Ast.OR: {
+                Ast.Logic logic = (Ast.Logic) expr;
+                boolean and = expr.tag == Ast.AND;
+                ClassFileWriter.Label right = code.newLabel();
+                ClassFileWriter.Label end = code.newLabel();
+                condition(logic.left);
+                code.jump(and ? IFNE : IFEQ, right, -1);
+                code.field(GETSTATIC, owner, "rt", RUNTIME_DESC); // El primer operando decide: se omite el segundo.
+                code.invoke(INVOKEVIRTUAL, RUNTIME, "skip", "()V");
+                code.pushInt(and ? 0 : 1);
+                code.jump(GOTO, end, 0);
+                code.mark(right);
+                condition(logic.right);
+                code.mark(end);
+                return Ast.Type.BOOLEAN;
+            }
+            case Ast.NOT:
+                condition(((Ast.Not) expr).operand);
+                code.pushInt(1);
+                code.op(IXOR, -1);
+                return Ast.Type.BOOLEAN;
+            case Ast.CALL:
+                return call((Ast.Call) expr);
+            case Ast.INLINE: { // Función copiada en la llamada: sus variables son locales del método actual.
+                Ast.Inline inline = (Ast.Inline) expr;
+                for (Ast.Stmt stmt : inline.body) {
+                    statement(stmt);
+                }
+                convert(expression(inline.result), inline.type, "el valor de retorno de '" + inline.name + "'");
+                return inline.type;
+            }
+            case Ast.CONCAT: {
+                Ast.Expr[] parts = ((Ast.Concat) expr).parts;
+                expression(parts[0]);
+                for (int i = 1; i < parts.length; i++) {
+                    expression(parts[i]);
+                    code.invoke(INVOKEVIRTUAL, "java/lang/String", "concat", "(" + STRING_DESC + ")" + STRING_DESC);
+                }
+                return Ast.Type.STRING;
+            }
+            default:
+                throw new UnsupportedProgramException("expresion no soportada: " + Ast.tagName(expr.tag));
+        }
+    }
+
+    private Ast.Type arith(Ast.Arith arith) {
+        if (arith.type == Ast.Type.INT) { // +, - y * entre enteros.
+            convert(expression(arith.left), Ast.Type.INT, "un operando");
+            convert(expression(arith.right), Ast.Type.INT, "un operando");
+            // Sin dar la vuelta al desbordar: mismo resultado que en double (ver AstInterpreter.intArith).
+            code.invoke(INVOKESTATIC, RUNTIME, arith.op == Ast.ADD ? "addInt" : arith.op == Ast.SUB ? "subInt" : "mulInt", "(JJ)J");
+            return Ast.Type.INT;
+        }
+        convert(expression(arith.left), Ast.Type.DOUBLE, "un operando");
+        if (arith.op == Ast.POWI && arith.right.tag == Ast.CONST && ((Ast.Const) arith.right).number == 2) {
+            code.op(DUP2, 2); // x^2 = x*x con la base evaluada una sola vez.
+            code.op(DMUL, -2);
+            return Ast.Type.DOUBLE;
+        }
+        convert(expression(arith.right), Ast.Type.DOUBLE, "un operando");
+        switch (arith.op) {
+            case Ast.ADD:
+                code.op(DADD, -2);
+                break;
+            case Ast.SUB:
+                code.op(DSUB, -2);
+                break;
+            case Ast.MUL:
+                code.op(DMUL, -2);
+                break;
+            case Ast.DIV:
+                code.op(DDIV, -2);
+                break;
+            case Ast.POW:
+                code.invoke(INVOKESTATIC, "java/lang/Math", "pow", "(DD)D");
+                break;
+            default:
+                code.invoke(INVOKESTATIC, RUNTIME, "intPower", "(DD)D");
+                break;
+        }
+        return Ast.Type.DOUBLE;
+    }
+
+    /**
+     * Emite una comparación dejando 0 o 1 en la pila.
+     */
+    private void compare(Ast.Compare compare) {
+        Ast.Type left = compare.left.type;
+        Ast.Type right = compare.right.type;
+        int branch; // Salto cuando la comparación es verdadera.
+        if (left == Ast.Type.BOOLEAN && right == Ast.Type.BOOLEAN && (compare.op == Ast.EQ || compare.op == Ast.NE)) {
+            expression(compare.left);
+            expression(compare.right);
+            branch = compare.op == Ast.EQ ? IF_ICMPEQ : IF_ICMPNE;
+        } else if (left.isNumeric() && right.isNumeric()) {
+            if (left == Ast.Type.INT && right == Ast.Type.INT) {
+                expression(compare.left);
+                expression(compare.right);
+                code.invoke(INVOKESTATIC, RUNTIME, "compareInt", "(JJ)I");
+            } else {
+                convert(expression(compare.left), Ast.Type.DOUBLE, "un operando");
+                convert(expression(compare.right), Ast.Type.DOUBLE, "un operando");
+                // Con NaN, < y <= usan dcmpg y > y >= usan dcmpl para que la comparación sea falsa.
+                code.op(compare.op == Ast.LT || compare.op == Ast.LE ? DCMPG : DCMPL, -3);
+            }
+            branch = new int[]{IFEQ, IFNE, IFLT, IFGT, IFLE, IFGE}[compare.op];
+        } else {
+            throw new UnsupportedProgramException("comparacion entre " + left + " y " + right);
+        }
+        ClassFileWriter.Label isTrue = code.newLabel();
+        ClassFileWriter.Label end = code.newLabel();
+        code.jump(branch, isTrue, branch == IF_ICMPEQ || branch == IF_ICMPNE ? -2 : -1);
+        code.pushInt(0);
+        code.jump(GOTO, end, 0);
+        code.mark(isTrue);
+        code.pushInt(1);
+        code.mark(end);
+    }
+
+    private Ast.Type call(Ast.Call call) {
+        Ast.Function fn = call.function >= 0 ? functions[call.function] : null;
+        if (fn == null) {
+            throw new UnsupportedProgramException("la funcion '" + call.name + "' no esta declarada");
+        }
+        if (fn.paramTypes.length != call.args.length) {
+            throw new UnsupportedProgramException("la llamada a '" + call.name + "' no tiene " + fn.paramTypes.length + " argumentos");
+        }
+        // Una función solo existe después de ejecutar su declaración.
+        ClassFileWriter.Label installed = code.newLabel();
+        code.field(GETSTATIC, owner, "installed" + fn.index, "Z");
+        code.jump(IFNE, installed, -1);
+        code.pushString(fn.name);
+        code.invoke(INVOKESTATIC, RUNTIME, "notDefined", "(" + STRING_DESC + ")Lorg/example/compiladorFX/ExecutionError;");
+        code.op(ATHROW, -1);
+        code.mark(installed);
+
+        StringBuilder desc = new StringBuilder("(");
+        for (int i = 0; i < call.args.length; i++) {
+            Ast.Type param = fn.paramTypes[i];
+            Ast.Type arg = expression(call.args[i]);
+            if (param == Ast.Type.INT && arg == Ast.Type.DOUBLE) {
+                code.pushString(fn.name);
+                code.invoke(INVOKESTATIC, RUNTIME, "argInt", "(D" + STRING_DESC + ")J");
+            } else {
+                convert(arg, param, "el argumento " + (i + 1) + " de '" + fn.name + "'");
+            }
+            desc.append(descriptor(param));
+        }
+        desc.append(')').append(descriptor(fn.returnType));
+        code.invoke(INVOKESTATIC, owner, memoized[fn.index] ? memoName(fn) : methodName(fn), desc.toString());
+        return fn.returnType;
+    }
+
+    //---------------------- Variables y tipos ----------------------
+
+    private void load(Ast.Var var) {
+        if (var.tag == Ast.GLOBAL) {
+            code.field(GETSTATIC, owner, "g" + ((Ast.Global) var).index, descriptor(var.type));
+            return;
+        }
+        load(var.type, local((Ast.Local) var));
+    }
+
+    private void load(Ast.Type type, int index) {
+        switch (type) {
+            case INT:
+                code.local(LLOAD, index, 2);
+                break;
+            case DOUBLE:
+                code.local(DLOAD, index, 2);
+                break;
+            case BOOLEAN:
+                code.local(ILOAD, index, 1);
+                break;
+            default:
+                code.local(ALOAD, index, 1);
+                break;
+        }
+    }
+
+    private void store(Ast.Var var) {
+        if (var.tag == Ast.GLOBAL) {
+            code.field(PUTSTATIC, owner, "g" + ((Ast.Global) var).index, descriptor(var.type));
+            return;
+        }
+        store(var.type, local((Ast.Local) var));
+    }
+
+    private void store(Ast.Type type, int index) {
+        switch (type) {
+            case INT:
+                code.local(LSTORE, index, -2);
+                break;
+            case DOUBLE:
+                code.local(DSTORE, index, -2);
+                break;
+            case BOOLEAN:
+                code.local(ISTORE, index, -1);
+                break;
+            default:
+                code.local(ASTORE, index, -1);
+                break;
+        }
+    }
+
+    private int local(Ast.Local local) {
+        return scopes.get(scopes.size() - 1 - local.depth)[local.slot];
+    }
+
+    private void pushDefault(Ast.Type type) {
+        switch (type) {
+            case INT:
+                code.pushLong(0);
+                break;
+            case DOUBLE:
+                code.pushDouble(0);
+                break;
+            case BOOLEAN:
+                code.pushInt(0);
+                break;
+            case STRING:
+                code.pushString("");
+                break;
+            default:
+                throw new UnsupportedProgramException("tipo desconocido");
+        }
+    }
+
+    /**
+     * Convierte el valor de la pila de tipo {@code from} a {@code to}. Solo se permite ensanchar int a double.
+     */
+    private void convert(Ast.Type from, Ast.Type to, String what) {
+        if (from == to && from != Ast.Type.UNKNOWN) {
+            return;
+        }
+        if (from == Ast.Type.INT && to == Ast.Type.DOUBLE) {
+            code.invoke(INVOKESTATIC, RUNTIME, "toDouble", "(J)D");
+            return;
+        }
+        throw new UnsupportedProgramException(what + " es " + from + " y se esperaba " + to);
+    }
+
+    private void box(Ast.Type type) {
+        switch (type) {
+            case INT:
+                code.invoke(INVOKESTATIC, RUNTIME, "toDouble", "(J)D");
+                code.invoke(INVOKESTATIC, "java/lang/Double", "valueOf", "(D)Ljava/lang/Double;");
+                break;
+            case DOUBLE:
+                code.invoke(INVOKESTATIC, "java/lang/Double", "valueOf", "(D)Ljava/lang/Double;");
+                break;
+            case BOOLEAN:
+                code.invoke(INVOKESTATIC, "java/lang/Boolean", "valueOf", "(Z)Ljava/lang/Boolean;");
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static int width(Ast.Type type) {
+        return type == Ast.Type.INT || type == Ast.Type.DOUBLE ? 2 : 1;
+    }
+
+    private static String methodName(Ast.Function fn) {
+        return "f_" + fn.name;
+    }
+
+    private static String memoName(Ast.Function fn) {
+        return "m_" + fn.name;
+    }
+
+    private static String methodDescriptor(Ast.Function fn) {
+        StringBuilder desc = new StringBuilder("(");
+        for (Ast.Type type : fn.paramTypes) {
+            desc.append(descriptor(type));
+        }
+        return desc.append(')').append(descriptor(fn.returnType)).toString();
+    }
+
+    private static String descriptor(Ast.Type type) {
+        switch (type) {
+            case INT:
+                return "J";
+            case DOUBLE:
+                return "D";
+            case BOOLEAN:
+                return "Z";
+            case STRING:
+                return STRING_DESC;
+            default:
+                throw new UnsupportedProgramException("tipo desconocido");
+        }
+    }
+
+    private static Class<?> javaType(Ast.Type type) {
+        switch (type) {
+            case INT:
+                return long.class;
+            case DOUBLE:
+                return double.class;
+            case BOOLEAN:
+                return boolean.class;
+            default:
+                return String.class;
+        }
+    }
+}
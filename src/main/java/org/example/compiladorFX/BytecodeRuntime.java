@@ -0,0 +1,178 @@
+package org.example.compiladorFX;
+
+/**
+ * Servicios que usa el código generado por {@link BytecodeCompiler}: salida, errores y las verificaciones de
+ * tipo que el lenguaje hace en tiempo de ejecución. La clase generada se define en este mismo paquete, así que
+ * puede llamar a estos métodos aunque no sean públicos.
+ */
+final class BytecodeRuntime {
+
+    private OutputSink output = new OutputSink();
+    private final Diagnostics diagnostics = new Diagnostics();
+    private long skippedOperands; // Operandos lógicos omitidos por el cortocircuito.
+    private MemoCache memo;
+    private int memoFunction;     // Clave que arma el método m_ de una función memoizada.
+    private Object[] memoArgs;
+    private int memoCount;
+
+    String getTextOut() {
+        return output.getText();
+    }
+
+    void setOutput(OutputSink output) {
+        this.output = output;
+    }
+
+    String getErrorOut() {
+        return diagnostics.toText();
+    }
+
+    Diagnostics getDiagnostics() {
+        return diagnostics;
+    }
+
+    long getSkippedOperands() {
+        return skippedOperands;
+    }
+
+    void skip() {
+        skippedOperands++;
+    }
+
+    void print(Object value) {
+        output.print(value);
+    }
+
+    void error(String message) {
+        diagnostics.error(Diagnostics.Code.EXECUTION, message);
+    }
+
+    /**
+     * Convierte a int un valor asignado a una variable int. Si no es entero reporta el error y conserva el valor actual.
+     */
+    long checkInt(double value, long current, String name) {
+        if (value != Math.rint(value)) {
+            error("Error de tipo: No se puede asignar un valor no entero a variable int '" + name + "'");
+            return current;
+        }
+        return AstInterpreter.toLong(value);
+    }
+
+    /**
+     * Convierte a int un argumento pasado a un parámetro int.
+     */
+    static long argInt(double value, String function) {
+        if (value != Math.rint(value)) {
+            throw new ExecutionError("Error: Los argumentos de la llamada a '" + function + "' no son compatibles con sus parametros.");
+        }
+        return AstInterpreter.toLong(value);
+    }
+
+    /**
+     * Convierte a int el valor de retorno de una función int.
+     */
+    static long returnInt(double value, String function) {
+        if (value != Math.rint(value)) {
+            throw new ExecutionError("Error: In function " + function + ", return value is not of type int");
+        }
+        return AstInterpreter.toLong(value);
+    }
+
+    void setMemoCache(MemoCache memo) {
+        this.memo = memo;
+    }
+
+    //---------------------- Memoización ----------------------
+
+    /**
+     * Empieza la clave de una llamada. Los métodos m_ llaman a memoBegin, memoArg por cada parámetro y memoKey
+     * sin llamadas intermedias, así que basta una sola clave en construcción.
+     */
+    void memoBegin(int function, int arity) {
+        memoFunction = function;
+        memoArgs = new Object[arity];
+        memoCount = 0;
+    }
+
+    void memoArg(long value) {
+        memoArgs[memoCount++] = toDouble(value); // Igual que box(): los int se guardan como Double.
+    }
+
+    void memoArg(double value) {
+        memoArgs[memoCount++] = value;
+    }
+
+    void memoArg(boolean value) {
+        memoArgs[memoCount++] = value;
+    }
+
+    void memoArg(String value) {
+        memoArgs[memoCount++] = value;
+    }
+
+    Object memoKey() {
+        return new MemoCache.Key(memoFunction, memoArgs);
+    }
+
+    Object memoGet(Object key) {
+        return memo.get((MemoCache.Key) key);
+    }
+
+    void memoPut(Object key, Object value) {
+        memo.put((MemoCache.Key) key, value);
+    }
+
+    static long unboxJ(Object value) {
+        return AstInterpreter.toLong((Double) value);
+    }
+
+    static double unboxD(Object value) {
+        return (Double) value;
+    }
+
+    static boolean unboxZ(Object value) {
+        return (Boolean) value;
+    }
+
+    static String unboxL(Object value) {
+        return (String) value;
+    }
+
+    static Object combine(Object value, Object next) {
+        return AstInterpreter.combine(value, next);
+    }
+
+    static double intPower(double base, double exponent) {
+        return AstInterpreter.intPower(base, exponent);
+    }
+
+    static long addInt(long left, long right) {
+        return AstInterpreter.intArith(Ast.ADD, left, right);
+    }
+
+    static long subInt(long left, long right) {
+        return AstInterpreter.intArith(Ast.SUB, left, right);
+    }
+
+    static long mulInt(long left, long right) {
+        return AstInterpreter.intArith(Ast.MUL, left, right);
+    }
+
+    /**
+     * Un int como double: el código generado lo usa en lugar de l2d, que no conoce el -0 de los int.
+     */
+    static double toDouble(long value) {
+        return AstInterpreter.toDouble(value);
+    }
+
+    /**
+     * Compara dos int como lcmp, con -0 igual a 0.
+     */
+    static int compareInt(long left, long right) {
+        return Long.compare(left == AstInterpreter.NEGATIVE_ZERO ? 0 : left, right == AstInterpreter.NEGATIVE_ZERO ? 0 : right);
+    }
+
+    static ExecutionError notDefined(String function) {
+        return new ExecutionError("Function '" + function + "' not defined.");
+    }
+}
@@ -0,0 +1,430 @@
+package org.example.compiladorFX;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ensamblador mínimo de archivos .class, suficiente para {@link BytecodeCompiler}.
+ * Genera la versión 49 del formato, que no necesita StackMapTable: la JVM verifica esas clases
+ * infiriendo los tipos, así que los saltos solo necesitan etiquetas.
+ */
+final class ClassFileWriter {
+
+    // Códigos de operación usados por el compilador.
+    static final int ACONST_NULL = 1, ICONST_0 = 3, ICONST_1 = 4, LCONST_0 = 9, LCONST_1 = 10, DCONST_0 = 14, DCONST_1 = 15;
+    static final int BIPUSH = 16, SIPUSH = 17, LDC = 18, LDC_W = 19, LDC2_W = 20;
+    static final int ILOAD = 21, LLOAD = 22, DLOAD = 24, ALOAD = 25, ISTORE = 54, LSTORE = 55, DSTORE = 57, ASTORE = 58;
+    static final int POP = 87, POP2 = 88, DUP = 89, DUP2 = 92;
+    static final int LADD = 97, DADD = 99, LSUB = 101, DSUB = 103, LMUL = 105, DMUL = 107, DDIV = 111;
+    static final int IAND = 126, IOR = 128, IXOR = 130, L2D = 138, D2L = 143;
+    static final int LCMP = 148, DCMPL = 151, DCMPG = 152;
+    static final int IFEQ = 153, IFNE = 154, IFLT = 155, IFGE = 156, IFGT = 157, IFLE = 158, IF_ICMPEQ = 159, IF_ICMPNE = 160;
+    static final int GOTO = 167, IRETURN = 172, LRETURN = 173, DRETURN = 175, ARETURN = 176, RETURN = 177;
+    static final int GETSTATIC = 178, PUTSTATIC = 179, INVOKEVIRTUAL = 182, INVOKESTATIC = 184, ATHROW = 191, WIDE = 196, IFNULL = 198;
+
+    static final int ACC_PUBLIC = 0x0001, ACC_STATIC = 0x0008, ACC_FINAL = 0x0010, ACC_SUPER = 0x0020;
+
+    private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream pool = new DataOutputStream(poolBytes);
+    private final Map<String, Integer> poolCache = new HashMap<>();
+    private int poolCount = 1;
+    private final List<byte[]> fields = new ArrayList<>();
+    private final List<byte[]> methods = new ArrayList<>();
+    private final String thisClass;
+
+    ClassFileWriter(String thisClass) {
+        this.thisClass = thisClass;
+    }
+
+    String getThisClass() {
+        return thisClass;
+    }
+
+    //---------------------- Pool de constantes ----------------------
+
+    private int entry(String key, int tag, Object a, Object b) {
+        Integer index = poolCache.get(key);
+        if (index != null) {
+            return index;
+        }
+        try {
+            pool.writeByte(tag);
+            switch (tag) {
+                case 1:
+                    pool.writeUTF((String) a);
+                    break;
+                case 5:
+                    pool.writeLong((Long) a);
+                    break;
+                case 6:
+                    pool.writeDouble((Double) a);
+                    break;
+                case 7:
+                case 8:
+                    pool.writeShort((Integer) a);
+                    break;
+                default: // Fieldref, Methodref, NameAndType.
+                    pool.writeShort((Integer) a);
+                    pool.writeShort((Integer) b);
+                    break;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        index = poolCount;
+        poolCount += (tag == 5 || tag == 6) ? 2 : 1; // long y double ocupan dos entradas.
+        poolCache.put(key, index);
+        return index;
+    }
+
+    int utf8(String value) {
+        return entry("U" + value, 1, value, null);
+    }
+
+    int classRef(String internalName) {
+        return entry("C" + internalName, 7, utf8(internalName), null);
+    }
+
+    int string(String value) {
+        return entry("S" + value, 8, utf8(value), null);
+    }
+
+    int longConst(long value) {
+        return entry("J" + value, 5, value, null);
+    }
+
+    int doubleConst(double value) {
+        return entry("D" + Double.doubleToRawLongBits(value), 6, value, null);
+    }
+
+    private int nameAndType(String name, String descriptor) {
+        return entry("N" + name + ":" + descriptor, 12, utf8(name), utf8(descriptor));
+    }
+
+    int fieldRef(String owner, String name, String descriptor) {
+        return entry("F" + owner + "." + name + ":" + descriptor, 9, classRef(owner), nameAndType(name, descriptor));
+    }
+
+    int methodRef(String owner, String name, String descriptor) {
+        return entry("M" + owner + "." + name + ":" + descriptor, 10, classRef(owner), nameAndType(name, descriptor));
+    }
+
+    //---------------------- Miembros ----------------------
+
+    void addField(int access, String name, String descriptor) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeShort(access);
+            out.writeShort(utf8(name));
+            out.writeShort(utf8(descriptor));
+            out.writeShort(0); // Sin atributos.
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        fields.add(bytes.toByteArray());
+    }
+
+    /**
+     * Crea el emisor de código de un método. El método se agrega al llamar {@link Code#finish()}.
+     */
+    Code method(int access, String name, String descriptor) {
+        return new Code(access, name, descriptor);
+    }
+
+    /**
+     * Serializa la clase completa.
+     */
+    byte[] toByteArray() {
+        int thisIndex = classRef(thisClass);
+        int superIndex = classRef("java/lang/Object");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(49); // Java 5: sin StackMapTable.
+            out.writeShort(poolCount);
+            out.write(poolBytes.toByteArray());
+            out.writeShort(ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisIndex);
+            out.writeShort(superIndex);
+            out.writeShort(0); // Sin interfaces.
+            out.writeShort(fields.size());
+            for (byte[] field : fields) {
+                out.write(field);
+            }
+            out.writeShort(methods.size());
+            for (byte[] method : methods) {
+                out.write(method);
+            }
+            out.writeShort(0); // Sin atributos de clase.
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Tamaño en palabras que ocupa un descriptor de tipo en la pila.
+     */
+    static int size(char descriptor) {
+        switch (descriptor) {
+            case 'V':
+                return 0;
+            case 'J':
+            case 'D':
+                return 2;
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * Etiqueta de salto. Recuerda la profundidad de pila en los saltos para restaurarla al colocarla.
+     */
+    static final class Label {
+        int position = -1;
+        int stack = -1;
+        final List<Integer> references = new ArrayList<>();
+    }
+
+    /**
+     * Emisor de bytecode de un método. Lleva la cuenta de la pila y de las variables locales para calcular
+     * max_stack y max_locals.
+     */
+    final class Code {
+        private final int access;
+        private final String name;
+        private final String descriptor;
+        private byte[] code = new byte[256];
+        private int length;
+        private int stack;
+        private int maxStack;
+        private int locals;
+        private int maxLocals;
+        private boolean reachable = true;
+        private final List<Label> labels = new ArrayList<>();
+
+        private Code(int access, String name, String descriptor) {
+            this.access = access;
+            this.name = name;
+            this.descriptor = descriptor;
+            int index = descriptor.indexOf(')');
+            for (int i = 1; i < index; i++) { // Los parámetros ocupan las primeras variables locales.
+                char c = descriptor.charAt(i);
+                if (c == 'L') {
+                    i = descriptor.indexOf(';', i);
+                }
+                allocate(size(c));
+            }
+        }
+
+        /**
+         * Reserva una variable local de {@code width} palabras.
+         */
+        int allocate(int width) {
+            int index = locals;
+            locals += width;
+            maxLocals = Math.max(maxLocals, locals);
+            return index;
+        }
+
+        int getLocals() {
+            return locals;
+        }
+
+        /**
+         * Libera las variables locales reservadas después de {@code mark}.
+         */
+        void release(int mark) {
+            locals = mark;
+        }
+
+        private void put(int b) {
+            if (length == code.length) {
+                code = java.util.Arrays.copyOf(code, code.length * 2);
+            }
+            code[length++] = (byte) b;
+        }
+
+        private void put2(int v) {
+            put(v >> 8);
+            put(v);
+        }
+
+        private void adjust(int delta) {
+            stack += delta;
+            maxStack = Math.max(maxStack, stack);
+        }
+
+        /**
+         * Emite una instrucción sin operandos con su efecto sobre la pila.
+         */
+        void op(int opcode, int delta) {
+            put(opcode);
+            adjust(delta);
+            if (opcode == ATHROW || (opcode >= IRETURN && opcode <= RETURN) || opcode == GOTO) {
+                reachable = false;
+            }
+        }
+
+        void pushInt(int value) {
+            if (value >= -1 && value <= 5) {
+                op(ICONST_0 + value, 1);
+            } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                put(BIPUSH);
+                put(value);
+                adjust(1);
+            } else {
+                put(SIPUSH);
+                put2(value);
+                adjust(1);
+            }
+        }
+
+        void pushLong(long value) {
+            if (value == 0 || value == 1) {
+                op(LCONST_0 + (int) value, 2);
+            } else {
+                put(LDC2_W);
+                put2(longConst(value));
+                adjust(2);
+            }
+        }
+
+        void pushDouble(double value) {
+            if (Double.doubleToRawLongBits(value) == 0L || value == 1.0) {
+                op(DCONST_0 + (int) value, 2);
+            } else {
+                put(LDC2_W);
+                put2(doubleConst(value));
+                adjust(2);
+            }
+        }
+
+        void pushString(String value) {
+            int index = string(value);
+            if (index < 256) {
+                put(LDC);
+                put(index);
+            } else {
+                put(LDC_W);
+                put2(index);
+            }
+            adjust(1);
+        }
+
+        /**
+         * Carga o guarda una variable local ({@code xLOAD}/{@code xSTORE}).
+         */
+        void local(int opcode, int index, int delta) {
+            if (index < 256) {
+                put(opcode);
+                put(index);
+            } else {
+                put(WIDE);
+                put(opcode);
+                put2(index);
+            }
+            adjust(delta);
+        }
+
+        void field(int opcode, String owner, String fieldName, String fieldDescriptor) {
+            put(opcode);
+            put2(fieldRef(owner, fieldName, fieldDescriptor));
+            int width = size(fieldDescriptor.charAt(0));
+            adjust(opcode == GETSTATIC ? width : -width);
+        }
+
+        void invoke(int opcode, String owner, String methodName, String methodDescriptor) {
+            put(opcode);
+            put2(methodRef(owner, methodName, methodDescriptor));
+            int delta = opcode == INVOKESTATIC ? 0 : -1; // El receptor.
+            int end = methodDescriptor.indexOf(')');
+            for (int i = 1; i < end; i++) {
+                char c = methodDescriptor.charAt(i);
+                if (c == 'L') {
+                    i = methodDescriptor.indexOf(';', i);
+                }
+                delta -= size(c);
+            }
+            delta += size(methodDescriptor.charAt(end + 1));
+            adjust(delta);
+        }
+
+        Label newLabel() {
+            Label label = new Label();
+            labels.add(label);
+            return label;
+        }
+
+        /**
+         * Emite un salto hacia {@code label}. {@code delta} es el efecto de la instrucción sobre la pila.
+         */
+        void jump(int opcode, Label label, int delta) {
+            adjust(delta);
+            label.stack = stack;
+            label.references.add(length);
+            put(opcode);
+            put2(0); // Se corrige en finish().
+            if (opcode == GOTO) {
+                reachable = false;
+            }
+        }
+
+        /**
+         * Coloca una etiqueta en la posición actual.
+         */
+        void mark(Label label) {
+            label.position = length;
+            if (!reachable && label.stack >= 0) {
+                stack = label.stack; // Solo se llega por salto: se restaura la pila de ese salto.
+            }
+            reachable = true;
+        }
+
+        /**
+         * Resuelve los saltos y agrega el método a la clase.
+         */
+        void finish() {
+            for (Label label : labels) {
+                for (int at : label.references) {
+                    int offset = label.position - at;
+                    if (offset < Short.MIN_VALUE || offset > Short.MAX_VALUE) {
+                        throw new BytecodeCompiler.UnsupportedProgramException("el metodo " + name + " es demasiado grande");
+                    }
+                    code[at + 1] = (byte) (offset >> 8);
+                    code[at + 2] = (byte) offset;
+                }
+            }
+            if (length > 65535) {
+                throw new BytecodeCompiler.UnsupportedProgramException("el metodo " + name + " es demasiado grande");
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            try {
+                out.writeShort(access);
+                out.writeShort(utf8(name));
+                out.writeShort(utf8(descriptor));
+                out.writeShort(1); // Atributo Code.
+                out.writeShort(utf8("Code"));
+                out.writeInt(12 + length);
+                out.writeShort(maxStack);
+                out.writeShort(maxLocals);
+                out.writeInt(length);
+                out.write(code, 0, length);
+                out.writeShort(0); // Sin tabla de excepciones.
+                out.writeShort(0); // Sin atributos.
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            methods.add(bytes.toByteArray());
+        }
+    }
+}
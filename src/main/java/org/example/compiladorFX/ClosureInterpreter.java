@@ -0,0 +1,1098 @@
+package org.example.compiladorFX;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Motor que convierte cada nodo del {@link Ast.Program} una sola vez en un objeto funcional ya enlazado
+ * ({@link DoubleNode}, {@link BoolNode}, {@link StringNode}, {@link StmtNode}). Los operadores, los tipos y
+ * las ranuras de las variables se resuelven al construir los nodos, así que ejecutar es solo llamar lambdas,
+ * sin generar clases como {@link BytecodeCompiler}.
+ * <p>
+ * Cada función (y el nivel superior) usa un {@link Frame} plano: los bloques internos reservan ranuras en el
+ * marco de la función en vez de crear ámbitos en ejecución. Acepta el mismo subconjunto de programas con
+ * tipos estáticos que {@link BytecodeCompiler} y lanza {@link BytecodeCompiler.UnsupportedProgramException}
+ * en otro caso.
+ */
+public class ClosureInterpreter {
+
+    // Señales con que termina una sentencia, como en AstInterpreter. Un break o un continue llega hasta el ciclo más
+    // interno; un return, hasta la llamada.
+    private static final int NORMAL = 0;
+    private static final int BREAK = 1;
+    private static final int CONTINUE = 2;
+    private static final int RETURN = 3;
+
+    /**
+     * Marco de una función: ranuras numéricas (int, double y boolean como 0 o 1) y de texto. {@code signal} es la
+     * señal con que terminó la última sentencia; un return deja el valor en {@code result} o {@code text}.
+     */
+    static final class Frame {
+        final double[] num;
+        final String[] ref;
+        int signal;
+        double result;
+        String text;
+
+        Frame(int numSize, int refSize) {
+            this.num = new double[numSize];
+            this.ref = new String[refSize];
+        }
+    }
+
+    interface DoubleNode {
+        double eval(Frame f);
+    }
+
+    interface BoolNode {
+        boolean eval(Frame f);
+    }
+
+    interface StringNode {
+        String eval(Frame f);
+    }
+
+    interface StmtNode {
+        void exec(Frame f);
+    }
+
+    /**
+     * Copia un argumento ya evaluado en el marco de la función llamada.
+     */
+    interface ArgNode {
+        void pass(Frame caller, Frame callee);
+    }
+
+    /**
+     * Función ya construida. Se crea vacía antes de construir los cuerpos para que las llamadas recursivas
+     * queden enlazadas directamente a ella.
+     */
+    static final class FunctionCode {
+        final Ast.Function function;
+        int numSize;
+        int refSize;
+        StmtNode[] body;
+        DoubleNode returnNumber;
+        BoolNode returnBool;
+        StringNode returnString;
+
+        FunctionCode(Ast.Function function) {
+            this.function = function;
+        }
+    }
+
+    private final Ast.Program program;
+    private final FunctionCode[] functions;
+    private final boolean[] installed;
+    private final double[] globalNum;
+    private final String[] globalRef;
+    private final StmtNode[] body;
+    private final int topNumSize;
+    private final int topRefSize;
+    private final Diagnostics diagnostics = new Diagnostics();
+    private OutputSink output = new OutputSink();
+    private long skippedOperands; // Operandos lógicos omitidos por el cortocircuito.
+    private final boolean[] pure;  // Funciones cuyas llamadas se pueden memoizar.
+    private MemoCache memo;
+
+    // Estado de la construcción.
+    private int numTop;
+    private int refTop;
+    private int maxNum;
+    private int maxRef;
+    private final List<int[]> scopes = new ArrayList<>();
+    private Ast.Function function;     // Función en construcción, null en el nivel superior.
+    private int jumps;                 // Sentencias break, continue y return construidas hasta ahora.
+    private final boolean initialized; // Ninguna lectura ve una variable declarada sin valor (DefiniteAssignment).
+
+    /**
+     * Construye los nodos del programa.
+     *
+     * @param program El programa resuelto.
+     * @throws BytecodeCompiler.UnsupportedProgramException si el programa usa tipos que solo se conocen en ejecución.
+     */
+    public ClosureInterpreter(Ast.Program program) {
+        this.program = program;
+        Ast.Function[] declared = BytecodeCompiler.collectFunctions(program);
+        this.functions = new FunctionCode[declared.length];
+        for (Ast.Function fn : declared) {
+            if (fn != null) {
+                functions[fn.index] = new FunctionCode(fn);
+            }
+        }
+        this.installed = new boolean[declared.length];
+        PurityAnalysis purity = new PurityAnalysis(program);
+        this.pure = new boolean[declared.length];
+        for (int i = 0; i < pure.length; i++) {
+            pure[i] = purity.isPure(i);
+        }
+        this.globalNum = new double[program.globalNames.length];
+        this.globalRef = new String[program.globalNames.length];
+        for (Ast.Type type : program.globalTypes) {
+            kind(type); // Rechaza globales de tipo desconocido.
+        }
+
+        this.initialized = DefiniteAssignment.isInitialized(program);
+        scopes.add(new int[0]);
+        this.body = statements(program.body);
+        this.topNumSize = maxNum;
+        this.topRefSize = maxRef;
+        scopes.clear();
+        for (FunctionCode fn : functions) {
+            if (fn != null) {
+                function(fn);
+            }
+        }
+    }
+
+    public String getErrorOut() {
+        return diagnostics.toText();
+    }
+
+    public Diagnostics getDiagnostics() {
+        return diagnostics;
+    }
+
+    public String getTextOut() {
+        return output.getText();
+    }
+
+    /**
+     * Cambia el destino de print.
+     *
+     * @param output El destino de la salida, en memoria por defecto.
+     */
+    public void setOutput(OutputSink output) {
+        this.output = output;
+    }
+
+    /**
+     * Cantidad de operandos de {@code &&} y {@code ||} que no se evaluaron porque el primero ya decidía el resultado.
+     *
+     * @return Los operandos omitidos desde el inicio de la ejecución.
+     */
+    public long getSkippedOperands() {
+        return skippedOperands;
+    }
+
+    /**
+     * Activa la memoización de las funciones puras. La caché no se vacía entre ejecuciones: los resultados de una
+     * función pura no dependen del estado del programa.
+     *
+     * @param memo La caché de resultados o null para no memoizar.
+     */
+    public void setMemoCache(MemoCache memo) {
+        this.memo = memo;
+    }
+
+    /**
+     * Ejecuta el programa. Se puede llamar varias veces: cada ejecución empieza con la salida, las globales
+     * y las funciones reiniciadas.
+     */
+    public void run() {
+        output.clear();
+        diagnostics.clear();
+        skippedOperands = 0;
+        Arrays.fill(globalNum, 0);
+        Arrays.fill(globalRef, "");
+        Arrays.fill(installed, false);
+        Frame frame = new Frame(topNumSize, topRefSize);
+        for (StmtNode stmt : body) {
+            stmt.exec(frame);
+        }
+    }
+
+    /**
+     * Devuelve la tabla de símbolos global en el mismo formato que {@link MyVisitorFX#getGlobalSymbols()}.
+     *
+     * @return Las variables globales y las funciones instaladas.
+     */
+    public Map<String, MyVisitorFX.Symbol> getGlobalSymbols() {
+        Map<String, MyVisitorFX.Symbol> table = new LinkedHashMap<>();
+        for (int i = 0; i < globalNum.length; i++) {
+            Ast.Type type = program.globalTypes[i];
+            Object value = type == Ast.Type.STRING ? globalRef[i]
+                    : type == Ast.Type.BOOLEAN ? (Object) (globalNum[i] != 0) : (Object) globalNum[i];
+            table.put(program.globalNames[i], new MyVisitorFX.Symbol(program.globalNames[i], type.toString(), value));
+        }
+        for (int i = 0; i < installed.length; i++) {
+            if (installed[i]) {
+                Ast.Function fn = functions[i].function;
+                table.put(fn.name, new MyVisitorFX.Symbol(fn.name, fn.returnType.toString(), "funcion/" + fn.paramNames.length));
+            }
+        }
+        return table;
+    }
+
+    private void function(FunctionCode code) {
+        Ast.Function fn = code.function;
+        function = fn;
+        numTop = refTop = maxNum = maxRef = 0;
+        int[] frame = new int[fn.frameSize];
+        for (int i = 0; i < fn.paramTypes.length; i++) { // Los parámetros ocupan las primeras ranuras de cada banco.
+            frame[i] = allocate(fn.paramTypes[i]);
+        }
+        scopes.add(frame);
+        int mark = jumps;
+        StmtNode[] body = statements(fn.body);
+        boolean returns = jumps != mark; // Un return en medio deja el valor en el marco.
+        code.body = returns ? new StmtNode[]{sequence(body, true)} : body;
+        switch (fn.returnType) {
+            case INT:
+            case DOUBLE: {
+                DoubleNode value = returnNumber(fn.returnExpr);
+                code.returnNumber = returns ? f -> f.signal == RETURN ? f.result : value.eval(f) : value;
+                break;
+            }
+            case BOOLEAN: {
+                BoolNode value = returnBool(fn.returnExpr);
+                code.returnBool = returns ? f -> f.signal == RETURN ? f.result != 0 : value.eval(f) : value;
+                break;
+            }
+            default: {
+                StringNode value = returnString(fn.returnExpr);
+                code.returnString = returns ? f -> f.signal == RETURN ? f.text : value.eval(f) : value;
+                break;
+            }
+        }
+        scopes.remove(scopes.size() - 1);
+        code.numSize = maxNum;
+        code.refSize = maxRef;
+        function = null;
+    }
+
+    /**
+     * Construye el valor de retorno numérico de la función en construcción. Un double devuelto por una función int
+     * se verifica en ejecución.
+     */
+    private DoubleNode returnNumber(Ast.Expr value) {
+        Ast.Function fn = function;
+        if (fn.returnType == Ast.Type.INT && mayBeFractional(value)) {
+            DoubleNode node = number(value);
+            String message = "Error: In function " + fn.name + ", return value is not of type int";
+            return f -> {
+                double result = node.eval(f);
+                if (result != Math.rint(result)) {
+                    throw new ExecutionError(message);
+                }
+                return result;
+            };
+        }
+        check(value.type, fn.returnType, "el valor de retorno de '" + fn.name + "'");
+        return number(value);
+    }
+
+    private BoolNode returnBool(Ast.Expr value) {
+        check(value.type, Ast.Type.BOOLEAN, "el valor de retorno de '" + function.name + "'");
+        return bool(value);
+    }
+
+    private StringNode returnString(Ast.Expr value) {
+        check(value.type, Ast.Type.STRING, "el valor de retorno de '" + function.name + "'");
+        return string(value);
+    }
+
+    //---------------------- Sentencias ----------------------
+
+    private StmtNode[] statements(Ast.Stmt[] stmts) {
+        StmtNode[] nodes = new StmtNode[stmts.length];
+        for (int i = 0; i < stmts.length; i++) {
+            nodes[i] = statement(stmts[i]);
+        }
+        return nodes;
+    }
+
+    /**
+     * Construye un bloque: sus variables ocupan ranuras del marco que se liberan al terminar el bloque.
+     */
+    private StmtNode block(Ast.Block block) {
+        int numMark = numTop;
+        int refMark = refTop;
+        int mark = jumps;
+        if (block.scoped) {
+            scopes.add(new int[block.size]);
+        }
+        StmtNode[] body = statements(block.body);
+        if (block.scoped) {
+            scopes.remove(scopes.size() - 1);
+        }
+        numTop = numMark;
+        refTop = refMark;
+        return sequence(body, jumps != mark);
+    }
+
+    /**
+     * Ejecuta las sentencias en orden. Si alguna puede terminar con break, continue o return, cada sentencia revisa
+     * la señal al terminar y deja de ejecutar las siguientes; si no, no se paga esa revisión.
+     */
+    private static StmtNode sequence(StmtNode[] body, boolean signals) {
+        if (body.length == 1) {
+            return body[0];
+        }
+        if (signals) {
+            return f -> {
+                for (StmtNode stmt : body) {
+                    stmt.exec(f);
+                    if (f.signal != NORMAL) {
+                        return;
+                    }
+                }
+            };
+        }
+        return f -> {
+            for (StmtNode stmt : body) {
+                stmt.exec(f);
+            }
+        };
+    }
+
+    /**
+     * Consume al final de una vuelta la señal del cuerpo del ciclo. Un continue sigue con la vuelta siguiente; un
+     * return queda en el marco para los bloques de afuera.
+     *
+     * @return true si el ciclo termina (break o return).
+     */
+    private static boolean stop(Frame f) {
+        int signal = f.signal;
+        if (signal == RETURN) {
+            return true;
+        }
+        f.signal = NORMAL;
+        return signal == BREAK;
+    }
+
+    private StmtNode statement(Ast.Stmt stmt) {
+        switch (stmt.tag) {
+            case Ast.BLOCK:
+                return block((Ast.Block) stmt);
+            case Ast.DECLARE: {
+                Ast.Declare declare = (Ast.Declare) stmt;
+                Ast.Expr init = declare.init;
+                if (init == null) { // El intérprete reporta las lecturas de variables sin inicializar.
+                    if (!initialized) {
+                        throw new BytecodeCompiler.UnsupportedProgramException("la variable '" + declare.target.name + "' se puede leer sin valor inicial");
+                    }
+                    init = DefiniteAssignment.defaultInit(declare);
+                }
+                if (declare.target.tag == Ast.LOCAL) {
+                    Ast.Local local = (Ast.Local) declare.target;
+                    scopes.get(scopes.size() - 1)[local.slot] = allocate(local.type);
+                    if (local.type == Ast.Type.INT && mayBeFractional(init)) { // Si la verificación falla, la variable vale 0 y no lo que quedó en la ranura.
+                        int slot = slot(local);
+                        StmtNode store = assign(declare.target, init);
+                        return f -> {
+                            f.num[slot] = 0;
+                            store.exec(f);
+                        };
+                    }
+                }
+                return assign(declare.target, init);
+            }
+            case Ast.ASSIGN: {
+                Ast.Assign assign = (Ast.Assign) stmt;
+                return assign(assign.target, assign.value);
+            }
+            case Ast.UPDATE:
+                return update((Ast.Update) stmt);
+            case Ast.IF: {
+                Ast.If ifStmt = (Ast.If) stmt;
+                BoolNode cond = condition(ifStmt.cond);
+                StmtNode then = block(ifStmt.then);
+                if (ifStmt.otherwise == null) {
+                    return f -> {
+                        if (cond.eval(f)) {
+                            then.exec(f);
+                        }
+                    };
+                }
+                StmtNode otherwise = block(ifStmt.otherwise);
+                return f -> {
+                    if (cond.eval(f)) {
+                        then.exec(f);
+                    } else {
+                        otherwise.exec(f);
+                    }
+                };
+            }
+            case Ast.WHILE: {
+                Ast.Loop loop = (Ast.Loop) stmt;
+                int mark = jumps;
+                BoolNode cond = condition(loop.cond);
+                StmtNode body = block(loop.body);
+                if (jumps != mark) {
+                    return f -> {
+                        while (cond.eval(f)) {
+                            body.exec(f);
+                            if (f.signal != NORMAL && stop(f)) {
+                                break;
+                            }
+                        }
+                    };
+                }
+                return f -> {
+                    while (cond.eval(f)) {
+                        body.exec(f);
+                    }
+                };
+            }
+            case Ast.DO_WHILE: {
+                Ast.Loop loop = (Ast.Loop) stmt;
+                int mark = jumps;
+                StmtNode body = block(loop.body);
+                BoolNode cond = condition(loop.cond);
+                if (jumps != mark) {
+                    return f -> {
+                        do {
+                            body.exec(f);
+                            if (f.signal != NORMAL && stop(f)) {
+                                break;
+                            }
+                        } while (cond.eval(f));
+                    };
+                }
+                return f -> {
+                    do {
+                        body.exec(f);
+                    } while (cond.eval(f));
+                };
+            }
+            case Ast.FOR: {
+                Ast.For forStmt = (Ast.For) stmt;
+                int numMark = numTop;
+                int refMark = refTop;
+                int mark = jumps;
+                if (forStmt.scoped) {
+                    scopes.add(new int[forStmt.size]); // Ámbito de la variable de control.
+                }
+                StmtNode init = statement(forStmt.init);
+                BoolNode cond = condition(forStmt.cond);
+                StmtNode body = block(forStmt.body);
+                StmtNode update = statement(forStmt.update);
+                if (forStmt.scoped) {
+                    scopes.remove(scopes.size() - 1);
+                }
+                numTop = numMark;
+                refTop = refMark;
+                if (jumps != mark) {
+                    return f -> {
+                        for (init.exec(f); cond.eval(f); update.exec(f)) { // Un continue sigue con update.
+                            body.exec(f);
+                            if (f.signal != NORMAL && stop(f)) {
+                                break;
+                            }
+                        }
+                    };
+                }
+                return f -> {
+                    for (init.exec(f); cond.eval(f); update.exec(f)) {
+                        body.exec(f);
+                    }
+                };
+            }
+            case Ast.FUNCTION: {
+                int index = ((Ast.FunctionDecl) stmt).function.index;
+                return f -> installed[index] = true;
+            }
+            case Ast.EXPR: {
+                Ast.Expr expr = ((Ast.ExprStmt) stmt).expr;
+                switch (kind(expr.type)) {
+                    case NUMBER: {
+                        DoubleNode node = number(expr);
+                        return node::eval;
+                    }
+                    case BOOL: {
+                        BoolNode node = bool(expr);
+                        return node::eval;
+                    }
+                    default: {
+                        StringNode node = string(expr);
+                        return node::eval;
+                    }
+                }
+            }
+            case Ast.PRINT:
+                return print((Ast.Print) stmt);
+            case Ast.ERROR: {
+                String message = ((Ast.ErrorStmt) stmt).message;
+                return f -> error(message);
+            }
+            case Ast.RETURN:
+                jumps++;
+                return ret(((Ast.Return) stmt).value);
+            case Ast.BREAK:
+                jumps++;
+                return f -> f.signal = BREAK;
+            case Ast.CONTINUE:
+                jumps++;
+                return f -> f.signal = CONTINUE;
+            default:
+                throw new BytecodeCompiler.UnsupportedProgramException("sentencia no soportada: " + Ast.tagName(stmt.tag));
+        }
+    }
+
+    /**
+     * Construye un return en medio del cuerpo: deja el valor en el marco y la señal para los bloques de afuera.
+     */
+    private StmtNode ret(Ast.Expr value) {
+        switch (function.returnType) {
+            case INT:
+            case DOUBLE: {
+                DoubleNode node = returnNumber(value);
+                return f -> {
+                    f.result = node.eval(f);
+                    f.signal = RETURN;
+                };
+            }
+            case BOOLEAN: {
+                BoolNode node = returnBool(value);
+                return f -> {
+                    f.result = node.eval(f) ? 1 : 0;
+                    f.signal = RETURN;
+                };
+            }
+            default: {
+                StringNode node = returnString(value);
+                return f -> {
+                    f.text = node.eval(f);
+                    f.signal = RETURN;
+                };
+            }
+        }
+    }
+
+    /**
+     * @return true si hay que verificar en ejecución que {@code value} sea entero antes de guardarlo en un int: es
+     * double, o es int en un programa en que un += o -= puede dejar decimales en un int
+     * ({@link Ast.Program#fractionalInts}).
+     */
+    private boolean mayBeFractional(Ast.Expr value) {
+        return value.type == Ast.Type.DOUBLE || value.type == Ast.Type.INT && program.fractionalInts;
+    }
+
+    /**
+     * Construye la escritura de {@code value} en la variable. Un double asignado a un int se verifica en ejecución.
+     */
+    private StmtNode assign(Ast.Var target, Ast.Expr value) {
+        if (target.type == Ast.Type.INT && mayBeFractional(value)) {
+            DoubleNode node = number(value);
+            String message = "Error de tipo: No se puede asignar un valor no entero a variable int '" + target.name + "'";
+            NumberStore store = numberStore(target);
+            return f -> {
+                double result = node.eval(f);
+                if (result != Math.rint(result)) {
+                    error(message);
+                } else {
+                    store.store(f, result);
+                }
+            };
+        }
+        check(value.type, target.type, "la variable '" + target.name + "'");
+        switch (kind(target.type)) {
+            case NUMBER: {
+                DoubleNode node = number(value);
+                if (target.tag == Ast.GLOBAL) {
+                    int index = ((Ast.Global) target).index;
+                    return f -> globalNum[index] = node.eval(f);
+                }
+                int slot = slot((Ast.Local) target);
+                return f -> f.num[slot] = node.eval(f);
+            }
+            case BOOL: {
+                BoolNode node = bool(value);
+                NumberStore store = numberStore(target);
+                return f -> store.store(f, node.eval(f) ? 1 : 0);
+            }
+            default: {
+                StringNode node = string(value);
+                if (target.tag == Ast.GLOBAL) {
+                    int index = ((Ast.Global) target).index;
+                    return f -> globalRef[index] = node.eval(f);
+                }
+                int slot = slot((Ast.Local) target);
+                return f -> f.ref[slot] = node.eval(f);
+            }
+        }
+    }
+
+    private interface NumberStore {
+        void store(Frame f, double value);
+    }
+
+    private NumberStore numberStore(Ast.Var target) {
+        if (target.tag == Ast.GLOBAL) {
+            int index = ((Ast.Global) target).index;
+            return (f, value) -> globalNum[index] = value;
+        }
+        int slot = slot((Ast.Local) target);
+        return (f, value) -> f.num[slot] = value;
+    }
+
+    private StmtNode update(Ast.Update update) {
+        Ast.Var target = update.target;
+        if (!target.type.isNumeric()) {
+            String message = "Error: La variable '" + target.name + "' no es numérica y no se puede usar con operadores de incremento/decremento.";
+            return f -> error(message);
+        }
+        DoubleNode current = number(target);
+        NumberStore store = numberStore(target);
+        double sign = update.op == Ast.INC || update.op == Ast.ADD_ASSIGN ? 1 : -1;
+        if (update.value == null) {
+            if (target.tag == Ast.LOCAL) { // i++ en una local: el caso más común en los bucles.
+                int slot = slot((Ast.Local) target);
+                return f -> f.num[slot] += sign;
+            }
+            return f -> store.store(f, current.eval(f) + sign);
+        }
+        check(update.value.type, Ast.Type.DOUBLE, "la variable '" + target.name + "'");
+        DoubleNode value = number(update.value); // Como en el visitor, int += double puede dejar decimales.
+        if (sign > 0) {
+            return f -> store.store(f, current.eval(f) + value.eval(f));
+        }
+        return f -> store.store(f, current.eval(f) - value.eval(f));
+    }
+
+    private interface ValueNode {
+        Object eval(Frame f);
+    }
+
+    private StmtNode print(Ast.Print print) {
+        ValueNode[] parts = new ValueNode[print.parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            Ast.Expr part = print.parts[i];
+            switch (kind(part.type)) {
+                case NUMBER: {
+                    DoubleNode node = number(part);
+                    parts[i] = f -> node.eval(f);
+                    break;
+                }
+                case BOOL: {
+                    BoolNode node = bool(part);
+                    parts[i] = f -> node.eval(f);
+                    break;
+                }
+                default: {
+                    StringNode node = string(part);
+                    parts[i] = node::eval;
+                    break;
+                }
+            }
+        }
+        return f -> {
+            Object[] values = new Object[parts.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = parts[i].eval(f);
+            }
+            Object result = values[values.length - 1];
+            for (int i = values.length - 2; i >= 0; i--) {
+                result = AstInterpreter.combine(values[i], result);
+            }
+            output.print(result);
+        };
+    }
+
+    private BoolNode condition(Ast.Expr cond) {
+        if (cond.type != Ast.Type.BOOLEAN) {
+            throw new BytecodeCompiler.UnsupportedProgramException("la condicion no es booleana");
+        }
+        return bool(cond);
+    }
+
+    //---------------------- Expresiones ----------------------
+
+    private DoubleNode number(Ast.Expr expr) {
+        switch (expr.tag) {
+            case Ast.CONST: {
+                double value = ((Ast.Const) expr).number;
+                return f -> value;
+            }
+            case Ast.LOCAL: {
+                int slot = slot((Ast.Local) expr);
+                return f -> f.num[slot];
+            }
+            case Ast.GLOBAL: {
+                int index = ((Ast.Global) expr).index;
+                return f -> globalNum[index];
+            }
+            case Ast.UNDEFINED: {
+                String message = "Error: Variable '" + ((Ast.Undefined) expr).name + "' no declarada.";
+                return f -> {
+                    error(message);
+                    return 0;
+                };
+            }
+            case Ast.ARITH: {
+                Ast.Arith arith = (Ast.Arith) expr;
+                check(arith.left.type, Ast.Type.DOUBLE, "un operando");
+                check(arith.right.type, Ast.Type.DOUBLE, "un operando");
+                DoubleNode left = number(arith.left);
+                DoubleNode right = number(arith.right);
+                switch (arith.op) { // El operador se elige aquí, una sola vez.
+                    case Ast.ADD:
+                        return f -> left.eval(f) + right.eval(f);
+                    case Ast.SUB:
+                        return f -> left.eval(f) - right.eval(f);
+                    case Ast.MUL:
+                        return f -> left.eval(f) * right.eval(f);
+                    case Ast.DIV:
+                        return f -> left.eval(f) / right.eval(f);
+                    case Ast.POW:
+                        return f -> Math.pow(left.eval(f), right.eval(f));
+                    default:
+                        if (arith.right.tag == Ast.CONST && ((Ast.Const) arith.right).number == 2) { // La base se evalúa una sola vez.
+                            return f -> {
+                                double value = left.eval(f);
+                                return value * value;
+                            };
+                        }
+                        return f -> AstInterpreter.intPower(left.eval(f), right.eval(f));
+                }
+            }
+            case Ast.CALL: {
+                Ast.Call call = (Ast.Call) expr;
+                FunctionCode fn = function(call);
+                ArgNode[] args = arguments(call, fn);
+                if (pure[fn.function.index]) {
+                    return f -> memo != null ? (Double) memoized(fn, args, f) : fn.returnNumber.eval(enter(fn, args, f));
+                }
+                return f -> fn.returnNumber.eval(enter(fn, args, f));
+            }
+            case Ast.INLINE: { // Función copiada en la llamada: el cuerpo usa ranuras del marco actual.
+                Ast.Inline inline = (Ast.Inline) expr;
+                StmtNode[] body = statements(inline.body);
+                DoubleNode result = number(inline.result);
+                return f -> {
+                    for (StmtNode stmt : body) {
+                        stmt.exec(f);
+                    }
+                    return result.eval(f);
+                };
+            }
+            default:
+                throw new BytecodeCompiler.UnsupportedProgramException("la expresion no es numerica");
+        }
+    }
+
+    private BoolNode bool(Ast.Expr expr) {
+        switch (expr.tag) {
+            case Ast.CONST: {
+                boolean value = (Boolean) ((Ast.Const) expr).value;
+                return f -> value;
+            }
+            case Ast.LOCAL: {
+                int slot = slot((Ast.Local) expr);
+                return f -> f.num[slot] != 0;
+            }
+            case Ast.GLOBAL: {
+                int index = ((Ast.Global) expr).index;
+                return f -> globalNum[index] != 0;
+            }
+            case Ast.UNDEFINED: {
+                String message = "Error: Variable '" + ((Ast.Undefined) expr).name + "' no declarada.";
+                return f -> {
+                    error(message);
+                    return false;
+                };
+            }
+            case Ast.COMPARE:
+                return compare((Ast.Compare) expr);
+            case Ast.AND:
+            case Ast.OR: {
+                Ast.Logic logic = (Ast.Logic) expr;
+                BoolNode left = condition(logic.left);
+                BoolNode right = condition(logic.right);
+                if (expr.tag == Ast.AND) {
+                    return f -> {
+                        if (!left.eval(f)) {
+                            skippedOperands++;
+                            return false;
+                        }
+                        return right.eval(f);
+                    };
+                }
+                return f -> {
+                    if (left.eval(f)) {
+                        skippedOperands++;
+                        return true;
+                    }
+                    return right.eval(f);
+                };
+            }
+            case Ast.NOT: {
+                BoolNode operand = condition(((Ast.Not) expr).operand);
+                return f -> !operand.eval(f);
+            }
+            case Ast.CALL: {
+                Ast.Call call = (Ast.Call) expr;
+                FunctionCode fn = function(call);
+                ArgNode[] args = arguments(call, fn);
+                if (pure[fn.function.index]) {
+                    return f -> memo != null ? (Boolean) memoized(fn, args, f) : fn.returnBool.eval(enter(fn, args, f));
+                }
+                return f -> fn.returnBool.eval(enter(fn, args, f));
+            }
+            case Ast.INLINE: {
+                Ast.Inline inline = (Ast.Inline) expr;
+                StmtNode[] body = statements(inline.body);
+                BoolNode result = bool(inline.result);
+                return f -> {
+                    for (StmtNode stmt : body) {
+                        stmt.exec(f);
+                    }
+                    return result.eval(f);
+                };
+            }
+            default:
+                throw new BytecodeCompiler.UnsupportedProgramException("la expresion no es booleana");
+        }
+    }
+
+    private BoolNode compare(Ast.Compare compare) {
+        Ast.Type leftType = compare.left.type;
+        Ast.Type rightType = compare.right.type;
+        if (leftType == Ast.Type.BOOLEAN && rightType == Ast.Type.BOOLEAN && (compare.op == Ast.EQ || compare.op == Ast.NE)) {
+            BoolNode left = bool(compare.left);
+            BoolNode right = bool(compare.right);
+            if (compare.op == Ast.EQ) {
+                return f -> left.eval(f) == right.eval(f);
+            }
+            return f -> left.eval(f) != right.eval(f);
+        }
+        if (!leftType.isNumeric() || !rightType.isNumeric()) {
+            throw new BytecodeCompiler.UnsupportedProgramException("comparacion entre " + leftType + " y " + rightType);
+        }
+        DoubleNode left = number(compare.left);
+        DoubleNode right = number(compare.right);
+        switch (compare.op) {
+            case Ast.EQ:
+                return f -> left.eval(f) == right.eval(f);
+            case Ast.NE:
+                return f -> left.eval(f) != right.eval(f);
+            case Ast.LT:
+                return f -> left.eval(f) < right.eval(f);
+            case Ast.GT:
+                return f -> left.eval(f) > right.eval(f);
+            case Ast.LE:
+                return f -> left.eval(f) <= right.eval(f);
+            default:
+                return f -> left.eval(f) >= right.eval(f);
+        }
+    }
+
+    private StringNode string(Ast.Expr expr) {
+        switch (expr.tag) {
+            case Ast.CONST: {
+                String value = (String) ((Ast.Const) expr).value;
+                return f -> value;
+            }
+            case Ast.LOCAL: {
+                int slot = slot((Ast.Local) expr);
+                return f -> f.ref[slot];
+            }
+            case Ast.GLOBAL: {
+                int index = ((Ast.Global) expr).index;
+                return f -> globalRef[index];
+            }
+            case Ast.UNDEFINED: {
+                String message = "Error: Variable '" + ((Ast.Undefined) expr).name + "' no declarada.";
+                return f -> {
+                    error(message);
+                    return "";
+                };
+            }
+            case Ast.CONCAT: {
+                Ast.Expr[] parts = ((Ast.Concat) expr).parts;
+                StringNode[] nodes = new StringNode[parts.length];
+                for (int i = 0; i < parts.length; i++) {
+                    nodes[i] = string(parts[i]);
+                }
+                return f -> {
+                    StringBuilder result = new StringBuilder();
+                    for (StringNode node : nodes) {
+                        result.append(node.eval(f));
+                    }
+                    return result.toString();
+                };
+            }
+            case Ast.CALL: {
+                Ast.Call call = (Ast.Call) expr;
+                FunctionCode fn = function(call);
+                ArgNode[] args = arguments(call, fn);
+                if (pure[fn.function.index]) {
+                    return f -> memo != null ? (String) memoized(fn, args, f) : fn.returnString.eval(enter(fn, args, f));
+                }
+                return f -> fn.returnString.eval(enter(fn, args, f));
+            }
+            case Ast.INLINE: {
+                Ast.Inline inline = (Ast.Inline) expr;
+                StmtNode[] body = statements(inline.body);
+                StringNode result = string(inline.result);
+                return f -> {
+                    for (StmtNode stmt : body) {
+                        stmt.exec(f);
+                    }
+                    return result.eval(f);
+                };
+            }
+            default:
+                throw new BytecodeCompiler.UnsupportedProgramException("la expresion no es de texto");
+        }
+    }
+
+    //---------------------- Funciones ----------------------
+
+    private FunctionCode function(Ast.Call call) {
+        FunctionCode fn = call.function >= 0 ? functions[call.function] : null;
+        if (fn == null) {
+            throw new BytecodeCompiler.UnsupportedProgramException("la funcion '" + call.name + "' no esta declarada");
+        }
+        if (fn.function.paramTypes.length != call.args.length) {
+            throw new BytecodeCompiler.UnsupportedProgramException("la llamada a '" + call.name + "' no tiene " + fn.function.paramTypes.length + " argumentos");
+        }
+        return fn;
+    }
+
+    /**
+     * Construye el paso de cada argumento a la ranura de su parámetro. Las ranuras de los parámetros se
+     * conocen antes de construir el cuerpo porque son las primeras de cada banco.
+     */
+    private ArgNode[] arguments(Ast.Call call, FunctionCode fn) {
+        Ast.Type[] params = fn.function.paramTypes;
+        ArgNode[] args = new ArgNode[params.length];
+        int numSlot = 0;
+        int refSlot = 0;
+        for (int i = 0; i < params.length; i++) {
+            Ast.Expr arg = call.args[i];
+            if (params[i] == Ast.Type.STRING) {
+                check(arg.type, Ast.Type.STRING, "el argumento " + (i + 1) + " de '" + call.name + "'");
+                StringNode node = string(arg);
+                int slot = refSlot++;
+                args[i] = (caller, callee) -> callee.ref[slot] = node.eval(caller);
+                continue;
+            }
+            int slot = numSlot++;
+            if (params[i] == Ast.Type.BOOLEAN) {
+                check(arg.type, Ast.Type.BOOLEAN, "el argumento " + (i + 1) + " de '" + call.name + "'");
+                BoolNode node = bool(arg);
+                args[i] = (caller, callee) -> callee.num[slot] = node.eval(caller) ? 1 : 0;
+            } else if (params[i] == Ast.Type.INT && mayBeFractional(arg)) {
+                DoubleNode node = number(arg);
+                String message = "Error: Los argumentos de la llamada a '" + call.name + "' no son compatibles con sus parametros.";
+                args[i] = (caller, callee) -> {
+                    double value = node.eval(caller);
+                    if (value != Math.rint(value)) {
+                        throw new ExecutionError(message);
+                    }
+                    callee.num[slot] = value;
+                };
+            } else {
+                check(arg.type, params[i], "el argumento " + (i + 1) + " de '" + call.name + "'");
+                DoubleNode node = number(arg);
+                args[i] = (caller, callee) -> callee.num[slot] = node.eval(caller);
+            }
+        }
+        return args;
+    }
+
+    /**
+     * Crea el marco de la función, pasa los argumentos y ejecuta el cuerpo. El retorno lo evalúa quien llama
+     * con el nodo del tipo que corresponde.
+     */
+    private Frame enter(FunctionCode fn, ArgNode[] args, Frame caller) {
+        Frame frame = frame(fn, args, caller);
+        for (StmtNode stmt : fn.body) {
+            stmt.exec(frame);
+        }
+        return frame;
+    }
+
+    /**
+     * Crea el marco de la función y le pasa los argumentos.
+     */
+    private Frame frame(FunctionCode fn, ArgNode[] args, Frame caller) {
+        if (!installed[fn.function.index]) {
+            throw new ExecutionError("Function '" + fn.function.name + "' not defined.");
+        }
+        Frame frame = new Frame(fn.numSize, fn.refSize);
+        for (ArgNode arg : args) {
+            arg.pass(caller, frame);
+        }
+        return frame;
+    }
+
+    /**
+     * Llamada a una función pura: busca el resultado en la caché con los valores de los parámetros y solo ejecuta
+     * el cuerpo si no está.
+     *
+     * @return El valor de retorno empaquetado (Double, Boolean o String).
+     */
+    private Object memoized(FunctionCode fn, ArgNode[] args, Frame caller) {
+        Frame frame = frame(fn, args, caller);
+        Ast.Type[] params = fn.function.paramTypes;
+        Object[] values = new Object[params.length];
+        int numSlot = 0;
+        int refSlot = 0;
+        for (int i = 0; i < params.length; i++) { // Mismo orden de ranuras que arguments().
+            values[i] = params[i] == Ast.Type.STRING ? frame.ref[refSlot++] : (Object) frame.num[numSlot++];
+        }
+        MemoCache.Key key = new MemoCache.Key(fn.function.index, values);
+        Object value = memo.get(key);
+        if (value == null) {
+            for (StmtNode stmt : fn.body) {
+                stmt.exec(frame);
+            }
+            value = fn.returnNumber != null ? (Object) fn.returnNumber.eval(frame)
+                    : fn.returnBool != null ? (Object) fn.returnBool.eval(frame) : fn.returnString.eval(frame);
+            memo.put(key, value);
+        }
+        return value;
+    }
+
+    //---------------------- Ranuras y tipos ----------------------
+
+    private static final int NUMBER = 0;
+    private static final int BOOL = 1;
+    private static final int STRING = 2;
+
+    private static int kind(Ast.Type type) {
+        switch (type) {
+            case INT:
+            case DOUBLE:
+                return NUMBER;
+            case BOOLEAN:
+                return BOOL;
+            case STRING:
+                return STRING;
+            default:
+                throw new BytecodeCompiler.UnsupportedProgramException("tipo desconocido");
+        }
+    }
+
+    private int allocate(Ast.Type type) {
+        if (kind(type) == STRING) {
+            maxRef = Math.max(maxRef, refTop + 1);
+            return refTop++;
+        }
+        maxNum = Math.max(maxNum, numTop + 1);
+        return numTop++;
+    }
+
+    private int slot(Ast.Local local) {
+        return scopes.get(scopes.size() - 1 - local.depth)[local.slot];
+    }
+
+    /**
+     * Verifica que un valor de tipo {@code from} se pueda usar donde se espera {@code to}.
+     */
+    private static void check(Ast.Type from, Ast.Type to, String what) {
+        if (from == Ast.Type.UNKNOWN || !(from == to || (from == Ast.Type.INT && to == Ast.Type.DOUBLE))) {
+            throw new BytecodeCompiler.UnsupportedProgramException(what + " es " + from + " y se esperaba " + to);
+        }
+    }
+
+    private void error(String message) {
+        diagnostics.error(Diagnostics.Code.EXECUTION, message);
+    }
+}
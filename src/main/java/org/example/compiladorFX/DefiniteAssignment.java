@@ -0,0 +1,290 @@
+package org.example.compiladorFX;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Análisis de asignación definitiva de un {@link Ast.Program}.
+ * <p>
+ * {@link ClosureInterpreter}, {@link RegisterCompiler} y {@link BytecodeCompiler} guardan las variables en ranuras
+ * primitivas, que no distinguen una variable sin valor. Una declaración sin valor inicial ({@code int i;}) se puede
+ * compilar como una declaración con el valor por defecto si ninguna lectura llega antes de la primera asignación.
+ * El análisis recorre el programa en orden de ejecución con el conjunto de ranuras asignadas en todos los caminos,
+ * como la asignación definitiva de Java; si alguna lectura puede ver una variable sin asignar, el programa se ejecuta
+ * con {@link AstInterpreter}, que reporta el error en el momento de la lectura.
+ * <p>
+ * El análisis es conservador: un ciclo no cuenta las asignaciones de su cuerpo al salir ni en la condición de un
+ * do-while, las llamadas no cuentan las asignaciones a globales que hace la función y, dentro de una función, un
+ * global que alguna vez se declara sin valor se considera sin asignar.
+ */
+final class DefiniteAssignment {
+
+    private final boolean[] declaredEmpty;                  // Globales con alguna declaración sin valor inicial.
+    private final List<Integer> frames = new ArrayList<>(); // Primer bit de cada ámbito abierto.
+    private BitSet assigned = new BitSet();                 // Los globales ocupan los primeros bits.
+    private int top;                                        // Primer bit libre.
+    private boolean reachable = true;
+    private boolean initialized = true;
+
+    private DefiniteAssignment(Ast.Program program) {
+        this.declaredEmpty = new boolean[program.globalNames.length];
+        emptyGlobals(program.body);
+    }
+
+    /**
+     * @return true si ninguna lectura del programa puede ver una variable declarada sin valor antes de asignarla.
+     */
+    static boolean isInitialized(Ast.Program program) {
+        DefiniteAssignment analysis = new DefiniteAssignment(program);
+        analysis.top = program.globalNames.length;
+        analysis.frames.add(analysis.top); // Ámbito vacío del nivel superior, como en los motores.
+        analysis.statements(program.body);
+        return analysis.initialized;
+    }
+
+    /**
+     * @return El valor inicial con que se compila una declaración sin valor. Ninguna lectura llega a verlo.
+     */
+    static Ast.Expr defaultInit(Ast.Declare declare) {
+        Ast.Type type = declare.target.type;
+        Ast.Const value = new Ast.Const(AstInterpreter.defaultValue(type), type);
+        value.line = declare.line;
+        return value;
+    }
+
+    private void emptyGlobals(Ast.Stmt[] body) {
+        for (Ast.Stmt stmt : body) {
+            if (stmt.tag == Ast.DECLARE) {
+                Ast.Declare declare = (Ast.Declare) stmt;
+                if (declare.init == null && declare.target.tag == Ast.GLOBAL) {
+                    declaredEmpty[((Ast.Global) declare.target).index] = true;
+                }
+            } else if (stmt.tag == Ast.BLOCK) {
+                emptyGlobals(((Ast.Block) stmt).body);
+            }
+        }
+    }
+
+    private void function(Ast.Function fn) {
+        List<Integer> outerFrames = new ArrayList<>(frames);
+        BitSet outerAssigned = assigned;
+        int outerTop = top;
+        boolean outerReachable = reachable;
+
+        frames.clear();
+        assigned = new BitSet();
+        for (int i = 0; i < declaredEmpty.length; i++) {
+            assigned.set(i, !declaredEmpty[i]);
+        }
+        top = declaredEmpty.length;
+        reachable = true;
+        open(fn.frameSize);
+        assigned.set(top - fn.frameSize, top - fn.frameSize + fn.paramTypes.length); // Los parámetros llegan asignados.
+        statements(fn.body);
+        if (reachable && fn.returnExpr != null) {
+            expression(fn.returnExpr);
+        }
+
+        frames.clear();
+        frames.addAll(outerFrames);
+        assigned = outerAssigned;
+        top = outerTop;
+        reachable = outerReachable;
+    }
+
+    private void open(int size) {
+        frames.add(top);
+        assigned.clear(top, top + size);
+        top += size;
+    }
+
+    private void close(int size) {
+        frames.remove(frames.size() - 1);
+        top -= size;
+    }
+
+    private void statements(Ast.Stmt[] body) {
+        for (Ast.Stmt stmt : body) {
+            if (!reachable) {
+                return; // Código después de un return, break o continue.
+            }
+            statement(stmt);
+        }
+    }
+
+    private void block(Ast.Block block) {
+        if (block.scoped) {
+            open(block.size);
+        }
+        statements(block.body);
+        if (block.scoped) {
+            close(block.size);
+        }
+    }
+
+    private void statement(Ast.Stmt stmt) {
+        switch (stmt.tag) {
+            case Ast.BLOCK:
+                block((Ast.Block) stmt);
+                break;
+            case Ast.DECLARE: {
+                Ast.Declare declare = (Ast.Declare) stmt;
+                if (declare.init != null) {
+                    expression(declare.init);
+                }
+                assigned.set(bit(declare.target), declare.init != null);
+                break;
+            }
+            case Ast.ASSIGN: {
+                Ast.Assign assign = (Ast.Assign) stmt;
+                expression(assign.value);
+                assigned.set(bit(assign.target));
+                break;
+            }
+            case Ast.UPDATE: {
+                Ast.Update update = (Ast.Update) stmt;
+                expression(update.target);
+                if (update.value != null) {
+                    expression(update.value);
+                }
+                break;
+            }
+            case Ast.IF: {
+                Ast.If ifStmt = (Ast.If) stmt;
+                expression(ifStmt.cond);
+                BitSet before = (BitSet) assigned.clone();
+                block(ifStmt.then);
+                BitSet then = assigned;
+                boolean thenReachable = reachable;
+                assigned = before;
+                reachable = true;
+                if (ifStmt.otherwise != null) {
+                    block(ifStmt.otherwise);
+                }
+                if (thenReachable && reachable) {
+                    assigned.and(then);
+                } else if (thenReachable) {
+                    assigned = then;
+                }
+                reachable |= thenReachable;
+                break;
+            }
+            case Ast.WHILE: {
+                Ast.Loop loop = (Ast.Loop) stmt;
+                expression(loop.cond);
+                loopBody(loop.body);
+                break;
+            }
+            case Ast.DO_WHILE: {
+                Ast.Loop loop = (Ast.Loop) stmt;
+                loopBody(loop.body);
+                expression(loop.cond);
+                break;
+            }
+            case Ast.FOR: {
+                Ast.For forStmt = (Ast.For) stmt;
+                if (forStmt.scoped) {
+                    open(forStmt.size);
+                }
+                statement(forStmt.init);
+                expression(forStmt.cond);
+                loopBody(forStmt.body);
+                statement(forStmt.update);
+                if (forStmt.scoped) {
+                    close(forStmt.size);
+                }
+                break;
+            }
+            case Ast.FUNCTION:
+                function(((Ast.FunctionDecl) stmt).function);
+                break;
+            case Ast.EXPR:
+                expression(((Ast.ExprStmt) stmt).expr);
+                break;
+            case Ast.PRINT:
+                expressions(((Ast.Print) stmt).parts);
+                break;
+            case Ast.RETURN:
+                expression(((Ast.Return) stmt).value);
+                reachable = false;
+                break;
+            case Ast.BREAK:
+            case Ast.CONTINUE:
+                reachable = false;
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * El cuerpo de un ciclo se revisa con las ranuras asignadas al entrar; al salir solo cuentan esas.
+     */
+    private void loopBody(Ast.Block body) {
+        BitSet before = (BitSet) assigned.clone();
+        block(body);
+        assigned = before;
+        reachable = true;
+    }
+
+    private void expressions(Ast.Expr[] exprs) {
+        for (Ast.Expr expr : exprs) {
+            expression(expr);
+        }
+    }
+
+    private void expression(Ast.Expr expr) {
+        switch (expr.tag) {
+            case Ast.LOCAL:
+            case Ast.GLOBAL:
+                if (!assigned.get(bit((Ast.Var) expr))) {
+                    initialized = false;
+                }
+                break;
+            case Ast.ARITH:
+                expression(((Ast.Arith) expr).left);
+                expression(((Ast.Arith) expr).right);
+                break;
+            case Ast.COMPARE:
+                expression(((Ast.Compare) expr).left);
+                expression(((Ast.Compare) expr).right);
+                break;
+            case Ast.AND:
+            case Ast.OR: { // El operando derecho no siempre se evalúa: sus asignaciones no cuentan.
+                Ast.Logic logic = (Ast.Logic) expr;
+                expression(logic.left);
+                BitSet before = (BitSet) assigned.clone();
+                expression(logic.right);
+                assigned = before;
+                break;
+            }
+            case Ast.NOT:
+                expression(((Ast.Not) expr).operand);
+                break;
+            case Ast.CALL:
+                expressions(((Ast.Call) expr).args);
+                break;
+            case Ast.CONCAT:
+                expressions(((Ast.Concat) expr).parts);
+                break;
+            case Ast.INLINE: {
+                Ast.Inline inline = (Ast.Inline) expr;
+                statements(inline.body);
+                reachable = true;
+                expression(inline.result);
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    private int bit(Ast.Var var) {
+        if (var.tag == Ast.GLOBAL) {
+            return ((Ast.Global) var).index;
+        }
+        Ast.Local local = (Ast.Local) var;
+        return frames.get(frames.size() - 1 - local.depth) + local.slot;
+    }
+}
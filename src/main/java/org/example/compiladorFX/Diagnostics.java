@@ -0,0 +1,161 @@
+package org.example.compiladorFX;
+
+import org.antlr.v4.runtime.Token;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Registro de los errores, avisos y trazas de una ejecución, con su severidad, su código y la posición en el código
+ * fuente. Reemplaza la concatenación de textos: agregar una entrada es O(1) amortizado y el texto se arma una sola
+ * vez, al pedirlo.
+ * <p>
+ * Las entradas con severidad menor que el nivel se descartan. El nivel por defecto es {@link Severity#INFO}, así que
+ * las trazas de ámbitos, declaraciones y asignaciones no se guardan; quien las genera pregunta antes
+ * {@link #isTracing()} para no armar el mensaje.
+ */
+public final class Diagnostics {
+
+    /**
+     * Severidad de una entrada, de menor a mayor.
+     */
+    public enum Severity {
+        TRACE, INFO, WARNING, ERROR
+    }
+
+    /**
+     * Tipo de una entrada.
+     */
+    public enum Code {
+        UNDECLARED_VARIABLE,
+        UNDECLARED_FUNCTION,
+        REDECLARED_VARIABLE,
+        UNINITIALIZED_VARIABLE,
+        TYPE_MISMATCH,
+        UNSUPPORTED_OPERATOR,
+        ARGUMENT_COUNT,
+        CONTROL_FLOW,   // return, break o continue fuera de una función o de un ciclo.
+        EXECUTION,      // Error reportado por un motor compilado o que detuvo la ejecución.
+        INTERNAL,       // Falla de un motor que no se debe al programa.
+        ENGINE_NOTE,    // Aviso del motor, por ejemplo que se usó otro.
+        SCOPE,          // Trazas del visitor.
+        DECLARATION,
+        ASSIGNMENT,
+        UPDATE
+    }
+
+    /**
+     * Una entrada. La línea y la columna son 0 si no se conocen.
+     */
+    public static final class Entry {
+        public final Severity severity;
+        public final Code code;
+        public final int line;
+        public final int column;
+        public final String message;
+
+        Entry(Severity severity, Code code, int line, int column, String message) {
+            this.severity = severity;
+            this.code = code;
+            this.line = line;
+            this.column = column;
+            this.message = message;
+        }
+
+        @Override
+        public String toString() {
+            return line > 0 ? message + " (linea " + line + ":" + column + ")" : message;
+        }
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+    private Severity level = Severity.INFO;
+    private int errors;
+
+    public Severity getLevel() {
+        return level;
+    }
+
+    /**
+     * Fija la severidad mínima que se guarda.
+     *
+     * @param level {@link Severity#TRACE} para guardar también las trazas.
+     */
+    public void setLevel(Severity level) {
+        this.level = level;
+    }
+
+    /**
+     * @return true si se guardan las trazas. Conviene preguntarlo antes de armar el mensaje de una traza.
+     */
+    public boolean isTracing() {
+        return level == Severity.TRACE;
+    }
+
+    /**
+     * Agrega una entrada si su severidad alcanza el nivel.
+     *
+     * @param token El token donde empieza la sentencia, o null si no se conoce.
+     */
+    public void add(Severity severity, Code code, Token token, String message) {
+        add(severity, code, token != null ? token.getLine() : 0, token != null ? token.getCharPositionInLine() : 0, message);
+    }
+
+    public void add(Severity severity, Code code, int line, int column, String message) {
+        if (severity.compareTo(level) < 0) {
+            return;
+        }
+        entries.add(new Entry(severity, code, line, column, message));
+        if (severity == Severity.ERROR) {
+            errors++;
+        }
+    }
+
+    void error(Code code, String message) {
+        add(Severity.ERROR, code, 0, 0, message);
+    }
+
+    /**
+     * Borra las entradas, para empezar una ejecución nueva. El nivel no cambia.
+     */
+    public void clear() {
+        entries.clear();
+        errors = 0;
+    }
+
+    /**
+     * @return Las entradas en el orden en que se agregaron.
+     */
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * @return Las entradas con al menos esa severidad.
+     */
+    public List<Entry> getEntries(Severity minimum) {
+        List<Entry> result = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.severity.compareTo(minimum) >= 0) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    public int getErrorCount() {
+        return errors;
+    }
+
+    /**
+     * Arma el texto con el formato de siempre: cada mensaje en una línea nueva, sin la posición.
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        for (Entry entry : entries) {
+            text.append('\n').append(entry.message);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,533 @@
+package org.example.compiladorFX;
+
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Motores de ejecución disponibles en las interfaces y en {@link MainConsole}.
+ * Todos reciben el árbol de ANTLR y devuelven la salida, los errores y la tabla de símbolos global
+ * con el mismo formato que {@link MyVisitorFX}.
+ */
+public enum Engine {
+    VISITOR("Visitor (árbol ANTLR)") {
+        @Override
+        public Result run(gParser.ProgramContext tree, Options options) {
+            MyVisitorFX visitor = new MyVisitorFX("", "");
+            StringBuilder report = new StringBuilder();
+            if (options.staticCheck && AstLowering.hasSyntaxErrors(tree)) { // El chequeo supone un árbol completo.
+                report.append("Chequeo estatico: omitido, el programa tiene errores de sintaxis\n");
+            } else if (options.staticCheck) {
+                MySemanticVisitor checker = new MySemanticVisitor();
+                visitor.setVerified(checker.check(tree));
+                Diagnostics errors = checker.getDiagnostics();
+                if (errors.getErrorCount() > 0 && options.rejectStaticErrors) {
+                    report.append("Chequeo estatico: ").append(errors.getErrorCount()).append(" errores, no se ejecuta\n");
+                    return new Result("", errors, new LinkedHashMap<>(), report.toString());
+                }
+                report.append("Chequeo estatico: ").append(errors.getErrorCount() > 0
+                        ? errors.getErrorCount() + " errores, se ejecuta verificando cada sentencia"
+                        : checker.isVerified() ? "verificado"
+                        : "tipos en ejecucion para " + String.join(", ", checker.getConflicts())).append('\n');
+            }
+            OutputSink output = output(options);
+            visitor.setOutput(output);
+            Diagnostics diagnostics = visitor.getDiagnostics();
+            if (options.trace) {
+                diagnostics.setLevel(Diagnostics.Severity.TRACE);
+            }
+            try {
+                visitor.visit(tree);
+            } catch (ExecutionError e) {
+                diagnostics.error(Diagnostics.Code.EXECUTION, e.getMessage());
+            } catch (RuntimeException e) { // Un error del motor, no del programa.
+                diagnostics.error(Diagnostics.Code.INTERNAL, INTERNAL_ERROR + e);
+            } catch (StackOverflowError e) {
+                diagnostics.error(Diagnostics.Code.EXECUTION, JAVA_STACK_OVERFLOW);
+            }
+            flush(output, diagnostics);
+            report.append("Sitios de llamada: ").append(counts(visitor.getCallProfile())).append('\n');
+            return new Result(visitor.getTextOut(), diagnostics, visitor.getGlobalSymbols(),
+                    skipped(report, visitor.getSkippedOperands()));
+        }
+    },
+    AST("AST resuelto") {
+        @Override
+        public Result run(gParser.ProgramContext tree, Options options) {
+            StringBuilder report = new StringBuilder();
+            return interpret(prepare(tree, options, report), null, options, report);
+        }
+    },
+    CLOSURES("Closures") {
+        @Override
+        public Result run(gParser.ProgramContext tree, Options options) {
+            StringBuilder report = new StringBuilder();
+            Ast.Program program = prepare(tree, options, report);
+            ClosureInterpreter interpreter;
+            try {
+                interpreter = new ClosureInterpreter(program);
+            } catch (BytecodeCompiler.UnsupportedProgramException e) {
+                return interpret(program, "Nota: no se pudo construir el programa con closures (" + e.getMessage() + "), se usa el interprete AST.", options, report);
+            }
+            MemoCache memo = memoCache(options);
+            interpreter.setMemoCache(memo);
+            OutputSink output = output(options);
+            interpreter.setOutput(output);
+            try {
+                interpreter.run();
+            } catch (ExecutionError e) {
+                interpreter.getDiagnostics().error(Diagnostics.Code.EXECUTION, e.getMessage());
+            } catch (RuntimeException e) { // Un error del motor, no del programa.
+                interpreter.getDiagnostics().error(Diagnostics.Code.INTERNAL, INTERNAL_ERROR + e);
+            } catch (StackOverflowError e) {
+                interpreter.getDiagnostics().error(Diagnostics.Code.EXECUTION, JAVA_STACK_OVERFLOW);
+            }
+            flush(output, interpreter.getDiagnostics());
+            memoized(report, program, memo);
+            return new Result(interpreter.getTextOut(), interpreter.getDiagnostics(), interpreter.getGlobalSymbols(), skipped(report, interpreter.getSkippedOperands()));
+        }
+    },
+    REGISTER_VM("Máquina de registros") {
+        @Override
+        public Result run(gParser.ProgramContext tree, Options options) {
+            StringBuilder report = new StringBuilder();
+            Ast.Program program = prepare(tree, options, report);
+            RegisterCode code;
+            try {
+                code = RegisterCompiler.compile(program);
+            } catch (BytecodeCompiler.UnsupportedProgramException e) {
+                return stack(program, "Nota: no se pudo compilar para la maquina de registros (" + e.getMessage() + "), se usa el interprete con la pila en el heap.", options, report);
+            }
+            RegisterVM vm = new RegisterVM(code);
+            vm.setFrameBudget(options.frameBudget);
+            MemoCache memo = memoCache(options);
+            vm.setMemoCache(memo);
+            OutputSink output = output(options);
+            vm.setOutput(output);
+            try {
+                vm.run();
+            } catch (ExecutionError e) {
+                vm.getDiagnostics().error(Diagnostics.Code.EXECUTION, e.getMessage());
+            } catch (RuntimeException e) { // Un error del motor, no del programa.
+                vm.getDiagnostics().error(Diagnostics.Code.INTERNAL, INTERNAL_ERROR + e);
+            } catch (StackOverflowError e) {
+                vm.getDiagnostics().error(Diagnostics.Code.EXECUTION, JAVA_STACK_OVERFLOW);
+            }
+            flush(output, vm.getDiagnostics());
+            memoized(report, program, memo);
+            return new Result(vm.getTextOut(), vm.getDiagnostics(), vm.getGlobalSymbols(), skipped(report, vm.getSkippedOperands()));
+        }
+    },
+    BYTECODE("Bytecode JVM") {
+        @Override
+        public Result run(gParser.ProgramContext tree, Options options) {
+            StringBuilder report = new StringBuilder();
+            Ast.Program program = prepare(tree, options, report);
+            MemoCache memo = memoCache(options);
+            BytecodeCompiler.CompiledProgram compiled;
+            try {
+                compiled = BytecodeCompiler.compile(program, memo != null);
+            } catch (BytecodeCompiler.UnsupportedProgramException e) {
+                return interpret(program, "Nota: no se pudo compilar a bytecode (" + e.getMessage() + "), se usa el interprete AST.", options, report);
+            }
+            BytecodeRuntime runtime = new BytecodeRuntime();
+            runtime.setMemoCache(memo);
+            OutputSink output = output(options);
+            runtime.setOutput(output);
+            try {
+                compiled.run(runtime);
+            } catch (ExecutionError e) {
+                runtime.getDiagnostics().error(Diagnostics.Code.EXECUTION, e.getMessage());
+            } catch (RuntimeException e) { // Un error del motor, no del programa.
+                runtime.getDiagnostics().error(Diagnostics.Code.INTERNAL, INTERNAL_ERROR + e);
+            } catch (StackOverflowError e) {
+                runtime.getDiagnostics().error(Diagnostics.Code.EXECUTION, JAVA_STACK_OVERFLOW);
+            }
+            flush(output, runtime.getDiagnostics());
+            Map<String, MyVisitorFX.Symbol> symbols = new LinkedHashMap<>();
+            for (int i = 0; i < program.globalNames.length; i++) {
+                String name = program.globalNames[i];
+                symbols.put(name, new MyVisitorFX.Symbol(name, program.globalTypes[i].toString(), compiled.globalValue(i)));
+            }
+            for (int i = 0; i < program.functionNames.length; i++) {
+                Ast.Function fn = compiled.function(i);
+                if (compiled.isInstalled(i)) {
+                    symbols.put(fn.name, new MyVisitorFX.Symbol(fn.name, fn.returnType.toString(), "funcion/" + fn.paramNames.length));
+                }
+            }
+            memoized(report, program, memo);
+            return new Result(runtime.getTextOut(), runtime.getDiagnostics(), symbols, skipped(report, runtime.getSkippedOperands()));
+        }
+    };
+
+    /**
+     * Opciones de ejecución. Los valores por defecto activan todas las optimizaciones.
+     */
+    public static final class Options {
+        private Writer output;
+        private boolean trace;
+        private boolean staticCheck = true;
+        private boolean rejectStaticErrors;
+        private boolean eliminateTailCalls = true;
+        private boolean hoistInvariants = true;
+        private int inlineThreshold = FunctionInliner.DEFAULT_THRESHOLD;
+        private int memoCapacity = MemoCache.DEFAULT_CAPACITY;
+        private int frameBudget = RegisterVM.DEFAULT_FRAME_BUDGET;
+
+        public Writer getOutput() {
+            return output;
+        }
+
+        /**
+         * Envía la salida de print a {@code output} a medida que el programa corre, en vez de guardarla en
+         * {@link Result#textOut}, que queda vacío. El motor llama a {@code flush} al terminar pero no lo cierra.
+         *
+         * @param output Donde se escribe cada valor impreso seguido de un salto de línea, o null para guardar la
+         *               salida en memoria.
+         */
+        public void setOutput(Writer output) {
+            this.output = output;
+        }
+
+        public boolean isTrace() {
+            return trace;
+        }
+
+        /**
+         * Activa las trazas de ámbitos, declaraciones y asignaciones del motor visitor. Están desactivadas por
+         * defecto porque se generan en cada vuelta de los ciclos.
+         *
+         * @param trace true para agregarlas a los diagnósticos.
+         */
+        public void setTrace(boolean trace) {
+            this.trace = trace;
+        }
+
+        public boolean isStaticCheck() {
+            return staticCheck;
+        }
+
+        /**
+         * Activa o desactiva el chequeo estático de tipos del motor visitor. Un programa verificado se ejecuta sin
+         * comprobar el tipo de cada valor; uno con errores de tipos se ejecuta como sin el chequeo, salvo con
+         * {@link #setRejectStaticErrors(boolean)}. Un programa con errores de sintaxis no se chequea.
+         *
+         * @param staticCheck false para ejecutar cualquier programa verificando los tipos en cada sentencia.
+         */
+        public void setStaticCheck(boolean staticCheck) {
+            this.staticCheck = staticCheck;
+        }
+
+        public boolean isRejectStaticErrors() {
+            return rejectStaticErrors;
+        }
+
+        /**
+         * Con el chequeo estático activo, no ejecuta un programa con errores de tipos: el resultado tiene solo los
+         * errores del chequeo, todos a la vez. Por defecto el programa se ejecuta y reporta cada error al llegar a él.
+         *
+         * @param rejectStaticErrors true para no ejecutar los programas con errores de tipos.
+         */
+        public void setRejectStaticErrors(boolean rejectStaticErrors) {
+            this.rejectStaticErrors = rejectStaticErrors;
+        }
+
+        public boolean isEliminateTailCalls() {
+            return eliminateTailCalls;
+        }
+
+        /**
+         * Activa o desactiva la conversión de la recursión de cola en ciclos.
+         *
+         * @param eliminateTailCalls false para que cada llamada recursiva use un marco nuevo.
+         */
+        public void setEliminateTailCalls(boolean eliminateTailCalls) {
+            this.eliminateTailCalls = eliminateTailCalls;
+        }
+
+        public boolean isHoistInvariants() {
+            return hoistInvariants;
+        }
+
+        /**
+         * Activa o desactiva el movimiento de invariantes fuera de los ciclos.
+         *
+         * @param hoistInvariants false para medir los ciclos sin la optimización.
+         */
+        public void setHoistInvariants(boolean hoistInvariants) {
+            this.hoistInvariants = hoistInvariants;
+        }
+
+        public int getInlineThreshold() {
+            return inlineThreshold;
+        }
+
+        /**
+         * Fija el tamaño máximo, en nodos, de las funciones que se copian en las llamadas.
+         *
+         * @param inlineThreshold 0 para no copiar ninguna función.
+         */
+        public void setInlineThreshold(int inlineThreshold) {
+            this.inlineThreshold = inlineThreshold;
+        }
+
+        public int getMemoCapacity() {
+            return memoCapacity;
+        }
+
+        /**
+         * Fija la cantidad máxima de resultados de funciones puras que se recuerdan durante la ejecución.
+         * El motor visitor no memoiza porque resuelve las variables en ejecución.
+         *
+         * @param memoCapacity 0 para no memoizar.
+         */
+        public void setMemoCapacity(int memoCapacity) {
+            this.memoCapacity = memoCapacity;
+        }
+
+        public int getFrameBudget() {
+            return frameBudget;
+        }
+
+        /**
+         * Fija cuántas llamadas anidadas admite la máquina de registros, que guarda los marcos en el heap, también
+         * cuando un programa que no puede compilar corre en {@link StackInterpreter}. Los demás motores usan la pila
+         * de Java y reportan su desbordamiento como error del script.
+         *
+         * @param frameBudget Llamadas anidadas permitidas, mayor que cero.
+         */
+        public void setFrameBudget(int frameBudget) {
+            this.frameBudget = frameBudget;
+        }
+    }
+
+    /**
+     * Resultado de una ejecución.
+     */
+    public static final class Result {
+        public final String textOut;          // Vacío si la salida se envió a Options#setOutput.
+        public final String errorOut;          // Los mensajes de los diagnósticos, cada uno en una línea nueva.
+        public final Diagnostics diagnostics;
+        public final Map<String, MyVisitorFX.Symbol> symbols;
+        public final String report; // Estadísticas de las optimizaciones, una por línea.
+
+        Result(String textOut, Diagnostics diagnostics, Map<String, MyVisitorFX.Symbol> symbols, String report) {
+            this.textOut = textOut;
+            this.errorOut = diagnostics.toText();
+            this.diagnostics = diagnostics;
+            this.symbols = symbols;
+            this.report = report;
+        }
+    }
+
+    /**
+     * Error que se muestra cuando la recursión agota la pila de Java en los motores que la usan.
+     */
+    private static final String JAVA_STACK_OVERFLOW = "Error: Desbordamiento de la pila de llamadas: la recursion supera la pila de Java."
+            + " La maquina de registros guarda los marcos en el heap y admite mas llamadas anidadas.";
+
+    /**
+     * Comienzo del error que se muestra cuando un motor falla por un defecto propio y no por un error del programa.
+     */
+    private static final String INTERNAL_ERROR = "Error interno del interprete, la ejecucion se detuvo: ";
+
+    private final String label;
+
+    Engine(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Ejecuta un programa ya analizado con las opciones por defecto.
+     *
+     * @param tree El árbol producido por {@link gParser#program()}.
+     * @return La salida, los errores y la tabla de símbolos global.
+     */
+    public Result run(gParser.ProgramContext tree) {
+        return run(tree, new Options());
+    }
+
+    /**
+     * Ejecuta un programa ya analizado.
+     *
+     * @param tree    El árbol producido por {@link gParser#program()}.
+     * @param options Las opciones de ejecución.
+     * @return La salida, los errores y la tabla de símbolos global.
+     */
+    public abstract Result run(gParser.ProgramContext tree, Options options);
+
+    /**
+     * Busca un motor por nombre sin distinguir mayúsculas ("visitor", "ast", "closures", "register_vm", "bytecode").
+     *
+     * @param name El nombre del motor.
+     * @return El motor o null si no existe.
+     */
+    public static Engine byName(String name) {
+        for (Engine engine : values()) {
+            if (engine.name().equalsIgnoreCase(name)) {
+                return engine;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Baja el árbol de ANTLR, aplica {@link AstOptimizer}, quita los ámbitos vacíos con {@link ScopeElision} y asigna
+     * la representación de cada variable con {@link TypeInference}, anotando sus estadísticas en {@code report}.
+     *
+     * @param tree    El árbol del programa.
+     * @param options Las optimizaciones activas.
+     * @param report  Donde se agregan las estadísticas.
+     * @return El programa listo para cualquiera de los motores.
+     */
+    static Ast.Program prepare(gParser.ProgramContext tree, Options options, StringBuilder report) {
+        AstOptimizer optimizer = new AstOptimizer();
+        optimizer.setEliminateTailCalls(options.eliminateTailCalls);
+        optimizer.setHoistInvariants(options.hoistInvariants);
+        optimizer.setInlineThreshold(options.inlineThreshold);
+        Ast.Program program = optimizer.optimize(new AstLowering().lower(tree));
+        report.append("Optimizador: ").append(optimizer.getRemovedNodes()).append(" nodos eliminados, ")
+                .append(optimizer.getReducedPowers()).append(" potencias con exponente entero\n");
+        if (options.eliminateTailCalls) {
+            report.append("Llamadas de cola: ").append(counts(optimizer.getTailCalls())).append('\n');
+        }
+        if (options.hoistInvariants) {
+            report.append("Invariantes fuera de ciclos: ").append(optimizer.getHoistedExpressions()).append('\n');
+        }
+        if (options.inlineThreshold > 0) {
+            report.append("Funciones en linea: ").append(counts(optimizer.getInlinedCalls())).append('\n');
+        }
+        ScopeElision elision = new ScopeElision();
+        program = elision.apply(program);
+        report.append("Ambitos: ").append(elision.getRemoved()).append(" de ").append(elision.getBlocks())
+                .append(" bloques sin ambito propio\n");
+        TypeInference inference = new TypeInference();
+        inference.infer(program);
+        report.append("Ranuras: ").append(inference.getSlots(Ast.Kind.LONG)).append(" long, ")
+                .append(inference.getSlots(Ast.Kind.DOUBLE)).append(" double, ")
+                .append(inference.getSlots(Ast.Kind.REF)).append(" referencias, ")
+                .append(inference.getUntyped()).append(" expresiones sin tipo\n");
+        return program;
+    }
+
+    /**
+     * Formatea el total de llamadas y el detalle por función o por sitio: "3 llamadas (f x2, g x1)".
+     */
+    private static String counts(Map<String, ? extends Number> calls) {
+        long total = 0;
+        StringBuilder detail = new StringBuilder();
+        for (Map.Entry<String, ? extends Number> entry : calls.entrySet()) {
+            total += entry.getValue().longValue();
+            detail.append(detail.length() == 0 ? " (" : ", ").append(entry.getKey()).append(" x").append(entry.getValue());
+        }
+        return total + " llamadas" + (detail.length() > 0 ? detail + ")" : "");
+    }
+
+    /**
+     * Crea el destino de print: el Writer de las opciones o uno en memoria.
+     */
+    static OutputSink output(Options options) {
+        return options.output != null ? new OutputSink(options.output) : new OutputSink();
+    }
+
+    /**
+     * Escribe lo que quedó en el buffer de la salida, reportando el error si no se puede.
+     */
+    private static void flush(OutputSink output, Diagnostics diagnostics) {
+        try {
+            output.flush();
+        } catch (UncheckedIOException e) {
+            diagnostics.error(Diagnostics.Code.EXECUTION, e.getMessage());
+        }
+    }
+
+    /**
+     * Crea la caché de la memoización, o null si está desactivada.
+     */
+    static MemoCache memoCache(Options options) {
+        return options.memoCapacity > 0 ? new MemoCache(options.memoCapacity) : null;
+    }
+
+    /**
+     * Agrega al reporte las funciones memoizadas y los aciertos, fallos y desalojos de la caché.
+     */
+    private static void memoized(StringBuilder report, Ast.Program program, MemoCache memo) {
+        if (memo == null) {
+            return;
+        }
+        PurityAnalysis purity = new PurityAnalysis(program);
+        StringBuilder names = new StringBuilder();
+        for (int i = 0; i < program.functionNames.length; i++) {
+            if (purity.isPure(i)) {
+                names.append(names.length() == 0 ? " (" : ", ").append(program.functionNames[i]);
+            }
+        }
+        report.append("Memoizacion: ").append(purity.countPure()).append(" funciones puras");
+        if (names.length() > 0) {
+            report.append(names).append(')');
+        }
+        report.append(", ").append(memo.getHits()).append(" aciertos, ").append(memo.getMisses()).append(" fallos, ")
+                .append(memo.getEvictions()).append(" desalojos, ").append(memo.size()).append(" de ")
+                .append(memo.getCapacity()).append(" entradas\n");
+    }
+
+    /**
+     * Agrega al reporte los operandos de {@code &&} y {@code ||} que el cortocircuito evitó evaluar.
+     */
+    private static String skipped(StringBuilder report, long operands) {
+        return report.append("Cortocircuito: ").append(operands).append(" operandos omitidos\n").toString();
+    }
+
+    /**
+     * Ejecuta con {@link StackInterpreter} un programa que la máquina de registros no puede compilar, con el mismo
+     * presupuesto de marcos.
+     */
+    private static Result stack(Ast.Program program, String note, Options options, StringBuilder report) {
+        StackInterpreter interpreter = new StackInterpreter(program);
+        interpreter.setFrameBudget(options.frameBudget);
+        MemoCache memo = memoCache(options);
+        interpreter.setMemoCache(memo);
+        OutputSink output = output(options);
+        interpreter.setOutput(output);
+        interpreter.getDiagnostics().add(Diagnostics.Severity.WARNING, Diagnostics.Code.ENGINE_NOTE, 0, 0, note);
+        try {
+            interpreter.run();
+        } catch (ExecutionError e) {
+            interpreter.getDiagnostics().error(Diagnostics.Code.EXECUTION, e.getMessage());
+        } catch (RuntimeException e) { // Un error del motor, no del programa.
+            interpreter.getDiagnostics().error(Diagnostics.Code.INTERNAL, INTERNAL_ERROR + e);
+        }
+        flush(output, interpreter.getDiagnostics());
+        memoized(report, program, memo);
+        return new Result(interpreter.getTextOut(), interpreter.getDiagnostics(), interpreter.getGlobalSymbols(), skipped(report, interpreter.getSkippedOperands()));
+    }
+
+    private static Result interpret(Ast.Program program, String note, Options options, StringBuilder report) {
+        AstInterpreter interpreter = new AstInterpreter(program);
+        MemoCache memo = memoCache(options);
+        interpreter.setMemoCache(memo);
+        OutputSink output = output(options);
+        interpreter.setOutput(output);
+        if (note != null) {
+            interpreter.getDiagnostics().add(Diagnostics.Severity.WARNING, Diagnostics.Code.ENGINE_NOTE, 0, 0, note);
+        }
+        try {
+            interpreter.run();
+        } catch (ExecutionError e) {
+            interpreter.getDiagnostics().error(Diagnostics.Code.EXECUTION, e.getMessage());
+        } catch (RuntimeException e) { // Un error del motor, no del programa.
+            interpreter.getDiagnostics().error(Diagnostics.Code.INTERNAL, INTERNAL_ERROR + e);
+        } catch (StackOverflowError e) {
+            interpreter.getDiagnostics().error(Diagnostics.Code.EXECUTION, JAVA_STACK_OVERFLOW);
+        }
+        flush(output, interpreter.getDiagnostics());
+        memoized(report, program, memo);
+        return new Result(interpreter.getTextOut(), interpreter.getDiagnostics(), interpreter.getGlobalSymbols(), skipped(report, interpreter.getSkippedOperands()));
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.compiladorFX;
+
+/**
+ * Error del programa que detiene la ejecución, por ejemplo una función que no existe o un int que no cabe en 64
+ * bits. Todos los motores lo lanzan con el mismo mensaje y {@link Engine} lo reporta como
+ * {@link Diagnostics.Code#EXECUTION}. Cualquier otra excepción es un error del intérprete y no se oculta.
+ */
+public class ExecutionError extends RuntimeException {
+    public ExecutionError(String message) {
+        super(message);
+    }
+}
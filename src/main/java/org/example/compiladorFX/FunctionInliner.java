@@ -0,0 +1,598 @@
+package org.example.compiladorFX;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reemplaza las llamadas a funciones chicas y no recursivas por una copia de su cuerpo ({@link Ast.Inline}).
+ * La llamada deja de crear un marco, copiar los argumentos y verificar los tipos de los parámetros y del retorno.
+ * <p>
+ * La copia se ejecuta en el ámbito de la llamada: los parámetros se declaran con los argumentos en ranuras nuevas
+ * de ese ámbito y las variables de la función se corren a las ranuras siguientes. Las profundidades no cambian,
+ * porque el ámbito de la llamada ocupa el lugar del marco de la función. En el nivel superior la sentencia se
+ * envuelve en un bloque con esas ranuras.
+ * <p>
+ * Solo se reemplaza una llamada si el resultado es el mismo: la función tiene una sola declaración, en el nivel
+ * superior y antes de la sentencia (o de la función) que la llama, así que ya está instalada; no es recursiva, no
+ * declara otras funciones ni tiene un return en medio del cuerpo; su tamaño no supera el umbral; y los argumentos y el valor de retorno tienen tipos
+ * compatibles, así que las verificaciones que se omiten nunca fallan.
+ */
+final class FunctionInliner {
+
+    /**
+     * Tamaño máximo por defecto, en nodos del cuerpo y del retorno, de una función que se copia en la llamada.
+     */
+    static final int DEFAULT_THRESHOLD = 30;
+
+    private final Ast.Program program;
+    private final int threshold;
+    private final Ast.Function[] functions;  // Función de cada índice, null si el nombre se declara más de una vez.
+    private final int[] declaredAt;          // Posición de la declaración en el nivel superior del programa.
+    private final boolean[] recursive;       // La función puede llamarse a sí misma, directa o indirectamente.
+    private final Map<String, Integer> inlined = new LinkedHashMap<>();
+
+    // Estado del recorrido.
+    private int callLimit;                   // Solo se copian funciones declaradas antes de esta posición.
+    private int nextSlot;                    // Primera ranura libre del ámbito actual.
+
+    /**
+     * @param program   El programa resuelto.
+     * @param threshold El tamaño máximo de las funciones que se copian.
+     */
+    FunctionInliner(Ast.Program program, int threshold) {
+        this.program = program;
+        this.threshold = threshold;
+        int count = program.functionNames.length;
+        this.functions = new Ast.Function[count];
+        this.declaredAt = new int[count];
+        this.recursive = new boolean[count];
+        Arrays.fill(declaredAt, Integer.MAX_VALUE);
+        for (int i = 0; i < program.body.length; i++) {
+            if (program.body[i].tag == Ast.FUNCTION) {
+                declaredAt[((Ast.FunctionDecl) program.body[i]).function.index] = i;
+            }
+        }
+        BitSet[] calls = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            calls[i] = new BitSet(count);
+        }
+        boolean[] duplicated = new boolean[count];
+        scan(program.body, calls, duplicated);
+        for (int i = 0; i < count; i++) {
+            if (duplicated[i]) {
+                functions[i] = null;
+            }
+            recursive[i] = reaches(calls, i);
+        }
+    }
+
+    /**
+     * @return Las funciones copiadas y la cantidad de llamadas reemplazadas de cada una, en orden de aparición.
+     */
+    Map<String, Integer> getInlined() {
+        return inlined;
+    }
+
+    /**
+     * Aplica la transformación. Las funciones se transforman en su lugar.
+     *
+     * @return El programa con las llamadas reemplazadas.
+     */
+    Ast.Program apply() {
+        Ast.Stmt[] body = new Ast.Stmt[program.body.length];
+        for (int i = 0; i < body.length; i++) {
+            callLimit = i;
+            nextSlot = 0;
+            Ast.Stmt stmt = statement(program.body[i]);
+            body[i] = nextSlot == 0 ? stmt : at(new Ast.Block(nextSlot, new Ast.Stmt[]{stmt}), stmt);
+        }
+        return new Ast.Program(body, program.globalNames, program.globalTypes, program.functionNames,
+                program.dynamicScope, program.fractionalInts);
+    }
+
+    //---------------------- Recorrido ----------------------
+
+    private Ast.Stmt[] statements(Ast.Stmt[] body) {
+        Ast.Stmt[] result = new Ast.Stmt[body.length];
+        for (int i = 0; i < body.length; i++) {
+            result[i] = statement(body[i]);
+        }
+        return result;
+    }
+
+    private Ast.Block block(Ast.Block block) {
+        if (block == null) {
+            return null;
+        }
+        int saved = nextSlot;
+        nextSlot = block.size;
+        Ast.Stmt[] body = statements(block.body);
+        Ast.Block result = at(new Ast.Block(nextSlot, body), block);
+        nextSlot = saved;
+        return result;
+    }
+
+    private Ast.Stmt statement(Ast.Stmt stmt) {
+        switch (stmt.tag) {
+            case Ast.BLOCK:
+                return block((Ast.Block) stmt);
+            case Ast.DECLARE: {
+                Ast.Declare declare = (Ast.Declare) stmt;
+                return declare.init == null ? stmt : at(new Ast.Declare(declare.target, expression(declare.init)), stmt);
+            }
+            case Ast.ASSIGN: {
+                Ast.Assign assign = (Ast.Assign) stmt;
+                return at(new Ast.Assign(assign.target, expression(assign.value)), stmt);
+            }
+            case Ast.UPDATE: {
+                Ast.Update update = (Ast.Update) stmt;
+                return update.value == null ? stmt : at(new Ast.Update(update.target, update.op, expression(update.value)), stmt);
+            }
+            case Ast.IF: {
+                Ast.If ifStmt = (Ast.If) stmt;
+                return at(new Ast.If(expression(ifStmt.cond), block(ifStmt.then), block(ifStmt.otherwise)), stmt);
+            }
+            case Ast.WHILE:
+            case Ast.DO_WHILE: {
+                Ast.Loop loop = (Ast.Loop) stmt;
+                return at(new Ast.Loop(stmt.tag, expression(loop.cond), block(loop.body)), stmt);
+            }
+            case Ast.FOR: {
+                Ast.For forStmt = (Ast.For) stmt;
+                int saved = nextSlot;
+                nextSlot = forStmt.size; // La inicialización, la condición y la actualización corren en el ámbito del for.
+                Ast.Stmt init = statement(forStmt.init);
+                Ast.Expr cond = expression(forStmt.cond);
+                Ast.Stmt update = statement(forStmt.update);
+                Ast.Block body = block(forStmt.body);
+                Ast.Stmt result = at(new Ast.For(nextSlot, init, cond, update, body), stmt);
+                nextSlot = saved;
+                return result;
+            }
+            case Ast.FUNCTION: {
+                Ast.Function fn = ((Ast.FunctionDecl) stmt).function;
+                int savedLimit = callLimit;
+                int savedSlot = nextSlot;
+                // Cuando corre el cuerpo, ya se instalaron las funciones declaradas antes que esta en el nivel superior.
+                callLimit = declaredAt[fn.index] == Integer.MAX_VALUE || functions[fn.index] != fn ? -1 : declaredAt[fn.index];
+                nextSlot = fn.frameSize;
+                fn.body = statements(fn.body);
+                fn.returnExpr = expression(fn.returnExpr);
+                fn.frameSize = nextSlot;
+                callLimit = savedLimit;
+                nextSlot = savedSlot;
+                return stmt;
+            }
+            case Ast.EXPR:
+                return at(new Ast.ExprStmt(expression(((Ast.ExprStmt) stmt).expr)), stmt);
+            case Ast.PRINT:
+                return at(new Ast.Print(expressions(((Ast.Print) stmt).parts)), stmt);
+            case Ast.RETURN:
+                return at(new Ast.Return(expression(((Ast.Return) stmt).value)), stmt);
+            default:
+                return stmt;
+        }
+    }
+
+    private Ast.Expr expression(Ast.Expr expr) {
+        switch (expr.tag) {
+            case Ast.ARITH: {
+                Ast.Arith arith = (Ast.Arith) expr;
+                return at(new Ast.Arith(arith.op, expression(arith.left), expression(arith.right), arith.type), expr);
+            }
+            case Ast.COMPARE: {
+                Ast.Compare compare = (Ast.Compare) expr;
+                return at(new Ast.Compare(compare.op, expression(compare.left), expression(compare.right)), expr);
+            }
+            case Ast.AND:
+            case Ast.OR: {
+                Ast.Logic logic = (Ast.Logic) expr;
+                return at(new Ast.Logic(expr.tag, expression(logic.left), expression(logic.right)), expr);
+            }
+            case Ast.NOT:
+                return at(new Ast.Not(expression(((Ast.Not) expr).operand)), expr);
+            case Ast.CALL: {
+                Ast.Call call = (Ast.Call) expr;
+                Ast.Expr[] args = expressions(call.args);
+                if (isInlinable(call, args)) {
+                    return inline(call, functions[call.function], args);
+                }
+                return at(new Ast.Call(call.name, call.function, args, call.type), expr);
+            }
+            case Ast.CONCAT:
+                return at(new Ast.Concat(expressions(((Ast.Concat) expr).parts)), expr);
+            default:
+                return expr;
+        }
+    }
+
+    private Ast.Expr[] expressions(Ast.Expr[] exprs) {
+        Ast.Expr[] result = new Ast.Expr[exprs.length];
+        for (int i = 0; i < exprs.length; i++) {
+            result[i] = expression(exprs[i]);
+        }
+        return result;
+    }
+
+    //---------------------- Copia del cuerpo ----------------------
+
+    /**
+     * Copia la función en el ámbito actual: reserva {@code frameSize} ranuras, declara los parámetros con los
+     * argumentos y corre las ranuras del cuerpo y del retorno.
+     */
+    private Ast.Expr inline(Ast.Call call, Ast.Function fn, Ast.Expr[] args) {
+        int base = nextSlot;
+        nextSlot += fn.frameSize;
+        List<Ast.Stmt> body = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            Ast.Local param = at(new Ast.Local(fn.paramNames[i], fn.paramTypes[i], 0, base + i), call);
+            body.add(at(new Ast.Declare(param, args[i]), call));
+        }
+        for (Ast.Stmt stmt : fn.body) {
+            body.add(relocate(stmt, 0, base, 0));
+        }
+        inlined.merge(fn.name, 1, Integer::sum);
+        return at(new Ast.Inline(fn.name, body.toArray(new Ast.Stmt[0]), relocate(fn.returnExpr, 0, base, 0), fn.returnType), call);
+    }
+
+    /**
+     * Corre {@code base} ranuras las variables del marco de la función y les suma {@code deeper} a la profundidad.
+     * {@code level} cuenta los ámbitos abiertos dentro del cuerpo: una variable con esa profundidad pertenece al marco.
+     * También lo usa {@link TailCallElimination}, que mete el cuerpo en un ciclo.
+     */
+    static Ast.Stmt relocate(Ast.Stmt stmt, int level, int base, int deeper) {
+        if (stmt == null) {
+            return null;
+        }
+        switch (stmt.tag) {
+            case Ast.BLOCK:
+                return relocate((Ast.Block) stmt, level + 1, base, deeper);
+            case Ast.DECLARE: {
+                Ast.Declare declare = (Ast.Declare) stmt;
+                return at(new Ast.Declare(relocate(declare.target, level, base, deeper), relocate(declare.init, level, base, deeper)), stmt);
+            }
+            case Ast.ASSIGN: {
+                Ast.Assign assign = (Ast.Assign) stmt;
+                return at(new Ast.Assign(relocate(assign.target, level, base, deeper), relocate(assign.value, level, base, deeper)), stmt);
+            }
+            case Ast.UPDATE: {
+                Ast.Update update = (Ast.Update) stmt;
+                return at(new Ast.Update(relocate(update.target, level, base, deeper), update.op, relocate(update.value, level, base, deeper)), stmt);
+            }
+            case Ast.IF: {
+                Ast.If ifStmt = (Ast.If) stmt;
+                return at(new Ast.If(relocate(ifStmt.cond, level, base, deeper), relocate(ifStmt.then, level + 1, base, deeper),
+                        relocate(ifStmt.otherwise, level + 1, base, deeper)), stmt);
+            }
+            case Ast.WHILE:
+            case Ast.DO_WHILE: {
+                Ast.Loop loop = (Ast.Loop) stmt;
+                return at(new Ast.Loop(stmt.tag, relocate(loop.cond, level, base, deeper), relocate(loop.body, level + 1, base, deeper)), stmt);
+            }
+            case Ast.FOR: {
+                Ast.For forStmt = (Ast.For) stmt;
+                return at(new Ast.For(forStmt.size, relocate(forStmt.init, level + 1, base, deeper), relocate(forStmt.cond, level + 1, base, deeper),
+                        relocate(forStmt.update, level + 1, base, deeper), relocate(forStmt.body, level + 2, base, deeper)), stmt);
+            }
+            case Ast.EXPR:
+                return at(new Ast.ExprStmt(relocate(((Ast.ExprStmt) stmt).expr, level, base, deeper)), stmt);
+            case Ast.PRINT:
+                return at(new Ast.Print(relocate(((Ast.Print) stmt).parts, level, base, deeper)), stmt);
+            case Ast.RETURN:
+                return at(new Ast.Return(relocate(((Ast.Return) stmt).value, level, base, deeper)), stmt);
+            default:
+                return stmt;
+        }
+    }
+
+    static Ast.Block relocate(Ast.Block block, int level, int base, int deeper) {
+        if (block == null) {
+            return null;
+        }
+        Ast.Stmt[] body = new Ast.Stmt[block.body.length];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = relocate(block.body[i], level, base, deeper);
+        }
+        return at(new Ast.Block(block.size, body), block);
+    }
+
+    static Ast.Var relocate(Ast.Var var, int level, int base, int deeper) {
+        return (Ast.Var) relocate((Ast.Expr) var, level, base, deeper);
+    }
+
+    static Ast.Expr relocate(Ast.Expr expr, int level, int base, int deeper) {
+        if (expr == null) {
+            return null;
+        }
+        switch (expr.tag) {
+            case Ast.LOCAL: {
+                Ast.Local local = (Ast.Local) expr;
+                return local.depth != level ? expr : at(new Ast.Local(local.name, local.type, local.depth + deeper, local.slot + base), expr);
+            }
+            case Ast.ARITH: {
+                Ast.Arith arith = (Ast.Arith) expr;
+                return at(new Ast.Arith(arith.op, relocate(arith.left, level, base, deeper), relocate(arith.right, level, base, deeper), arith.type), expr);
+            }
+            case Ast.COMPARE: {
+                Ast.Compare compare = (Ast.Compare) expr;
+                return at(new Ast.Compare(compare.op, relocate(compare.left, level, base, deeper), relocate(compare.right, level, base, deeper)), expr);
+            }
+            case Ast.AND:
+            case Ast.OR: {
+                Ast.Logic logic = (Ast.Logic) expr;
+                return at(new Ast.Logic(expr.tag, relocate(logic.left, level, base, deeper), relocate(logic.right, level, base, deeper)), expr);
+            }
+            case Ast.NOT:
+                return at(new Ast.Not(relocate(((Ast.Not) expr).operand, level, base, deeper)), expr);
+            case Ast.CALL: {
+                Ast.Call call = (Ast.Call) expr;
+                return at(new Ast.Call(call.name, call.function, relocate(call.args, level, base, deeper), call.type), expr);
+            }
+            case Ast.CONCAT:
+                return at(new Ast.Concat(relocate(((Ast.Concat) expr).parts, level, base, deeper)), expr);
+            case Ast.INLINE: { // Una copia anterior ya dentro del cuerpo: corre en el mismo ámbito.
+                Ast.Inline inline = (Ast.Inline) expr;
+                Ast.Stmt[] body = new Ast.Stmt[inline.body.length];
+                for (int i = 0; i < body.length; i++) {
+                    body[i] = relocate(inline.body[i], level, base, deeper);
+                }
+                return at(new Ast.Inline(inline.name, body, relocate(inline.result, level, base, deeper), inline.type), expr);
+            }
+            default:
+                return expr;
+        }
+    }
+
+    static Ast.Expr[] relocate(Ast.Expr[] exprs, int level, int base, int deeper) {
+        Ast.Expr[] result = new Ast.Expr[exprs.length];
+        for (int i = 0; i < exprs.length; i++) {
+            result[i] = relocate(exprs[i], level, base, deeper);
+        }
+        return result;
+    }
+
+    //---------------------- Condiciones ----------------------
+
+    private boolean isInlinable(Ast.Call call, Ast.Expr[] args) {
+        if (threshold <= 0 || call.function < 0) {
+            return false;
+        }
+        Ast.Function fn = functions[call.function];
+        if (fn == null || recursive[fn.index] || declaredAt[fn.index] >= callLimit || fn.returnExpr == null
+                || fn.paramTypes.length != args.length
+                || contains(fn.body, Ast.FUNCTION) || contains(fn.body, Ast.RETURN)
+                || AstOptimizer.count(fn.body) + AstOptimizer.count(fn.returnExpr) > threshold) {
+            return false;
+        }
+        for (int i = 0; i < args.length; i++) {
+            if (!yields(fn.paramTypes[i], args[i])) {
+                return false;
+            }
+        }
+        return yields(fn.returnType, fn.returnExpr);
+    }
+
+    /**
+     * Indica si la expresión siempre da un valor que se puede guardar en una variable de tipo {@code to}.
+     * Las expresiones siempre dan un valor de su tipo estático, salvo una llamada cuyos argumentos no coinciden
+     * con los parámetros, que da null.
+     */
+    private boolean yields(Ast.Type to, Ast.Expr expr) {
+        if (!PurityAnalysis.isCompatible(to, expr.type)) {
+            return false;
+        }
+        if (expr.tag != Ast.CALL) {
+            return true;
+        }
+        Ast.Call call = (Ast.Call) expr;
+        Ast.Function fn = call.function >= 0 ? functions[call.function] : null;
+        if (fn == null || fn.paramTypes.length != call.args.length) {
+            return false;
+        }
+        for (int i = 0; i < call.args.length; i++) {
+            if (!yields(fn.paramTypes[i], call.args[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indica si el cuerpo tiene una sentencia con la etiqueta {@code tag}, también dentro de bloques, ifs y ciclos.
+     */
+    static boolean contains(Ast.Stmt[] body, int tag) {
+        for (Ast.Stmt stmt : body) {
+            if (stmt.tag == tag) {
+                return true;
+            }
+            switch (stmt.tag) {
+                case Ast.BLOCK:
+                    if (contains(((Ast.Block) stmt).body, tag)) {
+                        return true;
+                    }
+                    break;
+                case Ast.IF: {
+                    Ast.If ifStmt = (Ast.If) stmt;
+                    if (contains(ifStmt.then.body, tag) || (ifStmt.otherwise != null && contains(ifStmt.otherwise.body, tag))) {
+                        return true;
+                    }
+                    break;
+                }
+                case Ast.WHILE:
+                case Ast.DO_WHILE:
+                    if (contains(((Ast.Loop) stmt).body.body, tag)) {
+                        return true;
+                    }
+                    break;
+                case Ast.FOR:
+                    if (contains(((Ast.For) stmt).body.body, tag)) {
+                        return true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return false;
+    }
+
+    //---------------------- Grafo de llamadas ----------------------
+
+    /**
+     * Registra las funciones declaradas y las llamadas que hace cada una, sumando todas sus declaraciones.
+     */
+    private void scan(Ast.Stmt[] body, BitSet[] calls, boolean[] duplicated) {
+        for (Ast.Stmt stmt : body) {
+            if (stmt.tag == Ast.FUNCTION) {
+                Ast.Function fn = ((Ast.FunctionDecl) stmt).function;
+                if (functions[fn.index] != null) {
+                    duplicated[fn.index] = true;
+                }
+                functions[fn.index] = fn;
+                for (Ast.Stmt inner : fn.body) {
+                    calls(inner, calls[fn.index]);
+                }
+                calls(fn.returnExpr, calls[fn.index]);
+                scan(fn.body, calls, duplicated);
+            } else if (stmt.tag == Ast.BLOCK) {
+                scan(((Ast.Block) stmt).body, calls, duplicated);
+            } else if (stmt.tag == Ast.IF) {
+                scan(((Ast.If) stmt).then.body, calls, duplicated);
+                if (((Ast.If) stmt).otherwise != null) {
+                    scan(((Ast.If) stmt).otherwise.body, calls, duplicated);
+                }
+            } else if (stmt.tag == Ast.WHILE || stmt.tag == Ast.DO_WHILE) {
+                scan(((Ast.Loop) stmt).body.body, calls, duplicated);
+            } else if (stmt.tag == Ast.FOR) {
+                scan(((Ast.For) stmt).body.body, calls, duplicated);
+            }
+        }
+    }
+
+    private static void calls(Ast.Stmt stmt, BitSet out) {
+        if (stmt == null) {
+            return;
+        }
+        switch (stmt.tag) {
+            case Ast.BLOCK:
+                for (Ast.Stmt inner : ((Ast.Block) stmt).body) {
+                    calls(inner, out);
+                }
+                break;
+            case Ast.DECLARE:
+                calls(((Ast.Declare) stmt).init, out);
+                break;
+            case Ast.ASSIGN:
+                calls(((Ast.Assign) stmt).value, out);
+                break;
+            case Ast.UPDATE:
+                calls(((Ast.Update) stmt).value, out);
+                break;
+            case Ast.IF: {
+                Ast.If ifStmt = (Ast.If) stmt;
+                calls(ifStmt.cond, out);
+                calls(ifStmt.then, out);
+                calls(ifStmt.otherwise, out);
+                break;
+            }
+            case Ast.WHILE:
+            case Ast.DO_WHILE:
+                calls(((Ast.Loop) stmt).cond, out);
+                calls(((Ast.Loop) stmt).body, out);
+                break;
+            case Ast.FOR: {
+                Ast.For forStmt = (Ast.For) stmt;
+                calls(forStmt.init, out);
+                calls(forStmt.cond, out);
+                calls(forStmt.update, out);
+                calls(forStmt.body, out);
+                break;
+            }
+            case Ast.EXPR:
+                calls(((Ast.ExprStmt) stmt).expr, out);
+                break;
+            case Ast.PRINT:
+                for (Ast.Expr part : ((Ast.Print) stmt).parts) {
+                    calls(part, out);
+                }
+                break;
+            case Ast.RETURN:
+                calls(((Ast.Return) stmt).value, out);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void calls(Ast.Expr expr, BitSet out) {
+        if (expr == null) {
+            return;
+        }
+        switch (expr.tag) {
+            case Ast.ARITH:
+                calls(((Ast.Arith) expr).left, out);
+                calls(((Ast.Arith) expr).right, out);
+                break;
+            case Ast.COMPARE:
+                calls(((Ast.Compare) expr).left, out);
+                calls(((Ast.Compare) expr).right, out);
+                break;
+            case Ast.AND:
+            case Ast.OR:
+                calls(((Ast.Logic) expr).left, out);
+                calls(((Ast.Logic) expr).right, out);
+                break;
+            case Ast.NOT:
+                calls(((Ast.Not) expr).operand, out);
+                break;
+            case Ast.CALL: {
+                Ast.Call call = (Ast.Call) expr;
+                if (call.function >= 0) {
+                    out.set(call.function);
+                }
+                for (Ast.Expr arg : call.args) {
+                    calls(arg, out);
+                }
+                break;
+            }
+            case Ast.CONCAT:
+                for (Ast.Expr part : ((Ast.Concat) expr).parts) {
+                    calls(part, out);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Indica si desde la función {@code start} se puede volver a llamar a {@code start}.
+     */
+    private static boolean reaches(BitSet[] calls, int start) {
+        BitSet visited = new BitSet(calls.length);
+        List<Integer> pending = new ArrayList<>();
+        pending.add(start);
+        while (!pending.isEmpty()) {
+            int current = pending.remove(pending.size() - 1);
+            for (int next = calls[current].nextSetBit(0); next >= 0; next = calls[current].nextSetBit(next + 1)) {
+                if (next == start) {
+                    return true;
+                }
+                if (!visited.get(next)) {
+                    visited.set(next);
+                    pending.add(next);
+                }
+            }
+        }
+        return false;
+    }
+
+    private static <T extends Ast.Node> T at(T node, Ast.Node source) {
+        node.line = source.line;
+        return node;
+    }
+}
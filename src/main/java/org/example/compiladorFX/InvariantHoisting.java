@@ -0,0 +1,590 @@
+package org.example.compiladorFX;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Saca de los ciclos (while, do-while y for) los cálculos invariantes: subexpresiones aritméticas y llamadas a
+ * funciones puras cuyos operandos solo leen variables que el ciclo nunca escribe.
+ * <p>
+ * Para cada ciclo se calcula el conjunto de variables asignadas en su cuerpo, condición y actualización
+ * (declaraciones, asignaciones y actualizaciones). Cada subexpresión invariante se evalúa una sola vez en una
+ * variable temporal declarada justo antes del ciclo, en una ranura nueva del ámbito que lo contiene; en el nivel
+ * superior el ciclo se envuelve en un bloque con las temporales.
+ * <p>
+ * Como la temporal se calcula aunque el ciclo no dé ninguna vuelta, solo se mueven expresiones que no pueden
+ * reportar errores ni tener efectos: operandos numéricos, variables que siempre tienen un valor válido y
+ * funciones puras sin ciclos ni recursión, ya instaladas cuando el ciclo se ejecuta.
+ */
+final class InvariantHoisting {
+
+    private final Ast.Program program;
+    private final Ast.Function[] functions;  // Función de cada índice, null si el nombre se declara más de una vez.
+    private final int[] declaredAt;          // Posición de la declaración en el nivel superior del programa.
+    private final PurityAnalysis purity;
+    private final Set<String> unsafeNames = new HashSet<>(); // Variables que pueden quedar sin valor.
+    private int hoisted;
+
+    // Estado del ciclo que se está transformando.
+    private int callLimit;                   // Solo se mueven llamadas a funciones declaradas antes de esta posición.
+    private boolean inFunction;
+    private final Set<Long> assignedLocals = new HashSet<>();
+    private final Set<Integer> assignedGlobals = new HashSet<>();
+    private boolean impureCall;
+    private List<Ast.Stmt> temporaries;
+    private int nextSlot;
+
+    InvariantHoisting(Ast.Program program) {
+        this.program = program;
+        int count = program.functionNames.length;
+        this.functions = new Ast.Function[count];
+        this.declaredAt = new int[count];
+        this.purity = new PurityAnalysis(program);
+        Arrays.fill(declaredAt, Integer.MAX_VALUE);
+        boolean[] duplicated = new boolean[count];
+        for (int i = 0; i < program.body.length; i++) {
+            if (program.body[i].tag == Ast.FUNCTION) {
+                declaredAt[((Ast.FunctionDecl) program.body[i]).function.index] = i;
+            }
+        }
+        scan(program.body, duplicated);
+        for (int i = 0; i < count; i++) {
+            if (duplicated[i]) {
+                functions[i] = null;
+            }
+        }
+    }
+
+    /**
+     * @return La cantidad de expresiones que se sacaron de algún ciclo.
+     */
+    int getHoisted() {
+        return hoisted;
+    }
+
+    /**
+     * Aplica la transformación. Las funciones se transforman en su lugar.
+     *
+     * @return El programa con los invariantes fuera de los ciclos.
+     */
+    Ast.Program apply() {
+        List<Ast.Stmt> body = new ArrayList<>();
+        for (int i = 0; i < program.body.length; i++) {
+            callLimit = i;
+            inFunction = false;
+            add(body, statement(program.body[i]), null);
+        }
+        return new Ast.Program(body.toArray(new Ast.Stmt[0]), program.globalNames, program.globalTypes,
+                program.functionNames, program.dynamicScope, program.fractionalInts);
+    }
+
+    //---------------------- Recorrido ----------------------
+
+    /**
+     * Agrega una sentencia a {@code body}. Si es un ciclo, antes se le sacan los invariantes: las temporales ocupan
+     * ranuras nuevas del ámbito ({@code size}) o, en el nivel superior ({@code size == null}), un bloque propio.
+     */
+    private void add(List<Ast.Stmt> body, Ast.Stmt stmt, int[] size) {
+        if (stmt.tag != Ast.WHILE && stmt.tag != Ast.DO_WHILE && stmt.tag != Ast.FOR) {
+            body.add(stmt);
+            return;
+        }
+        temporaries = new ArrayList<>();
+        nextSlot = size == null ? 0 : size[0];
+        Ast.Stmt loop = hoist(stmt);
+        if (temporaries.isEmpty()) {
+            body.add(loop);
+        } else if (size == null) {
+            temporaries.add(loop);
+            body.add(at(new Ast.Block(nextSlot, temporaries.toArray(new Ast.Stmt[0])), stmt));
+        } else {
+            size[0] = nextSlot;
+            body.addAll(temporaries);
+            body.add(loop);
+        }
+    }
+
+    private Ast.Stmt[] statements(Ast.Stmt[] body, int[] size) {
+        List<Ast.Stmt> result = new ArrayList<>();
+        for (Ast.Stmt stmt : body) {
+            add(result, statement(stmt), size);
+        }
+        return result.toArray(new Ast.Stmt[0]);
+    }
+
+    private Ast.Block block(Ast.Block block) {
+        if (block == null) {
+            return null;
+        }
+        int[] size = {block.size};
+        Ast.Stmt[] body = statements(block.body, size);
+        return at(new Ast.Block(size[0], body), block);
+    }
+
+    /**
+     * Transforma los ciclos internos de una sentencia, de adentro hacia afuera.
+     */
+    private Ast.Stmt statement(Ast.Stmt stmt) {
+        switch (stmt.tag) {
+            case Ast.BLOCK:
+                return block((Ast.Block) stmt);
+            case Ast.IF: {
+                Ast.If ifStmt = (Ast.If) stmt;
+                return at(new Ast.If(ifStmt.cond, block(ifStmt.then), block(ifStmt.otherwise)), stmt);
+            }
+            case Ast.WHILE:
+            case Ast.DO_WHILE: {
+                Ast.Loop loop = (Ast.Loop) stmt;
+                return at(new Ast.Loop(stmt.tag, loop.cond, block(loop.body)), stmt);
+            }
+            case Ast.FOR: {
+                Ast.For forStmt = (Ast.For) stmt;
+                return at(new Ast.For(forStmt.size, forStmt.init, forStmt.cond, forStmt.update, block(forStmt.body)), stmt);
+            }
+            case Ast.FUNCTION: {
+                Ast.Function fn = ((Ast.FunctionDecl) stmt).function;
+                int savedLimit = callLimit;
+                boolean savedInFunction = inFunction;
+                // Cuando corre el cuerpo, ya se instalaron las funciones declaradas antes que esta en el nivel superior.
+                callLimit = declaredAt[fn.index] == Integer.MAX_VALUE || functions[fn.index] != fn ? -1 : declaredAt[fn.index];
+                inFunction = true;
+                int[] size = {fn.frameSize};
+                fn.body = statements(fn.body, size);
+                fn.frameSize = size[0];
+                callLimit = savedLimit;
+                inFunction = savedInFunction;
+                return stmt;
+            }
+            default:
+                return stmt;
+        }
+    }
+
+    //---------------------- Ciclos ----------------------
+
+    /**
+     * Reemplaza los invariantes de un ciclo por lecturas de temporales. Los niveles cuentan los ámbitos abiertos
+     * dentro del ciclo: 0 es el ámbito que lo contiene.
+     */
+    private Ast.Stmt hoist(Ast.Stmt stmt) {
+        assignedLocals.clear();
+        assignedGlobals.clear();
+        impureCall = false;
+        if (stmt.tag == Ast.FOR) {
+            Ast.For forStmt = (Ast.For) stmt;
+            collect(forStmt.init, 1);
+            collect(forStmt.cond, 1);
+            collect(forStmt.update, 1);
+            collect(forStmt.body, 1);
+            return at(new Ast.For(forStmt.size, forStmt.init, expression(forStmt.cond, 1), rewrite(forStmt.update, 1),
+                    rewriteBlock(forStmt.body, 2)), stmt);
+        }
+        Ast.Loop loop = (Ast.Loop) stmt;
+        collect(loop.cond, 0);
+        collect(loop.body, 0);
+        return at(new Ast.Loop(stmt.tag, expression(loop.cond, 0), rewriteBlock(loop.body, 1)), stmt);
+    }
+
+    /**
+     * Anota las variables que escribe una sentencia ubicada en el nivel {@code level}.
+     */
+    private void collect(Ast.Stmt stmt, int level) {
+        switch (stmt.tag) {
+            case Ast.BLOCK:
+                for (Ast.Stmt inner : ((Ast.Block) stmt).body) {
+                    collect(inner, level + 1);
+                }
+                break;
+            case Ast.DECLARE: {
+                Ast.Declare declare = (Ast.Declare) stmt;
+                written(declare.target, level);
+                if (declare.init != null) {
+                    collect(declare.init, level);
+                }
+                break;
+            }
+            case Ast.ASSIGN: {
+                Ast.Assign assign = (Ast.Assign) stmt;
+                written(assign.target, level);
+                collect(assign.value, level);
+                break;
+            }
+            case Ast.UPDATE: {
+                Ast.Update update = (Ast.Update) stmt;
+                written(update.target, level);
+                if (update.value != null) {
+                    collect(update.value, level);
+                }
+                break;
+            }
+            case Ast.IF: {
+                Ast.If ifStmt = (Ast.If) stmt;
+                collect(ifStmt.cond, level);
+                collect(ifStmt.then, level);
+                if (ifStmt.otherwise != null) {
+                    collect(ifStmt.otherwise, level);
+                }
+                break;
+            }
+            case Ast.WHILE:
+            case Ast.DO_WHILE: {
+                Ast.Loop loop = (Ast.Loop) stmt;
+                collect(loop.cond, level);
+                collect(loop.body, level);
+                break;
+            }
+            case Ast.FOR: {
+                Ast.For forStmt = (Ast.For) stmt;
+                collect(forStmt.init, level + 1);
+                collect(forStmt.cond, level + 1);
+                collect(forStmt.update, level + 1);
+                collect(forStmt.body, level + 1);
+                break;
+            }
+            case Ast.EXPR:
+                collect(((Ast.ExprStmt) stmt).expr, level);
+                break;
+            case Ast.PRINT:
+                for (Ast.Expr part : ((Ast.Print) stmt).parts) {
+                    collect(part, level);
+                }
+                break;
+            case Ast.RETURN:
+                collect(((Ast.Return) stmt).value, level);
+                break;
+            default: // Las funciones declaradas dentro del ciclo tienen su propio marco.
+                break;
+        }
+    }
+
+    /**
+     * Anota las llamadas a funciones que pueden escribir variables globales.
+     */
+    private void collect(Ast.Expr expr, int level) {
+        switch (expr.tag) {
+            case Ast.ARITH:
+                collect(((Ast.Arith) expr).left, level);
+                collect(((Ast.Arith) expr).right, level);
+                break;
+            case Ast.COMPARE:
+                collect(((Ast.Compare) expr).left, level);
+                collect(((Ast.Compare) expr).right, level);
+                break;
+            case Ast.AND:
+            case Ast.OR:
+                collect(((Ast.Logic) expr).left, level);
+                collect(((Ast.Logic) expr).right, level);
+                break;
+            case Ast.NOT:
+                collect(((Ast.Not) expr).operand, level);
+                break;
+            case Ast.CALL: {
+                Ast.Call call = (Ast.Call) expr;
+                if (!purity.isPureCall(call, true)) {
+                    impureCall = true;
+                }
+                for (Ast.Expr arg : call.args) {
+                    collect(arg, level);
+                }
+                break;
+            }
+            case Ast.CONCAT:
+                for (Ast.Expr part : ((Ast.Concat) expr).parts) {
+                    collect(part, level);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void written(Ast.Var target, int level) {
+        if (target.tag == Ast.GLOBAL) {
+            assignedGlobals.add(((Ast.Global) target).index);
+        } else {
+            Ast.Local local = (Ast.Local) target;
+            if (local.depth >= level) { // Las variables del propio ciclo no son visibles desde afuera.
+                assignedLocals.add(key(local.depth - level, local.slot));
+            }
+        }
+    }
+
+    private static long key(int depth, int slot) {
+        return ((long) depth << 32) | slot;
+    }
+
+    private Ast.Block rewriteBlock(Ast.Block block, int level) {
+        if (block == null) {
+            return null;
+        }
+        Ast.Stmt[] body = new Ast.Stmt[block.body.length];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = rewrite(block.body[i], level);
+        }
+        return at(new Ast.Block(block.size, body), block);
+    }
+
+    /**
+     * Reemplaza los invariantes de una sentencia ubicada en el nivel {@code level} del ciclo.
+     */
+    private Ast.Stmt rewrite(Ast.Stmt stmt, int level) {
+        switch (stmt.tag) {
+            case Ast.BLOCK:
+                return rewriteBlock((Ast.Block) stmt, level + 1);
+            case Ast.DECLARE: {
+                Ast.Declare declare = (Ast.Declare) stmt;
+                return declare.init == null ? stmt : at(new Ast.Declare(declare.target, expression(declare.init, level)), stmt);
+            }
+            case Ast.ASSIGN: {
+                Ast.Assign assign = (Ast.Assign) stmt;
+                return at(new Ast.Assign(assign.target, expression(assign.value, level)), stmt);
+            }
+            case Ast.UPDATE: {
+                Ast.Update update = (Ast.Update) stmt;
+                return update.value == null ? stmt
+                        : at(new Ast.Update(update.target, update.op, expression(update.value, level)), stmt);
+            }
+            case Ast.IF: {
+                Ast.If ifStmt = (Ast.If) stmt;
+                return at(new Ast.If(expression(ifStmt.cond, level), rewriteBlock(ifStmt.then, level + 1),
+                        rewriteBlock(ifStmt.otherwise, level + 1)), stmt);
+            }
+            case Ast.WHILE:
+            case Ast.DO_WHILE: {
+                Ast.Loop loop = (Ast.Loop) stmt;
+                return at(new Ast.Loop(stmt.tag, expression(loop.cond, level), rewriteBlock(loop.body, level + 1)), stmt);
+            }
+            case Ast.FOR: {
+                Ast.For forStmt = (Ast.For) stmt;
+                return at(new Ast.For(forStmt.size, rewrite(forStmt.init, level + 1), expression(forStmt.cond, level + 1),
+                        rewrite(forStmt.update, level + 1), rewriteBlock(forStmt.body, level + 2)), stmt);
+            }
+            case Ast.EXPR:
+                return at(new Ast.ExprStmt(expression(((Ast.ExprStmt) stmt).expr, level)), stmt);
+            case Ast.PRINT: {
+                Ast.Expr[] parts = ((Ast.Print) stmt).parts;
+                Ast.Expr[] result = new Ast.Expr[parts.length];
+                for (int i = 0; i < parts.length; i++) {
+                    result[i] = expression(parts[i], level);
+                }
+                return at(new Ast.Print(result), stmt);
+            }
+            case Ast.RETURN:
+                return at(new Ast.Return(expression(((Ast.Return) stmt).value, level)), stmt);
+            default:
+                return stmt;
+        }
+    }
+
+    /**
+     * Reemplaza por una temporal la subexpresión aritmética o llamada invariante más grande.
+     */
+    private Ast.Expr expression(Ast.Expr expr, int level) {
+        switch (expr.tag) {
+            case Ast.ARITH:
+            case Ast.CALL:
+                if (isInvariant(expr, level)) {
+                    int slot = nextSlot++;
+                    Ast.Local temporary = new Ast.Local("#invariante" + hoisted, expr.type, 0, slot);
+                    temporaries.add(at(new Ast.Declare(temporary, shift(expr, level)), expr));
+                    hoisted++;
+                    return at(new Ast.Local(temporary.name, expr.type, level, slot), expr);
+                }
+                if (expr.tag == Ast.ARITH) {
+                    Ast.Arith arith = (Ast.Arith) expr;
+                    return at(new Ast.Arith(arith.op, expression(arith.left, level), expression(arith.right, level), arith.type), expr);
+                }
+                Ast.Call call = (Ast.Call) expr;
+                return at(new Ast.Call(call.name, call.function, expressions(call.args, level), call.type), expr);
+            case Ast.COMPARE: {
+                Ast.Compare compare = (Ast.Compare) expr;
+                return at(new Ast.Compare(compare.op, expression(compare.left, level), expression(compare.right, level)), expr);
+            }
+            case Ast.AND:
+            case Ast.OR: {
+                Ast.Logic logic = (Ast.Logic) expr;
+                return at(new Ast.Logic(expr.tag, expression(logic.left, level), expression(logic.right, level)), expr);
+            }
+            case Ast.NOT:
+                return at(new Ast.Not(expression(((Ast.Not) expr).operand, level)), expr);
+            case Ast.CONCAT:
+                return at(new Ast.Concat(expressions(((Ast.Concat) expr).parts, level)), expr);
+            default:
+                return expr;
+        }
+    }
+
+    private Ast.Expr[] expressions(Ast.Expr[] exprs, int level) {
+        Ast.Expr[] result = new Ast.Expr[exprs.length];
+        for (int i = 0; i < exprs.length; i++) {
+            result[i] = expression(exprs[i], level);
+        }
+        return result;
+    }
+
+    /**
+     * Indica si la expresión da el mismo resultado en cada vuelta y se puede evaluar antes del ciclo sin errores.
+     */
+    private boolean isInvariant(Ast.Expr expr, int level) {
+        switch (expr.tag) {
+            case Ast.CONST:
+                return true;
+            case Ast.LOCAL: {
+                Ast.Local local = (Ast.Local) expr;
+                return local.depth >= level && !assignedLocals.contains(key(local.depth - level, local.slot))
+                        && !unsafeNames.contains(local.name);
+            }
+            case Ast.GLOBAL: {
+                // Dentro de una función una global puede no estar declarada todavía cuando se la llama.
+                Ast.Global global = (Ast.Global) expr;
+                return !inFunction && !impureCall && !assignedGlobals.contains(global.index) && !unsafeNames.contains(global.name);
+            }
+            case Ast.ARITH: {
+                Ast.Arith arith = (Ast.Arith) expr;
+                return arith.left.type.isNumeric() && arith.right.type.isNumeric()
+                        && isInvariant(arith.left, level) && isInvariant(arith.right, level);
+            }
+            case Ast.COMPARE: {
+                Ast.Compare compare = (Ast.Compare) expr;
+                return PurityAnalysis.isSafeCompare(compare) && isInvariant(compare.left, level) && isInvariant(compare.right, level);
+            }
+            case Ast.AND:
+            case Ast.OR: {
+                Ast.Logic logic = (Ast.Logic) expr;
+                return logic.left.type == Ast.Type.BOOLEAN && logic.right.type == Ast.Type.BOOLEAN
+                        && isInvariant(logic.left, level) && isInvariant(logic.right, level);
+            }
+            case Ast.NOT: {
+                Ast.Expr operand = ((Ast.Not) expr).operand;
+                return operand.type == Ast.Type.BOOLEAN && isInvariant(operand, level);
+            }
+            case Ast.CALL: {
+                Ast.Call call = (Ast.Call) expr;
+                if (!purity.isPureCall(call, true) || declaredAt[call.function] >= callLimit) {
+                    return false;
+                }
+                for (Ast.Expr arg : call.args) {
+                    if (!isInvariant(arg, level)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case Ast.CONCAT:
+                for (Ast.Expr part : ((Ast.Concat) expr).parts) {
+                    if (!isInvariant(part, level)) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Ajusta las profundidades de una expresión invariante para evaluarla en el ámbito que contiene al ciclo.
+     */
+    private static Ast.Expr shift(Ast.Expr expr, int level) {
+        switch (expr.tag) {
+            case Ast.LOCAL: {
+                Ast.Local local = (Ast.Local) expr;
+                return level == 0 ? expr : at(new Ast.Local(local.name, local.type, local.depth - level, local.slot), expr);
+            }
+            case Ast.ARITH: {
+                Ast.Arith arith = (Ast.Arith) expr;
+                return at(new Ast.Arith(arith.op, shift(arith.left, level), shift(arith.right, level), arith.type), expr);
+            }
+            case Ast.COMPARE: {
+                Ast.Compare compare = (Ast.Compare) expr;
+                return at(new Ast.Compare(compare.op, shift(compare.left, level), shift(compare.right, level)), expr);
+            }
+            case Ast.AND:
+            case Ast.OR: {
+                Ast.Logic logic = (Ast.Logic) expr;
+                return at(new Ast.Logic(expr.tag, shift(logic.left, level), shift(logic.right, level)), expr);
+            }
+            case Ast.NOT:
+                return at(new Ast.Not(shift(((Ast.Not) expr).operand, level)), expr);
+            case Ast.CALL: {
+                Ast.Call call = (Ast.Call) expr;
+                Ast.Expr[] args = new Ast.Expr[call.args.length];
+                for (int i = 0; i < args.length; i++) {
+                    args[i] = shift(call.args[i], level);
+                }
+                return at(new Ast.Call(call.name, call.function, args, call.type), expr);
+            }
+            case Ast.CONCAT: {
+                Ast.Expr[] parts = ((Ast.Concat) expr).parts;
+                Ast.Expr[] result = new Ast.Expr[parts.length];
+                for (int i = 0; i < parts.length; i++) {
+                    result[i] = shift(parts[i], level);
+                }
+                return at(new Ast.Concat(result), expr);
+            }
+            default:
+                return expr;
+        }
+    }
+
+    //---------------------- Funciones puras ----------------------
+
+    /**
+     * Registra las funciones y las variables que se pueden declarar sin un valor válido.
+     */
+    private void scan(Ast.Stmt[] body, boolean[] duplicated) {
+        for (Ast.Stmt stmt : body) {
+            scan(stmt, duplicated);
+        }
+    }
+
+    private void scan(Ast.Stmt stmt, boolean[] duplicated) {
+        switch (stmt.tag) {
+            case Ast.BLOCK:
+                scan(((Ast.Block) stmt).body, duplicated);
+                break;
+            case Ast.DECLARE: {
+                Ast.Declare declare = (Ast.Declare) stmt;
+                if (declare.init == null || !PurityAnalysis.isCompatible(declare.target.type, declare.init.type)) {
+                    unsafeNames.add(declare.target.name);
+                }
+                break;
+            }
+            case Ast.IF: {
+                Ast.If ifStmt = (Ast.If) stmt;
+                scan(ifStmt.then, duplicated);
+                if (ifStmt.otherwise != null) {
+                    scan(ifStmt.otherwise, duplicated);
+                }
+                break;
+            }
+            case Ast.WHILE:
+            case Ast.DO_WHILE:
+                scan(((Ast.Loop) stmt).body, duplicated);
+                break;
+            case Ast.FOR:
+                scan(((Ast.For) stmt).init, duplicated);
+                scan(((Ast.For) stmt).body, duplicated);
+                break;
+            case Ast.FUNCTION: {
+                Ast.Function fn = ((Ast.FunctionDecl) stmt).function;
+                if (functions[fn.index] != null) {
+                    duplicated[fn.index] = true;
+                }
+                functions[fn.index] = fn;
+                scan(fn.body, duplicated);
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    private static <T extends Ast.Node> T at(T node, Ast.Node source) {
+        node.line = source.line;
+        return node;
+    }
+}
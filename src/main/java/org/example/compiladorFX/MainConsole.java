@@ -0,0 +1,116 @@
+package org.example.compiladorFX;
+
+import org.antlr.v4.runtime.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Ejecuta un script sin interfaz gráfica.
+ * <p>
+ * Uso: {@code MainConsole [--engine visitor|ast|closures|register_vm|bytecode] [--disassemble] [--stats] [--trace] [--no-check] [--strict] [--no-tail] [--no-hoist] [--inline n] [--memo n] [--frames n] [--out archivo] [--trace-categories lista] archivo}. La
+ * salida de print va a la salida estándar, o al archivo de {@code --out}, a medida que el programa corre y con un
+ * buffer fijo, así que la memoria no crece con la salida. Los errores sintácticos y semánticos van a la salida de
+ * error. Con
+ * {@code --disassemble} se muestra el código de la máquina de registros en lugar de ejecutar el programa y con
+ * {@code --stats} se agregan a la salida de error las estadísticas de las optimizaciones. {@code --trace} agrega las
+ * trazas de ámbitos, declaraciones y asignaciones del motor visitor y {@code --no-check} lo ejecuta sin el chequeo
+ * estático de tipos, verificándolos en cada sentencia; con {@code --strict} un programa con errores de tipos no se
+ * ejecuta y se reportan solo los errores del chequeo. {@code --no-tail} deja las
+ * llamadas recursivas de cola sin convertir en ciclos, {@code --no-hoist} desactiva el movimiento de invariantes
+ * fuera de los ciclos y {@code --inline n} fija el tamaño máximo de las funciones que se copian en las llamadas
+ * (0 las desactiva). {@code --memo n} fija la capacidad de la caché de resultados de las
+ * funciones puras (0 desactiva la memoización). {@code --frames n} fija cuántas llamadas anidadas
+ * admite la máquina de registros. {@code --trace-categories scope,condition,assignment,call} (o {@code all}) activa
+ * las trazas de depuración de {@link Trace}, que se escriben en la salida de error desde otro hilo.
+ */
+public class MainConsole {
+
+    public static void main(String[] args) throws IOException {
+        Engine engine = Engine.AST;
+        String file = null;
+        String out = null;
+        boolean disassemble = false;
+        boolean stats = false;
+        Engine.Options options = new Engine.Options();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--engine") && i + 1 < args.length) {
+                engine = Engine.byName(args[++i]);
+                if (engine == null) {
+                    System.err.println("Motor desconocido: " + args[i]);
+                    System.exit(2);
+                }
+            } else if (args[i].equals("--disassemble")) {
+                disassemble = true;
+            } else if (args[i].equals("--stats")) {
+                stats = true;
+            } else if (args[i].equals("--trace")) {
+                options.setTrace(true);
+            } else if (args[i].equals("--no-check")) {
+                options.setStaticCheck(false);
+            } else if (args[i].equals("--strict")) {
+                options.setRejectStaticErrors(true);
+            } else if (args[i].equals("--no-tail")) {
+                options.setEliminateTailCalls(false);
+            } else if (args[i].equals("--no-hoist")) {
+                options.setHoistInvariants(false);
+            } else if (args[i].equals("--inline") && i + 1 < args.length) {
+                options.setInlineThreshold(Integer.parseInt(args[++i]));
+            } else if (args[i].equals("--memo") && i + 1 < args.length) {
+                options.setMemoCapacity(Integer.parseInt(args[++i]));
+            } else if (args[i].equals("--frames") && i + 1 < args.length) {
+                options.setFrameBudget(Integer.parseInt(args[++i]));
+            } else if (args[i].equals("--trace-categories") && i + 1 < args.length) {
+                System.setProperty(Trace.PROPERTY, args[++i]); // Antes de que se cargue Trace, que la lee una vez.
+            } else if (args[i].equals("--out") && i + 1 < args.length) {
+                out = args[++i];
+            } else {
+                file = args[i];
+            }
+        }
+        if (file == null) {
+            System.err.println("Uso: MainConsole [--engine visitor|ast|closures|register_vm|bytecode] [--disassemble] [--stats] [--trace] [--no-check] [--strict] [--no-tail] [--no-hoist] [--inline n] [--memo n] [--frames n] [--out archivo] [--trace-categories lista] archivo");
+            System.exit(2);
+        }
+
+        String code = new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8);
+        gParser parser = new gParser(new CommonTokenStream(new SymbolDictionary().install(new gLexer(CharStreams.fromString(code)))));
+        parser.removeErrorListeners();
+        parser.addErrorListener(new BaseErrorListener() {
+            @Override
+            public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int charPositionInLine, String msg, RecognitionException e) {
+                System.err.println("Error sintactico en la linea " + line + ":" + charPositionInLine + " " + msg);
+            }
+        });
+        gParser.ProgramContext tree = parser.program();
+        if (parser.getNumberOfSyntaxErrors() > 0) {
+            System.err.println("El analizador sintactico encontro: " + parser.getNumberOfSyntaxErrors() + " errores");
+            System.exit(1);
+        }
+
+        if (disassemble) {
+            System.out.print(RegisterCompiler.compile(Engine.prepare(tree, options, new StringBuilder())).disassemble());
+            return;
+        }
+
+        Engine.Result result;
+        if (out != null) {
+            try (OutputStream stream = Files.newOutputStream(Paths.get(out))) {
+                options.setOutput(OutputSink.buffered(stream));
+                result = engine.run(tree, options);
+            }
+        } else {
+            options.setOutput(OutputSink.buffered(System.out));
+            result = engine.run(tree, options);
+        }
+        if (!result.errorOut.isEmpty()) {
+            System.err.println(result.errorOut.trim());
+        }
+        if (stats) {
+            System.err.print(result.report);
+        }
+    }
+}
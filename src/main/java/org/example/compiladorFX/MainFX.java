@@ -6,8 +6,11 @@ import javafx.embed.swing.SwingNode;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
+import javafx.scene.control.Spinner;
 import javafx.scene.control.TextArea;
 import javafx.scene.layout.*;
 import javafx.stage.FileChooser;
@@ -29,6 +32,11 @@ public class MainFX extends Application {
     private TextArea codeTextArea;
     private TextArea semanticErrorTextArea;
     private TextArea parserErrorTextArea;
+    private TextArea outputTextArea;
+    private Button compileButton;
+    private ComboBox<Engine> engineComboBox;
+    private Spinner<Integer> memoSpinner;
+    private CheckBox traceCheckBox;
     private SwingNode swingNodeForTree;
 
     @Override
@@ -47,15 +55,32 @@ public class MainFX extends Application {
         semanticErrorTextArea = new TextArea();
         semanticErrorTextArea.setEditable(false);
 
+        // Program Output Area
+        outputTextArea = new TextArea();
+        outputTextArea.setEditable(false);
+
         // Buttons
-        Button compileButton = new Button("Compilar");
+        compileButton = new Button("Compilar");
         compileButton.setOnAction(e -> compileCode());
 
         Button loadButton = new Button("Cargar Archivo");
         loadButton.setOnAction(e -> loadFile());
 
+        // Execution engine selector
+        engineComboBox = new ComboBox<>();
+        engineComboBox.getItems().addAll(Engine.values());
+        engineComboBox.setValue(Engine.VISITOR);
+
+        // Pure function cache capacity (0 disables it)
+        memoSpinner = new Spinner<>(0, 1_000_000, MemoCache.DEFAULT_CAPACITY, 1000);
+        memoSpinner.setEditable(true);
+
+        // Visitor scope, declaration and assignment traces (off by default)
+        traceCheckBox = new CheckBox("Trazas");
+
         // Layout
-        HBox buttonBox = new HBox(10, loadButton, compileButton);
+        HBox buttonBox = new HBox(10, loadButton, compileButton, new Label("Motor:"), engineComboBox,
+                new Label("Cache memo:"), memoSpinner, traceCheckBox);
         buttonBox.setPadding(new Insets(10));
 
         VBox topBox = new VBox(10, codeTextArea, buttonBox);
@@ -68,10 +93,12 @@ public class MainFX extends Application {
         errorGrid.setHgap(10);  // Spacing between columns
 
         ColumnConstraints col1 = new ColumnConstraints();
-        col1.setPercentWidth(50); // Each column takes 50% of the width
+        col1.setPercentWidth(33); // Each column takes a third of the width
         ColumnConstraints col2 = new ColumnConstraints();
-        col2.setPercentWidth(50);
-        errorGrid.getColumnConstraints().addAll(col1, col2);
+        col2.setPercentWidth(34);
+        ColumnConstraints col5 = new ColumnConstraints();
+        col5.setPercentWidth(33);
+        errorGrid.getColumnConstraints().addAll(col1, col2, col5);
 
 
         errorGrid.add(new Label("Errores Sintacticos:"), 0, 0); // Column 0, Row 0
@@ -80,6 +107,9 @@ public class MainFX extends Application {
         errorGrid.add(new Label("Errores Semanticos y Tabla de Simbolos:"), 1, 0); // Column 1, Row 0
         errorGrid.add(semanticErrorTextArea, 1, 1);                                // Column 1, Row 1
 
+        errorGrid.add(new Label("Salida:"), 2, 0); // Column 2, Row 0
+        errorGrid.add(outputTextArea, 2, 1);        // Column 2, Row 1
+
 
         // Code + tree grid
 
@@ -148,9 +178,10 @@ public class MainFX extends Application {
         }
         semanticErrorTextArea.clear();
         parserErrorTextArea.clear();
+        outputTextArea.clear();
 
         CharStream input = CharStreams.fromString(code);
-        gLexer lexer = new gLexer(input);
+        gLexer lexer = new SymbolDictionary().install(new gLexer(input)); // Identifiers get dense ids while lexing
         CommonTokenStream tokens = new CommonTokenStream(lexer);
         gParser parser = new gParser(tokens);
 
@@ -164,22 +195,6 @@ public class MainFX extends Application {
         });
 
         ParseTree tree = parser.program();
-        MyVisitorFX visitor = new MyVisitorFX("","");
-        visitor.visit(tree);
-        semanticErrorTextArea.appendText(visitor.getErrorOut());
-
-        if (parser.getNumberOfSyntaxErrors() > 0) {
-            parserErrorTextArea.appendText("El analizador sintactico encontro: " + parser.getNumberOfSyntaxErrors() + " errores\n");
-        } else {
-            semanticErrorTextArea.appendText("\n");
-            semanticErrorTextArea.appendText("\n Tabla de Simbolos Global:\n");
-            semanticErrorTextArea.appendText("-----------------------------------------------\n");
-            for (Map.Entry<String, MyVisitorFX.Symbol> entry : visitor.symbolTableGlobal.entrySet()) {
-                semanticErrorTextArea.appendText(entry.getKey() + ": " + entry.getValue() + "\n");
-            }
-            semanticErrorTextArea.appendText("-----------------------------------------------\n");
-            parserErrorTextArea.appendText("No hay errores en el analizador sintactico\n");
-        }
 
         Platform.runLater(() -> {
             // Set content into SwingNode
@@ -198,6 +213,50 @@ public class MainFX extends Application {
             panel.setPreferredSize(viewer.getPreferredSize());
             swingNodeForTree.setContent(scrollPane);
         });
+
+        // A program with syntax errors is not run, as in MainSwing
+        if (parser.getNumberOfSyntaxErrors() > 0) {
+            parserErrorTextArea.appendText("El analizador sintactico encontro: " + parser.getNumberOfSyntaxErrors() + " errores\n");
+            return;
+        }
+
+        Engine.Options options = new Engine.Options();
+        options.setMemoCapacity(memoSpinner.getValue());
+        options.setTrace(traceCheckBox.isSelected());
+        // Print output is appended while the program runs on a background thread
+        options.setOutput(OutputSink.toInterface(outputTextArea::appendText, Platform::runLater));
+        Engine engine = engineComboBox.getValue();
+        compileButton.setDisable(true);
+        Thread runner = new Thread(() -> {
+            try {
+                Engine.Result result = engine.run((gParser.ProgramContext) tree, options);
+                Platform.runLater(() -> showResult(result));
+            } catch (RuntimeException | Error e) {
+                Platform.runLater(() -> semanticErrorTextArea.appendText("\nError: La ejecucion no termino: " + e));
+            } finally {
+                // The button comes back even if the engine failed
+                Platform.runLater(() -> compileButton.setDisable(false));
+            }
+        }, "interprete");
+        runner.setDaemon(true);
+        runner.start();
+    }
+
+
+    private void showResult(Engine.Result result) {
+        for (Diagnostics.Entry entry : result.diagnostics.getEntries()) {
+            semanticErrorTextArea.appendText("\n" + entry); // Each message with its line, when known.
+        }
+
+        semanticErrorTextArea.appendText("\n");
+        semanticErrorTextArea.appendText("\n Tabla de Simbolos Global:\n");
+        semanticErrorTextArea.appendText("-----------------------------------------------\n");
+        for (Map.Entry<String, MyVisitorFX.Symbol> entry : result.symbols.entrySet()) {
+            semanticErrorTextArea.appendText(entry.getKey() + ": " + entry.getValue() + "\n");
+        }
+        semanticErrorTextArea.appendText("-----------------------------------------------\n");
+        semanticErrorTextArea.appendText(result.report);
+        parserErrorTextArea.appendText("No hay errores en el analizador sintactico\n");
     }
 
 
@@ -15,6 +15,7 @@ import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
 
 public class MainSwing extends JFrame {
 
@@ -28,6 +29,10 @@ public class MainSwing extends JFrame {
     private final JPanel semanticTreePanel;
     private final TextLineNumber codeTextNumber;
     private final JButton switchTreeButton;
+    private final JButton compileButton;
+    private final JComboBox<Engine> engineComboBox;
+    private final JSpinner memoSpinner;
+    private final JCheckBox traceCheckBox;
     private String currentTree = "";
 
     public MainSwing() {
@@ -55,7 +60,7 @@ public class MainSwing extends JFrame {
         outputTextArea.setEditable(false);
 
         // Botones.
-        JButton compileButton = new JButton("Compilar");
+        compileButton = new JButton("Compilar");
         compileButton.addActionListener(e -> compileCode()); // Listener para el botón de compilación.
 
         JButton loadButton = new JButton("Cargar Archivo");
@@ -64,6 +69,15 @@ public class MainSwing extends JFrame {
         switchTreeButton = new JButton("Ver Árbol Semántico");
         switchTreeButton.addActionListener(e -> switchTree());
 
+        // Selector del motor de ejecución.
+        engineComboBox = new JComboBox<>(Engine.values());
+
+        // Capacidad de la caché de funciones puras (0 la desactiva).
+        memoSpinner = new JSpinner(new SpinnerNumberModel(MemoCache.DEFAULT_CAPACITY, 0, 1_000_000, 1000));
+
+        // Trazas de ámbitos, declaraciones y asignaciones del visitor (desactivadas por defecto).
+        traceCheckBox = new JCheckBox("Trazas");
+
         // Diseño BorderLayout
         JPanel topPanel = new JPanel(new BorderLayout());
 
@@ -71,6 +85,11 @@ public class MainSwing extends JFrame {
         buttonPanel.add(loadButton);
         buttonPanel.add(compileButton);
         buttonPanel.add(switchTreeButton);
+        buttonPanel.add(new JLabel("Motor:"));
+        buttonPanel.add(engineComboBox);
+        buttonPanel.add(new JLabel("Cache memo:"));
+        buttonPanel.add(memoSpinner);
+        buttonPanel.add(traceCheckBox);
 
         JScrollPane codeScroll = new JScrollPane(codeTextArea);
 
@@ -158,7 +177,7 @@ public class MainSwing extends JFrame {
         outputTextArea.setText("");
 
         CharStream input = CharStreams.fromString(code);
-        gLexer lexer = new gLexer(input);
+        gLexer lexer = new SymbolDictionary().install(new gLexer(input)); // Interna los identificadores.
         CommonTokenStream tokens = new CommonTokenStream(lexer);
         gParser parser = new gParser(tokens);
 
@@ -190,18 +209,47 @@ public class MainSwing extends JFrame {
             return;
         }
 
-        MyVisitorFX visitor = new MyVisitorFX("", "");
-        visitor.visit(tree);
-        semanticErrorTextArea.append(visitor.getErrorOut());
-        outputTextArea.append(visitor.getTextOut());
+        Engine engine = (Engine) engineComboBox.getSelectedItem();
+        Engine.Options options = new Engine.Options();
+        options.setMemoCapacity((Integer) memoSpinner.getValue());
+        options.setTrace(traceCheckBox.isSelected());
+        // La salida se agrega al área a medida que el programa corre en otro hilo.
+        options.setOutput(OutputSink.toInterface(outputTextArea::append, SwingUtilities::invokeLater));
+        compileButton.setEnabled(false);
+        new SwingWorker<Engine.Result, Void>() {
+            @Override
+            protected Engine.Result doInBackground() {
+                return engine.run((gParser.ProgramContext) tree, options);
+            }
+
+            @Override
+            protected void done() {
+                compileButton.setEnabled(true);
+                try {
+                    showResult(get());
+                } catch (InterruptedException | ExecutionException e) {
+                    semanticErrorTextArea.append("\nError: La ejecucion no termino: " + e.getCause());
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Muestra los diagnósticos, la tabla de símbolos y las estadísticas de una ejecución terminada.
+     */
+    private void showResult(Engine.Result result) {
+        for (Diagnostics.Entry entry : result.diagnostics.getEntries()) {
+            semanticErrorTextArea.append("\n" + entry); // Cada mensaje con su línea, si se conoce.
+        }
 
         semanticErrorTextArea.append("\n");
         semanticErrorTextArea.append("\n Tabla de Simbolos Global:\n");
         semanticErrorTextArea.append("-----------------------------------------------\n");
-        for (Map.Entry<String, MyVisitorFX.Symbol> entry : visitor.symbolTableGlobal.entrySet()) {
+        for (Map.Entry<String, MyVisitorFX.Symbol> entry : result.symbols.entrySet()) {
             semanticErrorTextArea.append(entry.getKey() + ": " + entry.getValue() + "\n");
         }
         semanticErrorTextArea.append("-----------------------------------------------\n");
+        semanticErrorTextArea.append(result.report);
         parserErrorTextArea.append("No hay errores en el analizador sintactico\n");
     }
 
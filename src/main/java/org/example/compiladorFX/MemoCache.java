@@ -0,0 +1,124 @@
+package org.example.compiladorFX;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché de resultados de funciones puras (ver {@link PurityAnalysis}), indexada por la función y los valores de
+ * sus argumentos.
+ * <p>
+ * Tiene un máximo de entradas: es un {@link LinkedHashMap} en orden de acceso y al superar la capacidad se desaloja
+ * la entrada usada hace más tiempo (LRU). Lleva la cuenta de aciertos, fallos y desalojos para el reporte.
+ */
+public final class MemoCache {
+
+    /**
+     * Capacidad por defecto, en entradas.
+     */
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    /**
+     * Clave de una llamada: índice de la función y valores de los argumentos en orden.
+     */
+    static final class Key {
+        private final int function;
+        private final Object[] args;
+        private final int hash;
+
+        Key(int function, Object[] args) {
+            this.function = function;
+            this.args = args;
+            this.hash = 31 * function + Arrays.hashCode(args);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return function == key.function && hash == key.hash && Arrays.equals(args, key.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final int capacity;
+    private final LinkedHashMap<Key, Object> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param capacity Cantidad máxima de resultados guardados. Debe ser mayor que cero.
+     */
+    public MemoCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacidad de la cache debe ser mayor que cero");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                if (size() > MemoCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Busca el resultado de una llamada y cuenta el acierto o el fallo.
+     *
+     * @return El resultado guardado o null si no está.
+     */
+    Object get(Key key) {
+        Object value = entries.get(key);
+        if (value == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return value;
+    }
+
+    void put(Key key, Object value) {
+        entries.put(key, value);
+    }
+
+    /**
+     * Vacía la caché y reinicia las estadísticas, para empezar una ejecución nueva.
+     */
+    public void clear() {
+        entries.clear();
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+}
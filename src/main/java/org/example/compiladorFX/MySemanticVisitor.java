@@ -1,13 +1,536 @@
 package org.example.compiladorFX;
 
-import org.abego.treelayout.*;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
 
-public class MySemanticVisitor extends gBaseVisitor<Object> {
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
 
+/**
+ * Chequeo estático de tipos, antes de ejecutar el programa con {@link MyVisitorFX}.
+ * <p>
+ * Resuelve las declaraciones, deduce el tipo de cada expresión con las mismas reglas que el visitor aplica en
+ * ejecución y reporta todos los errores de tipos, también los del código que nunca se ejecuta. Las expresiones
+ * matemáticas valen double, las lógicas boolean y las de texto string; un identificador dentro de una expresión
+ * matemática tiene que ser una variable numérica, igual que en {@link MyVisitorFX#visitFactor}, salvo que la
+ * expresión sea solo esa variable o solo una llamada: entonces vale el tipo de la variable o el de retorno de la
+ * función ({@link MyVisitorFX#visitExpression}).
+ * <p>
+ * El visitor busca las variables con ámbito dinámico: una función ve las variables de quien la llama. Por eso el tipo
+ * de un nombre se conoce solo si todas sus declaraciones (variables, parámetros y funciones) coinciden. Si no hay
+ * errores y todos los nombres tienen un único tipo, el programa queda verificado ({@link #isVerified()}) y el visitor
+ * omite las verificaciones de tipos que este análisis ya garantiza. Lo que depende del valor se sigue comprobando en
+ * ejecución: que un valor para una variable int sea entero y que una variable esté inicializada.
+ */
+public class MySemanticVisitor extends gBaseVisitor<MySemanticVisitor.Type> {
+
+    /**
+     * Tipos del lenguaje.
+     */
+    public enum Type {
+        INT, DOUBLE, BOOLEAN, STRING;
+
+        static Type of(gParser.TypeContext ctx) {
+            if (ctx.INT_TYPE() != null) {
+                return INT;
+            } else if (ctx.DOUBLE_TYPE() != null) {
+                return DOUBLE;
+            } else if (ctx.BOOLEAN_TYPE() != null) {
+                return BOOLEAN;
+            }
+            return STRING;
+        }
+
+        boolean isNumeric() {
+            return this == INT || this == DOUBLE;
+        }
+
+        /**
+         * @return true si un valor de tipo {@code source} se puede guardar en este tipo. Un número con decimales
+         * para int se acepta aquí y se rechaza en ejecución si no es entero.
+         */
+        boolean accepts(Type source) {
+            return this == source || isNumeric() && source.isNumeric();
+        }
+
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Lo que se sabe de un nombre después de leer todas sus declaraciones.
+     */
+    private static final class Name {
+        Type type;            // Tipo de las variables y parámetros con este nombre, null si no hay.
+        Type returnType;      // Tipo de retorno de la función con este nombre, null si no hay.
+        Type[] parameters;
+        boolean conflict;     // Declaraciones con tipos o firmas distintas: el tipo depende de la ejecución.
+
+        boolean isVariable() {
+            return type != null;
+        }
+
+        boolean isFunction() {
+            return returnType != null;
+        }
+    }
+
+    private final Diagnostics diagnostics = new Diagnostics();
+    private SymbolDictionary dictionary = new SymbolDictionary(); // Números de los identificadores.
+    private final List<Name> names = new ArrayList<>();          // Por número de nombre; null si no se declara.
+    private final List<String> conflicts = new ArrayList<>();     // Nombres declarados con tipos distintos.
+    private final Deque<BitSet> blocks = new ArrayDeque<>();      // Nombres declarados en cada bloque abierto.
+    private gParser.Function_declarationContext function;         // Función que se revisa, null en el nivel superior.
+    private int loops;                                            // Ciclos abiertos dentro de la función.
+    private boolean verified;
+
+    /**
+     * Errores de tipos del programa, con su posición.
+     */
+    public Diagnostics getDiagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * @return true si el último programa revisado no tiene errores y todos sus nombres tienen un único tipo.
+     */
+    public boolean isVerified() {
+        return verified;
+    }
+
+    /**
+     * @return Los nombres declarados con tipos o firmas distintas, que se verifican en ejecución.
+     */
+    public List<String> getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Revisa un programa completo.
+     *
+     * @param tree El árbol del programa.
+     * @return true si quedó verificado.
+     */
+    public boolean check(gParser.ProgramContext tree) {
+        diagnostics.clear();
+        names.clear();
+        conflicts.clear();
+        blocks.clear();
+        function = null;
+        loops = 0;
+        collect(tree);
+        for (int id = 0; id < names.size(); id++) {
+            if (names.get(id) != null && names.get(id).conflict) {
+                conflicts.add(dictionary.name(id));
+            }
+        }
+        visit(tree);
+        verified = diagnostics.getErrorCount() == 0 && conflicts.isEmpty();
+        return verified;
+    }
+
+    //---------------------- Declaraciones ----------------------
+
+    /**
+     * Primera pasada: junta los tipos de todas las declaraciones de cada nombre, estén donde estén.
+     */
+    private void collect(ParseTree node) {
+        if (node instanceof gParser.Variable_declarationContext) {
+            gParser.Variable_declarationContext ctx = (gParser.Variable_declarationContext) node;
+            declareVariable(symbolId(ctx.ID(0)), Type.of(ctx.type()));
+        } else if (node instanceof gParser.ParamsContext) {
+            gParser.ParamsContext ctx = (gParser.ParamsContext) node;
+            declareVariable(symbolId(ctx.ID()), Type.of(ctx.type()));
+        } else if (node instanceof gParser.Function_declarationContext) {
+            declareFunction((gParser.Function_declarationContext) node);
+        }
+        for (int i = 0; i < node.getChildCount(); i++) {
+            collect(node.getChild(i));
+        }
+    }
+
+    private void declareVariable(int id, Type type) {
+        Name name = name(id, true);
+        if (name.type == null) {
+            name.type = type;
+        } else if (name.type != type) {
+            name.conflict = true;
+        }
+        name.conflict |= name.isFunction();
+    }
+
+    private void declareFunction(gParser.Function_declarationContext ctx) {
+        Name name = name(symbolId(ctx.ID()), true);
+        Type returnType = Type.of(ctx.type());
+        List<Type> parameters = new ArrayList<>();
+        for (gParser.ParamsContext params = ctx.params(); params != null; params = params.params()) {
+            parameters.add(Type.of(params.type()));
+        }
+        Type[] signature = parameters.toArray(new Type[0]);
+        if (name.returnType == null) {
+            name.returnType = returnType;
+            name.parameters = signature;
+        } else if (name.returnType != returnType || !Arrays.equals(name.parameters, signature)) {
+            name.conflict = true;
+        }
+        name.conflict |= name.isVariable();
+    }
+
+    /**
+     * @param create true para registrar el nombre si todavía no tiene declaraciones.
+     * @return Lo que se sabe del nombre, o null si no se declara en ninguna parte.
+     */
+    private Name name(int id, boolean create) {
+        while (names.size() <= id) {
+            names.add(null);
+        }
+        Name name = names.get(id);
+        if (name == null && create) {
+            name = new Name();
+            names.set(id, name);
+        }
+        return name;
+    }
+
+    /**
+     * Número del identificador. Si el token lo internó un diccionario y el chequeo todavía no tiene nombres, adopta
+     * ese diccionario, como {@link MyVisitorFX}.
+     */
+    private int symbolId(TerminalNode node) {
+        Token token = node.getSymbol();
+        if (dictionary.size() == 0 && token instanceof SymbolDictionary.IdentifierToken
+                && ((SymbolDictionary.IdentifierToken) token).dictionary != null) {
+            dictionary = ((SymbolDictionary.IdentifierToken) token).dictionary;
+        }
+        return dictionary.id(token);
+    }
+
+    private void error(Diagnostics.Code code, ParserRuleContext ctx, String message) {
+        diagnostics.add(Diagnostics.Severity.ERROR, code, ctx.getStart(), message);
+    }
+
+    /**
+     * Tipo de una variable usada en una expresión, reportando si no se declara en ninguna parte.
+     *
+     * @return El tipo, o null si no se conoce.
+     */
+    private Type variable(TerminalNode node, ParserRuleContext ctx) {
+        Name name = name(symbolId(node), false);
+        if (name == null || !name.isVariable()) {
+            error(Diagnostics.Code.UNDECLARED_VARIABLE, ctx, "Error: Variable '" + node.getText() + "' no declarada.");
+            return null;
+        }
+        return name.conflict ? null : name.type;
+    }
+
+    /**
+     * Registra una declaración en el bloque actual, reportando si el bloque ya declara ese nombre.
+     */
+    private void declareInBlock(TerminalNode node, ParserRuleContext ctx) {
+        int id = symbolId(node);
+        if (blocks.peek().get(id)) {
+            error(Diagnostics.Code.REDECLARED_VARIABLE, ctx, "Error: Variable '" + node.getText() + "' ya declarada.");
+        }
+        blocks.peek().set(id);
+    }
+
+    //---------------------- Sentencias ----------------------
 
     @Override
-    public Object visitMath_expression(gParser.Math_expressionContext ctx) {
+    public Type visitProgram(gParser.ProgramContext ctx) {
+        blocks.push(new BitSet());
+        for (gParser.StatementContext stmt : ctx.statement()) {
+            visit(stmt);
+        }
+        blocks.pop();
+        return null;
+    }
 
+    @Override
+    public Type visitVariable_declaration(gParser.Variable_declarationContext ctx) {
+        Type type = Type.of(ctx.type());
+        Type value = null;
+        if (ctx.ID(1) != null) {
+            value = variable(ctx.ID(1), ctx);
+        } else if (ctx.expression() != null) {
+            value = visit(ctx.expression());
+        }
+        declareInBlock(ctx.ID(0), ctx);
+        if (value != null && !type.accepts(value)) {
+            error(Diagnostics.Code.TYPE_MISMATCH, ctx, "Error de tipo: Valor inicial no " + describe(type)
+                    + " para variable " + type + " '" + ctx.ID(0).getText() + "'");
+        }
         return null;
     }
+
+    @Override
+    public Type visitVariable_assign(gParser.Variable_assignContext ctx) {
+        Type value = visit(ctx.expression());
+        Type type = variable(ctx.ID(), ctx);
+        if (type != null && value != null && !type.accepts(value)) {
+            error(Diagnostics.Code.TYPE_MISMATCH, ctx, "Error de tipo: No se puede asignar un valor no "
+                    + describe(type) + " a variable " + type + " '" + ctx.ID().getText() + "'");
+        }
+        return null;
+    }
+
+    @Override
+    public Type visitVariable_update(gParser.Variable_updateContext ctx) {
+        Type type = variable(ctx.ID(), ctx);
+        if (type != null && !type.isNumeric()) {
+            error(Diagnostics.Code.TYPE_MISMATCH, ctx, "Error: La variable '" + ctx.ID().getText()
+                    + "' no es numérica y no se puede usar con operadores de incremento/decremento.");
+        }
+        if (ctx.math_expression() != null) {
+            visit(ctx.math_expression());
+        }
+        return null;
+    }
+
+    @Override
+    public Type visitWhile_loop(gParser.While_loopContext ctx) {
+        visit(ctx.logical_operation());
+        loop(ctx.program());
+        return null;
+    }
+
+    @Override
+    public Type visitDo_while(gParser.Do_whileContext ctx) {
+        loop(ctx.program());
+        visit(ctx.logical_operation());
+        return null;
+    }
+
+    @Override
+    public Type visitFor_loop(gParser.For_loopContext ctx) {
+        blocks.push(new BitSet()); // El ámbito de la variable de control.
+        visit(ctx.variable_declaration());
+        visit(ctx.logical_operation());
+        visit(ctx.variable_update());
+        loop(ctx.program());
+        blocks.pop();
+        return null;
+    }
+
+    /**
+     * Revisa el cuerpo de un ciclo, donde se permiten break y continue.
+     */
+    private void loop(gParser.ProgramContext body) {
+        loops++;
+        visit(body);
+        loops--;
+    }
+
+    @Override
+    public Type visitBreak_statement(gParser.Break_statementContext ctx) {
+        if (loops == 0) {
+            error(Diagnostics.Code.CONTROL_FLOW, ctx, "Error: break fuera de un ciclo.");
+        }
+        return null;
+    }
+
+    @Override
+    public Type visitContinue_statement(gParser.Continue_statementContext ctx) {
+        if (loops == 0) {
+            error(Diagnostics.Code.CONTROL_FLOW, ctx, "Error: continue fuera de un ciclo.");
+        }
+        return null;
+    }
+
+    /**
+     * Verifica que el valor de un return sea del tipo de la función que se revisa.
+     */
+    @Override
+    public Type visitReturn_expression(gParser.Return_expressionContext ctx) {
+        Type value = visit(ctx.expression());
+        if (function == null) {
+            error(Diagnostics.Code.CONTROL_FLOW, ctx, "Error: return fuera de una funcion.");
+            return null;
+        }
+        Type type = Type.of(function.type());
+        if (value != null && !type.accepts(value)) {
+            error(Diagnostics.Code.TYPE_MISMATCH, ctx, "Error de tipo: La funcion '"
+                    + function.ID().getText() + "' debe devolver un valor de tipo " + type);
+        }
+        return null;
+    }
+
+    @Override
+    public Type visitFunction_declaration(gParser.Function_declarationContext ctx) {
+        // Los parámetros y las variables del cuerpo comparten el ámbito de la llamada.
+        blocks.push(new BitSet());
+        for (gParser.ParamsContext params = ctx.params(); params != null; params = params.params()) {
+            declareInBlock(params.ID(), params);
+        }
+        gParser.Function_declarationContext outer = function;
+        int outerLoops = loops;
+        function = ctx;
+        loops = 0;
+        for (gParser.StatementContext stmt : ctx.function_body().statement()) {
+            visit(stmt);
+        }
+        visit(ctx.function_body().return_expression()); // La gramática exige el return final.
+        function = outer;
+        loops = outerLoops;
+        blocks.pop();
+        return null;
+    }
+
+    @Override
+    public Type visitPrint_params(gParser.Print_paramsContext ctx) {
+        Type value = visit(ctx.expression());
+        if (ctx.print_params() == null) {
+            return value;
+        }
+        Type next = visit(ctx.print_params());
+        if (value == null || next == null) {
+            return null;
+        }
+        if (value == Type.STRING || next == Type.STRING) { // Concatenación.
+            return Type.STRING;
+        }
+        if (value.isNumeric() && next.isNumeric()) {       // Suma.
+            return Type.DOUBLE;
+        }
+        error(Diagnostics.Code.TYPE_MISMATCH, ctx, "Error de tipo: Tipos de datos incompatibles para la operación.");
+        return null;
+    }
+
+    //---------------------- Expresiones ----------------------
+
+    @Override
+    public Type visitExpression(gParser.ExpressionContext ctx) {
+        gParser.FactorContext factor = ctx.math_expression() != null ? MyVisitorFX.single(ctx.math_expression()) : null;
+        if (factor != null && factor.ID() != null) { // Solo una variable: vale su tipo.
+            return variable(factor.ID(), factor);
+        } else if (factor != null && factor.function_call() != null) { // Solo una llamada: vale su tipo de retorno.
+            return visit(factor.function_call());
+        }
+        return visit(ctx.getChild(0));
+    }
+
+    @Override
+    public Type visitString_expression(gParser.String_expressionContext ctx) {
+        return Type.STRING;
+    }
+
+    @Override
+    public Type visitMath_expression(gParser.Math_expressionContext ctx) {
+        visitChildren(ctx);
+        return Type.DOUBLE; // El visitor calcula siempre en double.
+    }
+
+    @Override
+    public Type visitFactor(gParser.FactorContext ctx) {
+        if (ctx.ID() != null) {
+            Type type = variable(ctx.ID(), ctx);
+            if (type != null && !type.isNumeric()) {
+                error(Diagnostics.Code.TYPE_MISMATCH, ctx, "Error: Variable '" + ctx.ID().getText()
+                        + "' no es una variable numerica");
+            }
+        } else if (ctx.function_call() != null) {
+            Type type = visit(ctx.function_call());
+            if (type != null && !type.isNumeric()) {
+                error(Diagnostics.Code.TYPE_MISMATCH, ctx, "Error: La funcion '" + ctx.function_call().ID().getText()
+                        + "' no devuelve una variable numerica");
+            }
+        } else if (ctx.math_expression() != null) {
+            visit(ctx.math_expression());
+        }
+        return Type.DOUBLE;
+    }
+
+    @Override
+    public Type visitLogical_operation(gParser.Logical_operationContext ctx) {
+        visitChildren(ctx);
+        return Type.BOOLEAN;
+    }
+
+    @Override
+    public Type visitLogical_factor(gParser.Logical_factorContext ctx) {
+        if (ctx.function_call() != null) {
+            Type type = visit(ctx.function_call());
+            if (type != null && type != Type.BOOLEAN) {
+                error(Diagnostics.Code.TYPE_MISMATCH, ctx, "Error: La funcion '" + ctx.function_call().ID().getText()
+                        + "' no devuelve una variable booleana");
+            }
+        } else {
+            visitChildren(ctx);
+        }
+        return Type.BOOLEAN;
+    }
+
+    @Override
+    public Type visitBoolean(gParser.BooleanContext ctx) {
+        if (ctx.ID() != null) {
+            Type type = variable(ctx.ID(), ctx);
+            if (type != null && type != Type.BOOLEAN) {
+                error(Diagnostics.Code.TYPE_MISMATCH, ctx, "Error: Variable '" + ctx.ID().getText()
+                        + "' no es una variable booleana");
+            }
+        } else {
+            visitChildren(ctx);
+        }
+        return Type.BOOLEAN;
+    }
+
+    /**
+     * Revisa una llamada: que la función exista, la cantidad de argumentos y el tipo de cada uno.
+     *
+     * @return El tipo de retorno, o null si no se conoce.
+     */
+    @Override
+    public Type visitFunction_call(gParser.Function_callContext ctx) {
+        List<Type> arguments = new ArrayList<>();
+        for (gParser.Params_callContext params = ctx.params_call(); params != null; params = params.params_call()) {
+            arguments.add(visit(params.expression()));
+        }
+        Name name = name(symbolId(ctx.ID()), false);
+        String function = ctx.ID().getText();
+        if (name == null || !name.isFunction()) {
+            error(Diagnostics.Code.UNDECLARED_FUNCTION, ctx, "Error: La funcion '" + function + "' no esta declarada.");
+            return null;
+        }
+        if (name.conflict) {
+            return null;
+        }
+        if (name.parameters.length != arguments.size()) {
+            error(Diagnostics.Code.ARGUMENT_COUNT, ctx, "Error: La funcion '" + function + "' recibe "
+                    + name.parameters.length + " argumentos y se llama con " + arguments.size());
+            return name.returnType;
+        }
+        for (int i = 0; i < arguments.size(); i++) {
+            Type argument = arguments.get(i);
+            if (argument != null && !name.parameters[i].accepts(argument)) {
+                error(Diagnostics.Code.TYPE_MISMATCH, ctx, "Error de tipo: El argumento " + (i + 1) + " de la funcion '"
+                        + function + "' no es de tipo " + name.parameters[i]);
+            }
+        }
+        return name.returnType;
+    }
+
+    /**
+     * Describe los valores que acepta un tipo, como en los mensajes del visitor.
+     */
+    private static String describe(Type type) {
+        switch (type) {
+            case INT:
+                return "entero";
+            case DOUBLE:
+                return "numérico";
+            case BOOLEAN:
+                return "booleano";
+            default:
+                return "string";
+        }
+    }
 }
@@ -1,34 +1,304 @@
 package org.example.compiladorFX;
 
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
 import java.util.*;
 
 public class MyVisitorFX extends gBaseVisitor<Object> {
 
+    /**
+     * Devuelve los errores, y las trazas si están activadas, como texto: cada mensaje en una línea nueva.
+     */
     public String getErrorOut() {
-        return errorOut;
+        return errorOut + diagnostics.toText();
+    }
+
+    /**
+     * Errores y trazas de la ejecución, con su código y la posición de la sentencia. Para ver las trazas de ámbitos,
+     * declaraciones y asignaciones hay que fijar el nivel {@link Diagnostics.Severity#TRACE} antes de ejecutar.
+     */
+    public Diagnostics getDiagnostics() {
+        return diagnostics;
     }
 
     public String getTextOut() {
-        return textOut;
+        return textOut + output.getText();
+    }
+
+    public OutputSink getOutput() {
+        return output;
+    }
+
+    /**
+     * Cambia el destino de print. Con un destino que escribe en un {@link java.io.Writer}, la salida se ve a medida
+     * que el programa corre y {@link #getTextOut()} devuelve solo el texto inicial.
+     *
+     * @param output El destino de la salida.
+     */
+    public void setOutput(OutputSink output) {
+        this.output = output;
+    }
+
+    /**
+     * Cantidad de operandos de {@code &&} y {@code ||} que no se evaluaron porque el primero ya decidía el resultado.
+     *
+     * @return Los operandos omitidos desde el inicio de la ejecución.
+     */
+    public long getSkippedOperands() {
+        return skippedOperands;
+    }
+
+    /**
+     * Cantidad de veces que se ejecutó cada llamada del código fuente, en el orden en que aparecen.
+     *
+     * @return Cada sitio como "nombre@linea:columna" con sus invocaciones.
+     */
+    public Map<String, Long> getCallProfile() {
+        List<gParser.Function_callContext> sites = new ArrayList<>(callSites.keySet());
+        sites.sort(Comparator.comparingInt(site -> site.getStart().getTokenIndex()));
+        Map<String, Long> profile = new LinkedHashMap<>();
+        for (gParser.Function_callContext ctx : sites) {
+            CallSite site = callSites.get(ctx);
+            profile.put(site.name + "@" + ctx.getStart().getLine() + ":" + ctx.getStart().getCharPositionInLine(), site.invocations);
+        }
+        return profile;
+    }
+
+    /**
+     * Devuelve la tabla de símbolos global por nombre, en el orden de las declaraciones.
+     */
+    public Map<String, Symbol> getGlobalSymbols() {
+        Map<String, Symbol> symbols = new LinkedHashMap<>();
+        for (int i = 0; i < symbolTableGlobal.size(); i++) {
+            Symbol symbol = symbolTableGlobal.at(i);
+            symbols.put(symbol.name, symbol);
+        }
+        return symbols;
+    }
+
+    public SymbolDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Fija el diccionario de los identificadores. Si no se fija y el árbol se leyó con un diccionario instalado en el
+     * lexer, el visitor adopta ese diccionario en el primer identificador.
+     *
+     * @param dictionary El diccionario con que se leyó el programa.
+     */
+    public void setDictionary(SymbolDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Activa o desactiva la reutilización de los ámbitos. Sin ella cada bloque crea su tabla de símbolos, aunque no
+     * declare variables, y cada variable un símbolo nuevo.
+     *
+     * @param pooled false para medir la diferencia.
+     */
+    public void setPooled(boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    /**
+     * Activa o desactiva el camino rápido de los for con forma de ciclo contado ({@code for (int i = a; i < n; i++)}).
+     * Sin él cada vuelta evalúa la condición y la actualización completas.
+     *
+     * @param counted false para medir la diferencia.
+     */
+    public void setCountedLoops(boolean counted) {
+        this.counted = counted;
     }
 
-    private String errorOut;
-    private String textOut;
+    /**
+     * Indica que {@link MySemanticVisitor} verificó el programa. Las declaraciones, asignaciones, llamadas y retornos
+     * dejan de comprobar el tipo de cada valor; solo se comprueba que no sea null y, para int, que sea entero. Si
+     * algo de eso falla se usa la verificación completa, con sus mensajes de siempre.
+     *
+     * @param verified true solo para un programa que pasó el chequeo estático.
+     */
+    public void setVerified(boolean verified) {
+        this.verified = verified;
+    }
+
+    private final String errorOut; // Texto inicial de los errores.
+    private final Diagnostics diagnostics = new Diagnostics();
+    private Token statement;       // Inicio de la sentencia que se está ejecutando, para la posición de los errores.
+    private final String textOut;  // Texto inicial de la salida.
+    private OutputSink output = new OutputSink();
+    private long skippedOperands; // Operandos lógicos omitidos por el cortocircuito.
+    private boolean pooled = true;
+    private boolean verified;     // El chequeo estático ya garantizó los tipos.
+    private boolean counted = true;
 
     public MyVisitorFX(String errorOut, String textOut) {
         this.errorOut = errorOut;
         this.textOut = textOut;
     }
 
-    // Tabla de símbolos.  Almacena las variables y funciones del programa.
-    Map<String, Symbol> symbolTableGlobal = new HashMap<>(); // Tabla de símbolos global. Almacena variables y funciones globales.
-    Stack<Map<String, Symbol>> symbolTableStack = new Stack<>(); // Pila de tablas de símbolos para manejar los ámbitos locales.
+    // Tabla de símbolos.  Almacena las variables y funciones del programa, por el número de su nombre.
+    Scope symbolTableGlobal = new Scope(0, 0); // Tabla de símbolos global. Almacena variables y funciones globales.
+    Stack<Scope> symbolTableStack = new Stack<>(); // Pila de tablas de símbolos para manejar los ámbitos locales.
+    private SymbolDictionary dictionary = new SymbolDictionary(); // Números de los identificadores.
+
+    // Tablas y símbolos de los ámbitos cerrados, vacíos y listos para reutilizarse. El visitor corre en un solo hilo.
+    private final ArrayDeque<Scope> scopePool = new ArrayDeque<>();
+    private final ArrayDeque<Symbol> symbolPool = new ArrayDeque<>();
+    private final Map<ParserRuleContext, Integer> declarations = new IdentityHashMap<>(); // Variables que declara cada bloque.
+
+    // Sitios de llamada resueltos. Declarar una función o cambiar la tabla global sube la versión y los invalida.
+    private final Map<gParser.Function_callContext, CallSite> callSites = new IdentityHashMap<>();
+    private int functionsVersion;
+
+    // Forma de ciclo contado de cada for, o NOT_COUNTED. Se calcula en la primera ejecución del for.
+    private final Map<gParser.For_loopContext, CountedLoop> countedLoops = new IdentityHashMap<>();
+
+    /**
+     * Cómo terminó la última sentencia. break, continue y return fijan la señal en vez de lanzar una excepción; los
+     * bloques dejan de ejecutar sentencias mientras haya una señal, y los ciclos y las llamadas la consumen.
+     */
+    private enum Completion {
+        NORMAL, BREAK, CONTINUE, RETURN
+    }
+
+    private Completion completion = Completion.NORMAL;
+    private Object returned;           // Valor del último return, hasta que lo recoge la llamada.
+    private FunctionSymbol function;   // Función en ejecución, null en el nivel superior.
+    private int loops;                 // Ciclos abiertos dentro de la función en ejecución.
 
+    /**
+     * Una llamada del código fuente con la función que resolvió y sus argumentos. La función se busca de nuevo solo
+     * si cambió la versión de las declaraciones.
+     */
+    static final class CallSite {
+        final int id;                                // Número del nombre de la función.
+        final String name;
+        final gParser.ExpressionContext[] arguments; // Argumentos de la llamada, ya separados de params_call.
+        FunctionSymbol function;                     // null si todavía no se resolvió.
+        int version;
+        long invocations;
+
+        CallSite(gParser.Function_callContext ctx, int id, String name) {
+            this.id = id;
+            this.name = name;
+            List<gParser.ExpressionContext> list = new ArrayList<>();
+            for (gParser.Params_callContext params = ctx.params_call(); params != null; params = params.params_call()) {
+                list.add(params.expression());
+            }
+            this.arguments = list.toArray(new gParser.ExpressionContext[0]);
+        }
+    }
+
+    /**
+     * Un for de la forma {@code for (int i = a; i OP cota; i++)} o con {@code i--}, donde OP es {@code <}, {@code <=},
+     * {@code >} o {@code >=} y la cota es una expresión de números y variables sin llamadas. El cuerpo no escribe la
+     * variable de control ni las variables de la cota y, si hace llamadas, ninguna función del programa escribe esos
+     * nombres: con el alcance dinámico la función llamada ve las variables del for y las de quien lo ejecuta. Así la
+     * cota se evalúa una sola vez y la variable solo cambia en la actualización.
+     */
+    static final class CountedLoop {
+        final int variable;                        // Número del nombre de la variable de control.
+        final boolean below;                       // < o <=: la variable tiene que quedar debajo de la cota.
+        final boolean inclusive;                   // <= o >=.
+        final long step;                           // 1 para ++, -1 para --.
+        final gParser.Math_expressionContext bound;
+        final int[] names;                         // Variables que lee la cota.
+
+        CountedLoop(int variable, boolean below, boolean inclusive, long step, gParser.Math_expressionContext bound, int[] names) {
+            this.variable = variable;
+            this.below = below;
+            this.inclusive = inclusive;
+            this.step = step;
+            this.bound = bound;
+            this.names = names;
+        }
+
+        boolean test(long counter, double bound) {
+            if (below) {
+                return inclusive ? counter <= bound : counter < bound;
+            }
+            return inclusive ? counter >= bound : counter > bound;
+        }
+    }
+
+    private static final CountedLoop NOT_COUNTED = new CountedLoop(-1, false, false, 0, null, new int[0]);
+
+    /**
+     * Tabla de símbolos de un ámbito, indexada por el número del nombre en el {@link SymbolDictionary}. Guarda además
+     * los números declarados, en orden, para recorrer la tabla y vaciarla sin recorrer todo el arreglo.
+     */
+    static final class Scope {
+        private Symbol[] symbols;
+        private int[] declared;
+        private int size;
+
+        /**
+         * @param names     Cantidad de nombres del diccionario; la tabla crece si aparecen más.
+         * @param variables Cantidad de variables que se esperan declarar.
+         */
+        Scope(int names, int variables) {
+            this.symbols = new Symbol[names];
+            this.declared = new int[Math.max(variables, 4)];
+        }
+
+        Symbol get(int id) {
+            return id < symbols.length ? symbols[id] : null;
+        }
+
+        boolean contains(int id) {
+            return get(id) != null;
+        }
+
+        void put(int id, Symbol symbol) {
+            if (id >= symbols.length) {
+                symbols = Arrays.copyOf(symbols, Math.max(id + 1, symbols.length * 2));
+            }
+            if (symbols[id] == null) {
+                if (size == declared.length) {
+                    declared = Arrays.copyOf(declared, size * 2);
+                }
+                declared[size++] = id;
+            }
+            symbols[id] = symbol;
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * @return El símbolo declarado en la posición {@code index}, en el orden de las declaraciones.
+         */
+        Symbol at(int index) {
+            return symbols[declared[index]];
+        }
+
+        void clear() {
+            for (int i = 0; i < size; i++) {
+                symbols[declared[i]] = null;
+            }
+            size = 0;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder("{");
+            for (int i = 0; i < size; i++) {
+                Symbol symbol = at(i);
+                text.append(i > 0 ? ", " : "").append(symbol.name).append('=').append(symbol);
+            }
+            return text.append('}').toString();
+        }
+    }
 
     /**
      * Clase interna para representar un símbolo (variable).
      */
     public static class Symbol {
+        int id = -1; // Número del nombre en el diccionario del visitor, -1 si lo creó otro motor.
         String name; // Nombre del símbolo.
         String type; // Tipo del símbolo.
         Object value; // Valor del símbolo.
@@ -62,15 +332,20 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
      */
     public static class FunctionSymbol extends Symbol {
         List<Symbol> parameters; // Lista de parámetros de la función.
-        gParser.ProgramContext program; // Contexto del programa de la función.
-        gParser.Return_expressionContext returnExpression; // Contexto de la expresión de retorno.
+        final boolean[] integerParameters; // Parámetros int, que en ejecución tienen que recibir valores enteros.
+        final boolean integerReturn;
+        gParser.Function_bodyContext body; // Cuerpo de la función, que termina con el return.
 
         // Constructor.
-        public FunctionSymbol(String name, String type, List<Symbol> parameters, gParser.ProgramContext program, gParser.Return_expressionContext returnExpression) {
+        public FunctionSymbol(String name, String type, List<Symbol> parameters, gParser.Function_bodyContext body) {
             super(name, type);
             this.parameters = parameters;
-            this.program = program;
-            this.returnExpression = returnExpression;
+            this.body = body;
+            this.integerParameters = new boolean[parameters.size()];
+            for (int i = 0; i < parameters.size(); i++) {
+                integerParameters[i] = "int".equals(parameters.get(i).type);
+            }
+            this.integerReturn = "int".equals(type);
         }
 
         @Override
@@ -84,106 +359,121 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
      * Obtiene el valor de una variable de la tabla de símbolos.
      * Busca primero en los ámbitos locales y luego en el global.
      *
-     * @param id El nombre de la variable.
+     * @param id El número del nombre de la variable.
      * @return El valor de la variable o null si no se encuentra.
      */
-    public Object getTableValue(String id) {
-        for (int i = symbolTableStack.size() - 1; i >= 0; i--) {  // Recorre los ámbitos locales desde el más interno.
-            Map<String, Symbol> currentScope = symbolTableStack.get(i);
-            if (currentScope.containsKey(id)) { // Si la variable existe en el ámbito actual.
-                return currentScope.get(id).value; // Devuelve el valor de la variable.
-            }
+    public Object getTableValue(int id) {
+        Symbol symbol = findSymbol(id);
+        if (symbol != null) {
+            return symbol.value; // Devuelve el valor de la variable.
         }
-        if (symbolTableGlobal.containsKey(id)) {  // Si no se encontró en ámbitos locales, busca en el global.
-            return symbolTableGlobal.get(id).value; // Devuelve el valor de la variable global.
-        }
-        errorOut += "\n" + ("variable " + id + " no declarada"); // Error si la variable no se encuentra.
+        error(Diagnostics.Code.UNDECLARED_VARIABLE, "variable " + dictionary.name(id) + " no declarada"); // Error si la variable no se encuentra.
         return null;
     }
 
+    /**
+     * Obtiene el valor de una variable por su nombre.
+     *
+     * @param name El nombre de la variable.
+     * @return El valor de la variable o null si no se encuentra.
+     */
+    public Object getTableValue(String name) {
+        return getTableValue(dictionary.intern(name));
+    }
+
     /**
      * Obtiene el símbolo (objeto Symbol) de una variable de la tabla de símbolos.
      *
-     * @param id El nombre de la variable.
+     * @param id El número del nombre de la variable.
      * @return El objeto Symbol o null si no se encuentra.
      */
-    Symbol getTableSymbol(String id) {
-        for (int i = symbolTableStack.size() - 1; i >= 0; i--) {  // Busca en ámbitos locales.
-            Map<String, Symbol> currentScope = symbolTableStack.get(i);
-            if (currentScope.containsKey(id)) {
-                return currentScope.get(id);
-            }
-        }
-        if (symbolTableGlobal.containsKey(id)) {  // Busca en el ámbito global.
-            return symbolTableGlobal.get(id);
+    Symbol getTableSymbol(int id) {
+        Symbol symbol = findSymbol(id);
+        if (symbol == null) {
+            error(Diagnostics.Code.UNDECLARED_VARIABLE, "variable " + dictionary.name(id) + " no declarada"); // Error si no se encuentra.
         }
-        errorOut += "\n" + ("variable " + id + " no declarada"); // Error si no se encuentra.
-        return null;
+        return symbol;
     }
 
     /**
      * Obtiene el tipo de una variable de la tabla de símbolos.
      *
-     * @param id El nombre de la variable.
+     * @param id El número del nombre de la variable.
      * @return El tipo de la variable o null si no se encuentra.
      */
-    String getTableType(String id) {
-        for (int i = symbolTableStack.size() - 1; i >= 0; i--) {  // Busca en ámbitos locales.
-            Map<String, Symbol> currentScope = symbolTableStack.get(i);
-            if (currentScope.containsKey(id)) {
-                return currentScope.get(id).type;
-            }
-        }
-        if (symbolTableGlobal.containsKey(id)) {  // Busca en el ámbito global.
-            return symbolTableGlobal.get(id).type;
+    String getTableType(int id) {
+        Symbol symbol = findSymbol(id);
+        if (symbol != null) {
+            return symbol.type;
         }
-        errorOut += "\n" + ("variable " + id + " no declarada"); // Error si no se encuentra.
+        error(Diagnostics.Code.UNDECLARED_VARIABLE, "variable " + dictionary.name(id) + " no declarada"); // Error si no se encuentra.
         return null;
     }
 
+    /**
+     * Busca un símbolo en los ámbitos locales, del más interno al más externo, y luego en el global.
+     *
+     * @return El símbolo o null si no se encuentra.
+     */
+    private Symbol findSymbol(int id) {
+        for (int i = symbolTableStack.size() - 1; i >= 0; i--) {
+            Symbol symbol = symbolTableStack.get(i).get(id);
+            if (symbol != null) {
+                return symbol;
+            }
+        }
+        return symbolTableGlobal.get(id);
+    }
+
     /**
      * Declara una variable en la tabla de símbolos del ámbito actual.
      *
-     * @param id    El nombre de la variable.
+     * @param id    El número del nombre de la variable.
      * @param type  El tipo de la variable.
      * @param value El valor inicial de la variable.
      */
-    void declareInTable(String id, String type, Object value) {
-        Map<String, Symbol> currentScope = symbolTableStack.peek(); // Obtiene el ámbito actual.
-        if (currentScope.containsKey(id)) { // Verifica si ya existe una variable con el mismo nombre en el ámbito actual.
-            errorOut += "\n" + ("Variable " + id + " already declared in this scope or globally."); // Error si ya está declarada.
+    void declareInTable(int id, String type, Object value) {
+        Scope currentScope = symbolTableStack.peek(); // Obtiene el ámbito actual.
+        if (currentScope.contains(id)) { // Verifica si ya existe una variable con el mismo nombre en el ámbito actual.
+            error(Diagnostics.Code.REDECLARED_VARIABLE, "Variable " + dictionary.name(id) + " already declared in this scope or globally."); // Error si ya está declarada.
         } else {
-            currentScope.put(id, new Symbol(id, type, value)); // Agrega la variable al ámbito actual.
+            currentScope.put(id, newSymbol(id, type, value)); // Agrega la variable al ámbito actual.
         }
     }
 
     /**
      * Actualiza el valor de una variable en la tabla de símbolos.
      *
-     * @param id    El nombre de la variable.
+     * @param id    El número del nombre de la variable.
      * @param value El nuevo valor de la variable.
      */
-    void updateTable(String id, Object value) {
-        for (int i = symbolTableStack.size() - 1; i >= 0; i--) { // Busca en ámbitos locales.
-            Map<String, Symbol> currentScope = symbolTableStack.get(i);
-            if (currentScope.containsKey(id)) {
-                currentScope.get(id).value = value; // Actualiza el valor.
-                return;
-            }
-        }
-        if (symbolTableGlobal.containsKey(id)) { // Busca en el ámbito global.
-            symbolTableGlobal.get(id).value = value; // Actualiza el valor global.
+    void updateTable(int id, Object value) {
+        Symbol symbol = findSymbol(id);
+        if (symbol != null) {
+            symbol.value = value; // Actualiza el valor.
             return;
         }
-        errorOut += "\n" + ("variable " + id + " no declarada"); // Error si no se encuentra.
+        error(Diagnostics.Code.UNDECLARED_VARIABLE, "variable " + dictionary.name(id) + " no declarada"); // Error si no se encuentra.
     }
 
     /**
      * Entra en un nuevo ámbito. Crea una nueva tabla de símbolos para el ámbito local.
      */
     public void enterScope() {
-        errorOut += "\n" + ("Entering Scope");
-        symbolTableStack.push(new HashMap<>()); // Agrega una nueva tabla de símbolos a la pila.
+        enterScope(0);
+    }
+
+    /**
+     * Entra en un nuevo ámbito para {@code size} variables. La tabla sale de las reutilizables si hay una.
+     *
+     * @param size Cantidad de variables que se declaran en el ámbito.
+     */
+    void enterScope(int size) {
+        if (diagnostics.isTracing()) {
+            trace(Diagnostics.Code.SCOPE, "Entering Scope");
+        }
+        Scope scope = pooled ? scopePool.poll() : null;
+        symbolTableStack.push(scope != null ? scope : new Scope(dictionary.size(), size)); // Agrega una nueva tabla de símbolos a la pila.
     }
 
     /**
@@ -191,44 +481,153 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
      */
     public void exitScope() {
         if (symbolTableStack.size() > 1) { // Verifica que no se esté saliendo del ámbito global.
-            errorOut += "\n" + ("Exiting Scope");
-            Map<String, Symbol> leavingScope = symbolTableStack.pop(); // Elimina la tabla de símbolos del ámbito actual.
-
-            System.out.println("Variables leaving scope: " + leavingScope); // Imprime las variables que salen del ámbito.
-
+            if (diagnostics.isTracing()) {
+                trace(Diagnostics.Code.SCOPE, "Exiting Scope");
+            }
+            Scope leavingScope = symbolTableStack.pop(); // Elimina la tabla de símbolos del ámbito actual.
+            if (Trace.SCOPE) {
+                Trace.log(Trace.Category.SCOPE, "Variables leaving scope: " + leavingScope); // Las variables que salen del ámbito.
+            }
+            if (pooled) { // Los símbolos y la tabla ya no se usan: se vacían para el próximo ámbito.
+                for (int i = 0; i < leavingScope.size(); i++) {
+                    Symbol symbol = leavingScope.at(i);
+                    symbol.value = null;
+                    symbolPool.push(symbol);
+                }
+                leavingScope.clear();
+                scopePool.push(leavingScope);
+            }
         } else {
             symbolTableGlobal = symbolTableStack.pop(); // Vacia la pila y retorna a la tabla de símbolos global.
-            errorOut += "\nCannot exit global scope";  // No se puede salir del ámbito global.
+            functionsVersion++; // Las funciones de la tabla anterior ya no se encuentran.
+            if (diagnostics.isTracing()) {
+                trace(Diagnostics.Code.SCOPE, "Cannot exit global scope"); // No se puede salir del ámbito global.
+            }
         }
 
     }
 
+    /**
+     * Número del identificador. Si el token lo internó un diccionario y el visitor todavía no tiene nombres, adopta
+     * ese diccionario; si el token es de otro diccionario, interna su texto.
+     */
+    private int symbolId(TerminalNode node) {
+        Token token = node.getSymbol();
+        if (dictionary.size() == 0 && token instanceof SymbolDictionary.IdentifierToken
+                && ((SymbolDictionary.IdentifierToken) token).dictionary != null) {
+            dictionary = ((SymbolDictionary.IdentifierToken) token).dictionary;
+        }
+        return dictionary.id(token);
+    }
+
+    /**
+     * Reporta un error en la sentencia actual.
+     */
+    private void error(Diagnostics.Code code, String message) {
+        diagnostics.add(Diagnostics.Severity.ERROR, code, statement, message);
+    }
+
+    /**
+     * Guarda una traza de la sentencia actual. Quien llama verifica antes {@link Diagnostics#isTracing()}, así que
+     * con las trazas desactivadas el mensaje ni se arma.
+     */
+    private void trace(Diagnostics.Code code, String message) {
+        diagnostics.add(Diagnostics.Severity.TRACE, code, statement, message);
+    }
+
+    /**
+     * Marca la entrada a un bloque que no declara variables. Deja las mismas trazas que {@link #enterScope()} pero no
+     * crea la tabla: las búsquedas siguen en el ámbito de afuera.
+     */
+    private void enterEmptyScope() {
+        if (diagnostics.isTracing()) {
+            trace(Diagnostics.Code.SCOPE, "Entering Scope");
+        }
+    }
+
+    /**
+     * Marca la salida de un bloque que no declara variables, con las mismas trazas que {@link #exitScope()}.
+     */
+    private void exitEmptyScope() {
+        if (diagnostics.isTracing()) {
+            trace(Diagnostics.Code.SCOPE, "Exiting Scope");
+        }
+        if (Trace.SCOPE) {
+            Trace.log(Trace.Category.SCOPE, "Variables leaving scope: {}");
+        }
+    }
+
+    /**
+     * Crea un símbolo de variable, reutilizando uno de un ámbito cerrado si hay.
+     */
+    private Symbol newSymbol(int id, String type, Object value) {
+        Symbol symbol = symbolPool.poll();
+        if (symbol == null) {
+            symbol = new Symbol(dictionary.name(id), type, value);
+            symbol.id = id;
+            return symbol;
+        }
+        symbol.id = id;
+        symbol.name = dictionary.name(id);
+        symbol.type = type;
+        symbol.value = value;
+        return symbol;
+    }
+
+    /**
+     * Cuenta las declaraciones de variables directas del bloque, sin las de los bloques internos. El resultado se
+     * guarda por bloque: el árbol no cambia durante la ejecución.
+     */
+    private int declarations(ParserRuleContext ctx) {
+        Integer count = declarations.get(ctx);
+        if (count == null) {
+            count = 0;
+            for (gParser.StatementContext stmt : ctx.getRuleContexts(gParser.StatementContext.class)) {
+                if (stmt.variable_declaration() != null) {
+                    count++;
+                }
+            }
+            declarations.put(ctx, count);
+        }
+        return count;
+    }
+
     /**
      * Verifica si una variable está definida en algún ámbito (local o global).
      *
-     * @param id El nombre de la variable.
+     * @param id El número del nombre de la variable.
      * @return true si la variable está definida, false en caso contrario.
      */
-    boolean isDefined(String id) {
-        // Busca en ámbitos locales del más interno al más externo.
-        for (int i = symbolTableStack.size() - 1; i >= 0; i--) {
-            if (symbolTableStack.get(i).containsKey(id)) {
-                return true;
-            }
-        }
-        // Si no se encuentra localmente, busca en el ámbito global.
-        return symbolTableGlobal.containsKey(id);
+    boolean isDefined(int id) {
+        return findSymbol(id) != null; // Busca en los ámbitos locales y, si no está, en el global.
     }
 
     /**
      * Verifica si una variable está definida en el ámbito local actual.
      *
-     * @param id El nombre de la variable.
+     * @param id El número del nombre de la variable.
      * @return true si la variable está definida localmente, false en caso contrario.
      */
-    boolean isLocallyDefined(String id) {
-        Map<String, Symbol> currentScope = symbolTableStack.peek(); // Obtiene el ámbito actual.
-        return currentScope.containsKey(id);  // Verifica si la variable existe en el ámbito actual.
+    boolean isLocallyDefined(int id) {
+        return symbolTableStack.peek().contains(id);  // Verifica si la variable existe en el ámbito actual.
+    }
+
+    /**
+     * Verificación rápida de un programa verificado: el tipo ya lo garantizó el chequeo estático, solo queda lo que
+     * depende del valor.
+     *
+     * @param integer true si el destino es int.
+     * @param value   El valor a guardar.
+     * @return true si el valor sirve sin más verificaciones; false si hay que usar la verificación completa.
+     */
+    private boolean fits(boolean integer, Object value) {
+        if (!verified || value == null) {
+            return false;
+        }
+        if (!integer || value instanceof Integer) {
+            return true;
+        }
+        return value instanceof Number && ((Number) value).doubleValue() == Math.rint(((Number) value).doubleValue());
     }
 
     /**
@@ -271,7 +670,7 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
                     return false; // No debería ocurrir.
             }
         } else { // Error de tipos.
-            errorOut += "\n" + ("Error de tipos en comparacion : " + left + " " + operator + " " + right);
+            error(Diagnostics.Code.TYPE_MISMATCH, "Error de tipos en comparacion : " + left + " " + operator + " " + right);
             return false;
         }
     }
@@ -279,16 +678,17 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
     /**
      * Evalúa la compatibilidad de tipos en una asignación.
      *
-     * @param id    El nombre de la variable.
-     * @param value El valor a asignar.
+     * @param symbol El número del nombre de la variable.
+     * @param value  El valor a asignar.
      * @return true si los tipos son compatibles, false en caso contrario.
      */
-    boolean checkAssignmentCompatibility(String id, Object value) {
-        if (!isDefined(id)) {
+    boolean checkAssignmentCompatibility(int symbol, Object value) {
+        if (!isDefined(symbol)) {
             return true; // Maneja el caso de id no definido primero. Retorna true para evitar NullPointerException.  Debería manejarse en otro lugar.
         }
 
-        String varType = getTableType(id); // Obtiene el tipo de la variable.
+        String id = dictionary.name(symbol); // El nombre, para los mensajes.
+        String varType = getTableType(symbol); // Obtiene el tipo de la variable.
 
         switch (varType) {
             case "int":
@@ -297,7 +697,7 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
                     if (value instanceof Number && ((Number) value).doubleValue() == Math.rint(((Number) value).doubleValue())) {
                         return true;
                     } else {
-                        errorOut += "\n" + ("Error de tipo: No se puede asignar un valor no entero a variable int '" + id + "'");
+                        error(Diagnostics.Code.TYPE_MISMATCH, "Error de tipo: No se puede asignar un valor no entero a variable int '" + id + "'");
                         return false;
                     }
                 }
@@ -306,27 +706,29 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
             case "double":
                 // Permite asignar Integer o Double a double.
                 if (!(value instanceof Double || value instanceof Integer)) {
-                    errorOut += "\n" + ("Error de tipo: No se puede asignar un valor no numérico a variable double '" + id + "'");
+                    error(Diagnostics.Code.TYPE_MISMATCH, "Error de tipo: No se puede asignar un valor no numérico a variable double '" + id + "'");
                     return false;
                 }
                 return true;
 
             case "string":
                 if (!(value instanceof String)) {
-                    errorOut += "\n" + ("Error de tipo: No se puede asignar un valor no string a variable string '" + id + "'");
+                    error(Diagnostics.Code.TYPE_MISMATCH, "Error de tipo: No se puede asignar un valor no string a variable string '" + id + "'");
                     return false;
                 }
                 return true;
 
             case "boolean":
                 if (!(value instanceof Boolean)) {
-                    errorOut += "\n" + ("Error de tipo: No se puede asignar un valor no booleano a variable booleana '" + id + "'");
+                    error(Diagnostics.Code.TYPE_MISMATCH, "Error de tipo: No se puede asignar un valor no booleano a variable booleana '" + id + "'");
                     return false;
                 }
                 return true;
 
             default:  // Maneja otros tipos o el caso predeterminado según sea necesario.
-                System.out.println("checkAssignmentCompatibility - tipo recibido invalido");
+                if (Trace.ASSIGNMENT) {
+                    Trace.log(Trace.Category.ASSIGNMENT, "checkAssignmentCompatibility - tipo recibido invalido");
+                }
                 return false;
         }
     }
@@ -334,14 +736,15 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
     /**
      * Método para evaluar tipo en declaraciones.  Verifica si el tipo del valor inicial es compatible con el tipo declarado.
      *
-     * @param id    El nombre de la variable.
-     * @param type  El tipo declarado de la variable.
-     * @param value El valor inicial.
+     * @param symbol El número del nombre de la variable.
+     * @param type   El tipo declarado de la variable.
+     * @param value  El valor inicial.
      * @return true si los tipos son compatibles, false en caso contrario.
      */
-    boolean checkDeclarationCompatibility(String id, String type, Object value) {
-        if (isLocallyDefined(id)) {
-            errorOut += "\n" + ("Error: la variable '" + id + "' ya está declarada.");
+    boolean checkDeclarationCompatibility(int symbol, String type, Object value) {
+        String id = dictionary.name(symbol); // El nombre, para los mensajes.
+        if (isLocallyDefined(symbol)) {
+            error(Diagnostics.Code.REDECLARED_VARIABLE, "Error: la variable '" + id + "' ya está declarada.");
             return false; // La variable ya está declarada.
         }
 
@@ -352,7 +755,7 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
                     if (value instanceof Number && ((Number) value).doubleValue() == Math.rint(((Number) value).doubleValue())) {
                         return true; // Permite doubles/floats con valor entero.
                     } else {
-                        errorOut += "\n" + ("Error de tipo: Valor inicial no entero para variable int '" + id + "'");
+                        error(Diagnostics.Code.TYPE_MISMATCH, "Error de tipo: Valor inicial no entero para variable int '" + id + "'");
                         return false;
                     }
                 }
@@ -360,27 +763,29 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
 
             case "double":
                 if (value != null && !(value instanceof Double || value instanceof Integer)) {
-                    errorOut += "\n" + ("Error de tipo: Valor inicial no numérico para variable double '" + id + "'");
+                    error(Diagnostics.Code.TYPE_MISMATCH, "Error de tipo: Valor inicial no numérico para variable double '" + id + "'");
                     return false;
                 }
                 return true;
 
             case "string":
                 if (value != null && !(value instanceof String)) {
-                    errorOut += "\n" + ("Error de tipo: Valor inicial no string para variable string '" + id + "'");
+                    error(Diagnostics.Code.TYPE_MISMATCH, "Error de tipo: Valor inicial no string para variable string '" + id + "'");
                     return false;
                 }
                 return true;
 
             case "boolean":
                 if (value != null && !(value instanceof Boolean)) {
-                    errorOut += "\n" + ("Error de tipo: Valor inicial no booleano para variable boolean '" + id + "'");
+                    error(Diagnostics.Code.TYPE_MISMATCH, "Error de tipo: Valor inicial no booleano para variable boolean '" + id + "'");
                     return false;
                 }
                 return true;
 
             default:
-                System.out.println("checkDeclarationCompatibility - tipo recibido inválido");
+                if (Trace.ASSIGNMENT) {
+                    Trace.log(Trace.Category.ASSIGNMENT, "checkDeclarationCompatibility - tipo recibido inválido");
+                }
                 return false;
         }
     }
@@ -397,14 +802,43 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
      */
     @Override
     public Object visitProgram(gParser.ProgramContext ctx) {
-        enterScope();
+        int size = declarations(ctx);
+        // El programa completo siempre abre el ámbito global; un bloque sin declaraciones no necesita tabla.
+        boolean scoped = size > 0 || symbolTableStack.isEmpty() || !pooled;
+        if (scoped) {
+            enterScope(size);
+        } else {
+            enterEmptyScope();
+        }
         for (gParser.StatementContext stmt : ctx.statement()) {
             visit(stmt); // Visita cada sentencia del programa.
+            if (completion != Completion.NORMAL) { // break, continue o return: el resto del bloque no se ejecuta.
+                break;
+            }
+        }
+        if (scoped) {
+            exitScope();
+        } else {
+            exitEmptyScope();
         }
-        exitScope();
         return null;
     }
 
+    /**
+     * Visita una sentencia y recuerda dónde empieza, para la posición de los errores que reporte.
+     *
+     * @param ctx El contexto de la sentencia.
+     * @return El valor de la sentencia.
+     */
+    @Override
+    public Object visitStatement(gParser.StatementContext ctx) {
+        Token saved = statement;
+        statement = ctx.getStart();
+        Object result = visitChildren(ctx);
+        statement = saved;
+        return result;
+    }
+
     /**
      * Visita una declaración de variable. Declara la variable en la tabla de símbolos con su tipo y valor inicial (si existe).
      *
@@ -413,41 +847,71 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
      */
     @Override
     public Object visitVariable_declaration(gParser.Variable_declarationContext ctx) {
-        String id = ctx.ID(0).getText(); // Obtiene el nombre de la variable.
+        int id = symbolId(ctx.ID(0)); // Obtiene el número del nombre de la variable.
         String type = ctx.type().getText(); // Obtiene el tipo de la variable.
 
         if (isLocallyDefined(id)) { // Verifica si la variable ya está declarada en el ámbito local.
-            errorOut += "\n" + ("Error: Variable '" + id + "' ya declarada.");
+            error(Diagnostics.Code.REDECLARED_VARIABLE, "Error: Variable '" + dictionary.name(id) + "' ya declarada.");
         } else {
             if (ctx.ID(1) != null) { // Declaración con asignación de otra variable
-                String id2 = ctx.ID(1).getText();
+                int id2 = symbolId(ctx.ID(1));
                 if (!isDefined(id2)) { // Verifica si la variable a asignar existe.
-                    errorOut += "\n" + ("Error: Variable '" + id2 + "' no declarada.");
+                    error(Diagnostics.Code.UNDECLARED_VARIABLE, "Error: Variable '" + dictionary.name(id2) + "' no declarada.");
                     return null;
                 } else {
                     Object value2 = getTableValue(id2); // Obtiene el valor de la variable a asignar.
-                    if (checkDeclarationCompatibility(id, type, value2)) { // Verifica la compatibilidad de tipos.
+                    if (fits(ctx.type().INT_TYPE() != null, value2) || checkDeclarationCompatibility(id, type, value2)) { // Verifica la compatibilidad de tipos.
                         declareInTable(id, type, value2); // Declara la variable.
-                        errorOut += "\n" + ("Declaración de variable: " + symbolTableStack.peek().get(id));
+                        if (diagnostics.isTracing()) {
+                            trace(Diagnostics.Code.DECLARATION, "Declaración de variable: " + symbolTableStack.peek().get(id));
+                        }
                     }
                     return null;
                 }
             }
             if (ctx.expression() != null) { // Declaración con inicialización (expression no es nula).
                 Object value = visit(ctx.expression()); // Evalúa la expresión de inicialización.
-                if (checkDeclarationCompatibility(id, type, value)) { // Verifica la compatibilidad de tipos.
+                if (fits(ctx.type().INT_TYPE() != null, value) || checkDeclarationCompatibility(id, type, value)) { // Verifica la compatibilidad de tipos.
                     declareInTable(id, type, value); // Declara la variable.
-                    errorOut += "\n" + ("Declaración de variable: " + symbolTableStack.peek().get(id));
+                    if (diagnostics.isTracing()) {
+                        trace(Diagnostics.Code.DECLARATION, "Declaración de variable: " + symbolTableStack.peek().get(id));
+                    }
                 }
                 return null;
             }
             // Declaración sin inicialización.
             declareInTable(id, type, null); // Declara la variable sin valor inicial.
-            errorOut += "\n" + ("Declaración de variable: " + symbolTableStack.peek().get(id));
+            if (diagnostics.isTracing()) {
+                trace(Diagnostics.Code.DECLARATION, "Declaración de variable: " + symbolTableStack.peek().get(id));
+            }
         }
         return null;
     }
 
+    /**
+     * Visita una expresión. Una expresión que es solo una variable o solo una llamada vale lo que guarda la variable
+     * o lo que devuelve la función, también si es un string o un boolean: el parser la lee como expresión matemática,
+     * pero {@code print(t)} o {@code u = t} con un string t copian el texto, igual que en {@link AstLowering}.
+     * Cualquier otra expresión matemática sigue siendo numérica.
+     *
+     * @param ctx El contexto de la expresión.
+     * @return El valor de la expresión.
+     */
+    @Override
+    public Object visitExpression(gParser.ExpressionContext ctx) {
+        gParser.FactorContext factor = ctx.math_expression() != null ? single(ctx.math_expression()) : null;
+        if (factor != null && factor.function_call() != null) {
+            return visit(factor.function_call());
+        }
+        if (factor != null && factor.ID() != null) {
+            Symbol symbol = findSymbol(symbolId(factor.ID()));
+            if (symbol != null && (symbol.value instanceof String || symbol.value instanceof Boolean)) {
+                return symbol.value;
+            }
+        }
+        return visit(ctx.getChild(0));
+    }
+
     /**
      * Visita una expresión de cadena. Concatena las cadenas y devuelve el resultado.
      *
@@ -490,7 +954,7 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
                     value = ((Number) value).intValue() + ((Number) nextValue).intValue();
                 }
             } else { // Error de tipos incompatibles.
-                throw new RuntimeException("Tipos de datos incompatibles para la operación.");
+                throw new ExecutionError("Tipos de datos incompatibles para la operación.");
             }
         }
 
@@ -507,55 +971,60 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
      */
     @Override
     public Object visitVariable_update(gParser.Variable_updateContext ctx) {
-        String id = ctx.ID().getText(); // Obtiene el nombre de la variable.
+        int id = symbolId(ctx.ID()); // Obtiene el número del nombre de la variable.
         Symbol symbol = getTableSymbol(id); // Obtiene el símbolo de la variable.
 
         if (symbol == null) { // Error si la variable no está declarada.
-            errorOut += "\n" + ("Error: Variable '" + id + "' no declarada.");
+            error(Diagnostics.Code.UNDECLARED_VARIABLE, "Error: Variable '" + dictionary.name(id) + "' no declarada.");
             return null;
         }
 
         if (!(symbol.value instanceof Number)) {
-            errorOut += "\n" + ("Error: La variable '" + id + "' no es numérica y no se puede usar con operadores de incremento/decremento.");
+            error(Diagnostics.Code.TYPE_MISMATCH, "Error: La variable '" + dictionary.name(id) + "' no es numérica y no se puede usar con operadores de incremento/decremento.");
             return null;
         }
 
-        Number currentValue = (Number) symbol.value; // Obtiene el valor actual de la variable.
+        double currentValue = ((Number) symbol.value).doubleValue(); // Obtiene el valor actual de la variable.
+        double result;
 
         String operator = ctx.getChild(1).getText(); // Obtiene el operador.
 
         switch (operator) {
             case "++":
-                symbol.value = currentValue.doubleValue() + 1;
+                result = currentValue + 1;
                 break;
             case "--":
-                symbol.value = currentValue.doubleValue() - 1;
+                result = currentValue - 1;
                 break;
             case "+=": // Suma y asigna.
                 Object exprValueAdd = visit(ctx.math_expression());
                 if (exprValueAdd instanceof Number) {
-                    symbol.value = currentValue.doubleValue() + ((Number) exprValueAdd).doubleValue();
+                    result = currentValue + ((Number) exprValueAdd).doubleValue();
                 } else { // Error si la expresión no es numérica.
-                    errorOut += "\n" + ("Error: La expresión en la asignación += debe ser numérica.");
+                    error(Diagnostics.Code.TYPE_MISMATCH, "Error: La expresión en la asignación += debe ser numérica.");
                     return null;
                 }
                 break;
             case "-=": // Resta y asigna.
                 Object exprValueSubtract = visit(ctx.math_expression());
                 if (exprValueSubtract instanceof Number) {
-                    symbol.value = currentValue.doubleValue() - ((Number) exprValueSubtract).doubleValue();
+                    result = currentValue - ((Number) exprValueSubtract).doubleValue();
                 } else {  // Error si la expresión no es numérica.
-                    errorOut += "\n" + ("Error: La expresión en la asignación -= debe ser numérica.");
+                    error(Diagnostics.Code.TYPE_MISMATCH, "Error: La expresión en la asignación -= debe ser numérica.");
                     return null;
                 }
                 break;
 
             default: // Operador no soportado.
-                errorOut += "\n" + ("Error: Operador '" + operator + "' no soportado.");
+                error(Diagnostics.Code.UNSUPPORTED_OPERATOR, "Error: Operador '" + operator + "' no soportado.");
                 return null;
         }
 
-        errorOut += "\n" + ("Actualización de variable: " + symbol); // Imprime la actualización de la variable.
+        symbol.value = result; // Sin verificar el tipo: 'int x = 9; x += 0.5;' deja 9.5 en x.
+
+        if (diagnostics.isTracing()) { // Imprime la actualización de la variable.
+            trace(Diagnostics.Code.UPDATE, "Actualización de variable: " + symbol);
+        }
         return null;
     }
 
@@ -567,15 +1036,33 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
      */
     @Override
     public Object visitVariable_assign(gParser.Variable_assignContext ctx) {
-        String id = ctx.ID().getText(); // Obtiene el nombre de la variable.
+        int id = symbolId(ctx.ID()); // Obtiene el número del nombre de la variable.
         Object value = visit(ctx.expression()); // Evalúa la expresión del lado derecho.
 
+        if (verified) { // Una sola búsqueda: el tipo ya está verificado.
+            Symbol symbol = findSymbol(id);
+            if (symbol != null && fits("int".equals(symbol.type), value)) {
+                symbol.value = value;
+                if (Trace.ASSIGNMENT) {
+                    Trace.log(Trace.Category.ASSIGNMENT, dictionary.name(id) + " = " + value);
+                }
+                if (diagnostics.isTracing()) {
+                    trace(Diagnostics.Code.ASSIGNMENT, "Asignación de variable: " + symbol.name + " = " + value);
+                }
+                return null;
+            }
+        }
         if (!isDefined(id)) {  // Error si la variable no está declarada.
-            errorOut += "\n" + ("Error: Variable '" + id + "' no está declarada.");
+            error(Diagnostics.Code.UNDECLARED_VARIABLE, "Error: Variable '" + dictionary.name(id) + "' no está declarada.");
         } else {
             if (checkAssignmentCompatibility(id, value)) { // Verifica compatibilidad de tipos.
                 updateTable(id, value); // Actualiza la variable en la tabla de símbolos.
-                errorOut += "\n" + ("Asignación de variable: " + getTableSymbol(id).name + " = " + getTableValue(id));
+                if (Trace.ASSIGNMENT) {
+                    Trace.log(Trace.Category.ASSIGNMENT, dictionary.name(id) + " = " + value);
+                }
+                if (diagnostics.isTracing()) {
+                    trace(Diagnostics.Code.ASSIGNMENT, "Asignación de variable: " + getTableSymbol(id).name + " = " + getTableValue(id));
+                }
             }
         }
         return null;
@@ -605,7 +1092,9 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
     @Override
     public Object visitIf_statement(gParser.If_statementContext ctx) {
         Boolean condition = (Boolean) visit(ctx.logical_operation()); // Evalúa la condición.
-        System.out.println(condition);
+        if (Trace.CONDITION) {
+            Trace.log(Trace.Category.CONDITION, String.valueOf(condition));
+        }
         if (condition) {
             visit(ctx.program(0)); // Ejecuta el bloque 'if'.
         } else if (ctx.program().size() > 1) { // Si hay un bloque 'else'.
@@ -622,9 +1111,14 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
      */
     @Override
     public Object visitWhile_loop(gParser.While_loopContext ctx) {
+        loops++;
         while ((Boolean) visit(ctx.logical_operation())) { // Evalúa la condición.
             visit(ctx.program()); // Ejecuta el cuerpo del bucle.
+            if (leavesLoop()) {
+                break;
+            }
         }
+        loops--;
         return null; // Los bucles while no tienen valor de retorno.
     }
 
@@ -636,9 +1130,14 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
      */
     @Override
     public Object visitDo_while(gParser.Do_whileContext ctx) {
+        loops++;
         do {
             visit(ctx.program()); // Ejecuta el cuerpo del bucle.
+            if (leavesLoop()) {
+                break;
+            }
         } while ((Boolean) visit(ctx.logical_operation())); // Evalúa la condición.
+        loops--;
         return null; // Los bucles do-while no tienen valor de retorno.
     }
 
@@ -651,18 +1150,288 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
      */
     @Override
     public Object visitFor_loop(gParser.For_loopContext ctx) {
-        enterScope(); // Entra en un nuevo ámbito para la variable de control.
+        enterScope(1); // Entra en un nuevo ámbito para la variable de control.
         visit(ctx.variable_declaration()); // Inicialización de la variable de control.
 
-        while ((Boolean) visit(ctx.logical_operation())) { // Evalúa la condición.
-            visit(ctx.program()); // Ejecuta el cuerpo del bucle.
-            visit(ctx.variable_update()); // Actualiza la variable de control.
+        loops++;
+        if (!runCounted(ctx)) {
+            while ((Boolean) visit(ctx.logical_operation())) { // Evalúa la condición.
+                visit(ctx.program()); // Ejecuta el cuerpo del bucle.
+                if (leavesLoop()) {
+                    break;
+                }
+                visit(ctx.variable_update()); // Actualiza la variable de control.
+            }
         }
+        loops--;
         exitScope(); // Sale del ámbito de la variable de control.
 
         return null; // Los bucles for no tienen valor de retorno.
     }
 
+    /**
+     * Ejecuta un for con forma de ciclo contado con un contador long y una comparación directa contra la cota, sin
+     * visitar la condición ni la actualización. Después de cada actualización el contador se copia a la variable, con
+     * el mismo Double que dejaría {@link #visitVariable_update}, para que el cuerpo la lea como siempre.
+     * <p>
+     * Con trazas, o si la variable de control o alguna variable de la cota no tiene un valor numérico, no se ejecuta
+     * nada: el for sigue por el camino general, que reporta los errores.
+     *
+     * @return true si ejecutó el ciclo.
+     */
+    private boolean runCounted(gParser.For_loopContext ctx) {
+        if (!counted || Trace.CONDITION || diagnostics.isTracing()) {
+            return false;
+        }
+        CountedLoop loop = countedLoop(ctx);
+        if (loop == NOT_COUNTED) {
+            return false;
+        }
+        Symbol symbol = symbolTableStack.peek().get(loop.variable);
+        if (symbol == null || !(symbol.value instanceof Number)) {
+            return false;
+        }
+        double start = ((Number) symbol.value).doubleValue();
+        if (start != Math.rint(start) || Math.abs(start) > 1L << 53) { // Fuera del rango exacto de un double.
+            return false;
+        }
+        for (int id : loop.names) {
+            Symbol name = findSymbol(id);
+            if (name == null || !(name.value instanceof Number)) {
+                return false;
+            }
+        }
+        double bound = ((Number) visit(loop.bound)).doubleValue(); // La cota no cambia durante el ciclo.
+        long counter = (long) start;
+        while (loop.test(counter, bound)) {
+            visit(ctx.program()); // Ejecuta el cuerpo del bucle.
+            if (leavesLoop()) {
+                break;
+            }
+            counter += loop.step;
+            symbol.value = (double) counter;
+        }
+        return true;
+    }
+
+    /**
+     * Reconoce la forma de ciclo contado de un for. El resultado se guarda por for: el árbol no cambia durante la
+     * ejecución.
+     *
+     * @return La forma del ciclo o {@link #NOT_COUNTED}.
+     */
+    private CountedLoop countedLoop(gParser.For_loopContext ctx) {
+        CountedLoop loop = countedLoops.get(ctx);
+        if (loop == null) {
+            loop = recognize(ctx);
+            countedLoops.put(ctx, loop);
+        }
+        return loop;
+    }
+
+    private CountedLoop recognize(gParser.For_loopContext ctx) {
+        gParser.Variable_declarationContext declaration = ctx.variable_declaration();
+        gParser.Logical_operationContext condition = ctx.logical_operation();
+        if (declaration.type().INT_TYPE() == null || condition.logical_term().size() != 1
+                || condition.logical_term(0).logical_factor().size() != 1
+                || condition.logical_term(0).logical_factor(0).boolean_() == null) {
+            return NOT_COUNTED;
+        }
+        gParser.BooleanContext compare = condition.logical_term(0).logical_factor(0).boolean_();
+        if (compare.math_expression().size() != 2) {
+            return NOT_COUNTED;
+        }
+        int variable = symbolId(declaration.ID(0));
+        String operator = compare.comparison_operator().getText();
+        if (!operator.startsWith("<") && !operator.startsWith(">")) { // == y != no son ciclos contados.
+            return NOT_COUNTED;
+        }
+        gParser.Math_expressionContext bound;
+        if (variable(compare.math_expression(0)) == variable) {
+            bound = compare.math_expression(1);
+        } else if (variable(compare.math_expression(1)) == variable) { // cota OP i: se invierte el operador.
+            bound = compare.math_expression(0);
+            operator = operator.startsWith("<") ? ">" + operator.substring(1) : "<" + operator.substring(1);
+        } else {
+            return NOT_COUNTED;
+        }
+
+        gParser.Variable_updateContext update = ctx.variable_update();
+        if (update.math_expression() != null || symbolId(update.ID()) != variable) {
+            return NOT_COUNTED;
+        }
+        long step = "++".equals(update.getChild(1).getText()) ? 1 : -1;
+
+        // La cota solo puede leer números y variables.
+        Set<Integer> names = new LinkedHashSet<>();
+        if (!readsOnlyVariables(bound, names) || names.contains(variable)) {
+            return NOT_COUNTED;
+        }
+        // Ni el cuerpo ni las funciones, que con el alcance dinámico ven las variables del for, las escriben.
+        Set<Integer> written = new HashSet<>();
+        if (writes(ctx.program(), written)) {
+            ParseTree root = ctx;
+            while (root.getParent() != null) {
+                root = root.getParent();
+            }
+            functionWrites(root, written);
+        }
+        if (written.contains(variable) || !Collections.disjoint(written, names)) {
+            return NOT_COUNTED;
+        }
+        int[] ids = new int[names.size()];
+        int i = 0;
+        for (int id : names) {
+            ids[i++] = id;
+        }
+        return new CountedLoop(variable, operator.startsWith("<"), operator.endsWith("="), step, bound, ids);
+    }
+
+    /**
+     * @return El número de la variable si la expresión es solo una variable, o -1.
+     */
+    private int variable(gParser.Math_expressionContext expression) {
+        gParser.FactorContext factor = single(expression);
+        return factor != null && factor.ID() != null ? symbolId(factor.ID()) : -1;
+    }
+
+    /**
+     * @return El factor si la expresión es un único factor, sin operadores, o null.
+     */
+    static gParser.FactorContext single(gParser.Math_expressionContext expression) {
+        if (expression.term().size() != 1 || expression.term(0).power_expr().size() != 1
+                || expression.term(0).power_expr(0).factor().size() != 1) {
+            return null;
+        }
+        return expression.term(0).power_expr(0).factor(0);
+    }
+
+    /**
+     * Junta las variables que lee una expresión.
+     *
+     * @return false si la expresión tiene una llamada a una función.
+     */
+    private boolean readsOnlyVariables(ParseTree tree, Set<Integer> names) {
+        if (tree instanceof gParser.Function_callContext) {
+            return false;
+        }
+        if (tree instanceof gParser.FactorContext && ((gParser.FactorContext) tree).ID() != null) {
+            names.add(symbolId(((gParser.FactorContext) tree).ID()));
+        }
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            if (!readsOnlyVariables(tree.getChild(i), names)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Junta las variables que declara, asigna o actualiza un árbol, sin entrar en las funciones que declara.
+     *
+     * @return true si el árbol llama a alguna función.
+     */
+    private boolean writes(ParseTree tree, Set<Integer> written) {
+        boolean calls = tree instanceof gParser.Function_callContext;
+        if (tree instanceof gParser.Variable_declarationContext) {
+            written.add(symbolId(((gParser.Variable_declarationContext) tree).ID(0)));
+        } else if (tree instanceof gParser.Variable_assignContext) {
+            written.add(symbolId(((gParser.Variable_assignContext) tree).ID()));
+        } else if (tree instanceof gParser.Variable_updateContext) {
+            written.add(symbolId(((gParser.Variable_updateContext) tree).ID()));
+        } else if (tree instanceof gParser.Function_declarationContext) {
+            return false;
+        }
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            calls |= writes(tree.getChild(i), written);
+        }
+        return calls;
+    }
+
+    /**
+     * Junta las variables que escriben los cuerpos de todas las funciones del programa, no solo las que llama el ciclo:
+     * una llamada puede llegar a cualquiera. Con el alcance dinámico un nombre escrito puede ser la variable de un
+     * ámbito de quien llama; se compara por número de nombre, y una declaración cuenta como escritura aunque solo
+     * oculte la variable.
+     */
+    private void functionWrites(ParseTree tree, Set<Integer> written) {
+        if (tree instanceof gParser.Function_declarationContext) { // Las funciones internas se recorren abajo.
+            writes(((gParser.Function_declarationContext) tree).function_body(), written);
+        }
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            functionWrites(tree.getChild(i), written);
+        }
+    }
+
+    /**
+     * Consume la señal con que terminó una vuelta de un ciclo.
+     *
+     * @return true si el ciclo termina: hubo un break, que se consume, o un return, que sigue hasta la llamada.
+     */
+    private boolean leavesLoop() {
+        Completion signal = completion;
+        if (signal == Completion.NORMAL) {
+            return false;
+        }
+        if (signal != Completion.RETURN) {
+            completion = Completion.NORMAL;
+        }
+        return signal != Completion.CONTINUE;
+    }
+
+    /**
+     * Visita un break: termina el ciclo más interno de la función en ejecución.
+     *
+     * @param ctx El contexto del break.
+     * @return null.
+     */
+    @Override
+    public Object visitBreak_statement(gParser.Break_statementContext ctx) {
+        if (loops == 0) {
+            error(Diagnostics.Code.CONTROL_FLOW, "break fuera de un ciclo");
+        } else {
+            completion = Completion.BREAK;
+        }
+        return null;
+    }
+
+    /**
+     * Visita un continue: pasa a la siguiente vuelta del ciclo más interno; en un for, después de la actualización.
+     *
+     * @param ctx El contexto del continue.
+     * @return null.
+     */
+    @Override
+    public Object visitContinue_statement(gParser.Continue_statementContext ctx) {
+        if (loops == 0) {
+            error(Diagnostics.Code.CONTROL_FLOW, "continue fuera de un ciclo");
+        } else {
+            completion = Completion.CONTINUE;
+        }
+        return null;
+    }
+
+    /**
+     * Visita un return. Evalúa el valor, verifica que sea del tipo de la función y termina la llamada.
+     *
+     * @param ctx El contexto del return.
+     * @return null.
+     */
+    @Override
+    public Object visitReturn_expression(gParser.Return_expressionContext ctx) {
+        if (function == null) {
+            error(Diagnostics.Code.CONTROL_FLOW, "return fuera de una funcion");
+            return null;
+        }
+        Object value = visit(ctx.expression());
+        if (!fits(function.integerReturn, value) && !checkReturnCompatibility(function.type, value)) {  // Verify return type compatibility
+            throw new ExecutionError("Error: In function " + function.name + ", return value is not of type " + function.type);
+        }
+        returned = value;
+        completion = Completion.RETURN;
+        return null;
+    }
+
     //---------------------- Expresiones aritméticas ----------------------
 
     /**
@@ -730,21 +1499,21 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
     @Override
     public Object visitFactor(gParser.FactorContext ctx) {
         if (ctx.ID() != null) { // Si el factor es un identificador (variable).
-            String id = ctx.ID().getText();
+            int id = symbolId(ctx.ID());
             if (!isDefined(id)) { // Error si la variable no está declarada.
-                errorOut += "\n" + ("Error: Variable '" + id + "' no declarada.");
+                error(Diagnostics.Code.UNDECLARED_VARIABLE, "Error: Variable '" + dictionary.name(id) + "' no declarada.");
                 return 0.0;
             } else {
                 Object val = getTableValue(id); // Obtiene el valor de la variable.
                 if (val == null) { // Error si la variable no está inicializada.
-                    errorOut += "\n" + ("Error: Variable '" + id + "' no inicializada.");
+                    error(Diagnostics.Code.UNINITIALIZED_VARIABLE, "Error: Variable '" + dictionary.name(id) + "' no inicializada.");
                     return 0.0;
                 } else if (val instanceof Double) { // Si es Double, retorna el valor.
                     return (Double) val;
                 } else if (val instanceof Integer) {  // Si es Integer, lo convierte a Double.
                     return ((Integer) val).doubleValue();
                 } else {  // Error si la variable no es numérica.
-                    errorOut += "\n" + ("Error: Variable '" + id + "' no es una variable numerica");
+                    error(Diagnostics.Code.TYPE_MISMATCH, "Error: Variable '" + dictionary.name(id) + "' no es una variable numerica");
                     return 0.0;
                 }
             }
@@ -753,10 +1522,10 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
         } else if (ctx.function_call() != null) { // Si el factor es una llamada de funcion
             Object val = visit(ctx.function_call());
             if (val instanceof Number) {
-                return visit(ctx.function_call());
+                return val;
             } else {
-                errorOut += "\n" + ("Error: La funcion '" + ctx.function_call().ID().getText() + "' no devuelve una variable numerica");
-                throw new RuntimeException("Error: La funcion '" + ctx.function_call().ID().getText() + "' no devuelve una variable numerica");
+                error(Diagnostics.Code.TYPE_MISMATCH, "Error: La funcion '" + ctx.function_call().ID().getText() + "' no devuelve una variable numerica");
+                throw new ExecutionError("Error: La funcion '" + ctx.function_call().ID().getText() + "' no devuelve una variable numerica");
             }
         } else {// el factor es una expresión entre paréntesis.
             return visit(ctx.math_expression()); // Visita la expresión.
@@ -800,8 +1569,11 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
     public Object visitLogical_operation(gParser.Logical_operationContext ctx) {
         Boolean value = (Boolean) visit(ctx.logical_term(0)); // Evalúa el primer término lógico.
         for (int i = 1; i < ctx.logical_term().size(); i++) { // Evalúa el resto de los términos lógicos.
-            Boolean termValue = (Boolean) visit(ctx.logical_term(i));
-            value = value || termValue; // Aplica el operador OR (||).
+            if (value) { // Cortocircuito: con un término verdadero el resto no se evalúa.
+                skippedOperands += ctx.logical_term().size() - i;
+                break;
+            }
+            value = (Boolean) visit(ctx.logical_term(i)); // Aplica el operador OR (||).
         }
         return value;
     }
@@ -816,8 +1588,11 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
     public Object visitLogical_term(gParser.Logical_termContext ctx) {
         Boolean value = (Boolean) visit(ctx.logical_factor(0)); // Evalúa el primer factor lógico.
         for (int i = 1; i < ctx.logical_factor().size(); i++) { // Evalúa el resto de los factores lógicos.
-            Boolean factorValue = (Boolean) visit(ctx.logical_factor(i));
-            value = value && factorValue; // Aplica el operador AND (&&).
+            if (!value) { // Cortocircuito: con un factor falso el resto no se evalúa.
+                skippedOperands += ctx.logical_factor().size() - i;
+                break;
+            }
+            value = (Boolean) visit(ctx.logical_factor(i)); // Aplica el operador AND (&&).
         }
         return value;
     }
@@ -840,8 +1615,8 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
             if (value instanceof Boolean){
                 return value;
             }else {
-                errorOut += "\n" + ("Error: La funcion '" + ctx.function_call().ID().getText() + "' no devuelve una variable booleana");
-                throw new RuntimeException("Error: La funcion '" + ctx.function_call().ID().getText() + "' no devuelve una variable booleana");
+                error(Diagnostics.Code.TYPE_MISMATCH, "Error: La funcion '" + ctx.function_call().ID().getText() + "' no devuelve una variable booleana");
+                throw new ExecutionError("Error: La funcion '" + ctx.function_call().ID().getText() + "' no devuelve una variable booleana");
             }
         } else { // Si es una operación lógica entre paréntesis.
             return visit(ctx.logical_operation());
@@ -861,19 +1636,19 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
         } else if (ctx.FALSE() != null) {  // Si es false.
             return false;
         } else if (ctx.ID() != null) { // Si es una variable.
-            String id = ctx.ID().getText();
+            int id = symbolId(ctx.ID());
             if (!isDefined(id)) {  // Error si la variable no está declarada.
-                errorOut += "\n" + ("Error: Variable '" + id + "' no declarada.");
+                error(Diagnostics.Code.UNDECLARED_VARIABLE, "Error: Variable '" + dictionary.name(id) + "' no declarada.");
                 return null;
             } else {
-                Object val = symbolTableStack.peek().get(id).value; // Obtiene el valor de la variable.
+                Object val = findSymbol(id).value; // Obtiene el valor de la variable.
                 if (val == null) { // Error si la variable no está inicializada.
-                    errorOut += "\n" + ("Error: Variable '" + id + "' no inicializada.");
+                    error(Diagnostics.Code.UNINITIALIZED_VARIABLE, "Error: Variable '" + dictionary.name(id) + "' no inicializada.");
                     return null;
                 } else if (val instanceof Boolean) { // Si es un booleano, retorna el valor.
                     return (Boolean) val;
                 } else { // Error si la variable no es booleana.
-                    errorOut += "\n" + ("Error: Variable '" + id + "' no es una variable booleana");
+                    error(Diagnostics.Code.TYPE_MISMATCH, "Error: Variable '" + dictionary.name(id) + "' no es una variable booleana");
                     return null;
                 }
             }
@@ -881,7 +1656,9 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
             Double left = (Double) visit(ctx.math_expression(0)); // Evalúa la expresión izquierda.
             Double right = (Double) visit(ctx.math_expression(1)); // Evalúa la expresión derecha.
             String operator = ctx.comparison_operator().getText();  // Obtiene el operador de comparación.
-            System.out.println(left + " " + operator + " " + right);
+            if (Trace.CONDITION) {
+                Trace.log(Trace.Category.CONDITION, left + " " + operator + " " + right);
+            }
             return evalCondition(left, operator, right); // Evalúa la condición.
         }
         return false;
@@ -899,7 +1676,7 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
      */
     @Override
     public Object visitFunction_declaration(gParser.Function_declarationContext ctx) {
-        String functionName = ctx.ID().getText(); // Obtiene el nombre de la función.
+        int id = symbolId(ctx.ID()); // Obtiene el número del nombre de la función.
         String returnType = ctx.type().getText(); // Obtiene el tipo de retorno.
 
         List<Symbol> parameters = new ArrayList<>(); // Crea una lista para los parámetros.
@@ -908,8 +1685,10 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
         }
 
         // Crea un símbolo de función y lo almacena en la tabla de símbolos global.
-        FunctionSymbol functionSymbol = new FunctionSymbol(functionName, returnType, parameters, ctx.program(), ctx.return_expression());
-        symbolTableGlobal.put(functionName, functionSymbol);
+        FunctionSymbol functionSymbol = new FunctionSymbol(dictionary.name(id), returnType, parameters, ctx.function_body());
+        functionSymbol.id = id;
+        symbolTableGlobal.put(id, functionSymbol);
+        functionsVersion++; // Los sitios de llamada ya resueltos vuelven a buscar la función.
 
         return null; // La declaración de función no retorna un valor.
     }
@@ -923,8 +1702,10 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
     public List<Symbol> visitParams(gParser.ParamsContext ctx) {
         List<Symbol> params = new ArrayList<>();
         String paramType = ctx.type().getText(); // Obtiene el tipo del parámetro.
-        String paramName = ctx.ID().getText();  // Obtiene el nombre del parámetro.
-        params.add(new Symbol(paramName, paramType)); // Crea un nuevo símbolo para el parámetro.
+        int paramId = symbolId(ctx.ID());  // Obtiene el número del nombre del parámetro.
+        Symbol param = new Symbol(dictionary.name(paramId), paramType); // Crea un nuevo símbolo para el parámetro.
+        param.id = paramId;
+        params.add(param);
         if (ctx.params() != null) {  // Si hay más parámetros.
             params.addAll((List<Symbol>) visit(ctx.params())); // Los agrega recursivamente.
         }
@@ -958,42 +1739,67 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
     @Override
     public Object visitFunction_call(gParser.Function_callContext ctx) {
         Object returnValue = null;
-        String functionName = ctx.ID().getText(); // Obtiene el nombre de la función.
+        CallSite site = callSites.get(ctx);
+        if (site == null) {
+            int id = symbolId(ctx.ID());
+            site = new CallSite(ctx, id, dictionary.name(id));
+            callSites.put(ctx, site);
+        }
+        String functionName = site.name; // Obtiene el nombre de la función.
 
-        if (!isDefined(functionName)) { // Verifica si la función está definida.
-            throw new RuntimeException("Function '" + functionName + "' not defined.");
+        if (site.function == null || site.version != functionsVersion) { // Resuelve la función solo si cambió.
+            if (!isDefined(site.id)) { // Verifica si la función está definida.
+                throw new ExecutionError("Function '" + functionName + "' not defined.");
+            }
+            site.function = (FunctionSymbol) symbolTableGlobal.get(site.id); // Obtiene el símbolo de la función.
+            site.version = functionsVersion;
         }
+        site.invocations++;
 
-        FunctionSymbol functionSymbol = (FunctionSymbol) symbolTableGlobal.get(functionName); // Obtiene el símbolo de la función.
+        FunctionSymbol functionSymbol = site.function;
         List<Symbol> param = functionSymbol.parameters; // Obtiene los parámetros de la función.
 
-        List<Object> args = (List<Object>) visit(ctx.params_call()); // Obtiene los argumentos de la llamada.
-
+        // Obtiene los argumentos de la llamada, en orden.
+        List<Object> args = new ArrayList<>(site.arguments.length);
+        for (gParser.ExpressionContext argument : site.arguments) {
+            args.add(visit(argument));
+        }
+        if (Trace.CALL) {
+            Trace.log(Trace.Category.CALL, functionName + args);
+        }
 
-        if (checkParametersCompatibility(param, args)) { // Verifica compatibilidad de tipos entre parámetros y argumentos
-            enterScope(); // Entra en el ámbito de la función.
+        if (fitsParameters(functionSymbol, args) || checkParametersCompatibility(param, args)) { // Verifica compatibilidad de tipos entre parámetros y argumentos
+            enterScope(param.size() + declarations(functionSymbol.body)); // Entra en el ámbito de la función.
 
             // Agrega los parámetros al ámbito local de la función.
             for (int i = 0; i < param.size(); i++) {
                 String type = param.get(i).type;
-                String id = param.get(i).name;
+                int id = param.get(i).id;
                 Object value = args.get(i);
-                symbolTableStack.peek().put(id, new Symbol(id, type, value));
+                symbolTableStack.peek().put(id, newSymbol(id, type, value));
             }
 
-            // Ejecuta las sentencias dentro de la función.
-            for (gParser.StatementContext stmt : functionSymbol.program.statement()) {
-                visit(stmt);
-            }
+            FunctionSymbol caller = function;
+            int callerLoops = loops;
+            function = functionSymbol;
+            loops = 0; // Un break dentro de la función no sale de los ciclos de quien llama.
 
-            // Evalúa la expresión de retorno, si existe.
-            if (functionSymbol.returnExpression != null) {
-                returnValue = visit(functionSymbol.returnExpression.expression());
-                String type = functionSymbol.type;  // Get the expected return type
-                if (!checkReturnCompatibility(type, returnValue)) {  // Verify return type compatibility
-                    throw new RuntimeException("Error: In function " + functionSymbol.name + ", return value is not of type " + functionSymbol.type);
+            // Ejecuta las sentencias dentro de la función hasta un return; si no hay uno antes, llega al final.
+            for (gParser.StatementContext stmt : functionSymbol.body.statement()) {
+                visit(stmt);
+                if (completion != Completion.NORMAL) {
+                    break;
                 }
             }
+            if (completion == Completion.NORMAL) {
+                visit(functionSymbol.body.return_expression());
+            }
+
+            returnValue = returned;
+            returned = null;
+            completion = Completion.NORMAL;
+            function = caller;
+            loops = callerLoops;
 
             exitScope(); // Sale del ámbito de la función.
         }
@@ -1011,10 +1817,27 @@ public class MyVisitorFX extends gBaseVisitor<Object> {
     @Override
     public Object visitPrint_call(gParser.Print_callContext ctx) {
         Object result = visit(ctx.print_params()); // Evalúa los parámetros de impresión.
-        textOut += "\n" + result.toString(); // Imprime el resultado.
+        output.print(result); // Imprime el resultado.
         return null; // La función print no tiene valor de retorno.
     }
 
+    /**
+     * Verificación rápida de los argumentos de un programa verificado.
+     *
+     * @return true si todos los argumentos sirven sin más verificaciones.
+     */
+    private boolean fitsParameters(FunctionSymbol function, List<Object> args) {
+        if (!verified || function.integerParameters.length != args.size()) {
+            return false;
+        }
+        for (int i = 0; i < args.size(); i++) {
+            if (!fits(function.integerParameters[i], args.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Verifica la compatibilidad de tipos entre los parámetros de una función y los argumentos de la llamada.
      *
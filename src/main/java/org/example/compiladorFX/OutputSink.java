@@ -0,0 +1,180 @@
+package org.example.compiladorFX;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Destino de la salida de print. Los motores escriben cada valor apenas se imprime, en vez de acumular un texto que
+ * se copia entero en cada print.
+ * <p>
+ * Hay dos modos:
+ * <ul>
+ *     <li>En memoria ({@link #OutputSink()}): guarda la salida en un {@link StringBuilder} con el formato de siempre,
+ *     cada valor precedido de un salto de línea. Es el modo por defecto y el que devuelve {@link #getText()}.</li>
+ *     <li>Hacia un {@link Writer} ({@link #OutputSink(Writer)}): cada valor se escribe seguido de un salto de línea y
+ *     no se guarda nada, así que la memoria no crece con la salida. Quien crea el destino decide el buffer y tiene
+ *     que llamar a {@link #flush()} al terminar.</li>
+ * </ul>
+ * Los errores de escritura se lanzan como {@link UncheckedIOException}, que los motores reportan como error de
+ * ejecución.
+ */
+public final class OutputSink {
+
+    /**
+     * Tamaño del buffer de {@link #buffered(OutputStream)}: es toda la salida que se guarda en memoria.
+     */
+    public static final int BUFFER_SIZE = 8192;
+
+    private final Writer writer;         // null en el modo en memoria.
+    private final StringBuilder text;    // null si se escribe en writer.
+
+    /**
+     * Crea un destino en memoria.
+     */
+    public OutputSink() {
+        this.writer = null;
+        this.text = new StringBuilder();
+    }
+
+    /**
+     * Crea un destino que escribe en {@code writer} a medida que se imprime.
+     *
+     * @param writer Donde se escribe la salida. No se envuelve en otro buffer.
+     */
+    public OutputSink(Writer writer) {
+        this.writer = writer;
+        this.text = null;
+    }
+
+    /**
+     * Crea un {@link Writer} que escribe en {@code out} en UTF-8 con un buffer de {@link #BUFFER_SIZE} caracteres,
+     * para la salida estándar o un archivo.
+     */
+    public static Writer buffered(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Crea un {@link Writer} para mostrar la salida en una interfaz gráfica mientras el programa corre en otro hilo.
+     * El texto que llega se junta y se pasa a {@code append} en el hilo de la interfaz, con a lo sumo una tarea
+     * pendiente en {@code executor}, así que muchos print seguidos no saturan la cola de eventos.
+     *
+     * @param append   Agrega texto al área de salida.
+     * @param executor El hilo de la interfaz, por ejemplo {@code SwingUtilities::invokeLater}.
+     */
+    public static Writer toInterface(Consumer<String> append, Executor executor) {
+        return new InterfaceWriter(append, executor);
+    }
+
+    /**
+     * Imprime un valor.
+     */
+    public void print(Object value) {
+        if (text != null) {
+            text.append('\n').append(value);
+            return;
+        }
+        try {
+            writer.write(String.valueOf(value));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error: No se pudo escribir la salida: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Escribe lo que quede en el buffer del {@link Writer}. En memoria no hace nada.
+     */
+    public void flush() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error: No se pudo escribir la salida: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Borra la salida guardada en memoria, para empezar una ejecución nueva. Lo ya escrito en un {@link Writer}
+     * no se puede borrar.
+     */
+    public void clear() {
+        if (text != null) {
+            text.setLength(0);
+        }
+    }
+
+    /**
+     * @return La salida guardada, cada valor precedido de un salto de línea, o "" si se escribe en un {@link Writer}.
+     */
+    public String getText() {
+        return text != null ? text.toString() : "";
+    }
+
+    /**
+     * Junta el texto escrito desde el hilo del programa y lo pasa al hilo de la interfaz.
+     */
+    private static final class InterfaceWriter extends Writer {
+        private final Consumer<String> append;
+        private final Executor executor;
+        private final StringBuilder pending = new StringBuilder();
+        private boolean scheduled; // Hay una tarea en executor que todavía no tomó pending.
+
+        InterfaceWriter(Consumer<String> append, Executor executor) {
+            this.append = append;
+            this.executor = executor;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            synchronized (pending) {
+                pending.append(buffer, offset, length);
+                if (scheduled) {
+                    return;
+                }
+                scheduled = true;
+            }
+            executor.execute(this::drain);
+        }
+
+        @Override
+        public void write(String string) {
+            synchronized (pending) {
+                pending.append(string);
+                if (scheduled) {
+                    return;
+                }
+                scheduled = true;
+            }
+            executor.execute(this::drain);
+        }
+
+        private void drain() {
+            String chunk;
+            synchronized (pending) {
+                chunk = pending.toString();
+                pending.setLength(0);
+                scheduled = false;
+            }
+            append.accept(chunk);
+        }
+
+        @Override
+        public void flush() {
+            // Cada write ya dejó una tarea pendiente en executor.
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package org.example.compiladorFX;
+
+/**
+ * Análisis de pureza de las funciones de un {@link Ast.Program}.
+ * <p>
+ * Una función es pura si su resultado depende solo de sus argumentos y no tiene efectos visibles: no imprime,
+ * no lee ni escribe globales, solo llama a funciones puras y no puede reportar errores (toda variable se declara
+ * con un valor compatible y los operadores solo reciben tipos válidos). Las funciones que se declaran más de una
+ * vez nunca son puras, porque la llamada depende de qué declaración se instaló.
+ * <p>
+ * Hay dos niveles:
+ * <ul>
+ *     <li>{@link #isPure(int)}: admite ciclos y recursión. Se calcula como el mayor punto fijo, así que las
+ *     funciones recursivas (directa o mutuamente) son puras si todo lo demás lo es. Es el criterio de la
+ *     memoización: repetir una llamada con los mismos argumentos da el mismo resultado.</li>
+ *     <li>{@link #isTerminating(int)}: además exige que no haya ciclos ni recursión, así que la llamada siempre
+ *     termina. Es el criterio de {@link InvariantHoisting}, que evalúa la llamada aunque el ciclo no dé vueltas.</li>
+ * </ul>
+ */
+final class PurityAnalysis {
+
+    private final Ast.Function[] functions;  // Función de cada índice, null si el nombre se declara más de una vez.
+    private final boolean[] pure;
+    private final Boolean[] terminating;     // null si aún no se calculó.
+    private Ast.Type returnType;             // Tipo de retorno de la función que se revisa.
+
+    PurityAnalysis(Ast.Program program) {
+        int count = program.functionNames.length;
+        this.functions = uniqueFunctions(program);
+        this.pure = new boolean[count];
+        this.terminating = new Boolean[count];
+        for (int i = 0; i < count; i++) {
+            pure[i] = functions[i] != null;
+        }
+        // Mayor punto fijo: se parte de que todas son puras y se descartan las que no cumplen hasta que nada cambie.
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < count; i++) {
+                if (pure[i] && !check(functions[i], false)) {
+                    pure[i] = false;
+                    changed = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param index Índice de la función.
+     * @return true si la función es pura, aunque tenga ciclos o sea recursiva.
+     */
+    boolean isPure(int index) {
+        return index >= 0 && pure[index];
+    }
+
+    /**
+     * @param index Índice de la función.
+     * @return true si la función es pura y además no tiene ciclos ni recursión.
+     */
+    boolean isTerminating(int index) {
+        if (index < 0 || functions[index] == null) {
+            return false;
+        }
+        if (terminating[index] == null) {
+            terminating[index] = false; // Una llamada recursiva encuentra false.
+            terminating[index] = check(functions[index], true);
+        }
+        return terminating[index];
+    }
+
+    /**
+     * @return La cantidad de funciones puras.
+     */
+    int countPure() {
+        int count = 0;
+        for (boolean p : pure) {
+            count += p ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Una llamada es pura si la función es pura y los argumentos coinciden con los parámetros. La pureza de los
+     * argumentos se verifica aparte, según el contexto.
+     */
+    boolean isPureCall(Ast.Call call, boolean terminates) {
+        if (terminates ? !isTerminating(call.function) : !isPure(call.function)) {
+            return false;
+        }
+        Ast.Function fn = functions[call.function];
+        if (fn.paramTypes.length != call.args.length) {
+            return false;
+        }
+        for (int i = 0; i < call.args.length; i++) {
+            if (!isCompatible(fn.paramTypes[i], call.args[i].type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean check(Ast.Function fn, boolean terminates) {
+        if (fn.returnExpr == null || !isCompatible(fn.returnType, fn.returnExpr.type) || !check(fn.returnExpr, terminates)) {
+            return false;
+        }
+        Ast.Type outer = returnType; // Revisar una llamada puede revisar otra función.
+        returnType = fn.returnType;
+        boolean result = check(fn.body, terminates);
+        returnType = outer;
+        return result;
+    }
+
+    private boolean check(Ast.Stmt[] body, boolean terminates) {
+        for (Ast.Stmt stmt : body) {
+            if (!check(stmt, terminates)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean check(Ast.Stmt stmt, boolean terminates) {
+        switch (stmt.tag) {
+            case Ast.BLOCK:
+                return check(((Ast.Block) stmt).body, terminates);
+            case Ast.DECLARE: {
+                Ast.Declare declare = (Ast.Declare) stmt;
+                return declare.target.tag == Ast.LOCAL && declare.init != null
+                        && isCompatible(declare.target.type, declare.init.type) && check(declare.init, terminates);
+            }
+            case Ast.ASSIGN: {
+                Ast.Assign assign = (Ast.Assign) stmt;
+                return assign.target.tag == Ast.LOCAL && isCompatible(assign.target.type, assign.value.type)
+                        && check(assign.value, terminates);
+            }
+            case Ast.UPDATE: {
+                Ast.Update update = (Ast.Update) stmt;
+                return update.target.tag == Ast.LOCAL && update.target.type.isNumeric()
+                        && (update.value == null || (isCompatible(update.target.type, update.value.type) && check(update.value, terminates)));
+            }
+            case Ast.IF: {
+                Ast.If ifStmt = (Ast.If) stmt;
+                return ifStmt.cond.type == Ast.Type.BOOLEAN && check(ifStmt.cond, terminates) && check(ifStmt.then, terminates)
+                        && (ifStmt.otherwise == null || check(ifStmt.otherwise, terminates));
+            }
+            case Ast.WHILE:
+            case Ast.DO_WHILE: {
+                Ast.Loop loop = (Ast.Loop) stmt;
+                return !terminates && loop.cond.type == Ast.Type.BOOLEAN && check(loop.cond, false) && check(loop.body, false);
+            }
+            case Ast.FOR: {
+                Ast.For forStmt = (Ast.For) stmt;
+                return !terminates && forStmt.cond.type == Ast.Type.BOOLEAN && check(forStmt.init, false)
+                        && check(forStmt.cond, false) && check(forStmt.update, false) && check(forStmt.body, false);
+            }
+            case Ast.EXPR:
+                return check(((Ast.ExprStmt) stmt).expr, terminates);
+            case Ast.RETURN: {
+                Ast.Expr value = ((Ast.Return) stmt).value;
+                return isCompatible(returnType, value.type) && check(value, terminates);
+            }
+            case Ast.BREAK:
+            case Ast.CONTINUE:
+                return true;
+            default: // Print, errores y declaraciones de funciones.
+                return false;
+        }
+    }
+
+    private boolean check(Ast.Expr expr, boolean terminates) {
+        switch (expr.tag) {
+            case Ast.CONST:
+            case Ast.LOCAL:
+                return true;
+            case Ast.ARITH: {
+                Ast.Arith arith = (Ast.Arith) expr;
+                return arith.left.type.isNumeric() && arith.right.type.isNumeric()
+                        && check(arith.left, terminates) && check(arith.right, terminates);
+            }
+            case Ast.COMPARE: {
+                Ast.Compare compare = (Ast.Compare) expr;
+                return isSafeCompare(compare) && check(compare.left, terminates) && check(compare.right, terminates);
+            }
+            case Ast.AND:
+            case Ast.OR: {
+                Ast.Logic logic = (Ast.Logic) expr;
+                return logic.left.type == Ast.Type.BOOLEAN && logic.right.type == Ast.Type.BOOLEAN
+                        && check(logic.left, terminates) && check(logic.right, terminates);
+            }
+            case Ast.NOT: {
+                Ast.Expr operand = ((Ast.Not) expr).operand;
+                return operand.type == Ast.Type.BOOLEAN && check(operand, terminates);
+            }
+            case Ast.CALL: {
+                Ast.Call call = (Ast.Call) expr;
+                if (!isPureCall(call, terminates)) {
+                    return false;
+                }
+                for (Ast.Expr arg : call.args) {
+                    if (!check(arg, terminates)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case Ast.CONCAT:
+                for (Ast.Expr part : ((Ast.Concat) expr).parts) {
+                    if (!check(part, terminates)) {
+                        return false;
+                    }
+                }
+                return true;
+            case Ast.INLINE: {
+                Ast.Inline inline = (Ast.Inline) expr;
+                return check(inline.body, terminates) && check(inline.result, terminates);
+            }
+            default: // Globales, variables de quien llama y variables no declaradas.
+                return false;
+        }
+    }
+
+    /**
+     * Una comparación que nunca reporta error de tipos.
+     */
+    static boolean isSafeCompare(Ast.Compare compare) {
+        Ast.Type left = compare.left.type;
+        Ast.Type right = compare.right.type;
+        return (left.isNumeric() && right.isNumeric())
+                || (left == Ast.Type.BOOLEAN && right == Ast.Type.BOOLEAN && (compare.op == Ast.EQ || compare.op == Ast.NE));
+    }
+
+    /**
+     * Un valor de tipo {@code from} se guarda sin error en una variable {@code to}.
+     */
+    static boolean isCompatible(Ast.Type to, Ast.Type from) {
+        return from != Ast.Type.UNKNOWN && (from == to || (from == Ast.Type.INT && to == Ast.Type.DOUBLE));
+    }
+
+    /**
+     * Busca las declaraciones de función en todo el programa, incluidas las anidadas.
+     *
+     * @return La función de cada índice, o null si el nombre no se declara o se declara más de una vez.
+     */
+    static Ast.Function[] uniqueFunctions(Ast.Program program) {
+        Ast.Function[] functions = new Ast.Function[program.functionNames.length];
+        boolean[] duplicated = new boolean[functions.length];
+        scan(program.body, functions, duplicated);
+        for (int i = 0; i < functions.length; i++) {
+            if (duplicated[i]) {
+                functions[i] = null;
+            }
+        }
+        return functions;
+    }
+
+    private static void scan(Ast.Stmt[] body, Ast.Function[] functions, boolean[] duplicated) {
+        for (Ast.Stmt stmt : body) {
+            scan(stmt, functions, duplicated);
+        }
+    }
+
+    private static void scan(Ast.Stmt stmt, Ast.Function[] functions, boolean[] duplicated) {
+        switch (stmt.tag) {
+            case Ast.BLOCK:
+                scan(((Ast.Block) stmt).body, functions, duplicated);
+                break;
+            case Ast.IF: {
+                Ast.If ifStmt = (Ast.If) stmt;
+                scan(ifStmt.then, functions, duplicated);
+                if (ifStmt.otherwise != null) {
+                    scan(ifStmt.otherwise, functions, duplicated);
+                }
+                break;
+            }
+            case Ast.WHILE:
+            case Ast.DO_WHILE:
+                scan(((Ast.Loop) stmt).body, functions, duplicated);
+                break;
+            case Ast.FOR:
+                scan(((Ast.For) stmt).body, functions, duplicated);
+                break;
+            case Ast.FUNCTION: {
+                Ast.Function fn = ((Ast.FunctionDecl) stmt).function;
+                if (functions[fn.index] != null) {
+                    duplicated[fn.index] = true;
+                }
+                functions[fn.index] = fn;
+                scan(fn.body, functions, duplicated);
+                break;
+            }
+            default:
+                break;
+        }
+    }
+}
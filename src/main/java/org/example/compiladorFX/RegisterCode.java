@@ -0,0 +1,235 @@
+package org.example.compiladorFX;
+
+/**
+ * Programa compilado para {@link RegisterVM}: un único arreglo {@code int[]} con las instrucciones de todas
+ * las funciones y los pools de constantes numéricas y de texto.
+ * <p>
+ * Cada instrucción es un código de operación seguido de sus operandos. Hay dos bancos de registros por marco:
+ * {@code num} (double) para int, double y boolean (0 o 1), y {@code ref} para los strings. Los registros se
+ * numeran desde el inicio del marco; las variables globales son los primeros registros del marco del nivel
+ * superior y las funciones las leen con GGET/GSET.
+ */
+public final class RegisterCode {
+
+    // Carga y movimiento de valores.
+    static final int CONST_N = 0;   // dst, k        num[dst] = numbers[k]
+    static final int CONST_S = 1;   // dst, k        ref[dst] = strings[k]
+    static final int MOV_N = 2;     // dst, src
+    static final int MOV_S = 3;     // dst, src
+    static final int GGET_N = 4;    // dst, g        num[dst] = global num g
+    static final int GGET_S = 5;    // dst, g
+    static final int GSET_N = 6;    // g, src
+    static final int GSET_S = 7;    // g, src
+
+    // Aritmética sobre el banco num.
+    static final int ADD = 8;       // dst, a, b
+    static final int SUB = 9;
+    static final int MUL = 10;
+    static final int DIV = 11;
+    static final int POW = 12;
+    static final int POWI = 13;     // dst, a, b     potencia con exponente int, ver AstInterpreter.intPower
+
+    // Comparaciones y negación: el resultado es 0 o 1 en el banco num.
+    static final int EQ = 14;       // dst, a, b
+    static final int NE = 15;
+    static final int LT = 16;
+    static final int GT = 17;
+    static final int LE = 18;
+    static final int GE = 19;
+    static final int NOT = 20;      // dst, a
+
+    static final int CONCAT = 21;   // dst, a, b     ref[dst] = ref[a] + ref[b]
+    static final int CHECK_INT = 22; // dst, src, k  num[dst] = num[src] si es entero; si no, error con el nombre strings[k]
+
+    // Control de flujo.
+    static final int JMP = 23;      // destino
+    static final int JMP_F = 24;    // cond, destino  salta si num[cond] == 0
+    static final int JMP_T = 25;    // cond, destino
+    static final int SKIP_F = 26;   // cond, destino  como JMP_F, pero cuenta el operando que se omite de un &&
+    static final int SKIP_T = 27;   // cond, destino  como JMP_T, para ||
+
+    // Funciones.
+    static final int INSTALL = 28;  // fn
+    static final int CALL = 29;     // fn, baseNum, baseRef, dst  los argumentos ya están desde baseNum/baseRef
+    static final int ARG_INT = 30;  // reg, fn       verifica que el argumento sea entero
+    static final int RET_N = 31;    // src
+    static final int RET_S = 32;    // src
+    static final int RET_INT = 33;  // src           verifica que el retorno sea entero y retorna
+
+    // Salida.
+    static final int PRINT = 34;    // n, (tipo, reg) * n
+    static final int ERROR = 35;    // k
+    static final int HALT = 36;
+
+    // Tipos de las partes de PRINT.
+    static final int KIND_NUMBER = 0;
+    static final int KIND_BOOLEAN = 1;
+    static final int KIND_STRING = 2;
+
+    static final String[] NAMES = {
+            "CONST_N", "CONST_S", "MOV_N", "MOV_S", "GGET_N", "GGET_S", "GSET_N", "GSET_S",
+            "ADD", "SUB", "MUL", "DIV", "POW", "POWI",
+            "EQ", "NE", "LT", "GT", "LE", "GE", "NOT",
+            "CONCAT", "CHECK_INT",
+            "JMP", "JMP_F", "JMP_T", "SKIP_F", "SKIP_T",
+            "INSTALL", "CALL", "ARG_INT", "RET_N", "RET_S", "RET_INT",
+            "PRINT", "ERROR", "HALT"};
+
+    // Cantidad de operandos de cada instrucción (PRINT es de largo variable).
+    static final int[] OPERANDS = {
+            2, 2, 2, 2, 2, 2, 2, 2,
+            3, 3, 3, 3, 3, 3,
+            3, 3, 3, 3, 3, 3, 2,
+            3, 3,
+            1, 2, 2, 2, 2,
+            1, 4, 2, 1, 1, 1,
+            -1, 1, 0};
+
+    /**
+     * Datos de una función compilada.
+     */
+    static final class FunctionInfo {
+        final Ast.Function function;
+        int entry;       // Posición de la primera instrucción en code.
+        int numRegisters; // Tamaño del marco en cada banco.
+        int refRegisters;
+
+        FunctionInfo(Ast.Function function) {
+            this.function = function;
+        }
+    }
+
+    final int[] code;
+    final double[] numbers;
+    final String[] strings;
+    final FunctionInfo[] functions;
+    final Ast.Program program;
+    final int[] globalRegisters; // Registro de cada variable global en su banco.
+    final int numRegisters;      // Tamaño del marco del nivel superior.
+    final int refRegisters;
+
+    RegisterCode(int[] code, double[] numbers, String[] strings, FunctionInfo[] functions, Ast.Program program,
+                 int[] globalRegisters, int numRegisters, int refRegisters) {
+        this.code = code;
+        this.numbers = numbers;
+        this.strings = strings;
+        this.functions = functions;
+        this.program = program;
+        this.globalRegisters = globalRegisters;
+        this.numRegisters = numRegisters;
+        this.refRegisters = refRegisters;
+    }
+
+    /**
+     * Largo de la instrucción que empieza en {@code pc}, contando el código de operación.
+     */
+    int length(int pc) {
+        int op = code[pc];
+        return op == PRINT ? 2 + 2 * code[pc + 1] : 1 + OPERANDS[op];
+    }
+
+    /**
+     * Muestra el flujo de instrucciones en texto, una instrucción por línea, con los valores de las constantes
+     * y los nombres de las funciones.
+     *
+     * @return El listado del programa.
+     */
+    public String disassemble() {
+        StringBuilder out = new StringBuilder();
+        out.append("; nivel superior: ").append(numRegisters).append(" num, ").append(refRegisters).append(" ref\n");
+        for (int pc = 0; pc < code.length; pc += length(pc)) {
+            for (FunctionInfo info : functions) {
+                if (info != null && info.entry == pc) {
+                    out.append("\n").append(info.function.name).append(": ; ").append(info.numRegisters)
+                            .append(" num, ").append(info.refRegisters).append(" ref\n");
+                }
+            }
+            out.append(String.format("%5d  %-10s", pc, NAMES[code[pc]]));
+            disassembleOperands(pc, out);
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    private void disassembleOperands(int pc, StringBuilder out) {
+        int op = code[pc];
+        int a = pc + 1 < code.length ? code[pc + 1] : 0;
+        switch (op) {
+            case CONST_N:
+                out.append("n").append(a).append(", ").append(numbers[code[pc + 2]]);
+                break;
+            case CONST_S:
+                out.append("s").append(a).append(", \"").append(strings[code[pc + 2]]).append('"');
+                break;
+            case MOV_N:
+                out.append("n").append(a).append(", n").append(code[pc + 2]);
+                break;
+            case MOV_S:
+                out.append("s").append(a).append(", s").append(code[pc + 2]);
+                break;
+            case GGET_N:
+                out.append("n").append(a).append(", g").append(code[pc + 2]);
+                break;
+            case GGET_S:
+                out.append("s").append(a).append(", g").append(code[pc + 2]);
+                break;
+            case GSET_N:
+                out.append("g").append(a).append(", n").append(code[pc + 2]);
+                break;
+            case GSET_S:
+                out.append("g").append(a).append(", s").append(code[pc + 2]);
+                break;
+            case CONCAT:
+                out.append("s").append(a).append(", s").append(code[pc + 2]).append(", s").append(code[pc + 3]);
+                break;
+            case CHECK_INT:
+                out.append("n").append(a).append(", n").append(code[pc + 2]).append(" ; ").append(strings[code[pc + 3]]);
+                break;
+            case NOT:
+                out.append("n").append(a).append(", n").append(code[pc + 2]);
+                break;
+            case JMP:
+                out.append("-> ").append(a);
+                break;
+            case JMP_F:
+            case JMP_T:
+            case SKIP_F:
+            case SKIP_T:
+                out.append("n").append(a).append(", -> ").append(code[pc + 2]);
+                break;
+            case INSTALL:
+                out.append(functions[a].function.name);
+                break;
+            case CALL:
+                out.append(functions[a].function.name).append(", n").append(code[pc + 2]).append(", s")
+                        .append(code[pc + 3]).append(" -> ").append(functions[a].function.returnType == Ast.Type.STRING ? "s" : "n")
+                        .append(code[pc + 4]);
+                break;
+            case ARG_INT:
+                out.append("n").append(a).append(" ; ").append(functions[code[pc + 2]].function.name);
+                break;
+            case RET_N:
+            case RET_INT:
+                out.append("n").append(a);
+                break;
+            case RET_S:
+                out.append("s").append(a);
+                break;
+            case PRINT:
+                for (int i = 0; i < a; i++) {
+                    int kind = code[pc + 2 + 2 * i];
+                    out.append(i > 0 ? ", " : "").append(kind == KIND_STRING ? "s" : kind == KIND_BOOLEAN ? "b" : "n")
+                            .append(code[pc + 3 + 2 * i]);
+                }
+                break;
+            case ERROR:
+                out.append('"').append(strings[a]).append('"');
+                break;
+            case HALT:
+                break;
+            default: // Aritmética y comparaciones: dst, a, b.
+                out.append("n").append(a).append(", n").append(code[pc + 2]).append(", n").append(code[pc + 3]);
+                break;
+        }
+    }
+}
@@ -0,0 +1,645 @@
+package org.example.compiladorFX;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.example.compiladorFX.RegisterCode.*;
+
+/**
+ * Traduce un {@link Ast.Program} al código de {@link RegisterVM}.
+ * Cada variable recibe un registro fijo de su banco mientras su bloque está activo y los temporales se
+ * reservan por encima de las variables y se liberan al terminar cada sentencia. Una expresión que solo lee
+ * una variable no genera instrucciones: se usa directamente el registro de la variable.
+ * <p>
+ * Igual que {@link BytecodeCompiler}, solo acepta programas con tipos estáticos conocidos y lanza
+ * {@link BytecodeCompiler.UnsupportedProgramException} en otro caso.
+ */
+public class RegisterCompiler {
+
+    private final Ast.Program program;
+    private final Ast.Function[] functions;
+    private final FunctionInfo[] infos;
+    private final int[] globalRegisters;
+    private int globalNum;  // Las globales ocupan los registros [0, globalNum) y [0, globalRef) del nivel superior.
+    private int globalRef;
+
+    private int[] code = new int[256];
+    private int length;
+    private final List<Double> numbers = new ArrayList<>();
+    private final Map<Long, Integer> numberIndex = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, Integer> stringIndex = new HashMap<>();
+
+    // Estado del marco en compilación.
+    private boolean topLevel;
+    private int numTop;
+    private int refTop;
+    private int maxNum;
+    private int maxRef;
+    private final List<int[]> scopes = new ArrayList<>(); // Registro de cada ranura de cada ámbito.
+    private Ast.Function function;                        // Función en compilación, null en el nivel superior.
+    private final List<Jumps> loops = new ArrayList<>();  // Ciclos abiertos, el más interno al final.
+    private final boolean initialized;                    // Ninguna lectura ve una variable declarada sin valor.
+
+    /**
+     * Saltos de los break y continue de un ciclo, que se completan cuando se conoce su destino.
+     */
+    private static final class Jumps {
+        final List<Integer> breaks = new ArrayList<>();
+        final List<Integer> continues = new ArrayList<>();
+    }
+
+    private RegisterCompiler(Ast.Program program) {
+        this.program = program;
+        this.functions = BytecodeCompiler.collectFunctions(program);
+        this.infos = new FunctionInfo[functions.length];
+        this.globalRegisters = new int[program.globalNames.length];
+        this.initialized = DefiniteAssignment.isInitialized(program);
+    }
+
+    /**
+     * Compila un programa para la máquina de registros.
+     *
+     * @param program El programa resuelto.
+     * @return El código listo para {@link RegisterVM}.
+     * @throws BytecodeCompiler.UnsupportedProgramException si el programa no se puede compilar.
+     */
+    public static RegisterCode compile(Ast.Program program) {
+        return new RegisterCompiler(program).generate();
+    }
+
+    private RegisterCode generate() {
+        // Las globales ocupan los primeros registros del marco del nivel superior.
+        topLevel = true;
+        for (int i = 0; i < globalRegisters.length; i++) {
+            globalRegisters[i] = isString(program.globalTypes[i]) ? allocateRef() : allocateNum();
+        }
+        globalNum = numTop;
+        globalRef = refTop;
+        for (Ast.Stmt stmt : program.body) {
+            statement(stmt);
+        }
+        emit(HALT);
+        int topNum = maxNum;
+        int topRef = maxRef;
+
+        topLevel = false;
+        for (Ast.Function fn : functions) {
+            if (fn != null) {
+                function(fn);
+            }
+        }
+        double[] numberPool = new double[numbers.size()];
+        for (int i = 0; i < numberPool.length; i++) {
+            numberPool[i] = numbers.get(i);
+        }
+        return new RegisterCode(Arrays.copyOf(code, length), numberPool, strings.toArray(new String[0]), infos,
+                program, globalRegisters, topNum, topRef);
+    }
+
+    private void function(Ast.Function fn) {
+        FunctionInfo info = new FunctionInfo(fn);
+        infos[fn.index] = info;
+        info.entry = length;
+        numTop = refTop = maxNum = maxRef = 0;
+
+        int[] frame = new int[fn.frameSize];
+        for (int i = 0; i < fn.paramTypes.length; i++) { // Los argumentos llegan en los primeros registros.
+            frame[i] = isString(fn.paramTypes[i]) ? allocateRef() : allocateNum();
+        }
+        scopes.add(frame);
+        function = fn;
+        for (Ast.Stmt stmt : fn.body) {
+            statement(stmt);
+        }
+        ret(fn.returnExpr);
+        function = null;
+        scopes.remove(scopes.size() - 1);
+        info.numRegisters = maxNum;
+        info.refRegisters = maxRef;
+    }
+
+    //---------------------- Sentencias ----------------------
+
+    private void statement(Ast.Stmt stmt) {
+        int numMark = numTop;
+        int refMark = refTop;
+        switch (stmt.tag) {
+            case Ast.BLOCK: {
+                Ast.Block block = (Ast.Block) stmt;
+                if (block.scoped) {
+                    scopes.add(new int[block.size]);
+                }
+                for (Ast.Stmt inner : block.body) {
+                    statement(inner);
+                }
+                if (block.scoped) {
+                    scopes.remove(scopes.size() - 1);
+                }
+                break;
+            }
+            case Ast.DECLARE: {
+                Ast.Declare declare = (Ast.Declare) stmt;
+                Ast.Expr init = declare.init;
+                if (init == null) { // El intérprete reporta las lecturas de variables sin inicializar.
+                    if (!initialized) {
+                        throw new BytecodeCompiler.UnsupportedProgramException("la variable '" + declare.target.name + "' se puede leer sin valor inicial");
+                    }
+                    init = DefiniteAssignment.defaultInit(declare);
+                }
+                if (declare.target.tag == Ast.LOCAL) { // El registro se reserva antes de evaluar el valor inicial.
+                    Ast.Local local = (Ast.Local) declare.target;
+                    int register = isString(local.type) ? allocateRef() : allocateNum();
+                    scopes.get(scopes.size() - 1)[local.slot] = register;
+                    numMark = numTop;
+                    refMark = refTop;
+                    if (local.type == Ast.Type.INT && mayBeFractional(init)) { // Si CHECK_INT falla, la variable vale 0 y no lo que quedó en el registro.
+                        emit(CONST_N, register, number(0));
+                    }
+                }
+                assign(declare.target, init);
+                break;
+            }
+            case Ast.ASSIGN: {
+                Ast.Assign assign = (Ast.Assign) stmt;
+                assign(assign.target, assign.value);
+                break;
+            }
+            case Ast.UPDATE:
+                update((Ast.Update) stmt);
+                break;
+            case Ast.IF: {
+                Ast.If ifStmt = (Ast.If) stmt;
+                int jumpOtherwise = jumpIfFalse(ifStmt.cond);
+                statement(ifStmt.then);
+                if (ifStmt.otherwise != null) {
+                    emit(JMP, 0);
+                    int jumpEnd = length - 1;
+                    code[jumpOtherwise] = length;
+                    statement(ifStmt.otherwise);
+                    code[jumpEnd] = length;
+                } else {
+                    code[jumpOtherwise] = length;
+                }
+                break;
+            }
+            case Ast.WHILE: {
+                Ast.Loop loop = (Ast.Loop) stmt;
+                int top = length;
+                int jumpEnd = jumpIfFalse(loop.cond);
+                Jumps jumps = loopBody(loop.body);
+                patch(jumps.continues, top);
+                emit(JMP, top);
+                code[jumpEnd] = length;
+                patch(jumps.breaks, length);
+                break;
+            }
+            case Ast.DO_WHILE: {
+                Ast.Loop loop = (Ast.Loop) stmt;
+                int top = length;
+                Jumps jumps = loopBody(loop.body);
+                patch(jumps.continues, length);
+                emit(JMP_T, condition(loop.cond), top);
+                patch(jumps.breaks, length);
+                break;
+            }
+            case Ast.FOR: {
+                Ast.For forStmt = (Ast.For) stmt;
+                if (forStmt.scoped) {
+                    scopes.add(new int[forStmt.size]); // Ámbito de la variable de control.
+                }
+                statement(forStmt.init);
+                int top = length;
+                int jumpEnd = jumpIfFalse(forStmt.cond);
+                Jumps jumps = loopBody(forStmt.body);
+                patch(jumps.continues, length);
+                statement(forStmt.update);
+                emit(JMP, top);
+                code[jumpEnd] = length;
+                patch(jumps.breaks, length);
+                if (forStmt.scoped) {
+                    scopes.remove(scopes.size() - 1);
+                }
+                break;
+            }
+            case Ast.FUNCTION:
+                emit(INSTALL, ((Ast.FunctionDecl) stmt).function.index);
+                break;
+            case Ast.EXPR:
+                expression(((Ast.ExprStmt) stmt).expr, -1);
+                break;
+            case Ast.PRINT:
+                print((Ast.Print) stmt);
+                break;
+            case Ast.ERROR:
+                emit(ERROR, string(((Ast.ErrorStmt) stmt).message));
+                break;
+            case Ast.RETURN:
+                ret(((Ast.Return) stmt).value);
+                break;
+            case Ast.BREAK:
+                emit(JMP, 0);
+                loops.get(loops.size() - 1).breaks.add(length - 1);
+                break;
+            case Ast.CONTINUE:
+                emit(JMP, 0);
+                loops.get(loops.size() - 1).continues.add(length - 1);
+                break;
+            default:
+                throw new BytecodeCompiler.UnsupportedProgramException("sentencia no soportada: " + Ast.tagName(stmt.tag));
+        }
+        numTop = numMark; // Libera los temporales y las variables de los bloques internos.
+        refTop = refMark;
+    }
+
+    /**
+     * Evalúa la condición y emite un JMP_F cuyo destino se corrige después.
+     *
+     * @return La posición del operando de destino.
+     */
+    /**
+     * Compila el cuerpo de un ciclo.
+     *
+     * @return Los saltos de sus break y continue, que quien llama completa.
+     */
+    private Jumps loopBody(Ast.Block body) {
+        Jumps jumps = new Jumps();
+        loops.add(jumps);
+        statement(body);
+        loops.remove(loops.size() - 1);
+        return jumps;
+    }
+
+    private void patch(List<Integer> jumps, int target) {
+        for (int at : jumps) {
+            code[at] = target;
+        }
+    }
+
+    /**
+     * Devuelve el valor de la función en compilación, con la verificación del return final.
+     */
+    private void ret(Ast.Expr value) {
+        if (function.returnType == Ast.Type.INT && mayBeFractional(value)) {
+            emit(RET_INT, expression(value, -1));
+        } else {
+            check(value.type, function.returnType, "el valor de retorno de '" + function.name + "'");
+            emit(isString(function.returnType) ? RET_S : RET_N, expression(value, -1));
+        }
+    }
+
+    private int jumpIfFalse(Ast.Expr cond) {
+        int numMark = numTop;
+        int register = condition(cond);
+        numTop = numMark; // El temporal de la condición se consume en el salto.
+        emit(JMP_F, register, 0);
+        return length - 1;
+    }
+
+    private int condition(Ast.Expr cond) {
+        if (cond.type != Ast.Type.BOOLEAN) {
+            throw new BytecodeCompiler.UnsupportedProgramException("la condicion no es booleana");
+        }
+        return expression(cond, -1);
+    }
+
+    /**
+     * @return true si hay que verificar en ejecución que {@code value} sea entero antes de guardarlo en un int: es
+     * double, o es int en un programa en que un += o -= puede dejar decimales en un int
+     * ({@link Ast.Program#fractionalInts}).
+     */
+    private boolean mayBeFractional(Ast.Expr value) {
+        return value.type == Ast.Type.DOUBLE || value.type == Ast.Type.INT && program.fractionalInts;
+    }
+
+    /**
+     * Guarda el valor de {@code value} en la variable. Un double asignado a un int se verifica en ejecución.
+     */
+    private void assign(Ast.Var target, Ast.Expr value) {
+        int register = register(target);
+        if (target.type == Ast.Type.INT && mayBeFractional(value)) {
+            int result = expression(value, -1);
+            if (register < 0) { // Global leída desde una función.
+                int current = allocateNum();
+                emit(GGET_N, current, globalRegisters[((Ast.Global) target).index]);
+                emit(CHECK_INT, current, result, string(target.name));
+                emit(GSET_N, globalRegisters[((Ast.Global) target).index], current);
+            } else {
+                emit(CHECK_INT, register, result, string(target.name));
+            }
+            return;
+        }
+        check(value.type, target.type, "la variable '" + target.name + "'");
+        if (register < 0) {
+            int result = expression(value, -1);
+            emit(isString(target.type) ? GSET_S : GSET_N, globalRegisters[((Ast.Global) target).index], result);
+        } else {
+            expression(value, register);
+        }
+    }
+
+    private void update(Ast.Update update) {
+        Ast.Var target = update.target;
+        if (!target.type.isNumeric()) {
+            emit(ERROR, string("Error: La variable '" + target.name + "' no es numérica y no se puede usar con operadores de incremento/decremento."));
+            return;
+        }
+        int register = register(target);
+        int current = register;
+        if (register < 0) {
+            current = allocateNum();
+            emit(GGET_N, current, globalRegisters[((Ast.Global) target).index]);
+        }
+        int value;
+        if (update.value == null) {
+            value = allocateNum();
+            emit(CONST_N, value, number(1));
+        } else {
+            check(update.value.type, Ast.Type.DOUBLE, "la variable '" + target.name + "'");
+            value = expression(update.value, -1);
+        }
+        int op = update.op == Ast.INC || update.op == Ast.ADD_ASSIGN ? ADD : SUB;
+        emit(op, current, current, value); // Como en el visitor, int += double puede dejar decimales.
+        if (register < 0) {
+            emit(GSET_N, globalRegisters[((Ast.Global) target).index], current);
+        }
+    }
+
+    private void print(Ast.Print print) {
+        int[] kinds = new int[print.parts.length];
+        int[] registers = new int[print.parts.length];
+        for (int i = 0; i < kinds.length; i++) {
+            Ast.Type type = print.parts[i].type;
+            if (type == Ast.Type.UNKNOWN) {
+                throw new BytecodeCompiler.UnsupportedProgramException("tipo desconocido en print");
+            }
+            kinds[i] = isString(type) ? KIND_STRING : type == Ast.Type.BOOLEAN ? KIND_BOOLEAN : KIND_NUMBER;
+            registers[i] = operand(print.parts[i], print.parts, i + 1);
+        }
+        emit(PRINT, kinds.length);
+        for (int i = 0; i < kinds.length; i++) {
+            emit(kinds[i], registers[i]);
+        }
+    }
+
+    //---------------------- Expresiones ----------------------
+
+    /**
+     * Emite una expresión.
+     *
+     * @param expr La expresión.
+     * @param dst  El registro donde debe quedar el resultado, o -1 para usar cualquiera.
+     * @return El registro que contiene el resultado.
+     */
+    private int expression(Ast.Expr expr, int dst) {
+        switch (expr.tag) {
+            case Ast.CONST: {
+                Ast.Const constant = (Ast.Const) expr;
+                if (isString(constant.type)) {
+                    dst = dst < 0 ? allocateRef() : dst;
+                    emit(CONST_S, dst, string((String) constant.value));
+                } else {
+                    dst = dst < 0 ? allocateNum() : dst;
+                    emit(CONST_N, dst, number(constant.type == Ast.Type.BOOLEAN ? ((Boolean) constant.value ? 1 : 0) : constant.number));
+                }
+                return dst;
+            }
+            case Ast.LOCAL:
+            case Ast.GLOBAL: {
+                Ast.Var var = (Ast.Var) expr;
+                boolean string = isString(var.type);
+                int register = register(var);
+                if (register < 0) {
+                    dst = dst < 0 ? (string ? allocateRef() : allocateNum()) : dst;
+                    emit(string ? GGET_S : GGET_N, dst, globalRegisters[((Ast.Global) var).index]);
+                    return dst;
+                }
+                if (dst >= 0 && dst != register) {
+                    emit(string ? MOV_S : MOV_N, dst, register);
+                    return dst;
+                }
+                return register;
+            }
+            case Ast.UNDEFINED: {
+                Ast.Undefined undefined = (Ast.Undefined) expr;
+                emit(ERROR, string("Error: Variable '" + undefined.name + "' no declarada."));
+                if (isString(undefined.type)) {
+                    dst = dst < 0 ? allocateRef() : dst;
+                    emit(CONST_S, dst, string(""));
+                } else {
+                    dst = dst < 0 ? allocateNum() : dst;
+                    emit(CONST_N, dst, number(0));
+                }
+                return dst;
+            }
+            case Ast.ARITH: {
+                Ast.Arith arith = (Ast.Arith) expr;
+                check(arith.left.type, Ast.Type.DOUBLE, "un operando");
+                check(arith.right.type, Ast.Type.DOUBLE, "un operando");
+                if (arith.op == Ast.POWI && arith.right.tag == Ast.CONST && ((Ast.Const) arith.right).number == 2) {
+                    int base = expression(arith.left, -1); // x^2 = x*x con la base evaluada una sola vez.
+                    dst = dst < 0 ? allocateNum() : dst;
+                    emit(MUL, dst, base, base);
+                    return dst;
+                }
+                return binary(ADD + arith.op, arith.left, arith.right, dst);
+            }
+            case Ast.COMPARE: {
+                Ast.Compare compare = (Ast.Compare) expr;
+                Ast.Type left = compare.left.type;
+                Ast.Type right = compare.right.type;
+                boolean booleans = left == Ast.Type.BOOLEAN && right == Ast.Type.BOOLEAN
+                        && (compare.op == Ast.EQ || compare.op == Ast.NE);
+                if (!booleans && !(left.isNumeric() && right.isNumeric())) {
+                    throw new BytecodeCompiler.UnsupportedProgramException("comparacion entre " + left + " y " + right);
+                }
+                return binary(EQ + compare.op, compare.left, compare.right, dst);
+            }
+            case Ast.AND:
+            case Ast.OR: {
+                Ast.Logic logic = (Ast.Logic) expr;
+                if (logic.left.type != Ast.Type.BOOLEAN || logic.right.type != Ast.Type.BOOLEAN) {
+                    throw new BytecodeCompiler.UnsupportedProgramException("operando no booleano");
+                }
+                // El resultado se arma en un temporal: dst puede ser el registro de una variable que lee el
+                // segundo operando.
+                int result = allocateNum();
+                expression(logic.left, result);
+                emit(expr.tag == Ast.AND ? SKIP_F : SKIP_T, result, 0);
+                int jumpEnd = length - 1;
+                expression(logic.right, result);
+                code[jumpEnd] = length;
+                if (dst >= 0) {
+                    emit(MOV_N, dst, result);
+                    return dst;
+                }
+                return result;
+            }
+            case Ast.NOT: {
+                Ast.Expr operand = ((Ast.Not) expr).operand;
+                int register = condition(operand);
+                dst = dst < 0 ? allocateNum() : dst;
+                emit(NOT, dst, register);
+                return dst;
+            }
+            case Ast.CALL:
+                return call((Ast.Call) expr, dst);
+            case Ast.INLINE: { // Función copiada en la llamada: sus variables reciben registros del marco actual.
+                Ast.Inline inline = (Ast.Inline) expr;
+                for (Ast.Stmt stmt : inline.body) {
+                    statement(stmt);
+                }
+                return expression(inline.result, dst);
+            }
+            case Ast.CONCAT: {
+                Ast.Expr[] parts = ((Ast.Concat) expr).parts;
+                int result = operand(parts[0], parts, 1);
+                for (int i = 1; i < parts.length; i++) {
+                    int next = operand(parts[i], parts, i + 1);
+                    int target = i == parts.length - 1 && dst >= 0 ? dst : allocateRef();
+                    emit(CONCAT, target, result, next);
+                    result = target;
+                }
+                if (dst >= 0 && result != dst) {
+                    emit(MOV_S, dst, result);
+                    return dst;
+                }
+                return result;
+            }
+            default:
+                throw new BytecodeCompiler.UnsupportedProgramException("expresion no soportada: " + Ast.tagName(expr.tag));
+        }
+    }
+
+    private int binary(int op, Ast.Expr left, Ast.Expr right, int dst) {
+        int a = operand(left, new Ast.Expr[]{right}, 0);
+        int b = expression(right, -1);
+        dst = dst < 0 ? allocateNum() : dst;
+        emit(op, dst, a, b);
+        return dst;
+    }
+
+    /**
+     * Emite un operando cuyo valor se usa después de evaluar {@code later[from..]}. En el nivel superior una global
+     * se lee directamente de su registro; si una llamada, o el cuerpo copiado de una función, de los operandos
+     * siguientes puede asignarla, el valor leído se copia antes a un temporal.
+     */
+    private int operand(Ast.Expr expr, Ast.Expr[] later, int from) {
+        int register = expression(expr, -1);
+        if (!topLevel || !(isString(expr.type) ? register < globalRef : register < globalNum)) {
+            return register;
+        }
+        for (int i = from; i < later.length; i++) {
+            if (!AstOptimizer.isPure(later[i])) {
+                boolean string = isString(expr.type);
+                int copy = string ? allocateRef() : allocateNum();
+                emit(string ? MOV_S : MOV_N, copy, register);
+                return copy;
+            }
+        }
+        return register;
+    }
+
+    /**
+     * Emite una llamada. Los argumentos se evalúan en registros consecutivos de cada banco, que pasan a ser
+     * los primeros registros del marco de la función llamada.
+     */
+    private int call(Ast.Call call, int dst) {
+        Ast.Function fn = call.function >= 0 ? functions[call.function] : null;
+        if (fn == null) {
+            throw new BytecodeCompiler.UnsupportedProgramException("la funcion '" + call.name + "' no esta declarada");
+        }
+        if (fn.paramTypes.length != call.args.length) {
+            throw new BytecodeCompiler.UnsupportedProgramException("la llamada a '" + call.name + "' no tiene " + fn.paramTypes.length + " argumentos");
+        }
+        boolean string = isString(fn.returnType);
+        if (dst < 0) {
+            dst = string ? allocateRef() : allocateNum();
+        }
+        int baseNum = numTop;
+        int baseRef = refTop;
+        int[] registers = new int[call.args.length];
+        for (int i = 0; i < registers.length; i++) {
+            registers[i] = isString(fn.paramTypes[i]) ? allocateRef() : allocateNum();
+        }
+        for (int i = 0; i < registers.length; i++) {
+            Ast.Type param = fn.paramTypes[i];
+            Ast.Expr arg = call.args[i];
+            if (param == Ast.Type.INT && mayBeFractional(arg)) {
+                expression(arg, registers[i]);
+                emit(ARG_INT, registers[i], fn.index);
+            } else {
+                check(arg.type, param, "el argumento " + (i + 1) + " de '" + fn.name + "'");
+                expression(arg, registers[i]);
+            }
+        }
+        emit(CALL, fn.index, baseNum, baseRef, dst);
+        return dst;
+    }
+
+    //---------------------- Registros y constantes ----------------------
+
+    /**
+     * Registro de una variable en el marco actual, o -1 si es una global leída desde una función.
+     */
+    private int register(Ast.Var var) {
+        if (var.tag == Ast.GLOBAL) {
+            return topLevel ? globalRegisters[((Ast.Global) var).index] : -1;
+        }
+        Ast.Local local = (Ast.Local) var;
+        return scopes.get(scopes.size() - 1 - local.depth)[local.slot];
+    }
+
+    private int allocateNum() {
+        maxNum = Math.max(maxNum, numTop + 1);
+        return numTop++;
+    }
+
+    private int allocateRef() {
+        maxRef = Math.max(maxRef, refTop + 1);
+        return refTop++;
+    }
+
+    private int number(double value) {
+        return numberIndex.computeIfAbsent(Double.doubleToLongBits(value), bits -> {
+            numbers.add(value);
+            return numbers.size() - 1;
+        });
+    }
+
+    private int string(String value) {
+        return stringIndex.computeIfAbsent(value, key -> {
+            strings.add(value);
+            return strings.size() - 1;
+        });
+    }
+
+    private void emit(int... words) {
+        if (length + words.length > code.length) {
+            code = Arrays.copyOf(code, Math.max(code.length * 2, length + words.length));
+        }
+        for (int word : words) {
+            code[length++] = word;
+        }
+    }
+
+    /**
+     * Verifica que un valor de tipo {@code from} se pueda usar donde se espera {@code to}.
+     * Un int se acepta donde se espera un double porque los dos viven en el banco num.
+     */
+    private static void check(Ast.Type from, Ast.Type to, String what) {
+        if (from == Ast.Type.UNKNOWN || !(from == to || (from == Ast.Type.INT && to == Ast.Type.DOUBLE))) {
+            throw new BytecodeCompiler.UnsupportedProgramException(what + " es " + from + " y se esperaba " + to);
+        }
+    }
+
+    private static boolean isString(Ast.Type type) {
+        if (type == Ast.Type.UNKNOWN) {
+            throw new BytecodeCompiler.UnsupportedProgramException("tipo desconocido");
+        }
+        return type == Ast.Type.STRING;
+    }
+}
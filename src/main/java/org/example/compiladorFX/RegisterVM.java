@@ -0,0 +1,431 @@
+package org.example.compiladorFX;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.example.compiladorFX.RegisterCode.*;
+
+/**
+ * Máquina virtual de registros que ejecuta un {@link RegisterCode}.
+ * Todo el programa corre en un único bucle con un switch sobre el código de operación: las llamadas a
+ * funciones no usan la pila de Java, solo desplazan el inicio del marco dentro de los bancos de registros
+ * y guardan la dirección de retorno en {@code frames}.
+ * <p>
+ * Como los marcos viven en arreglos del heap que crecen a demanda, la profundidad de la recursión solo está
+ * limitada por el presupuesto de marcos ({@link #setFrameBudget}); al agotarlo se reporta un error del script.
+ */
+public class RegisterVM {
+
+    /**
+     * Llamadas anidadas que se permiten por defecto antes de reportar desbordamiento.
+     */
+    public static final int DEFAULT_FRAME_BUDGET = 1_000_000;
+    private static final int FRAME_WORDS = 4;     // pc de retorno, inicio num, inicio ref, registro destino.
+
+    private final RegisterCode program;
+    private double[] num;
+    private String[] ref;
+    private int[] frames = new int[FRAME_WORDS * 64];
+    private final boolean[] installed;
+    private final Diagnostics diagnostics = new Diagnostics();
+    private OutputSink output = new OutputSink();
+    private long skippedOperands; // Operandos lógicos omitidos por el cortocircuito.
+    private int frameBudget = DEFAULT_FRAME_BUDGET;
+    private MemoCache memo;
+    private boolean[] memoized;          // Funciones puras cuyas llamadas pasan por memo.
+    private MemoCache.Key[] pending;     // Clave de cada llamada memoizada en curso, por profundidad.
+
+    public RegisterVM(RegisterCode program) {
+        this.program = program;
+        this.num = new double[Math.max(64, program.numRegisters)];
+        this.ref = new String[Math.max(16, program.refRegisters)];
+        this.installed = new boolean[program.functions.length];
+        for (int i = 0; i < program.globalRegisters.length; i++) {
+            if (program.program.globalTypes[i] == Ast.Type.STRING) {
+                ref[program.globalRegisters[i]] = "";
+            }
+        }
+    }
+
+    public String getErrorOut() {
+        return diagnostics.toText();
+    }
+
+    public Diagnostics getDiagnostics() {
+        return diagnostics;
+    }
+
+    public String getTextOut() {
+        return output.getText();
+    }
+
+    /**
+     * Cambia el destino de print.
+     *
+     * @param output El destino de la salida, en memoria por defecto.
+     */
+    public void setOutput(OutputSink output) {
+        this.output = output;
+    }
+
+    /**
+     * Cantidad de operandos de {@code &&} y {@code ||} que no se evaluaron porque el primero ya decidía el resultado.
+     *
+     * @return Los operandos omitidos desde el inicio de la ejecución.
+     */
+    public long getSkippedOperands() {
+        return skippedOperands;
+    }
+
+    /**
+     * Fija la cantidad máxima de llamadas anidadas. Cada marco ocupa {@code FRAME_WORDS} enteros más los registros
+     * de la función, así que el límite real es la memoria disponible.
+     *
+     * @param frameBudget Llamadas anidadas permitidas, mayor que cero.
+     */
+    public void setFrameBudget(int frameBudget) {
+        if (frameBudget <= 0) {
+            throw new IllegalArgumentException("El presupuesto de marcos debe ser mayor que cero");
+        }
+        this.frameBudget = frameBudget;
+    }
+
+    /**
+     * Activa la memoización de las funciones puras según {@link PurityAnalysis}.
+     *
+     * @param memo La caché de resultados o null para no memoizar.
+     */
+    public void setMemoCache(MemoCache memo) {
+        this.memo = memo;
+        if (memo != null && memoized == null) {
+            PurityAnalysis purity = new PurityAnalysis(program.program);
+            memoized = new boolean[program.functions.length];
+            for (int i = 0; i < memoized.length; i++) {
+                memoized[i] = purity.isPure(i);
+            }
+            pending = new MemoCache.Key[64];
+        }
+    }
+
+    /**
+     * Ejecuta el programa desde la primera instrucción hasta HALT.
+     */
+    public void run() {
+        final int[] code = program.code;
+        final double[] numbers = program.numbers;
+        final String[] strings = program.strings;
+        double[] num = this.num;
+        String[] ref = this.ref;
+        int nf = 0; // Inicio del marco actual en cada banco.
+        int rf = 0;
+        int depth = 0;
+        int pc = 0;
+        while (true) {
+            switch (code[pc]) {
+                case CONST_N:
+                    num[nf + code[pc + 1]] = numbers[code[pc + 2]];
+                    pc += 3;
+                    break;
+                case CONST_S:
+                    ref[rf + code[pc + 1]] = strings[code[pc + 2]];
+                    pc += 3;
+                    break;
+                case MOV_N:
+                    num[nf + code[pc + 1]] = num[nf + code[pc + 2]];
+                    pc += 3;
+                    break;
+                case MOV_S:
+                    ref[rf + code[pc + 1]] = ref[rf + code[pc + 2]];
+                    pc += 3;
+                    break;
+                case GGET_N:
+                    num[nf + code[pc + 1]] = num[code[pc + 2]];
+                    pc += 3;
+                    break;
+                case GGET_S:
+                    ref[rf + code[pc + 1]] = ref[code[pc + 2]];
+                    pc += 3;
+                    break;
+                case GSET_N:
+                    num[code[pc + 1]] = num[nf + code[pc + 2]];
+                    pc += 3;
+                    break;
+                case GSET_S:
+                    ref[code[pc + 1]] = ref[rf + code[pc + 2]];
+                    pc += 3;
+                    break;
+                case ADD:
+                    num[nf + code[pc + 1]] = num[nf + code[pc + 2]] + num[nf + code[pc + 3]];
+                    pc += 4;
+                    break;
+                case SUB:
+                    num[nf + code[pc + 1]] = num[nf + code[pc + 2]] - num[nf + code[pc + 3]];
+                    pc += 4;
+                    break;
+                case MUL:
+                    num[nf + code[pc + 1]] = num[nf + code[pc + 2]] * num[nf + code[pc + 3]];
+                    pc += 4;
+                    break;
+                case DIV:
+                    num[nf + code[pc + 1]] = num[nf + code[pc + 2]] / num[nf + code[pc + 3]];
+                    pc += 4;
+                    break;
+                case POW:
+                    num[nf + code[pc + 1]] = Math.pow(num[nf + code[pc + 2]], num[nf + code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case POWI:
+                    num[nf + code[pc + 1]] = AstInterpreter.intPower(num[nf + code[pc + 2]], num[nf + code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case EQ:
+                    num[nf + code[pc + 1]] = num[nf + code[pc + 2]] == num[nf + code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case NE:
+                    num[nf + code[pc + 1]] = num[nf + code[pc + 2]] != num[nf + code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case LT:
+                    num[nf + code[pc + 1]] = num[nf + code[pc + 2]] < num[nf + code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case GT:
+                    num[nf + code[pc + 1]] = num[nf + code[pc + 2]] > num[nf + code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case LE:
+                    num[nf + code[pc + 1]] = num[nf + code[pc + 2]] <= num[nf + code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case GE:
+                    num[nf + code[pc + 1]] = num[nf + code[pc + 2]] >= num[nf + code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case NOT:
+                    num[nf + code[pc + 1]] = num[nf + code[pc + 2]] == 0 ? 1 : 0;
+                    pc += 3;
+                    break;
+                case CONCAT:
+                    ref[rf + code[pc + 1]] = ref[rf + code[pc + 2]].concat(ref[rf + code[pc + 3]]);
+                    pc += 4;
+                    break;
+                case CHECK_INT: {
+                    double value = num[nf + code[pc + 2]];
+                    if (value != Math.rint(value)) {
+                        error("Error de tipo: No se puede asignar un valor no entero a variable int '" + strings[code[pc + 3]] + "'");
+                    } else {
+                        num[nf + code[pc + 1]] = value;
+                    }
+                    pc += 4;
+                    break;
+                }
+                case JMP:
+                    pc = code[pc + 1];
+                    break;
+                case JMP_F:
+                    pc = num[nf + code[pc + 1]] == 0 ? code[pc + 2] : pc + 3;
+                    break;
+                case JMP_T:
+                    pc = num[nf + code[pc + 1]] != 0 ? code[pc + 2] : pc + 3;
+                    break;
+                case SKIP_F:
+                    if (num[nf + code[pc + 1]] == 0) {
+                        skippedOperands++;
+                        pc = code[pc + 2];
+                    } else {
+                        pc += 3;
+                    }
+                    break;
+                case SKIP_T:
+                    if (num[nf + code[pc + 1]] != 0) {
+                        skippedOperands++;
+                        pc = code[pc + 2];
+                    } else {
+                        pc += 3;
+                    }
+                    break;
+                case INSTALL:
+                    installed[code[pc + 1]] = true;
+                    pc += 2;
+                    break;
+                case CALL: {
+                    int fn = code[pc + 1];
+                    FunctionInfo info = program.functions[fn];
+                    if (!installed[fn]) {
+                        throw new ExecutionError("Function '" + info.function.name + "' not defined.");
+                    }
+                    MemoCache.Key key = null;
+                    if (memo != null && memoized[fn]) {
+                        key = key(info.function, nf + code[pc + 2], rf + code[pc + 3]);
+                        Object value = memo.get(key);
+                        if (value != null) { // El resultado va directo al registro destino, sin entrar a la función.
+                            if (value instanceof String) {
+                                ref[rf + code[pc + 4]] = (String) value;
+                            } else {
+                                num[nf + code[pc + 4]] = (Double) value;
+                            }
+                            pc += 5;
+                            break;
+                        }
+                    }
+                    if (++depth > frameBudget) {
+                        throw stackOverflow(info.function.name, frameBudget);
+                    }
+                    int frame = (depth - 1) * FRAME_WORDS;
+                    if (frame + FRAME_WORDS > frames.length) {
+                        frames = Arrays.copyOf(frames, frames.length * 2);
+                    }
+                    frames[frame] = pc + 5;
+                    frames[frame + 1] = nf;
+                    frames[frame + 2] = rf;
+                    frames[frame + 3] = code[pc + 4];
+                    if (memo != null) {
+                        if (depth > pending.length) {
+                            pending = Arrays.copyOf(pending, pending.length * 2);
+                        }
+                        pending[depth - 1] = key;
+                    }
+                    nf += code[pc + 2];
+                    rf += code[pc + 3];
+                    if (nf + info.numRegisters > num.length) { // Los bancos crecen como una pila.
+                        num = this.num = Arrays.copyOf(num, Math.max(num.length * 2, nf + info.numRegisters));
+                    }
+                    if (rf + info.refRegisters > ref.length) {
+                        ref = this.ref = Arrays.copyOf(ref, Math.max(ref.length * 2, rf + info.refRegisters));
+                    }
+                    pc = info.entry;
+                    break;
+                }
+                case ARG_INT:
+                    if (num[nf + code[pc + 1]] != Math.rint(num[nf + code[pc + 1]])) {
+                        throw new ExecutionError("Error: Los argumentos de la llamada a '" + program.functions[code[pc + 2]].function.name + "' no son compatibles con sus parametros.");
+                    }
+                    pc += 3;
+                    break;
+                case RET_INT:
+                case RET_N: {
+                    double value = num[nf + code[pc + 1]];
+                    if (code[pc] == RET_INT && value != Math.rint(value)) {
+                        throw new ExecutionError("Error: In function " + functionAt(pc) + ", return value is not of type int");
+                    }
+                    int frame = --depth * FRAME_WORDS;
+                    if (memo != null && pending[depth] != null) {
+                        memo.put(pending[depth], value);
+                        pending[depth] = null;
+                    }
+                    pc = frames[frame];
+                    nf = frames[frame + 1];
+                    rf = frames[frame + 2];
+                    num[nf + frames[frame + 3]] = value;
+                    break;
+                }
+                case RET_S: {
+                    String value = ref[rf + code[pc + 1]];
+                    int frame = --depth * FRAME_WORDS;
+                    if (memo != null && pending[depth] != null) {
+                        memo.put(pending[depth], value);
+                        pending[depth] = null;
+                    }
+                    pc = frames[frame];
+                    nf = frames[frame + 1];
+                    rf = frames[frame + 2];
+                    ref[rf + frames[frame + 3]] = value;
+                    break;
+                }
+                case PRINT:
+                    print(pc, nf, rf);
+                    pc += 2 + 2 * code[pc + 1];
+                    break;
+                case ERROR:
+                    error(strings[code[pc + 1]]);
+                    pc += 2;
+                    break;
+                case HALT:
+                    return;
+                default:
+                    throw new IllegalStateException("Instrucción desconocida " + code[pc] + " en " + pc);
+            }
+        }
+    }
+
+    /**
+     * Empaqueta las partes de PRINT y las combina de derecha a izquierda como visitPrint_params.
+     */
+    private void print(int pc, int nf, int rf) {
+        int[] code = program.code;
+        int count = code[pc + 1];
+        Object result = null;
+        for (int i = count - 1; i >= 0; i--) {
+            int kind = code[pc + 2 + 2 * i];
+            int register = code[pc + 3 + 2 * i];
+            Object value = kind == KIND_STRING ? ref[rf + register]
+                    : kind == KIND_BOOLEAN ? (Object) (num[nf + register] != 0) : (Object) num[nf + register];
+            result = result == null ? value : AstInterpreter.combine(value, result);
+        }
+        output.print(result);
+    }
+
+    /**
+     * Clave de memoización de una llamada: los argumentos ya están en los primeros registros del marco nuevo.
+     */
+    private MemoCache.Key key(Ast.Function fn, int numBase, int refBase) {
+        Object[] args = new Object[fn.paramTypes.length];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = fn.paramTypes[i] == Ast.Type.STRING ? ref[refBase++] : (Object) num[numBase++];
+        }
+        return new MemoCache.Key(fn.index, args);
+    }
+
+    /**
+     * Nombre de la función que contiene la instrucción {@code pc}, para los mensajes de error.
+     */
+    private String functionAt(int pc) {
+        String name = "";
+        int entry = -1;
+        for (FunctionInfo info : program.functions) {
+            if (info != null && info.entry <= pc && info.entry > entry) {
+                entry = info.entry;
+                name = info.function.name;
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Devuelve la tabla de símbolos global en el mismo formato que {@link MyVisitorFX#getGlobalSymbols()}.
+     *
+     * @return Las variables globales y las funciones instaladas.
+     */
+    public Map<String, MyVisitorFX.Symbol> getGlobalSymbols() {
+        Map<String, MyVisitorFX.Symbol> table = new LinkedHashMap<>();
+        Ast.Program ast = program.program;
+        for (int i = 0; i < ast.globalNames.length; i++) {
+            Ast.Type type = ast.globalTypes[i];
+            int register = program.globalRegisters[i];
+            Object value = type == Ast.Type.STRING ? ref[register]
+                    : type == Ast.Type.BOOLEAN ? (Object) (num[register] != 0) : (Object) num[register];
+            table.put(ast.globalNames[i], new MyVisitorFX.Symbol(ast.globalNames[i], type.toString(), value));
+        }
+        for (int i = 0; i < installed.length; i++) {
+            if (installed[i]) {
+                Ast.Function fn = program.functions[i].function;
+                table.put(fn.name, new MyVisitorFX.Symbol(fn.name, fn.returnType.toString(), "funcion/" + fn.paramNames.length));
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Error del script al agotar el presupuesto de marcos, compartido con {@link StackInterpreter}.
+     */
+    static ExecutionError stackOverflow(String function, int frameBudget) {
+        return new ExecutionError("Error: Desbordamiento de la pila de llamadas en la funcion '" + function
+                + "': se supero el limite de " + frameBudget + " llamadas anidadas");
+    }
+
+    private void error(String message) {
+        diagnostics.error(Diagnostics.Code.EXECUTION, message);
+    }
+}
@@ -0,0 +1,205 @@
+package org.example.compiladorFX;
+
+import java.util.Arrays;
+
+/**
+ * Quita los ámbitos de los bloques que no declaran variables.
+ * <p>
+ * Corre sobre el programa ya optimizado, cuando las copias de funciones y los invariantes ya agregaron sus ranuras,
+ * así que un bloque o el encabezado de un for con {@code size} 0 no declara nada. Esos ámbitos se marcan con
+ * {@code scoped = false} y las profundidades de las variables que los atravesaban se reducen: un motor ejecuta el
+ * cuerpo en el ámbito de afuera, sin crear ni descartar nada en cada vuelta de un ciclo, y leer una variable de
+ * afuera recorre menos ámbitos. Los bloques con ranuras conservan su ámbito con exactamente {@code size} ranuras.
+ */
+final class ScopeElision {
+
+    private boolean[] elided = new boolean[16]; // Ámbitos abiertos desde la función o el nivel superior: true si se quitó.
+    private int open;
+    private int blocks;
+    private int removed;
+
+    /**
+     * Aplica la transformación. Las funciones se transforman en su lugar.
+     *
+     * @return El programa sin los ámbitos vacíos.
+     */
+    Ast.Program apply(Ast.Program program) {
+        return new Ast.Program(statements(program.body), program.globalNames, program.globalTypes,
+                program.functionNames, program.dynamicScope, program.fractionalInts);
+    }
+
+    /**
+     * @return Cuántos bloques y encabezados de for tiene el programa.
+     */
+    int getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * @return Cuántos de ellos se ejecutan sin ámbito propio.
+     */
+    int getRemoved() {
+        return removed;
+    }
+
+    //---------------------- Ámbitos ----------------------
+
+    private void push(boolean empty) {
+        if (open == elided.length) {
+            elided = Arrays.copyOf(elided, open * 2);
+        }
+        elided[open++] = empty;
+        blocks++;
+        if (empty) {
+            removed++;
+        }
+    }
+
+    /**
+     * Profundidad de una variable sin contar los ámbitos quitados que hay entre el uso y su declaración.
+     */
+    private int depth(int depth) {
+        int result = depth;
+        for (int i = open - 1; i >= open - depth; i--) {
+            if (elided[i]) {
+                result--;
+            }
+        }
+        return result;
+    }
+
+    //---------------------- Sentencias ----------------------
+
+    private Ast.Stmt[] statements(Ast.Stmt[] body) {
+        Ast.Stmt[] result = new Ast.Stmt[body.length];
+        for (int i = 0; i < body.length; i++) {
+            result[i] = statement(body[i]);
+        }
+        return result;
+    }
+
+    private Ast.Block block(Ast.Block block) {
+        if (block == null) {
+            return null;
+        }
+        push(block.size == 0);
+        Ast.Block result = at(new Ast.Block(block.size, statements(block.body)), block);
+        result.scoped = !elided[--open];
+        return result;
+    }
+
+    private Ast.Stmt statement(Ast.Stmt stmt) {
+        switch (stmt.tag) {
+            case Ast.BLOCK:
+                return block((Ast.Block) stmt);
+            case Ast.DECLARE: {
+                Ast.Declare declare = (Ast.Declare) stmt;
+                return at(new Ast.Declare(var(declare.target), declare.init == null ? null : expression(declare.init)), stmt);
+            }
+            case Ast.ASSIGN: {
+                Ast.Assign assign = (Ast.Assign) stmt;
+                return at(new Ast.Assign(var(assign.target), expression(assign.value)), stmt);
+            }
+            case Ast.UPDATE: {
+                Ast.Update update = (Ast.Update) stmt;
+                return at(new Ast.Update(var(update.target), update.op,
+                        update.value == null ? null : expression(update.value)), stmt);
+            }
+            case Ast.IF: {
+                Ast.If ifStmt = (Ast.If) stmt;
+                return at(new Ast.If(expression(ifStmt.cond), block(ifStmt.then), block(ifStmt.otherwise)), stmt);
+            }
+            case Ast.WHILE:
+            case Ast.DO_WHILE: {
+                Ast.Loop loop = (Ast.Loop) stmt;
+                return at(new Ast.Loop(stmt.tag, expression(loop.cond), block(loop.body)), stmt);
+            }
+            case Ast.FOR: {
+                Ast.For forStmt = (Ast.For) stmt;
+                push(forStmt.size == 0);
+                Ast.For result = at(new Ast.For(forStmt.size, statement(forStmt.init), expression(forStmt.cond),
+                        statement(forStmt.update), block(forStmt.body)), stmt);
+                result.scoped = !elided[--open];
+                return result;
+            }
+            case Ast.FUNCTION: {
+                Ast.Function fn = ((Ast.FunctionDecl) stmt).function;
+                int outer = open;
+                open = 0; // El marco de la función no ve los ámbitos de afuera.
+                fn.body = statements(fn.body);
+                fn.returnExpr = expression(fn.returnExpr);
+                open = outer;
+                return stmt;
+            }
+            case Ast.EXPR:
+                return at(new Ast.ExprStmt(expression(((Ast.ExprStmt) stmt).expr)), stmt);
+            case Ast.PRINT:
+                return at(new Ast.Print(expressions(((Ast.Print) stmt).parts)), stmt);
+            case Ast.RETURN:
+                return at(new Ast.Return(expression(((Ast.Return) stmt).value)), stmt);
+            default:
+                return stmt;
+        }
+    }
+
+    //---------------------- Expresiones ----------------------
+
+    private Ast.Var var(Ast.Var var) {
+        return var.tag == Ast.LOCAL ? (Ast.Var) expression(var) : var;
+    }
+
+    private Ast.Expr expression(Ast.Expr expr) {
+        switch (expr.tag) {
+            case Ast.LOCAL: {
+                Ast.Local local = (Ast.Local) expr;
+                int depth = depth(local.depth);
+                return depth == local.depth ? expr : at(new Ast.Local(local.name, local.type, depth, local.slot), expr);
+            }
+            case Ast.ARITH: {
+                Ast.Arith arith = (Ast.Arith) expr;
+                return at(new Ast.Arith(arith.op, expression(arith.left), expression(arith.right), arith.type), expr);
+            }
+            case Ast.COMPARE: {
+                Ast.Compare compare = (Ast.Compare) expr;
+                return at(new Ast.Compare(compare.op, expression(compare.left), expression(compare.right)), expr);
+            }
+            case Ast.AND:
+            case Ast.OR: {
+                Ast.Logic logic = (Ast.Logic) expr;
+                return at(new Ast.Logic(expr.tag, expression(logic.left), expression(logic.right)), expr);
+            }
+            case Ast.NOT:
+                return at(new Ast.Not(expression(((Ast.Not) expr).operand)), expr);
+            case Ast.CALL: {
+                Ast.Call call = (Ast.Call) expr;
+                Ast.Call result = at(new Ast.Call(call.name, call.function, expressions(call.args), call.type), expr);
+                result.visible = new Ast.Local[call.visible.length];
+                for (int i = 0; i < result.visible.length; i++) {
+                    result.visible[i] = (Ast.Local) expression(call.visible[i]);
+                }
+                return result;
+            }
+            case Ast.CONCAT:
+                return at(new Ast.Concat(expressions(((Ast.Concat) expr).parts)), expr);
+            case Ast.INLINE: {
+                Ast.Inline inline = (Ast.Inline) expr;
+                return at(new Ast.Inline(inline.name, statements(inline.body), expression(inline.result), inline.type), expr);
+            }
+            default:
+                return expr;
+        }
+    }
+
+    private Ast.Expr[] expressions(Ast.Expr[] exprs) {
+        Ast.Expr[] result = new Ast.Expr[exprs.length];
+        for (int i = 0; i < exprs.length; i++) {
+            result[i] = expression(exprs[i]);
+        }
+        return result;
+    }
+
+    private static <T extends Ast.Node> T at(T node, Ast.Node source) {
+        node.line = source.line;
+        return node;
+    }
+}
@@ -0,0 +1,813 @@
+package org.example.compiladorFX;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.example.compiladorFX.AstInterpreter.Scope;
+
+/**
+ * Intérprete del {@link Ast} que no usa la pila de Java: cada sentencia o expresión pendiente es una entrada de una
+ * pila de control en arreglos del heap, con el paso en que quedó, y los valores intermedios van a una pila de
+ * valores. Una llamada agrega una entrada con su marco y el cuerpo de la función corre en el mismo bucle, así que la
+ * profundidad de la recursión solo está limitada por el presupuesto de marcos ({@link #setFrameBudget}), como en
+ * {@link RegisterVM}.
+ * <p>
+ * Acepta cualquier programa, con la semántica de la evaluación genérica de {@link AstInterpreter} (ámbitos de
+ * referencias y valores empaquetados). {@link Engine#REGISTER_VM} lo usa para los programas que
+ * {@link RegisterCompiler} no puede compilar.
+ */
+public class StackInterpreter {
+
+    // Pasos de una llamada después de crear la entrada.
+    private static final int ARGUMENTS = 1;
+    private static final int BODY = 2;
+    private static final int RESULT = 3;
+
+    /**
+     * Llamada en curso: la función, su marco y por dónde van los argumentos y el cuerpo.
+     */
+    private static final class Activation {
+        final Ast.Function fn;
+        final boolean direct;     // Los argumentos van directo al marco, como en AstInterpreter#bind.
+        Scope frame;
+        Object[] args;            // Argumentos evaluados si no van directo al marco.
+        boolean compatible = true;
+        MemoCache.Key key;
+        int next;                 // Próximo argumento o sentencia del cuerpo.
+        int height;               // Altura de la pila de valores al entrar al cuerpo.
+
+        Activation(Ast.Function fn, boolean direct) {
+            this.fn = fn;
+            this.direct = direct;
+        }
+    }
+
+    private final Ast.Program program;
+    private final Object[] globals;
+    private final Ast.Function[] functions; // Funciones instaladas, por índice.
+    private final Diagnostics diagnostics = new Diagnostics();
+    private OutputSink output = new OutputSink();
+    private Ast.Layout[] layouts = new Ast.Layout[0]; // Distribuciones de referencias, por tamaño.
+    private long skippedOperands; // Operandos lógicos omitidos por el cortocircuito.
+    private int frameBudget = RegisterVM.DEFAULT_FRAME_BUDGET;
+    private int depth;            // Llamadas en curso.
+    private MemoCache memo;
+    private boolean[] memoized;   // Funciones puras cuyas llamadas pasan por memo.
+    private Object returned;      // Valor del último return, hasta que lo recoge la llamada.
+    private Scope resolvedFrom;   // Ámbito de la llamada desde el que se llega a la última local que encontró resolve.
+
+    // Pila de control: el nodo, el ámbito en que se ejecuta, el paso en que quedó y un dato propio del nodo.
+    private Ast.Node[] nodes = new Ast.Node[64];
+    private Scope[] scopes = new Scope[64];
+    private int[] steps = new int[64];
+    private Object[] data = new Object[64];
+    private int top;
+
+    private Object[] values = new Object[64];
+    private int sp;
+
+    public StackInterpreter(Ast.Program program) {
+        this.program = program;
+        this.globals = new Object[program.globalNames.length];
+        this.functions = new Ast.Function[program.functionNames.length];
+    }
+
+    public String getErrorOut() {
+        return diagnostics.toText();
+    }
+
+    public Diagnostics getDiagnostics() {
+        return diagnostics;
+    }
+
+    public String getTextOut() {
+        return output.getText();
+    }
+
+    /**
+     * Cambia el destino de print.
+     *
+     * @param output El destino de la salida, en memoria por defecto.
+     */
+    public void setOutput(OutputSink output) {
+        this.output = output;
+    }
+
+    /**
+     * Cantidad de operandos de {@code &&} y {@code ||} que no se evaluaron porque el primero ya decidía el resultado.
+     *
+     * @return Los operandos omitidos desde el inicio de la ejecución.
+     */
+    public long getSkippedOperands() {
+        return skippedOperands;
+    }
+
+    /**
+     * Fija la cantidad máxima de llamadas anidadas. Cada una ocupa un marco y una entrada de la pila de control,
+     * así que el límite real es la memoria disponible.
+     *
+     * @param frameBudget Llamadas anidadas permitidas, mayor que cero.
+     */
+    public void setFrameBudget(int frameBudget) {
+        if (frameBudget <= 0) {
+            throw new IllegalArgumentException("El presupuesto de marcos debe ser mayor que cero");
+        }
+        this.frameBudget = frameBudget;
+    }
+
+    /**
+     * Activa la memoización de las funciones puras según {@link PurityAnalysis}.
+     *
+     * @param memo La caché de resultados o null para no memoizar.
+     */
+    public void setMemoCache(MemoCache memo) {
+        this.memo = memo;
+        if (memo != null && memoized == null) {
+            PurityAnalysis purity = new PurityAnalysis(program);
+            memoized = new boolean[program.functionNames.length];
+            for (int i = 0; i < memoized.length; i++) {
+                memoized[i] = purity.isPure(i);
+            }
+        }
+    }
+
+    /**
+     * Ejecuta el programa hasta que la pila de control queda vacía.
+     */
+    public void run() {
+        Ast.Block main = new Ast.Block(0, program.body);
+        main.scoped = false;
+        push(main, null);
+        while (top > 0) {
+            int t = top - 1;
+            Ast.Node node = nodes[t];
+            Scope scope = scopes[t];
+            int step = steps[t];
+            switch (node.tag) {
+
+                //---------------------- Expresiones ----------------------
+
+                case Ast.CONST:
+                    complete(((Ast.Const) node).value);
+                    break;
+                case Ast.LOCAL:
+                case Ast.GLOBAL: {
+                    Ast.Var var = (Ast.Var) node;
+                    Object value = load(var, scope);
+                    if (value == null) {
+                        error("Error: Variable '" + var.name + "' no inicializada.");
+                        value = AstInterpreter.defaultValue(var.type);
+                    }
+                    complete(value);
+                    break;
+                }
+                case Ast.UNDEFINED: {
+                    Ast.Undefined undefined = (Ast.Undefined) node;
+                    error("Error: Variable '" + undefined.name + "' no declarada.");
+                    complete(AstInterpreter.defaultValue(undefined.type));
+                    break;
+                }
+                case Ast.DYNAMIC: {
+                    Ast.Dynamic dynamic = (Ast.Dynamic) node;
+                    Ast.Var var = resolve(dynamic, scope);
+                    Object value;
+                    if (var == null) {
+                        error("Error: Variable '" + dynamic.name + "' no declarada.");
+                        value = AstInterpreter.defaultValue(dynamic.type);
+                    } else {
+                        value = load(var, resolvedFrom);
+                        if (value == null) {
+                            error("Error: Variable '" + var.name + "' no inicializada.");
+                            value = AstInterpreter.defaultValue(var.type);
+                        }
+                    }
+                    complete(value);
+                    break;
+                }
+                case Ast.ARITH: {
+                    Ast.Arith arith = (Ast.Arith) node;
+                    if (step == 0) {
+                        descend(t, arith.left);
+                    } else if (step == 1) {
+                        values[sp - 1] = number(values[sp - 1], arith.left); // Como boxedNumber, antes del derecho.
+                        descend(t, arith.right);
+                    } else {
+                        double right = number(pop(), arith.right);
+                        double left = (Double) pop();
+                        complete(AstInterpreter.arith(arith.op, left, right));
+                    }
+                    break;
+                }
+                case Ast.COMPARE: {
+                    Ast.Compare compare = (Ast.Compare) node;
+                    if (step == 0) {
+                        descend(t, compare.left);
+                    } else if (step == 1) {
+                        descend(t, compare.right);
+                    } else {
+                        Object right = pop();
+                        complete(compare(compare.op, pop(), right));
+                    }
+                    break;
+                }
+                case Ast.AND:
+                case Ast.OR: {
+                    Ast.Logic logic = (Ast.Logic) node;
+                    if (step == 0) {
+                        descend(t, logic.left);
+                    } else if (step == 1) {
+                        boolean left = bool(pop(), logic.left);
+                        if (left == (node.tag == Ast.OR)) { // El primer operando decide.
+                            skippedOperands++;
+                            complete(left);
+                        } else {
+                            descend(t, logic.right);
+                        }
+                    } else {
+                        complete(bool(pop(), logic.right));
+                    }
+                    break;
+                }
+                case Ast.NOT: {
+                    Ast.Not not = (Ast.Not) node;
+                    if (step == 0) {
+                        descend(t, not.operand);
+                    } else {
+                        complete(!bool(pop(), not.operand));
+                    }
+                    break;
+                }
+                case Ast.CALL:
+                    call(t, (Ast.Call) node);
+                    break;
+                case Ast.INLINE: {
+                    Ast.Inline inline = (Ast.Inline) node;
+                    if (step < inline.body.length) {
+                        descend(t, inline.body[step]);
+                    } else if (step == inline.body.length) {
+                        descend(t, inline.result);
+                    } else {
+                        popEntry(); // El resultado ya está en la pila de valores.
+                    }
+                    break;
+                }
+                case Ast.CONCAT: {
+                    Ast.Concat concat = (Ast.Concat) node;
+                    if (step == 0) {
+                        data[t] = new StringBuilder();
+                    } else {
+                        ((StringBuilder) data[t]).append(pop());
+                    }
+                    if (step < concat.parts.length) {
+                        descend(t, concat.parts[step]);
+                    } else {
+                        complete(data[t].toString());
+                    }
+                    break;
+                }
+
+                //---------------------- Sentencias ----------------------
+
+                case Ast.BLOCK: {
+                    Ast.Block block = (Ast.Block) node;
+                    if (step == 0 && block.scoped) {
+                        scopes[t] = new Scope(layout(block.size), scope);
+                    }
+                    if (step < block.body.length) {
+                        descend(t, block.body[step]);
+                    } else {
+                        popEntry();
+                    }
+                    break;
+                }
+                case Ast.DECLARE: {
+                    Ast.Declare declare = (Ast.Declare) node;
+                    if (step == 0 && declare.init != null) {
+                        descend(t, declare.init);
+                        break;
+                    }
+                    Object value = declare.init != null ? pop() : null;
+                    if (value == null || AstInterpreter.accepts(declare.target.type, value)) {
+                        store(declare.target, scope, value);
+                    } else {
+                        error(typeError("Valor inicial no compatible con la variable", declare.target, value));
+                        AstInterpreter.unset(declare.target, scope);
+                    }
+                    popEntry();
+                    break;
+                }
+                case Ast.ASSIGN: {
+                    Ast.Assign assign = (Ast.Assign) node;
+                    if (step == 0) {
+                        descend(t, assign.value);
+                        break;
+                    }
+                    Object value = pop();
+                    Ast.Var target = assign.target;
+                    Scope at = scope;
+                    if (target.tag == Ast.DYNAMIC) {
+                        target = resolve((Ast.Dynamic) target, scope);
+                        at = resolvedFrom;
+                    }
+                    if (target == null) {
+                        error("Error: Variable '" + assign.target.name + "' no está declarada.");
+                    } else if (AstInterpreter.accepts(target.type, value)) {
+                        store(target, at, value);
+                    } else {
+                        error(typeError("No se puede asignar el valor a la variable", target, value));
+                    }
+                    popEntry();
+                    break;
+                }
+                case Ast.UPDATE:
+                    update(t, (Ast.Update) node);
+                    break;
+                case Ast.IF: {
+                    Ast.If ifStmt = (Ast.If) node;
+                    if (step == 0) {
+                        descend(t, ifStmt.cond);
+                        break;
+                    }
+                    boolean condition = bool(pop(), ifStmt.cond);
+                    popEntry();
+                    if (condition) {
+                        push(ifStmt.then, scope);
+                    } else if (ifStmt.otherwise != null) {
+                        push(ifStmt.otherwise, scope);
+                    }
+                    break;
+                }
+                case Ast.WHILE: { // 0 o 2: evaluar la condición; 1: la condición ya está evaluada.
+                    Ast.Loop loop = (Ast.Loop) node;
+                    if (step != 1) {
+                        steps[t] = 1;
+                        push(loop.cond, scope);
+                    } else if (bool(pop(), loop.cond)) {
+                        steps[t] = 2;
+                        push(loop.body, scope);
+                    } else {
+                        popEntry();
+                    }
+                    break;
+                }
+                case Ast.DO_WHILE: { // 0: ejecutar el cuerpo; 1: evaluar la condición; 2: la condición ya está evaluada.
+                    Ast.Loop loop = (Ast.Loop) node;
+                    if (step == 1) {
+                        steps[t] = 2;
+                        push(loop.cond, scope);
+                    } else if (step == 0 || bool(pop(), loop.cond)) {
+                        steps[t] = 1;
+                        push(loop.body, scope);
+                    } else {
+                        popEntry();
+                    }
+                    break;
+                }
+                case Ast.FOR: { // 0: inicialización; 1: condición; 2: cuerpo; 3: actualización.
+                    Ast.For forStmt = (Ast.For) node;
+                    if (step == 0) {
+                        if (forStmt.scoped) { // Ámbito de la variable de control.
+                            scopes[t] = new Scope(layout(forStmt.size), scope);
+                        }
+                        steps[t] = 1;
+                        push(forStmt.init, scopes[t]);
+                    } else if (step == 1) {
+                        steps[t] = 2;
+                        push(forStmt.cond, scope);
+                    } else if (step == 2) {
+                        if (bool(pop(), forStmt.cond)) {
+                            steps[t] = 3;
+                            push(forStmt.body, scope);
+                        } else {
+                            popEntry();
+                        }
+                    } else {
+                        steps[t] = 1;
+                        push(forStmt.update, scope);
+                    }
+                    break;
+                }
+                case Ast.FUNCTION: {
+                    Ast.Function fn = ((Ast.FunctionDecl) node).function;
+                    functions[fn.index] = fn; // Instala (o reemplaza) la función.
+                    popEntry();
+                    break;
+                }
+                case Ast.EXPR:
+                    if (step == 0) {
+                        descend(t, ((Ast.ExprStmt) node).expr);
+                    } else {
+                        pop();
+                        popEntry();
+                    }
+                    break;
+                case Ast.PRINT: {
+                    Ast.Print print = (Ast.Print) node;
+                    if (step < print.parts.length) {
+                        descend(t, print.parts[step]);
+                        break;
+                    }
+                    // Combina de derecha a izquierda, igual que visitPrint_params.
+                    Object result = pop();
+                    for (int i = print.parts.length - 2; i >= 0; i--) {
+                        result = AstInterpreter.combine(pop(), result);
+                    }
+                    output.print(result);
+                    popEntry();
+                    break;
+                }
+                case Ast.RETURN:
+                    if (step == 0) {
+                        descend(t, ((Ast.Return) node).value);
+                    } else {
+                        returned = pop();
+                        popEntry();
+                        unwind(Ast.RETURN);
+                    }
+                    break;
+                case Ast.BREAK:
+                case Ast.CONTINUE:
+                    popEntry();
+                    unwind(node.tag);
+                    break;
+                case Ast.ERROR:
+                    error(((Ast.ErrorStmt) node).message);
+                    popEntry();
+                    break;
+                default:
+                    throw new IllegalStateException("Nodo desconocido: " + Ast.tagName(node.tag));
+            }
+        }
+    }
+
+    /**
+     * Devuelve la tabla de símbolos global en el mismo formato que {@link MyVisitorFX#getGlobalSymbols()}.
+     *
+     * @return Las variables globales y las funciones instaladas.
+     */
+    public Map<String, MyVisitorFX.Symbol> getGlobalSymbols() {
+        Map<String, MyVisitorFX.Symbol> table = new LinkedHashMap<>();
+        for (int i = 0; i < globals.length; i++) {
+            String name = program.globalNames[i];
+            table.put(name, new MyVisitorFX.Symbol(name, program.globalTypes[i].toString(), globals[i]));
+        }
+        for (Ast.Function fn : functions) {
+            if (fn != null) {
+                table.put(fn.name, new MyVisitorFX.Symbol(fn.name, fn.returnType.toString(), "funcion/" + fn.paramNames.length));
+            }
+        }
+        return table;
+    }
+
+    //---------------------- Pilas ----------------------
+
+    private void push(Ast.Node node, Scope scope) {
+        if (top == nodes.length) {
+            nodes = Arrays.copyOf(nodes, top * 2);
+            scopes = Arrays.copyOf(scopes, top * 2);
+            steps = Arrays.copyOf(steps, top * 2);
+            data = Arrays.copyOf(data, top * 2);
+        }
+        nodes[top] = node;
+        scopes[top] = scope;
+        steps[top] = 0;
+        top++;
+    }
+
+    /**
+     * Avanza la entrada {@code t} al paso siguiente y agrega encima el hijo que hay que ejecutar antes, en el
+     * ámbito de la entrada.
+     */
+    private void descend(int t, Ast.Node child) {
+        steps[t]++;
+        push(child, scopes[t]);
+    }
+
+    private void popEntry() {
+        top--;
+        nodes[top] = null;
+        scopes[top] = null;
+        data[top] = null;
+    }
+
+    /**
+     * Termina la expresión de arriba de la pila de control dejando su valor en la pila de valores.
+     */
+    private void complete(Object value) {
+        popEntry();
+        if (sp == values.length) {
+            values = Arrays.copyOf(values, sp * 2);
+        }
+        values[sp++] = value;
+    }
+
+    private Object pop() {
+        Object value = values[--sp];
+        values[sp] = null;
+        return value;
+    }
+
+    /**
+     * Quita las entradas hasta la que consume un break, un continue o un return, como las señales de
+     * {@link AstInterpreter}. Si no hay ninguna, la señal llegó al nivel superior y el programa termina.
+     */
+    private void unwind(int signal) {
+        while (top > 0) {
+            int t = top - 1;
+            switch (nodes[t].tag) {
+                case Ast.WHILE:
+                case Ast.DO_WHILE:
+                case Ast.FOR:
+                    if (signal == Ast.BREAK) {
+                        popEntry();
+                        return;
+                    } else if (signal == Ast.CONTINUE) {
+                        // La condición del while, la del do-while o la actualización del for.
+                        steps[t] = nodes[t].tag == Ast.WHILE ? 0 : nodes[t].tag == Ast.DO_WHILE ? 1 : 3;
+                        return;
+                    }
+                    break;
+                case Ast.INLINE: // El cuerpo de una función copiada termina y se evalúa el resultado.
+                    steps[t] = ((Ast.Inline) nodes[t]).body.length;
+                    return;
+                case Ast.CALL: {
+                    Activation call = (Activation) data[t];
+                    if (signal == Ast.RETURN) {
+                        Object value = returned;
+                        returned = null;
+                        while (sp > call.height) {
+                            pop();
+                        }
+                        finish(call, value);
+                    } else { // Un break o un continue solo termina el cuerpo, como en AstInterpreter#execute.
+                        steps[t] = RESULT;
+                        push(call.fn.returnExpr, call.frame);
+                    }
+                    return;
+                }
+                default:
+                    break;
+            }
+            popEntry();
+        }
+    }
+
+    //---------------------- Sentencias ----------------------
+
+    /**
+     * Ejecuta ++, --, += y -= sobre una variable numérica. La variable se busca antes de evaluar el valor y queda en
+     * {@code data} mientras tanto. Como en el visitor, += y -= con un double pueden dejar un int con decimales.
+     */
+    private void update(int t, Ast.Update update) {
+        Object[] target = (Object[]) data[t]; // La variable, el ámbito desde el que se llega y su valor.
+        if (steps[t] == 0) {
+            Ast.Var var = update.target;
+            Scope at = scopes[t];
+            if (var.tag == Ast.DYNAMIC) {
+                var = resolve((Ast.Dynamic) var, at);
+                at = resolvedFrom;
+                if (var == null) {
+                    error("Error: Variable '" + update.target.name + "' no declarada.");
+                    popEntry();
+                    return;
+                }
+            }
+            Object current = load(var, at);
+            if (!(current instanceof Number)) {
+                error("Error: La variable '" + var.name + "' no es numérica y no se puede usar con operadores de incremento/decremento.");
+                popEntry();
+                return;
+            }
+            double value = ((Number) current).doubleValue();
+            if (update.op == Ast.INC || update.op == Ast.DEC) {
+                store(var, at, update.op == Ast.INC ? value + 1 : value - 1);
+                popEntry();
+                return;
+            }
+            data[t] = new Object[]{var, at, value};
+            descend(t, update.value);
+            return;
+        }
+        double value = (Double) target[2];
+        double amount = number(pop(), update.value);
+        store((Ast.Var) target[0], (Scope) target[1], update.op == Ast.ADD_ASSIGN ? value + amount : value - amount);
+        popEntry();
+    }
+
+    //---------------------- Funciones ----------------------
+
+    /**
+     * Avanza una llamada: busca la función, evalúa los argumentos de a uno, entra al cuerpo y al final evalúa el
+     * valor de retorno. Sigue los dos caminos de {@link AstInterpreter}: los argumentos van directo al marco, o a un
+     * arreglo que se verifica y sirve de clave si la función se memoiza.
+     */
+    private void call(int t, Ast.Call call) {
+        Activation activation = (Activation) data[t];
+        switch (steps[t]) {
+            case 0: {
+                Ast.Function fn = call.function >= 0 ? functions[call.function] : null;
+                if (fn == null) {
+                    throw new ExecutionError("Function '" + call.name + "' not defined.");
+                }
+                activation = new Activation(fn, call.args.length == fn.paramTypes.length && (memo == null || !memoized[fn.index]));
+                if (activation.direct) {
+                    activation.frame = new Scope(layout(fn.frameSize), null);
+                } else {
+                    activation.args = new Object[call.args.length];
+                }
+                data[t] = activation;
+                steps[t] = ARGUMENTS;
+                break;
+            }
+            case ARGUMENTS: {
+                Ast.Function fn = activation.fn;
+                if (activation.next > 0) {
+                    int i = activation.next - 1;
+                    Object value = pop();
+                    if (!activation.direct) {
+                        activation.args[i] = value;
+                    } else if (AstInterpreter.accepts(fn.paramTypes[i], value)) {
+                        activation.frame.set(i, value);
+                    } else {
+                        activation.compatible = false; // Se evalúan todos antes de reportarlo.
+                    }
+                }
+                if (activation.next < call.args.length) {
+                    push(call.args[activation.next++], scopes[t]);
+                    break;
+                }
+                if (activation.direct) {
+                    activation.frame.site = call;
+                    activation.frame.caller = scopes[t];
+                } else {
+                    activation.compatible = AstInterpreter.checkArguments(fn, activation.args);
+                }
+                if (!activation.compatible) {
+                    error("Error: Los argumentos de la llamada a '" + fn.name + "' no son compatibles con sus parametros.");
+                    complete(null);
+                    break;
+                }
+                if (!activation.direct) {
+                    if (memo != null && memoized[fn.index]) {
+                        activation.key = new MemoCache.Key(fn.index, activation.args);
+                        Object cached = memo.get(activation.key);
+                        if (cached != null) {
+                            complete(cached);
+                            break;
+                        }
+                    }
+                    activation.frame = new Scope(layout(fn.frameSize), null);
+                    for (int i = 0; i < activation.args.length; i++) {
+                        activation.frame.set(i, activation.args[i]);
+                    }
+                }
+                if (++depth > frameBudget) {
+                    throw RegisterVM.stackOverflow(fn.name, frameBudget);
+                }
+                activation.height = sp;
+                activation.next = 0;
+                steps[t] = BODY;
+                break;
+            }
+            case BODY: {
+                Ast.Stmt[] body = activation.fn.body;
+                if (activation.next < body.length) {
+                    push(body[activation.next++], activation.frame);
+                } else {
+                    steps[t] = RESULT;
+                    push(activation.fn.returnExpr, activation.frame);
+                }
+                break;
+            }
+            default:
+                finish(activation, pop());
+                break;
+        }
+    }
+
+    /**
+     * Termina la llamada de arriba de la pila de control con su valor de retorno.
+     */
+    private void finish(Activation activation, Object value) {
+        depth--;
+        if (!AstInterpreter.accepts(activation.fn.returnType, value)) {
+            throw new ExecutionError("Error: In function " + activation.fn.name + ", return value is not of type " + activation.fn.returnType);
+        }
+        if (activation.key != null) {
+            memo.put(activation.key, value);
+        }
+        complete(value);
+    }
+
+    //---------------------- Valores ----------------------
+
+    /**
+     * Desempaqueta el valor de una expresión que debe ser numérica, como {@code AstInterpreter#boxedNumber}.
+     */
+    private double number(Object value, Ast.Expr expr) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (expr.tag == Ast.CALL || expr.tag == Ast.INLINE) {
+            throw new ExecutionError("Error: La funcion '" + AstInterpreter.functionName(expr) + "' no devuelve una variable numerica");
+        }
+        error("Error: La expresión '" + AstInterpreter.describe(expr) + "' no es numerica");
+        return 0.0;
+    }
+
+    /**
+     * Desempaqueta el valor de una expresión que debe ser booleana.
+     */
+    private boolean bool(Object value, Ast.Expr expr) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (expr.tag == Ast.CALL || expr.tag == Ast.INLINE) {
+            throw new ExecutionError("Error: La funcion '" + AstInterpreter.functionName(expr) + "' no devuelve una variable booleana");
+        }
+        error("Error: La expresión '" + AstInterpreter.describe(expr) + "' no es booleana");
+        return false;
+    }
+
+    private Object compare(int op, Object left, Object right) {
+        if (left instanceof Number && right instanceof Number) {
+            return AstInterpreter.compare(op, ((Number) left).doubleValue(), ((Number) right).doubleValue());
+        } else if (left instanceof Boolean && right instanceof Boolean && (op == Ast.EQ || op == Ast.NE)) {
+            return (op == Ast.EQ) == (left.equals(right));
+        }
+        error("Error de tipos en comparacion : " + left + " " + Ast.COMPARE_SYMBOLS[op] + " " + right);
+        return false;
+    }
+
+    /**
+     * Mensaje de un valor incompatible con una variable. Un número con decimales para un int se reporta como en la
+     * evaluación especializada de {@link AstInterpreter}, que es la que usaban estos programas antes.
+     */
+    private static String typeError(String text, Ast.Var target, Object value) {
+        if (target.type == Ast.Type.INT && value instanceof Number) {
+            return "Error de tipo: No se puede asignar un valor no entero a variable int '" + target.name + "'";
+        }
+        return "Error de tipo: " + text + " " + target.type + " '" + target.name + "'";
+    }
+
+    //---------------------- Variables ----------------------
+
+    /**
+     * Busca una variable de quien llama igual que {@code AstInterpreter#resolve}.
+     *
+     * @return La variable local, que se alcanza desde {@link #resolvedFrom}, la global o null si no está declarada.
+     */
+    private Ast.Var resolve(Ast.Dynamic var, Scope scope) {
+        for (Scope frame = scope; frame != null; frame = frame.caller) {
+            while (frame.parent != null) {
+                frame = frame.parent;
+            }
+            if (frame.site == null) { // Un bloque del nivel superior.
+                break;
+            }
+            for (Ast.Local local : frame.site.visible) {
+                if (local.name.equals(var.name)) {
+                    resolvedFrom = frame.caller;
+                    return local;
+                }
+            }
+        }
+        resolvedFrom = null;
+        return var.global;
+    }
+
+    private Object load(Ast.Var var, Scope scope) {
+        if (var.tag == Ast.GLOBAL) {
+            return globals[((Ast.Global) var).index];
+        }
+        Ast.Local local = (Ast.Local) var;
+        return AstInterpreter.owner(local, scope).get(local.slot, local.type);
+    }
+
+    private void store(Ast.Var var, Scope scope, Object value) {
+        if (var.tag == Ast.GLOBAL) {
+            globals[((Ast.Global) var).index] = value;
+            return;
+        }
+        Ast.Local local = (Ast.Local) var;
+        AstInterpreter.owner(local, scope).set(local.slot, value);
+    }
+
+    /**
+     * @return Una distribución con todas las ranuras como referencias.
+     */
+    private Ast.Layout layout(int size) {
+        if (size >= layouts.length) {
+            layouts = Arrays.copyOf(layouts, size + 1);
+        }
+        if (layouts[size] == null) {
+            layouts[size] = Ast.Layout.boxed(size);
+        }
+        return layouts[size];
+    }
+
+    private void error(String message) {
+        diagnostics.error(Diagnostics.Code.EXECUTION, message);
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.compiladorFX;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CommonToken;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenFactory;
+import org.antlr.v4.runtime.TokenSource;
+import org.antlr.v4.runtime.misc.Interval;
+import org.antlr.v4.runtime.misc.Pair;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Diccionario de los identificadores de un programa: a cada nombre distinto le asigna un número, empezando en 0 y
+ * sin huecos, para que las tablas de símbolos se indexen con enteros en vez de buscar textos.
+ * <p>
+ * Con {@link #install(gLexer)} el lexer interna cada identificador apenas lo lee: el token guarda su número y el
+ * texto compartido, así que {@code getText()} no crea un String nuevo en cada llamada. El diccionario se puede
+ * serializar junto con un programa compilado; al leerlo se reconstruye el índice por nombre.
+ */
+public final class SymbolDictionary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> names = new ArrayList<>();
+    private transient Map<String, Integer> ids = new HashMap<>();
+
+    /**
+     * Token de un identificador con su número en el diccionario que lo leyó.
+     */
+    public static final class IdentifierToken extends CommonToken {
+        private static final long serialVersionUID = 1L;
+
+        final transient SymbolDictionary dictionary;
+        final int id;
+
+        IdentifierToken(Pair<TokenSource, CharStream> source, int type, int channel, int start, int stop,
+                        SymbolDictionary dictionary, int id) {
+            super(source, type, channel, start, stop);
+            this.dictionary = dictionary;
+            this.id = id;
+        }
+
+        public int getId() {
+            return id;
+        }
+    }
+
+    /**
+     * Crea los tokens del lexer: los identificadores salen internados, el resto igual que con la fábrica de ANTLR.
+     */
+    private static final class InterningTokenFactory implements TokenFactory<CommonToken> {
+        private final SymbolDictionary dictionary;
+
+        InterningTokenFactory(SymbolDictionary dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        public CommonToken create(Pair<TokenSource, CharStream> source, int type, String text, int channel,
+                                  int start, int stop, int line, int charPositionInLine) {
+            CommonToken token;
+            if (type == gLexer.ID && source.b != null) {
+                String name = text != null ? text : source.b.getText(Interval.of(start, stop));
+                int id = dictionary.intern(name);
+                token = new IdentifierToken(source, type, channel, start, stop, dictionary, id);
+                token.setText(dictionary.name(id)); // El texto compartido del diccionario.
+            } else {
+                token = new CommonToken(source, type, channel, start, stop);
+                if (text != null) {
+                    token.setText(text);
+                }
+            }
+            token.setLine(line);
+            token.setCharPositionInLine(charPositionInLine);
+            return token;
+        }
+
+        @Override
+        public CommonToken create(int type, String text) {
+            return new CommonToken(type, text);
+        }
+    }
+
+    /**
+     * Hace que el lexer interne los identificadores en este diccionario.
+     *
+     * @param lexer El lexer, antes de pedirle tokens.
+     * @return El mismo lexer.
+     */
+    public gLexer install(gLexer lexer) {
+        lexer.setTokenFactory(new InterningTokenFactory(this));
+        return lexer;
+    }
+
+    /**
+     * Devuelve el número de un nombre, asignándole el siguiente si es nuevo.
+     */
+    public int intern(String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = names.size();
+            names.add(name);
+            ids.put(name, id);
+        }
+        return id;
+    }
+
+    /**
+     * @return El número del nombre o -1 si no está en el diccionario.
+     */
+    public int id(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * @return El número del identificador si el token lo leyó este diccionario; si no, lo interna por su texto.
+     */
+    public int id(Token token) {
+        if (token instanceof IdentifierToken && ((IdentifierToken) token).dictionary == this) {
+            return ((IdentifierToken) token).id;
+        }
+        return intern(token.getText());
+    }
+
+    public String name(int id) {
+        return names.get(id);
+    }
+
+    /**
+     * @return La cantidad de nombres; los números van de 0 a {@code size() - 1}.
+     */
+    public int size() {
+        return names.size();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        ids = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            ids.put(names.get(i), i);
+        }
+    }
+}
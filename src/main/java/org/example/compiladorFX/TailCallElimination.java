@@ -0,0 +1,375 @@
+package org.example.compiladorFX;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Convierte las llamadas recursivas en posición de cola en un ciclo que reutiliza el marco de la función.
+ * <p>
+ * Una llamada de cola es una de estas formas:
+ * <ul>
+ *     <li>{@code r = f(...)} como última sentencia del cuerpo (o del último bloque, o de una rama del último if) de
+ *     una función que termina con {@code return r};</li>
+ *     <li>{@code return f(...)} en medio del cuerpo, fuera de los ciclos;</li>
+ *     <li>{@code return f(...)} como return final.</li>
+ * </ul>
+ * Después de la llamada no se ejecuta nada más y la función devuelve lo que devolvió la llamada, así que basta con
+ * asignar los argumentos a los parámetros y volver a empezar el cuerpo. Los demás return salen de la función desde
+ * dentro del ciclo:
+ * <pre>
+ *     boolean #cola = true;
+ *     while (#cola) {
+ *         #cola = false;
+ *         ...cuerpo...          // r = f(a, b) pasa a ser: n = a; acc = b; #cola = true;
+ *                               // return f(a, b) pasa a ser: n = a; acc = b; #cola = true; continue;
+ *     }
+ *     return r;
+ * </pre>
+ * La recursión usa entonces pila y memoria constantes, en todos los motores. Las variables del nivel superior del
+ * cuerpo se declaran antes del ciclo y dentro se asignan. Si un argumento lee un parámetro que se asigna antes,
+ * los argumentos se calculan primero en temporales.
+ * <p>
+ * Solo se transforma una función si el resultado es el mismo: tiene una sola declaración, así que la llamada
+ * siempre la invoca a ella; no declara otras funciones; todas las variables de su nivel superior se declaran con un
+ * valor compatible, así que la vuelta siguiente no ve valores de la anterior; y los argumentos tienen tipos
+ * compatibles con los parámetros, así que las verificaciones de la llamada que se omiten nunca fallan.
+ */
+final class TailCallElimination {
+
+    private final Ast.Program program;
+    private final Ast.Function[] functions;  // Función de cada índice, null si el nombre se declara más de una vez.
+    private final Map<String, Integer> eliminated = new LinkedHashMap<>();
+
+    TailCallElimination(Ast.Program program) {
+        this.program = program;
+        this.functions = PurityAnalysis.uniqueFunctions(program);
+    }
+
+    /**
+     * @return Las funciones transformadas y la cantidad de llamadas de cola de cada una, en orden de aparición.
+     */
+    Map<String, Integer> getEliminated() {
+        return eliminated;
+    }
+
+    /**
+     * Aplica la transformación. Las funciones se transforman en su lugar.
+     *
+     * @return El mismo programa.
+     */
+    Ast.Program apply() {
+        for (Ast.Function fn : functions) {
+            if (fn != null) {
+                transform(fn);
+            }
+        }
+        return program;
+    }
+
+    //---------------------- Transformación ----------------------
+
+    /**
+     * Estado de la transformación de una función.
+     */
+    private static final class Frame {
+        final Ast.Function fn;
+        final Ast.Local result;     // Variable que devuelve la función, o null si no devuelve una local.
+        final int flag;             // Ranura de #cola.
+        final int temporaries;      // Primera ranura de los temporales de los argumentos, o -1 si no hacen falta.
+        int calls;
+
+        Frame(Ast.Function fn, Ast.Local result, int flag, int temporaries) {
+            this.fn = fn;
+            this.result = result;
+            this.flag = flag;
+            this.temporaries = temporaries;
+        }
+    }
+
+    private void transform(Ast.Function fn) {
+        if (fn.returnExpr == null || FunctionInliner.contains(fn.body, Ast.FUNCTION)) {
+            return;
+        }
+        Ast.Local result = null;
+        if (fn.returnExpr.tag == Ast.LOCAL && ((Ast.Local) fn.returnExpr).depth == 0 && fn.returnExpr.type == fn.returnType) {
+            result = (Ast.Local) fn.returnExpr;
+        }
+        for (Ast.Stmt stmt : fn.body) {
+            if (stmt.tag == Ast.DECLARE) {
+                Ast.Declare declare = (Ast.Declare) stmt;
+                if (declare.target.tag != Ast.LOCAL || declare.init == null
+                        || !PurityAnalysis.isCompatible(declare.target.type, declare.init.type)) {
+                    return;
+                }
+            }
+        }
+        List<Site> sites = new ArrayList<>();
+        tailCalls(fn.body, 0, true, fn, result, sites);
+        boolean tailReturn = isSelfCall(fn.returnExpr, fn);
+        if (tailReturn) {
+            sites.add(new Site((Ast.Call) fn.returnExpr, 0));
+        }
+        if (sites.isEmpty()) {
+            return;
+        }
+        boolean overlap = false;
+        for (Site site : sites) {
+            overlap |= overlaps(site.call, site.level);
+        }
+
+        Frame frame = new Frame(fn, result, fn.frameSize, overlap ? fn.frameSize + 1 : -1);
+        List<Ast.Stmt> body = new ArrayList<>();
+        Ast.Node origin = fn.returnExpr;
+        Ast.Stmt first = fn.body.length > 0 ? fn.body[0] : null;
+        body.add(at(new Ast.Declare(flag(frame, 0), constant(Boolean.TRUE, Ast.Type.BOOLEAN)), first, origin));
+        for (Ast.Stmt stmt : fn.body) {
+            if (stmt.tag == Ast.DECLARE) {
+                Ast.Var target = ((Ast.Declare) stmt).target;
+                body.add(at(new Ast.Declare(target, constant(AstInterpreter.defaultValue(target.type), target.type)), stmt));
+            }
+        }
+        if (overlap) {
+            for (int i = 0; i < fn.paramTypes.length; i++) {
+                Ast.Local temporary = temporary(frame, i, 0);
+                body.add(at(new Ast.Declare(temporary, constant(AstInterpreter.defaultValue(temporary.type), temporary.type)), first, origin));
+            }
+        }
+        List<Ast.Stmt> loop = new ArrayList<>();
+        loop.add(at(new Ast.Assign(flag(frame, 1), constant(Boolean.FALSE, Ast.Type.BOOLEAN)), first, origin));
+        rewrite(fn.body, 0, true, frame, loop);
+        if (tailReturn) { // return f(...) al final: la vuelta siguiente empieza apenas termina el cuerpo.
+            jump((Ast.Call) fn.returnExpr, 0, frame, loop, origin);
+            fn.returnExpr = at(constant(AstInterpreter.defaultValue(fn.returnType), fn.returnType), origin); // Nunca se evalúa.
+        }
+        Ast.Block loopBody = at(new Ast.Block(0, loop.toArray(new Ast.Stmt[0])), first, origin);
+        body.add(at(new Ast.Loop(Ast.WHILE, flag(frame, 0), loopBody), first, origin));
+
+        fn.body = body.toArray(new Ast.Stmt[0]);
+        fn.frameSize = overlap ? frame.temporaries + fn.paramTypes.length : frame.flag + 1;
+        eliminated.merge(fn.name, frame.calls, Integer::sum);
+    }
+
+    /**
+     * Copia las sentencias de un nivel del cuerpo dentro del ciclo. {@code level} cuenta los ámbitos abiertos dentro
+     * del cuerpo original; el ciclo agrega uno, así que las variables del marco bajan un nivel más. {@code tail}
+     * indica si el nivel termina la función.
+     */
+    private void rewrite(Ast.Stmt[] body, int level, boolean tail, Frame frame, List<Ast.Stmt> out) {
+        for (int i = 0; i < body.length; i++) {
+            Ast.Stmt stmt = body[i];
+            boolean last = tail && i == body.length - 1;
+            if (last && isTailCall(stmt, level, frame.fn, frame.result)) {
+                Ast.Assign assign = (Ast.Assign) stmt;
+                jump((Ast.Call) assign.value, level, frame, out, assign);
+            } else if (isTailReturn(stmt, frame.fn)) { // return f(...): la vuelta siguiente empieza ya.
+                jump((Ast.Call) ((Ast.Return) stmt).value, level, frame, out, stmt);
+                out.add(at(new Ast.Jump(Ast.CONTINUE), stmt));
+            } else if (stmt.tag == Ast.BLOCK) {
+                out.add(block((Ast.Block) stmt, level + 1, last, frame));
+            } else if (stmt.tag == Ast.IF) {
+                Ast.If ifStmt = (Ast.If) stmt;
+                out.add(at(new Ast.If(FunctionInliner.relocate(ifStmt.cond, level, 0, 1), block(ifStmt.then, level + 1, last, frame),
+                        block(ifStmt.otherwise, level + 1, last, frame)), stmt));
+            } else if (level == 0 && stmt.tag == Ast.DECLARE) { // Ya se declaró antes del ciclo.
+                Ast.Declare declare = (Ast.Declare) stmt;
+                out.add(at(new Ast.Assign(FunctionInliner.relocate(declare.target, 0, 0, 1),
+                        FunctionInliner.relocate(declare.init, 0, 0, 1)), stmt));
+            } else {
+                out.add(FunctionInliner.relocate(stmt, level, 0, 1));
+            }
+        }
+    }
+
+    private Ast.Block block(Ast.Block block, int level, boolean tail, Frame frame) {
+        if (block == null) {
+            return null;
+        }
+        List<Ast.Stmt> body = new ArrayList<>();
+        rewrite(block.body, level, tail, frame, body);
+        return at(new Ast.Block(block.size, body.toArray(new Ast.Stmt[0])), block);
+    }
+
+    /**
+     * Reemplaza la llamada de cola por la asignación de los argumentos a los parámetros y la vuelta al principio.
+     */
+    private void jump(Ast.Call call, int level, Frame frame, List<Ast.Stmt> out, Ast.Node site) {
+        Ast.Function fn = frame.fn;
+        int depth = level + 1;
+        boolean[] unchanged = new boolean[call.args.length];
+        for (int i = 0; i < call.args.length; i++) {
+            Ast.Expr arg = call.args[i];
+            unchanged[i] = arg.tag == Ast.LOCAL && ((Ast.Local) arg).depth == level && ((Ast.Local) arg).slot == i;
+        }
+        for (int i = 0; i < call.args.length; i++) {
+            if (!unchanged[i]) {
+                Ast.Var target = frame.temporaries >= 0 ? temporary(frame, i, depth) : param(fn, i, depth, site);
+                out.add(at(new Ast.Assign(target, FunctionInliner.relocate(call.args[i], level, 0, 1)), site));
+            }
+        }
+        if (frame.temporaries >= 0) {
+            for (int i = 0; i < call.args.length; i++) {
+                if (!unchanged[i]) {
+                    out.add(at(new Ast.Assign(param(fn, i, depth, site), temporary(frame, i, depth)), site));
+                }
+            }
+        }
+        out.add(at(new Ast.Assign(flag(frame, depth), constant(Boolean.TRUE, Ast.Type.BOOLEAN)), site));
+        frame.calls++;
+    }
+
+    private static Ast.Local param(Ast.Function fn, int index, int depth, Ast.Node source) {
+        return at(new Ast.Local(fn.paramNames[index], fn.paramTypes[index], depth, index), source);
+    }
+
+    private static Ast.Local flag(Frame frame, int depth) {
+        return new Ast.Local("#cola", Ast.Type.BOOLEAN, depth, frame.flag);
+    }
+
+    private static Ast.Local temporary(Frame frame, int index, int depth) {
+        return new Ast.Local("#arg" + index, frame.fn.paramTypes[index], depth, frame.temporaries + index);
+    }
+
+    private static Ast.Const constant(Object value, Ast.Type type) {
+        return new Ast.Const(value, type);
+    }
+
+    //---------------------- Condiciones ----------------------
+
+    /**
+     * Llamada de cola encontrada, con la cantidad de ámbitos abiertos en el cuerpo original.
+     */
+    private static final class Site {
+        final Ast.Call call;
+        final int level;
+
+        Site(Ast.Call call, int level) {
+            this.call = call;
+            this.level = level;
+        }
+    }
+
+    /**
+     * Busca las llamadas de cola: la asignación {@code r = f(...)} al final de cada nivel en posición de cola y los
+     * {@code return f(...)} fuera de ciclos, donde un salto al principio del cuerpo no puede caer en otro ciclo.
+     */
+    private static void tailCalls(Ast.Stmt[] body, int level, boolean tail, Ast.Function fn, Ast.Local result, List<Site> out) {
+        for (int i = 0; i < body.length; i++) {
+            Ast.Stmt stmt = body[i];
+            boolean last = tail && i == body.length - 1;
+            if (last && isTailCall(stmt, level, fn, result)) {
+                out.add(new Site((Ast.Call) ((Ast.Assign) stmt).value, level));
+            } else if (isTailReturn(stmt, fn)) {
+                out.add(new Site((Ast.Call) ((Ast.Return) stmt).value, level));
+            } else if (stmt.tag == Ast.BLOCK) {
+                tailCalls(((Ast.Block) stmt).body, level + 1, last, fn, result, out);
+            } else if (stmt.tag == Ast.IF) {
+                Ast.If ifStmt = (Ast.If) stmt;
+                tailCalls(ifStmt.then.body, level + 1, last, fn, result, out);
+                if (ifStmt.otherwise != null) {
+                    tailCalls(ifStmt.otherwise.body, level + 1, last, fn, result, out);
+                }
+            }
+        }
+    }
+
+    /**
+     * Una asignación {@code r = f(...)} a la variable que se devuelve, con argumentos compatibles con los parámetros.
+     */
+    private static boolean isTailCall(Ast.Stmt stmt, int level, Ast.Function fn, Ast.Local result) {
+        if (result == null || stmt.tag != Ast.ASSIGN) {
+            return false;
+        }
+        Ast.Assign assign = (Ast.Assign) stmt;
+        if (assign.target.tag != Ast.LOCAL || !isSelfCall(assign.value, fn)) {
+            return false;
+        }
+        Ast.Local target = (Ast.Local) assign.target;
+        return target.depth == level && target.slot == result.slot;
+    }
+
+    /**
+     * Un {@code return f(...)} en medio del cuerpo.
+     */
+    private static boolean isTailReturn(Ast.Stmt stmt, Ast.Function fn) {
+        return stmt.tag == Ast.RETURN && isSelfCall(((Ast.Return) stmt).value, fn);
+    }
+
+    /**
+     * Una llamada a la misma función con argumentos compatibles con los parámetros.
+     */
+    private static boolean isSelfCall(Ast.Expr expr, Ast.Function fn) {
+        if (expr == null || expr.tag != Ast.CALL) {
+            return false;
+        }
+        Ast.Call call = (Ast.Call) expr;
+        if (call.function != fn.index || call.args.length != fn.paramTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < call.args.length; i++) {
+            if (!PurityAnalysis.isCompatible(fn.paramTypes[i], call.args[i].type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indica si algún argumento lee un parámetro anterior, que ya se habría reemplazado al asignar en orden.
+     */
+    private static boolean overlaps(Ast.Call call, int level) {
+        for (int i = 1; i < call.args.length; i++) {
+            if (reads(call.args[i], level, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indica si la expresión lee alguna de las primeras {@code count} ranuras del marco.
+     */
+    private static boolean reads(Ast.Expr expr, int level, int count) {
+        switch (expr.tag) {
+            case Ast.LOCAL: {
+                Ast.Local local = (Ast.Local) expr;
+                return local.depth == level && local.slot < count;
+            }
+            case Ast.ARITH:
+                return reads(((Ast.Arith) expr).left, level, count) || reads(((Ast.Arith) expr).right, level, count);
+            case Ast.COMPARE:
+                return reads(((Ast.Compare) expr).left, level, count) || reads(((Ast.Compare) expr).right, level, count);
+            case Ast.AND:
+            case Ast.OR:
+                return reads(((Ast.Logic) expr).left, level, count) || reads(((Ast.Logic) expr).right, level, count);
+            case Ast.NOT:
+                return reads(((Ast.Not) expr).operand, level, count);
+            case Ast.CALL:
+                for (Ast.Expr arg : ((Ast.Call) expr).args) {
+                    if (reads(arg, level, count)) {
+                        return true;
+                    }
+                }
+                return false;
+            case Ast.CONCAT:
+                for (Ast.Expr part : ((Ast.Concat) expr).parts) {
+                    if (reads(part, level, count)) {
+                        return true;
+                    }
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    private static <T extends Ast.Node> T at(T node, Ast.Node source) {
+        node.line = source.line;
+        return node;
+    }
+
+    private static <T extends Ast.Node> T at(T node, Ast.Node source, Ast.Node fallback) {
+        return at(node, source != null ? source : fallback);
+    }
+}
@@ -0,0 +1,189 @@
+package org.example.compiladorFX;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Trazas de depuración de los intérpretes, por categoría.
+ * <p>
+ * Las categorías activas se leen una sola vez, al cargar la clase, de la propiedad {@value #PROPERTY}: una lista
+ * separada por comas ({@code scope,condition,assignment,call}) o {@code all}. Cada categoría es una constante
+ * {@code static final}, así que una guarda como {@code if (Trace.SCOPE) { ... }} con la categoría desactivada es
+ * código muerto para el JIT, que la elimina junto con el armado del mensaje. Sin categorías activas tampoco se crea
+ * el hilo de escritura.
+ * <p>
+ * Las trazas activas no se escriben en el hilo del programa: {@link #log} las deja en un buffer circular de
+ * capacidad fija ({@value #BUFFER_PROPERTY}, {@value #DEFAULT_CAPACITY} por defecto) y un hilo aparte las escribe en
+ * la salida de error o en el archivo de {@value #FILE_PROPERTY}. Si el buffer se llena, las trazas nuevas se
+ * descartan y se cuentan, para no frenar al intérprete; al cerrar la JVM se escribe lo pendiente.
+ */
+public final class Trace {
+
+    /**
+     * Categorías de trazas.
+     */
+    public enum Category {
+        SCOPE,      // Variables que salen de cada ámbito.
+        CONDITION,  // Resultado de cada condición y de cada comparación.
+        ASSIGNMENT, // Valores asignados y tipos inválidos al asignar o declarar.
+        CALL        // Llamadas a funciones con sus argumentos.
+    }
+
+    public static final String PROPERTY = "compilador.trace";
+    public static final String FILE_PROPERTY = "compilador.trace.file";
+    public static final String BUFFER_PROPERTY = "compilador.trace.buffer";
+    public static final int DEFAULT_CAPACITY = 65536;
+
+    private static final EnumSet<Category> ENABLED = parse(System.getProperty(PROPERTY, ""));
+
+    public static final boolean SCOPE = ENABLED.contains(Category.SCOPE);
+    public static final boolean CONDITION = ENABLED.contains(Category.CONDITION);
+    public static final boolean ASSIGNMENT = ENABLED.contains(Category.ASSIGNMENT);
+    public static final boolean CALL = ENABLED.contains(Category.CALL);
+
+    private static final RingWriter WRITER = ENABLED.isEmpty() ? null : new RingWriter(
+            Integer.getInteger(BUFFER_PROPERTY, DEFAULT_CAPACITY), System.getProperty(FILE_PROPERTY));
+
+    private Trace() {
+    }
+
+    /**
+     * Convierte una lista de categorías separadas por comas, o {@code all}, en el conjunto de categorías. Los nombres
+     * desconocidos se avisan en la salida de error y se ignoran.
+     */
+    static EnumSet<Category> parse(String categories) {
+        EnumSet<Category> enabled = EnumSet.noneOf(Category.class);
+        for (String name : categories.split(",")) {
+            name = name.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (name.equalsIgnoreCase("all")) {
+                return EnumSet.allOf(Category.class);
+            }
+            try {
+                enabled.add(Category.valueOf(name.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Categoria de trazas desconocida: " + name);
+            }
+        }
+        return enabled;
+    }
+
+    /**
+     * @return true si la categoría está activa. En los caminos calientes conviene usar las constantes, que el JIT
+     * puede eliminar.
+     */
+    public static boolean isEnabled(Category category) {
+        return ENABLED.contains(category);
+    }
+
+    /**
+     * Encola una traza. Quien llama verifica antes la constante de la categoría, así que con la categoría desactivada
+     * el mensaje ni se arma.
+     */
+    public static void log(Category category, String message) {
+        if (WRITER != null && ENABLED.contains(category)) {
+            WRITER.offer("[" + category.name().toLowerCase(Locale.ROOT) + "] " + message);
+        }
+    }
+
+    /**
+     * @return Las trazas descartadas porque el buffer estaba lleno.
+     */
+    public static long getDropped() {
+        return WRITER != null ? WRITER.dropped.get() : 0;
+    }
+
+    /**
+     * Buffer circular de trazas con un hilo que las escribe.
+     */
+    private static final class RingWriter implements Runnable {
+        private final ArrayBlockingQueue<String> buffer;
+        private final AtomicLong dropped = new AtomicLong();
+        private final Writer out;
+        private final String end = "";            // Marca de cierre: se compara por identidad.
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private long reported;                    // Descartadas que ya se avisaron.
+
+        RingWriter(int capacity, String file) {
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+            Writer writer;
+            try {
+                writer = file != null ? Files.newBufferedWriter(Paths.get(file), StandardCharsets.UTF_8)
+                        : new BufferedWriter(new OutputStreamWriter(System.err, StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                System.err.println("No se pudo abrir el archivo de trazas " + file + ": " + e.getMessage());
+                writer = new BufferedWriter(new OutputStreamWriter(System.err, StandardCharsets.UTF_8));
+            }
+            this.out = writer;
+            Thread thread = new Thread(this, "trazas");
+            thread.setDaemon(true);
+            thread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(this::close, "trazas-cierre"));
+        }
+
+        void offer(String line) {
+            if (!buffer.offer(line)) {
+                dropped.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    String line = buffer.take();
+                    if (line == end) {
+                        write();
+                        closed.countDown();
+                        return;
+                    }
+                    out.write(line);
+                    out.write('\n');
+                    if (buffer.isEmpty()) { // Se escribe por tandas: solo cuando no queda nada pendiente.
+                        write();
+                    }
+                }
+            } catch (InterruptedException | IOException e) {
+                closed.countDown();
+            }
+        }
+
+        /**
+         * Avisa las trazas descartadas y vacía el buffer del Writer.
+         */
+        private void write() throws IOException {
+            long lost = dropped.get();
+            if (lost > reported) {
+                out.write("[trace] " + (lost - reported) + " trazas descartadas: el buffer esta lleno\n");
+                reported = lost;
+            }
+            out.flush();
+        }
+
+        /**
+         * Espera a que el hilo escriba lo pendiente, con un límite para no demorar el cierre de la JVM.
+         */
+        private void close() {
+            try {
+                if (buffer.offer(end, 1, TimeUnit.SECONDS)) {
+                    closed.await(2, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package org.example.compiladorFX;
+
+/**
+ * Inferencia de la representación de cada variable de un {@link Ast.Program} ya optimizado.
+ * <p>
+ * Los tipos de las expresiones salen de {@link AstLowering}: cada variable tiene el tipo de su declaración y cada
+ * operación el que resulta de sus operandos (una suma de dos int es int; una división, double). Este análisis
+ * recorre el programa final, después de las copias de funciones, los invariantes y las llamadas de cola, y asigna a
+ * cada ranura de cada ámbito la {@link Ast.Kind} de los valores que recibe: long para int y boolean, double para
+ * double y referencia para string. Las ranuras de los parámetros toman el tipo del parámetro. Una ranura que recibe
+ * declaraciones de tipos distintos, o que nunca se declara, queda como referencia.
+ * <p>
+ * El resultado queda como {@link Ast.Layout} en {@link Ast.Block#layout}, {@link Ast.For#layout} y
+ * {@link Ast.Function#layout}, y en {@link Ast.Program#globalKinds}, para que un motor guarde los int y los double
+ * sin empaquetarlos.
+ */
+final class TypeInference {
+
+    private final int[] slots = new int[Ast.Kind.values().length]; // Ranuras de cada representación.
+    private int untyped;                                            // Expresiones sin tipo estático.
+
+    /**
+     * Asigna las representaciones de todas las ranuras del programa.
+     */
+    void infer(Ast.Program program) {
+        program.globalKinds = new Ast.Kind[program.globalTypes.length];
+        for (int i = 0; i < program.globalTypes.length; i++) {
+            program.globalKinds[i] = program.globalTypes[i].kind();
+        }
+        count(program.globalKinds);
+        statements(program.body, null);
+    }
+
+    /**
+     * @return Cuántas ranuras quedaron con la representación {@code kind}.
+     */
+    int getSlots(Ast.Kind kind) {
+        return slots[kind.ordinal()];
+    }
+
+    /**
+     * @return Cuántas expresiones no tienen tipo estático, por ejemplo las llamadas a funciones no declaradas o
+     * declaradas con tipos de retorno distintos. Sus valores se guardan como referencia.
+     */
+    int getUntyped() {
+        return untyped;
+    }
+
+    //---------------------- Ámbitos ----------------------
+
+    /**
+     * Infiere las ranuras de un ámbito nuevo.
+     *
+     * @param size   Las ranuras del ámbito.
+     * @param params Los tipos de las primeras ranuras, ya conocidos (los parámetros de una función).
+     */
+    private Ast.Layout scope(int size, Ast.Type[] params, Ast.Stmt[] body, Ast.Expr result) {
+        Ast.Type[] types = new Ast.Type[size];
+        System.arraycopy(params, 0, types, 0, params.length);
+        statements(body, types);
+        if (result != null) {
+            expression(result, types);
+        }
+        return close(types);
+    }
+
+    /**
+     * Convierte los tipos de las ranuras en su distribución. Las que nunca se declararon, o se declararon con tipos
+     * distintos, quedan como referencia.
+     */
+    private Ast.Layout close(Ast.Type[] types) {
+        Ast.Kind[] kinds = new Ast.Kind[types.length];
+        for (int i = 0; i < types.length; i++) {
+            kinds[i] = types[i] != null ? types[i].kind() : Ast.Kind.REF;
+        }
+        count(kinds);
+        return new Ast.Layout(kinds);
+    }
+
+    private void count(Ast.Kind[] kinds) {
+        for (Ast.Kind kind : kinds) {
+            slots[kind.ordinal()]++;
+        }
+    }
+
+    /**
+     * Registra la declaración de una ranura del ámbito actual. Se compara el tipo y no la representación, para que
+     * un int y un boolean no compartan una ranura long.
+     *
+     * @param types El ámbito actual, null en el nivel superior, donde se declaran globales.
+     */
+    private static void declare(Ast.Var target, Ast.Type[] types) {
+        if (types == null || target.tag != Ast.LOCAL || ((Ast.Local) target).depth != 0
+                || ((Ast.Local) target).slot >= types.length) {
+            return;
+        }
+        int slot = ((Ast.Local) target).slot;
+        if (types[slot] == null) {
+            types[slot] = target.type;
+        } else if (types[slot] != target.type) {
+            types[slot] = Ast.Type.UNKNOWN;
+        }
+    }
+
+    //---------------------- Sentencias ----------------------
+
+    private void statements(Ast.Stmt[] body, Ast.Type[] types) {
+        for (Ast.Stmt stmt : body) {
+            statement(stmt, types);
+        }
+    }
+
+    private void statement(Ast.Stmt stmt, Ast.Type[] types) {
+        switch (stmt.tag) {
+            case Ast.BLOCK:
+                block((Ast.Block) stmt, types);
+                break;
+            case Ast.DECLARE: {
+                Ast.Declare declare = (Ast.Declare) stmt;
+                if (declare.init != null) {
+                    expression(declare.init, types);
+                }
+                declare(declare.target, types);
+                break;
+            }
+            case Ast.ASSIGN:
+                expression(((Ast.Assign) stmt).value, types);
+                break;
+            case Ast.UPDATE: {
+                Ast.Update update = (Ast.Update) stmt;
+                if (update.value != null) {
+                    expression(update.value, types);
+                }
+                break;
+            }
+            case Ast.IF: {
+                Ast.If ifStmt = (Ast.If) stmt;
+                expression(ifStmt.cond, types);
+                block(ifStmt.then, types);
+                if (ifStmt.otherwise != null) {
+                    block(ifStmt.otherwise, types);
+                }
+                break;
+            }
+            case Ast.WHILE:
+            case Ast.DO_WHILE: {
+                Ast.Loop loop = (Ast.Loop) stmt;
+                expression(loop.cond, types);
+                block(loop.body, types);
+                break;
+            }
+            case Ast.FOR: {
+                Ast.For forStmt = (Ast.For) stmt;
+                Ast.Type[] header = forStmt.scoped ? new Ast.Type[forStmt.size] : types;
+                statement(forStmt.init, header);
+                expression(forStmt.cond, header);
+                statement(forStmt.update, header);
+                if (forStmt.scoped) {
+                    forStmt.layout = close(header);
+                }
+                block(forStmt.body, header);
+                break;
+            }
+            case Ast.FUNCTION: {
+                Ast.Function fn = ((Ast.FunctionDecl) stmt).function;
+                fn.layout = scope(fn.frameSize, fn.paramTypes, fn.body, fn.returnExpr);
+                break;
+            }
+            case Ast.EXPR:
+                expression(((Ast.ExprStmt) stmt).expr, types);
+                break;
+            case Ast.PRINT:
+                for (Ast.Expr part : ((Ast.Print) stmt).parts) {
+                    expression(part, types);
+                }
+                break;
+            case Ast.RETURN:
+                expression(((Ast.Return) stmt).value, types);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Infiere las ranuras de un bloque. Un bloque sin ámbito propio declara en el de afuera.
+     */
+    private void block(Ast.Block block, Ast.Type[] types) {
+        if (block.scoped) {
+            block.layout = scope(block.size, new Ast.Type[0], block.body, null);
+        } else {
+            statements(block.body, types);
+        }
+    }
+
+    //---------------------- Expresiones ----------------------
+
+    /**
+     * Recorre una expresión. Las copias de funciones declaran sus parámetros y variables en el ámbito actual.
+     */
+    private void expression(Ast.Expr expr, Ast.Type[] types) {
+        if (expr.type == Ast.Type.UNKNOWN) {
+            untyped++;
+        }
+        switch (expr.tag) {
+            case Ast.ARITH: {
+                Ast.Arith arith = (Ast.Arith) expr;
+                expression(arith.left, types);
+                expression(arith.right, types);
+                break;
+            }
+            case Ast.COMPARE: {
+                Ast.Compare compare = (Ast.Compare) expr;
+                expression(compare.left, types);
+                expression(compare.right, types);
+                break;
+            }
+            case Ast.AND:
+            case Ast.OR: {
+                Ast.Logic logic = (Ast.Logic) expr;
+                expression(logic.left, types);
+                expression(logic.right, types);
+                break;
+            }
+            case Ast.NOT:
+                expression(((Ast.Not) expr).operand, types);
+                break;
+            case Ast.CALL:
+                for (Ast.Expr arg : ((Ast.Call) expr).args) {
+                    expression(arg, types);
+                }
+                break;
+            case Ast.CONCAT:
+                for (Ast.Expr part : ((Ast.Concat) expr).parts) {
+                    expression(part, types);
+                }
+                break;
+            case Ast.INLINE: {
+                Ast.Inline inline = (Ast.Inline) expr;
+                statements(inline.body, types);
+                expression(inline.result, types);
+                break;
+            }
+            default:
+                break;
+        }
+    }
+}
@@ -1,4 +1,4 @@
-package org.example.compiladorFX;// Generated from C:/Users/Bruno/IdeaProjects/Compiladorsito/src/main/g.g4 by ANTLR 4.13.1
+package org.example.compiladorFX;// Generated from g.g4 by ANTLR 4.13.2
 import org.antlr.v4.runtime.Lexer;
 import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.Token;
@@ -10,7 +10,7 @@ import org.antlr.v4.runtime.misc.*;
 
 @SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast", "CheckReturnValue", "this-escape"})
 public class gLexer extends Lexer {
-	static { RuntimeMetaData.checkVersion("4.13.1", RuntimeMetaData.VERSION); }
+	static { RuntimeMetaData.checkVersion("4.13.2", RuntimeMetaData.VERSION); }
 
 	protected static final DFA[] _decisionToDFA;
 	protected static final PredictionContextCache _sharedContextCache =
@@ -20,9 +20,9 @@ public class gLexer extends Lexer {
 		T__9=10, T__10=11, T__11=12, T__12=13, T__13=14, T__14=15, T__15=16, T__16=17, 
 		T__17=18, T__18=19, T__19=20, T__20=21, T__21=22, T__22=23, T__23=24, 
 		IF=25, ELSE=26, WHILE=27, DO=28, FOR=29, TRUE=30, FALSE=31, INT_TYPE=32, 
-		RETURN=33, DOUBLE_TYPE=34, BOOLEAN_TYPE=35, STRING_TYPE=36, PRINT_ID=37, 
-		ID=38, INT=39, DOUBLE=40, STRING=41, MATH_OP=42, LOG_OP=43, COMP_OP=44, 
-		ASSIGN=45, PUNCT=46, WS=47;
+		RETURN=33, BREAK=34, CONTINUE=35, DOUBLE_TYPE=36, BOOLEAN_TYPE=37, STRING_TYPE=38, 
+		PRINT_ID=39, ID=40, INT=41, DOUBLE=42, STRING=43, MATH_OP=44, LOG_OP=45, 
+		COMP_OP=46, ASSIGN=47, PUNCT=48, WS=49;
 	public static String[] channelNames = {
 		"DEFAULT_TOKEN_CHANNEL", "HIDDEN"
 	};
@@ -37,9 +37,9 @@ public class gLexer extends Lexer {
 			"T__9", "T__10", "T__11", "T__12", "T__13", "T__14", "T__15", "T__16", 
 			"T__17", "T__18", "T__19", "T__20", "T__21", "T__22", "T__23", "IF", 
 			"ELSE", "WHILE", "DO", "FOR", "TRUE", "FALSE", "INT_TYPE", "RETURN", 
-			"DOUBLE_TYPE", "BOOLEAN_TYPE", "STRING_TYPE", "PRINT_ID", "ID", "INT", 
-			"DOUBLE", "STRING", "MATH_OP", "LOG_OP", "COMP_OP", "ASSIGN", "PUNCT", 
-			"WS"
+			"BREAK", "CONTINUE", "DOUBLE_TYPE", "BOOLEAN_TYPE", "STRING_TYPE", "PRINT_ID", 
+			"ID", "INT", "DOUBLE", "STRING", "MATH_OP", "LOG_OP", "COMP_OP", "ASSIGN", 
+			"PUNCT", "WS"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
@@ -49,8 +49,9 @@ public class gLexer extends Lexer {
 			null, "';'", "'('", "')'", "'{'", "'}'", "'++'", "'--'", "'+='", "'-='", 
 			"','", "'+'", "'-'", "'*'", "'/'", "'^'", "'||'", "'&&'", "'!'", "'=='", 
 			"'!='", "'<'", "'>'", "'<='", "'>='", "'if'", "'else'", "'while'", "'do'", 
-			"'for'", "'true'", "'false'", "'int'", "'return'", "'double'", "'boolean'", 
-			"'string'", "'print'", null, null, null, null, null, null, null, "'='"
+			"'for'", "'true'", "'false'", "'int'", "'return'", "'break'", "'continue'", 
+			"'double'", "'boolean'", "'string'", "'print'", null, null, null, null, 
+			null, null, null, "'='"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
@@ -59,9 +60,9 @@ public class gLexer extends Lexer {
 			null, null, null, null, null, null, null, null, null, null, null, null, 
 			null, null, null, null, null, null, null, null, null, null, null, null, 
 			null, "IF", "ELSE", "WHILE", "DO", "FOR", "TRUE", "FALSE", "INT_TYPE", 
-			"RETURN", "DOUBLE_TYPE", "BOOLEAN_TYPE", "STRING_TYPE", "PRINT_ID", "ID", 
-			"INT", "DOUBLE", "STRING", "MATH_OP", "LOG_OP", "COMP_OP", "ASSIGN", 
-			"PUNCT", "WS"
+			"RETURN", "BREAK", "CONTINUE", "DOUBLE_TYPE", "BOOLEAN_TYPE", "STRING_TYPE", 
+			"PRINT_ID", "ID", "INT", "DOUBLE", "STRING", "MATH_OP", "LOG_OP", "COMP_OP", 
+			"ASSIGN", "PUNCT", "WS"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -123,7 +124,7 @@ public class gLexer extends Lexer {
 	public ATN getATN() { return _ATN; }
 
 	public static final String _serializedATN =
-		"\u0004\u0000/\u012b\u0006\uffff\uffff\u0002\u0000\u0007\u0000\u0002\u0001"+
+		"\u0004\u00001\u013e\u0006\uffff\uffff\u0002\u0000\u0007\u0000\u0002\u0001"+
 		"\u0007\u0001\u0002\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002\u0004"+
 		"\u0007\u0004\u0002\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002\u0007"+
 		"\u0007\u0007\u0002\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002\u000b"+
@@ -136,179 +137,189 @@ public class gLexer extends Lexer {
 		"\u001e\u0007\u001e\u0002\u001f\u0007\u001f\u0002 \u0007 \u0002!\u0007"+
 		"!\u0002\"\u0007\"\u0002#\u0007#\u0002$\u0007$\u0002%\u0007%\u0002&\u0007"+
 		"&\u0002\'\u0007\'\u0002(\u0007(\u0002)\u0007)\u0002*\u0007*\u0002+\u0007"+
-		"+\u0002,\u0007,\u0002-\u0007-\u0002.\u0007.\u0001\u0000\u0001\u0000\u0001"+
-		"\u0001\u0001\u0001\u0001\u0002\u0001\u0002\u0001\u0003\u0001\u0003\u0001"+
-		"\u0004\u0001\u0004\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0006\u0001"+
-		"\u0006\u0001\u0006\u0001\u0007\u0001\u0007\u0001\u0007\u0001\b\u0001\b"+
-		"\u0001\b\u0001\t\u0001\t\u0001\n\u0001\n\u0001\u000b\u0001\u000b\u0001"+
-		"\f\u0001\f\u0001\r\u0001\r\u0001\u000e\u0001\u000e\u0001\u000f\u0001\u000f"+
-		"\u0001\u000f\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0011\u0001\u0011"+
-		"\u0001\u0012\u0001\u0012\u0001\u0012\u0001\u0013\u0001\u0013\u0001\u0013"+
-		"\u0001\u0014\u0001\u0014\u0001\u0015\u0001\u0015\u0001\u0016\u0001\u0016"+
-		"\u0001\u0016\u0001\u0017\u0001\u0017\u0001\u0017\u0001\u0018\u0001\u0018"+
-		"\u0001\u0018\u0001\u0019\u0001\u0019\u0001\u0019\u0001\u0019\u0001\u0019"+
-		"\u0001\u001a\u0001\u001a\u0001\u001a\u0001\u001a\u0001\u001a\u0001\u001a"+
-		"\u0001\u001b\u0001\u001b\u0001\u001b\u0001\u001c\u0001\u001c\u0001\u001c"+
-		"\u0001\u001c\u0001\u001d\u0001\u001d\u0001\u001d\u0001\u001d\u0001\u001d"+
-		"\u0001\u001e\u0001\u001e\u0001\u001e\u0001\u001e\u0001\u001e\u0001\u001e"+
-		"\u0001\u001f\u0001\u001f\u0001\u001f\u0001\u001f\u0001 \u0001 \u0001 "+
-		"\u0001 \u0001 \u0001 \u0001 \u0001!\u0001!\u0001!\u0001!\u0001!\u0001"+
-		"!\u0001!\u0001\"\u0001\"\u0001\"\u0001\"\u0001\"\u0001\"\u0001\"\u0001"+
-		"\"\u0001#\u0001#\u0001#\u0001#\u0001#\u0001#\u0001#\u0001$\u0001$\u0001"+
-		"$\u0001$\u0001$\u0001$\u0001%\u0001%\u0005%\u00e3\b%\n%\f%\u00e6\t%\u0001"+
-		"&\u0001&\u0005&\u00ea\b&\n&\f&\u00ed\t&\u0001&\u0003&\u00f0\b&\u0001\'"+
-		"\u0001\'\u0005\'\u00f4\b\'\n\'\f\'\u00f7\t\'\u0001\'\u0003\'\u00fa\b\'"+
-		"\u0001\'\u0001\'\u0004\'\u00fe\b\'\u000b\'\f\'\u00ff\u0001(\u0001(\u0001"+
-		"(\u0001(\u0005(\u0106\b(\n(\f(\u0109\t(\u0001(\u0001(\u0001)\u0001)\u0001"+
-		"*\u0001*\u0001*\u0001*\u0001*\u0003*\u0114\b*\u0001+\u0001+\u0001+\u0001"+
-		"+\u0001+\u0001+\u0001+\u0001+\u0001+\u0003+\u011f\b+\u0001,\u0001,\u0001"+
-		"-\u0001-\u0001.\u0004.\u0126\b.\u000b.\f.\u0127\u0001.\u0001.\u0000\u0000"+
-		"/\u0001\u0001\u0003\u0002\u0005\u0003\u0007\u0004\t\u0005\u000b\u0006"+
-		"\r\u0007\u000f\b\u0011\t\u0013\n\u0015\u000b\u0017\f\u0019\r\u001b\u000e"+
-		"\u001d\u000f\u001f\u0010!\u0011#\u0012%\u0013\'\u0014)\u0015+\u0016-\u0017"+
-		"/\u00181\u00193\u001a5\u001b7\u001c9\u001d;\u001e=\u001f? A!C\"E#G$I%"+
-		"K&M\'O(Q)S*U+W,Y-[.]/\u0001\u0000\t\u0002\u0000AZaz\u0005\u0000$$09AZ"+
-		"__az\u0001\u000019\u0001\u000009\u0002\u0000\"\"\\\\\u0005\u0000%%*+-"+
-		"-//^^\u0002\u0000<<>>\u0004\u0000();;{{}}\u0003\u0000\t\n\r\r  \u0139"+
-		"\u0000\u0001\u0001\u0000\u0000\u0000\u0000\u0003\u0001\u0000\u0000\u0000"+
-		"\u0000\u0005\u0001\u0000\u0000\u0000\u0000\u0007\u0001\u0000\u0000\u0000"+
-		"\u0000\t\u0001\u0000\u0000\u0000\u0000\u000b\u0001\u0000\u0000\u0000\u0000"+
-		"\r\u0001\u0000\u0000\u0000\u0000\u000f\u0001\u0000\u0000\u0000\u0000\u0011"+
-		"\u0001\u0000\u0000\u0000\u0000\u0013\u0001\u0000\u0000\u0000\u0000\u0015"+
-		"\u0001\u0000\u0000\u0000\u0000\u0017\u0001\u0000\u0000\u0000\u0000\u0019"+
-		"\u0001\u0000\u0000\u0000\u0000\u001b\u0001\u0000\u0000\u0000\u0000\u001d"+
-		"\u0001\u0000\u0000\u0000\u0000\u001f\u0001\u0000\u0000\u0000\u0000!\u0001"+
-		"\u0000\u0000\u0000\u0000#\u0001\u0000\u0000\u0000\u0000%\u0001\u0000\u0000"+
-		"\u0000\u0000\'\u0001\u0000\u0000\u0000\u0000)\u0001\u0000\u0000\u0000"+
-		"\u0000+\u0001\u0000\u0000\u0000\u0000-\u0001\u0000\u0000\u0000\u0000/"+
-		"\u0001\u0000\u0000\u0000\u00001\u0001\u0000\u0000\u0000\u00003\u0001\u0000"+
-		"\u0000\u0000\u00005\u0001\u0000\u0000\u0000\u00007\u0001\u0000\u0000\u0000"+
-		"\u00009\u0001\u0000\u0000\u0000\u0000;\u0001\u0000\u0000\u0000\u0000="+
-		"\u0001\u0000\u0000\u0000\u0000?\u0001\u0000\u0000\u0000\u0000A\u0001\u0000"+
-		"\u0000\u0000\u0000C\u0001\u0000\u0000\u0000\u0000E\u0001\u0000\u0000\u0000"+
-		"\u0000G\u0001\u0000\u0000\u0000\u0000I\u0001\u0000\u0000\u0000\u0000K"+
-		"\u0001\u0000\u0000\u0000\u0000M\u0001\u0000\u0000\u0000\u0000O\u0001\u0000"+
-		"\u0000\u0000\u0000Q\u0001\u0000\u0000\u0000\u0000S\u0001\u0000\u0000\u0000"+
-		"\u0000U\u0001\u0000\u0000\u0000\u0000W\u0001\u0000\u0000\u0000\u0000Y"+
-		"\u0001\u0000\u0000\u0000\u0000[\u0001\u0000\u0000\u0000\u0000]\u0001\u0000"+
-		"\u0000\u0000\u0001_\u0001\u0000\u0000\u0000\u0003a\u0001\u0000\u0000\u0000"+
-		"\u0005c\u0001\u0000\u0000\u0000\u0007e\u0001\u0000\u0000\u0000\tg\u0001"+
-		"\u0000\u0000\u0000\u000bi\u0001\u0000\u0000\u0000\rl\u0001\u0000\u0000"+
-		"\u0000\u000fo\u0001\u0000\u0000\u0000\u0011r\u0001\u0000\u0000\u0000\u0013"+
-		"u\u0001\u0000\u0000\u0000\u0015w\u0001\u0000\u0000\u0000\u0017y\u0001"+
-		"\u0000\u0000\u0000\u0019{\u0001\u0000\u0000\u0000\u001b}\u0001\u0000\u0000"+
-		"\u0000\u001d\u007f\u0001\u0000\u0000\u0000\u001f\u0081\u0001\u0000\u0000"+
-		"\u0000!\u0084\u0001\u0000\u0000\u0000#\u0087\u0001\u0000\u0000\u0000%"+
-		"\u0089\u0001\u0000\u0000\u0000\'\u008c\u0001\u0000\u0000\u0000)\u008f"+
-		"\u0001\u0000\u0000\u0000+\u0091\u0001\u0000\u0000\u0000-\u0093\u0001\u0000"+
-		"\u0000\u0000/\u0096\u0001\u0000\u0000\u00001\u0099\u0001\u0000\u0000\u0000"+
-		"3\u009c\u0001\u0000\u0000\u00005\u00a1\u0001\u0000\u0000\u00007\u00a7"+
-		"\u0001\u0000\u0000\u00009\u00aa\u0001\u0000\u0000\u0000;\u00ae\u0001\u0000"+
-		"\u0000\u0000=\u00b3\u0001\u0000\u0000\u0000?\u00b9\u0001\u0000\u0000\u0000"+
-		"A\u00bd\u0001\u0000\u0000\u0000C\u00c4\u0001\u0000\u0000\u0000E\u00cb"+
-		"\u0001\u0000\u0000\u0000G\u00d3\u0001\u0000\u0000\u0000I\u00da\u0001\u0000"+
-		"\u0000\u0000K\u00e0\u0001\u0000\u0000\u0000M\u00ef\u0001\u0000\u0000\u0000"+
-		"O\u00f9\u0001\u0000\u0000\u0000Q\u0101\u0001\u0000\u0000\u0000S\u010c"+
-		"\u0001\u0000\u0000\u0000U\u0113\u0001\u0000\u0000\u0000W\u011e\u0001\u0000"+
-		"\u0000\u0000Y\u0120\u0001\u0000\u0000\u0000[\u0122\u0001\u0000\u0000\u0000"+
-		"]\u0125\u0001\u0000\u0000\u0000_`\u0005;\u0000\u0000`\u0002\u0001\u0000"+
-		"\u0000\u0000ab\u0005(\u0000\u0000b\u0004\u0001\u0000\u0000\u0000cd\u0005"+
-		")\u0000\u0000d\u0006\u0001\u0000\u0000\u0000ef\u0005{\u0000\u0000f\b\u0001"+
-		"\u0000\u0000\u0000gh\u0005}\u0000\u0000h\n\u0001\u0000\u0000\u0000ij\u0005"+
-		"+\u0000\u0000jk\u0005+\u0000\u0000k\f\u0001\u0000\u0000\u0000lm\u0005"+
-		"-\u0000\u0000mn\u0005-\u0000\u0000n\u000e\u0001\u0000\u0000\u0000op\u0005"+
-		"+\u0000\u0000pq\u0005=\u0000\u0000q\u0010\u0001\u0000\u0000\u0000rs\u0005"+
-		"-\u0000\u0000st\u0005=\u0000\u0000t\u0012\u0001\u0000\u0000\u0000uv\u0005"+
-		",\u0000\u0000v\u0014\u0001\u0000\u0000\u0000wx\u0005+\u0000\u0000x\u0016"+
-		"\u0001\u0000\u0000\u0000yz\u0005-\u0000\u0000z\u0018\u0001\u0000\u0000"+
-		"\u0000{|\u0005*\u0000\u0000|\u001a\u0001\u0000\u0000\u0000}~\u0005/\u0000"+
-		"\u0000~\u001c\u0001\u0000\u0000\u0000\u007f\u0080\u0005^\u0000\u0000\u0080"+
-		"\u001e\u0001\u0000\u0000\u0000\u0081\u0082\u0005|\u0000\u0000\u0082\u0083"+
-		"\u0005|\u0000\u0000\u0083 \u0001\u0000\u0000\u0000\u0084\u0085\u0005&"+
-		"\u0000\u0000\u0085\u0086\u0005&\u0000\u0000\u0086\"\u0001\u0000\u0000"+
-		"\u0000\u0087\u0088\u0005!\u0000\u0000\u0088$\u0001\u0000\u0000\u0000\u0089"+
-		"\u008a\u0005=\u0000\u0000\u008a\u008b\u0005=\u0000\u0000\u008b&\u0001"+
-		"\u0000\u0000\u0000\u008c\u008d\u0005!\u0000\u0000\u008d\u008e\u0005=\u0000"+
-		"\u0000\u008e(\u0001\u0000\u0000\u0000\u008f\u0090\u0005<\u0000\u0000\u0090"+
-		"*\u0001\u0000\u0000\u0000\u0091\u0092\u0005>\u0000\u0000\u0092,\u0001"+
-		"\u0000\u0000\u0000\u0093\u0094\u0005<\u0000\u0000\u0094\u0095\u0005=\u0000"+
-		"\u0000\u0095.\u0001\u0000\u0000\u0000\u0096\u0097\u0005>\u0000\u0000\u0097"+
-		"\u0098\u0005=\u0000\u0000\u00980\u0001\u0000\u0000\u0000\u0099\u009a\u0005"+
-		"i\u0000\u0000\u009a\u009b\u0005f\u0000\u0000\u009b2\u0001\u0000\u0000"+
-		"\u0000\u009c\u009d\u0005e\u0000\u0000\u009d\u009e\u0005l\u0000\u0000\u009e"+
-		"\u009f\u0005s\u0000\u0000\u009f\u00a0\u0005e\u0000\u0000\u00a04\u0001"+
-		"\u0000\u0000\u0000\u00a1\u00a2\u0005w\u0000\u0000\u00a2\u00a3\u0005h\u0000"+
-		"\u0000\u00a3\u00a4\u0005i\u0000\u0000\u00a4\u00a5\u0005l\u0000\u0000\u00a5"+
-		"\u00a6\u0005e\u0000\u0000\u00a66\u0001\u0000\u0000\u0000\u00a7\u00a8\u0005"+
-		"d\u0000\u0000\u00a8\u00a9\u0005o\u0000\u0000\u00a98\u0001\u0000\u0000"+
-		"\u0000\u00aa\u00ab\u0005f\u0000\u0000\u00ab\u00ac\u0005o\u0000\u0000\u00ac"+
-		"\u00ad\u0005r\u0000\u0000\u00ad:\u0001\u0000\u0000\u0000\u00ae\u00af\u0005"+
-		"t\u0000\u0000\u00af\u00b0\u0005r\u0000\u0000\u00b0\u00b1\u0005u\u0000"+
-		"\u0000\u00b1\u00b2\u0005e\u0000\u0000\u00b2<\u0001\u0000\u0000\u0000\u00b3"+
-		"\u00b4\u0005f\u0000\u0000\u00b4\u00b5\u0005a\u0000\u0000\u00b5\u00b6\u0005"+
-		"l\u0000\u0000\u00b6\u00b7\u0005s\u0000\u0000\u00b7\u00b8\u0005e\u0000"+
-		"\u0000\u00b8>\u0001\u0000\u0000\u0000\u00b9\u00ba\u0005i\u0000\u0000\u00ba"+
-		"\u00bb\u0005n\u0000\u0000\u00bb\u00bc\u0005t\u0000\u0000\u00bc@\u0001"+
-		"\u0000\u0000\u0000\u00bd\u00be\u0005r\u0000\u0000\u00be\u00bf\u0005e\u0000"+
-		"\u0000\u00bf\u00c0\u0005t\u0000\u0000\u00c0\u00c1\u0005u\u0000\u0000\u00c1"+
-		"\u00c2\u0005r\u0000\u0000\u00c2\u00c3\u0005n\u0000\u0000\u00c3B\u0001"+
-		"\u0000\u0000\u0000\u00c4\u00c5\u0005d\u0000\u0000\u00c5\u00c6\u0005o\u0000"+
-		"\u0000\u00c6\u00c7\u0005u\u0000\u0000\u00c7\u00c8\u0005b\u0000\u0000\u00c8"+
-		"\u00c9\u0005l\u0000\u0000\u00c9\u00ca\u0005e\u0000\u0000\u00caD\u0001"+
-		"\u0000\u0000\u0000\u00cb\u00cc\u0005b\u0000\u0000\u00cc\u00cd\u0005o\u0000"+
-		"\u0000\u00cd\u00ce\u0005o\u0000\u0000\u00ce\u00cf\u0005l\u0000\u0000\u00cf"+
-		"\u00d0\u0005e\u0000\u0000\u00d0\u00d1\u0005a\u0000\u0000\u00d1\u00d2\u0005"+
-		"n\u0000\u0000\u00d2F\u0001\u0000\u0000\u0000\u00d3\u00d4\u0005s\u0000"+
-		"\u0000\u00d4\u00d5\u0005t\u0000\u0000\u00d5\u00d6\u0005r\u0000\u0000\u00d6"+
-		"\u00d7\u0005i\u0000\u0000\u00d7\u00d8\u0005n\u0000\u0000\u00d8\u00d9\u0005"+
-		"g\u0000\u0000\u00d9H\u0001\u0000\u0000\u0000\u00da\u00db\u0005p\u0000"+
-		"\u0000\u00db\u00dc\u0005r\u0000\u0000\u00dc\u00dd\u0005i\u0000\u0000\u00dd"+
-		"\u00de\u0005n\u0000\u0000\u00de\u00df\u0005t\u0000\u0000\u00dfJ\u0001"+
-		"\u0000\u0000\u0000\u00e0\u00e4\u0007\u0000\u0000\u0000\u00e1\u00e3\u0007"+
-		"\u0001\u0000\u0000\u00e2\u00e1\u0001\u0000\u0000\u0000\u00e3\u00e6\u0001"+
-		"\u0000\u0000\u0000\u00e4\u00e2\u0001\u0000\u0000\u0000\u00e4\u00e5\u0001"+
-		"\u0000\u0000\u0000\u00e5L\u0001\u0000\u0000\u0000\u00e6\u00e4\u0001\u0000"+
-		"\u0000\u0000\u00e7\u00eb\u0007\u0002\u0000\u0000\u00e8\u00ea\u0007\u0003"+
-		"\u0000\u0000\u00e9\u00e8\u0001\u0000\u0000\u0000\u00ea\u00ed\u0001\u0000"+
-		"\u0000\u0000\u00eb\u00e9\u0001\u0000\u0000\u0000\u00eb\u00ec\u0001\u0000"+
-		"\u0000\u0000\u00ec\u00f0\u0001\u0000\u0000\u0000\u00ed\u00eb\u0001\u0000"+
-		"\u0000\u0000\u00ee\u00f0\u00050\u0000\u0000\u00ef\u00e7\u0001\u0000\u0000"+
-		"\u0000\u00ef\u00ee\u0001\u0000\u0000\u0000\u00f0N\u0001\u0000\u0000\u0000"+
-		"\u00f1\u00f5\u0007\u0002\u0000\u0000\u00f2\u00f4\u0007\u0003\u0000\u0000"+
-		"\u00f3\u00f2\u0001\u0000\u0000\u0000\u00f4\u00f7\u0001\u0000\u0000\u0000"+
-		"\u00f5\u00f3\u0001\u0000\u0000\u0000\u00f5\u00f6\u0001\u0000\u0000\u0000"+
-		"\u00f6\u00fa\u0001\u0000\u0000\u0000\u00f7\u00f5\u0001\u0000\u0000\u0000"+
-		"\u00f8\u00fa\u00050\u0000\u0000\u00f9\u00f1\u0001\u0000\u0000\u0000\u00f9"+
-		"\u00f8\u0001\u0000\u0000\u0000\u00fa\u00fb\u0001\u0000\u0000\u0000\u00fb"+
-		"\u00fd\u0005.\u0000\u0000\u00fc\u00fe\u0007\u0003\u0000\u0000\u00fd\u00fc"+
-		"\u0001\u0000\u0000\u0000\u00fe\u00ff\u0001\u0000\u0000\u0000\u00ff\u00fd"+
-		"\u0001\u0000\u0000\u0000\u00ff\u0100\u0001\u0000\u0000\u0000\u0100P\u0001"+
-		"\u0000\u0000\u0000\u0101\u0107\u0005\"\u0000\u0000\u0102\u0103\u0005\\"+
-		"\u0000\u0000\u0103\u0106\t\u0000\u0000\u0000\u0104\u0106\b\u0004\u0000"+
-		"\u0000\u0105\u0102\u0001\u0000\u0000\u0000\u0105\u0104\u0001\u0000\u0000"+
-		"\u0000\u0106\u0109\u0001\u0000\u0000\u0000\u0107\u0105\u0001\u0000\u0000"+
-		"\u0000\u0107\u0108\u0001\u0000\u0000\u0000\u0108\u010a\u0001\u0000\u0000"+
-		"\u0000\u0109\u0107\u0001\u0000\u0000\u0000\u010a\u010b\u0005\"\u0000\u0000"+
-		"\u010bR\u0001\u0000\u0000\u0000\u010c\u010d\u0007\u0005\u0000\u0000\u010d"+
-		"T\u0001\u0000\u0000\u0000\u010e\u010f\u0005&\u0000\u0000\u010f\u0114\u0005"+
-		"&\u0000\u0000\u0110\u0111\u0005|\u0000\u0000\u0111\u0114\u0005|\u0000"+
-		"\u0000\u0112\u0114\u0005!\u0000\u0000\u0113\u010e\u0001\u0000\u0000\u0000"+
-		"\u0113\u0110\u0001\u0000\u0000\u0000\u0113\u0112\u0001\u0000\u0000\u0000"+
-		"\u0114V\u0001\u0000\u0000\u0000\u0115\u011f\u0007\u0006\u0000\u0000\u0116"+
-		"\u0117\u0005<\u0000\u0000\u0117\u011f\u0005=\u0000\u0000\u0118\u0119\u0005"+
-		">\u0000\u0000\u0119\u011f\u0005=\u0000\u0000\u011a\u011b\u0005=\u0000"+
-		"\u0000\u011b\u011f\u0005=\u0000\u0000\u011c\u011d\u0005!\u0000\u0000\u011d"+
-		"\u011f\u0005=\u0000\u0000\u011e\u0115\u0001\u0000\u0000\u0000\u011e\u0116"+
-		"\u0001\u0000\u0000\u0000\u011e\u0118\u0001\u0000\u0000\u0000\u011e\u011a"+
-		"\u0001\u0000\u0000\u0000\u011e\u011c\u0001\u0000\u0000\u0000\u011fX\u0001"+
-		"\u0000\u0000\u0000\u0120\u0121\u0005=\u0000\u0000\u0121Z\u0001\u0000\u0000"+
-		"\u0000\u0122\u0123\u0007\u0007\u0000\u0000\u0123\\\u0001\u0000\u0000\u0000"+
-		"\u0124\u0126\u0007\b\u0000\u0000\u0125\u0124\u0001\u0000\u0000\u0000\u0126"+
-		"\u0127\u0001\u0000\u0000\u0000\u0127\u0125\u0001\u0000\u0000\u0000\u0127"+
-		"\u0128\u0001\u0000\u0000\u0000\u0128\u0129\u0001\u0000\u0000\u0000\u0129"+
-		"\u012a\u0006.\u0000\u0000\u012a^\u0001\u0000\u0000\u0000\f\u0000\u00e4"+
-		"\u00eb\u00ef\u00f5\u00f9\u00ff\u0105\u0107\u0113\u011e\u0127\u0001\u0006"+
-		"\u0000\u0000";
+		"+\u0002,\u0007,\u0002-\u0007-\u0002.\u0007.\u0002/\u0007/\u00020\u0007"+
+		"0\u0001\u0000\u0001\u0000\u0001\u0001\u0001\u0001\u0001\u0002\u0001\u0002"+
+		"\u0001\u0003\u0001\u0003\u0001\u0004\u0001\u0004\u0001\u0005\u0001\u0005"+
+		"\u0001\u0005\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0007\u0001\u0007"+
+		"\u0001\u0007\u0001\b\u0001\b\u0001\b\u0001\t\u0001\t\u0001\n\u0001\n\u0001"+
+		"\u000b\u0001\u000b\u0001\f\u0001\f\u0001\r\u0001\r\u0001\u000e\u0001\u000e"+
+		"\u0001\u000f\u0001\u000f\u0001\u000f\u0001\u0010\u0001\u0010\u0001\u0010"+
+		"\u0001\u0011\u0001\u0011\u0001\u0012\u0001\u0012\u0001\u0012\u0001\u0013"+
+		"\u0001\u0013\u0001\u0013\u0001\u0014\u0001\u0014\u0001\u0015\u0001\u0015"+
+		"\u0001\u0016\u0001\u0016\u0001\u0016\u0001\u0017\u0001\u0017\u0001\u0017"+
+		"\u0001\u0018\u0001\u0018\u0001\u0018\u0001\u0019\u0001\u0019\u0001\u0019"+
+		"\u0001\u0019\u0001\u0019\u0001\u001a\u0001\u001a\u0001\u001a\u0001\u001a"+
+		"\u0001\u001a\u0001\u001a\u0001\u001b\u0001\u001b\u0001\u001b\u0001\u001c"+
+		"\u0001\u001c\u0001\u001c\u0001\u001c\u0001\u001d\u0001\u001d\u0001\u001d"+
+		"\u0001\u001d\u0001\u001d\u0001\u001e\u0001\u001e\u0001\u001e\u0001\u001e"+
+		"\u0001\u001e\u0001\u001e\u0001\u001f\u0001\u001f\u0001\u001f\u0001\u001f"+
+		"\u0001 \u0001 \u0001 \u0001 \u0001 \u0001 \u0001 \u0001!\u0001!\u0001"+
+		"!\u0001!\u0001!\u0001!\u0001\"\u0001\"\u0001\"\u0001\"\u0001\"\u0001\""+
+		"\u0001\"\u0001\"\u0001\"\u0001#\u0001#\u0001#\u0001#\u0001#\u0001#\u0001"+
+		"#\u0001$\u0001$\u0001$\u0001$\u0001$\u0001$\u0001$\u0001$\u0001%\u0001"+
+		"%\u0001%\u0001%\u0001%\u0001%\u0001%\u0001&\u0001&\u0001&\u0001&\u0001"+
+		"&\u0001&\u0001\'\u0001\'\u0005\'\u00f6\b\'\n\'\f\'\u00f9\t\'\u0001(\u0001"+
+		"(\u0005(\u00fd\b(\n(\f(\u0100\t(\u0001(\u0003(\u0103\b(\u0001)\u0001)"+
+		"\u0005)\u0107\b)\n)\f)\u010a\t)\u0001)\u0003)\u010d\b)\u0001)\u0001)\u0004"+
+		")\u0111\b)\u000b)\f)\u0112\u0001*\u0001*\u0001*\u0001*\u0005*\u0119\b"+
+		"*\n*\f*\u011c\t*\u0001*\u0001*\u0001+\u0001+\u0001,\u0001,\u0001,\u0001"+
+		",\u0001,\u0003,\u0127\b,\u0001-\u0001-\u0001-\u0001-\u0001-\u0001-\u0001"+
+		"-\u0001-\u0001-\u0003-\u0132\b-\u0001.\u0001.\u0001/\u0001/\u00010\u0004"+
+		"0\u0139\b0\u000b0\f0\u013a\u00010\u00010\u0000\u00001\u0001\u0001\u0003"+
+		"\u0002\u0005\u0003\u0007\u0004\t\u0005\u000b\u0006\r\u0007\u000f\b\u0011"+
+		"\t\u0013\n\u0015\u000b\u0017\f\u0019\r\u001b\u000e\u001d\u000f\u001f\u0010"+
+		"!\u0011#\u0012%\u0013\'\u0014)\u0015+\u0016-\u0017/\u00181\u00193\u001a"+
+		"5\u001b7\u001c9\u001d;\u001e=\u001f? A!C\"E#G$I%K&M\'O(Q)S*U+W,Y-[.]/"+
+		"_0a1\u0001\u0000\t\u0002\u0000AZaz\u0005\u0000$$09AZ__az\u0001\u00001"+
+		"9\u0001\u000009\u0002\u0000\"\"\\\\\u0005\u0000%%*+--//^^\u0002\u0000"+
+		"<<>>\u0004\u0000();;{{}}\u0003\u0000\t\n\r\r  \u014c\u0000\u0001\u0001"+
+		"\u0000\u0000\u0000\u0000\u0003\u0001\u0000\u0000\u0000\u0000\u0005\u0001"+
+		"\u0000\u0000\u0000\u0000\u0007\u0001\u0000\u0000\u0000\u0000\t\u0001\u0000"+
+		"\u0000\u0000\u0000\u000b\u0001\u0000\u0000\u0000\u0000\r\u0001\u0000\u0000"+
+		"\u0000\u0000\u000f\u0001\u0000\u0000\u0000\u0000\u0011\u0001\u0000\u0000"+
+		"\u0000\u0000\u0013\u0001\u0000\u0000\u0000\u0000\u0015\u0001\u0000\u0000"+
+		"\u0000\u0000\u0017\u0001\u0000\u0000\u0000\u0000\u0019\u0001\u0000\u0000"+
+		"\u0000\u0000\u001b\u0001\u0000\u0000\u0000\u0000\u001d\u0001\u0000\u0000"+
+		"\u0000\u0000\u001f\u0001\u0000\u0000\u0000\u0000!\u0001\u0000\u0000\u0000"+
+		"\u0000#\u0001\u0000\u0000\u0000\u0000%\u0001\u0000\u0000\u0000\u0000\'"+
+		"\u0001\u0000\u0000\u0000\u0000)\u0001\u0000\u0000\u0000\u0000+\u0001\u0000"+
+		"\u0000\u0000\u0000-\u0001\u0000\u0000\u0000\u0000/\u0001\u0000\u0000\u0000"+
+		"\u00001\u0001\u0000\u0000\u0000\u00003\u0001\u0000\u0000\u0000\u00005"+
+		"\u0001\u0000\u0000\u0000\u00007\u0001\u0000\u0000\u0000\u00009\u0001\u0000"+
+		"\u0000\u0000\u0000;\u0001\u0000\u0000\u0000\u0000=\u0001\u0000\u0000\u0000"+
+		"\u0000?\u0001\u0000\u0000\u0000\u0000A\u0001\u0000\u0000\u0000\u0000C"+
+		"\u0001\u0000\u0000\u0000\u0000E\u0001\u0000\u0000\u0000\u0000G\u0001\u0000"+
+		"\u0000\u0000\u0000I\u0001\u0000\u0000\u0000\u0000K\u0001\u0000\u0000\u0000"+
+		"\u0000M\u0001\u0000\u0000\u0000\u0000O\u0001\u0000\u0000\u0000\u0000Q"+
+		"\u0001\u0000\u0000\u0000\u0000S\u0001\u0000\u0000\u0000\u0000U\u0001\u0000"+
+		"\u0000\u0000\u0000W\u0001\u0000\u0000\u0000\u0000Y\u0001\u0000\u0000\u0000"+
+		"\u0000[\u0001\u0000\u0000\u0000\u0000]\u0001\u0000\u0000\u0000\u0000_"+
+		"\u0001\u0000\u0000\u0000\u0000a\u0001\u0000\u0000\u0000\u0001c\u0001\u0000"+
+		"\u0000\u0000\u0003e\u0001\u0000\u0000\u0000\u0005g\u0001\u0000\u0000\u0000"+
+		"\u0007i\u0001\u0000\u0000\u0000\tk\u0001\u0000\u0000\u0000\u000bm\u0001"+
+		"\u0000\u0000\u0000\rp\u0001\u0000\u0000\u0000\u000fs\u0001\u0000\u0000"+
+		"\u0000\u0011v\u0001\u0000\u0000\u0000\u0013y\u0001\u0000\u0000\u0000\u0015"+
+		"{\u0001\u0000\u0000\u0000\u0017}\u0001\u0000\u0000\u0000\u0019\u007f\u0001"+
+		"\u0000\u0000\u0000\u001b\u0081\u0001\u0000\u0000\u0000\u001d\u0083\u0001"+
+		"\u0000\u0000\u0000\u001f\u0085\u0001\u0000\u0000\u0000!\u0088\u0001\u0000"+
+		"\u0000\u0000#\u008b\u0001\u0000\u0000\u0000%\u008d\u0001\u0000\u0000\u0000"+
+		"\'\u0090\u0001\u0000\u0000\u0000)\u0093\u0001\u0000\u0000\u0000+\u0095"+
+		"\u0001\u0000\u0000\u0000-\u0097\u0001\u0000\u0000\u0000/\u009a\u0001\u0000"+
+		"\u0000\u00001\u009d\u0001\u0000\u0000\u00003\u00a0\u0001\u0000\u0000\u0000"+
+		"5\u00a5\u0001\u0000\u0000\u00007\u00ab\u0001\u0000\u0000\u00009\u00ae"+
+		"\u0001\u0000\u0000\u0000;\u00b2\u0001\u0000\u0000\u0000=\u00b7\u0001\u0000"+
+		"\u0000\u0000?\u00bd\u0001\u0000\u0000\u0000A\u00c1\u0001\u0000\u0000\u0000"+
+		"C\u00c8\u0001\u0000\u0000\u0000E\u00ce\u0001\u0000\u0000\u0000G\u00d7"+
+		"\u0001\u0000\u0000\u0000I\u00de\u0001\u0000\u0000\u0000K\u00e6\u0001\u0000"+
+		"\u0000\u0000M\u00ed\u0001\u0000\u0000\u0000O\u00f3\u0001\u0000\u0000\u0000"+
+		"Q\u0102\u0001\u0000\u0000\u0000S\u010c\u0001\u0000\u0000\u0000U\u0114"+
+		"\u0001\u0000\u0000\u0000W\u011f\u0001\u0000\u0000\u0000Y\u0126\u0001\u0000"+
+		"\u0000\u0000[\u0131\u0001\u0000\u0000\u0000]\u0133\u0001\u0000\u0000\u0000"+
+		"_\u0135\u0001\u0000\u0000\u0000a\u0138\u0001\u0000\u0000\u0000cd\u0005"+
+		";\u0000\u0000d\u0002\u0001\u0000\u0000\u0000ef\u0005(\u0000\u0000f\u0004"+
+		"\u0001\u0000\u0000\u0000gh\u0005)\u0000\u0000h\u0006\u0001\u0000\u0000"+
+		"\u0000ij\u0005{\u0000\u0000j\b\u0001\u0000\u0000\u0000kl\u0005}\u0000"+
+		"\u0000l\n\u0001\u0000\u0000\u0000mn\u0005+\u0000\u0000no\u0005+\u0000"+
+		"\u0000o\f\u0001\u0000\u0000\u0000pq\u0005-\u0000\u0000qr\u0005-\u0000"+
+		"\u0000r\u000e\u0001\u0000\u0000\u0000st\u0005+\u0000\u0000tu\u0005=\u0000"+
+		"\u0000u\u0010\u0001\u0000\u0000\u0000vw\u0005-\u0000\u0000wx\u0005=\u0000"+
+		"\u0000x\u0012\u0001\u0000\u0000\u0000yz\u0005,\u0000\u0000z\u0014\u0001"+
+		"\u0000\u0000\u0000{|\u0005+\u0000\u0000|\u0016\u0001\u0000\u0000\u0000"+
+		"}~\u0005-\u0000\u0000~\u0018\u0001\u0000\u0000\u0000\u007f\u0080\u0005"+
+		"*\u0000\u0000\u0080\u001a\u0001\u0000\u0000\u0000\u0081\u0082\u0005/\u0000"+
+		"\u0000\u0082\u001c\u0001\u0000\u0000\u0000\u0083\u0084\u0005^\u0000\u0000"+
+		"\u0084\u001e\u0001\u0000\u0000\u0000\u0085\u0086\u0005|\u0000\u0000\u0086"+
+		"\u0087\u0005|\u0000\u0000\u0087 \u0001\u0000\u0000\u0000\u0088\u0089\u0005"+
+		"&\u0000\u0000\u0089\u008a\u0005&\u0000\u0000\u008a\"\u0001\u0000\u0000"+
+		"\u0000\u008b\u008c\u0005!\u0000\u0000\u008c$\u0001\u0000\u0000\u0000\u008d"+
+		"\u008e\u0005=\u0000\u0000\u008e\u008f\u0005=\u0000\u0000\u008f&\u0001"+
+		"\u0000\u0000\u0000\u0090\u0091\u0005!\u0000\u0000\u0091\u0092\u0005=\u0000"+
+		"\u0000\u0092(\u0001\u0000\u0000\u0000\u0093\u0094\u0005<\u0000\u0000\u0094"+
+		"*\u0001\u0000\u0000\u0000\u0095\u0096\u0005>\u0000\u0000\u0096,\u0001"+
+		"\u0000\u0000\u0000\u0097\u0098\u0005<\u0000\u0000\u0098\u0099\u0005=\u0000"+
+		"\u0000\u0099.\u0001\u0000\u0000\u0000\u009a\u009b\u0005>\u0000\u0000\u009b"+
+		"\u009c\u0005=\u0000\u0000\u009c0\u0001\u0000\u0000\u0000\u009d\u009e\u0005"+
+		"i\u0000\u0000\u009e\u009f\u0005f\u0000\u0000\u009f2\u0001\u0000\u0000"+
+		"\u0000\u00a0\u00a1\u0005e\u0000\u0000\u00a1\u00a2\u0005l\u0000\u0000\u00a2"+
+		"\u00a3\u0005s\u0000\u0000\u00a3\u00a4\u0005e\u0000\u0000\u00a44\u0001"+
+		"\u0000\u0000\u0000\u00a5\u00a6\u0005w\u0000\u0000\u00a6\u00a7\u0005h\u0000"+
+		"\u0000\u00a7\u00a8\u0005i\u0000\u0000\u00a8\u00a9\u0005l\u0000\u0000\u00a9"+
+		"\u00aa\u0005e\u0000\u0000\u00aa6\u0001\u0000\u0000\u0000\u00ab\u00ac\u0005"+
+		"d\u0000\u0000\u00ac\u00ad\u0005o\u0000\u0000\u00ad8\u0001\u0000\u0000"+
+		"\u0000\u00ae\u00af\u0005f\u0000\u0000\u00af\u00b0\u0005o\u0000\u0000\u00b0"+
+		"\u00b1\u0005r\u0000\u0000\u00b1:\u0001\u0000\u0000\u0000\u00b2\u00b3\u0005"+
+		"t\u0000\u0000\u00b3\u00b4\u0005r\u0000\u0000\u00b4\u00b5\u0005u\u0000"+
+		"\u0000\u00b5\u00b6\u0005e\u0000\u0000\u00b6<\u0001\u0000\u0000\u0000\u00b7"+
+		"\u00b8\u0005f\u0000\u0000\u00b8\u00b9\u0005a\u0000\u0000\u00b9\u00ba\u0005"+
+		"l\u0000\u0000\u00ba\u00bb\u0005s\u0000\u0000\u00bb\u00bc\u0005e\u0000"+
+		"\u0000\u00bc>\u0001\u0000\u0000\u0000\u00bd\u00be\u0005i\u0000\u0000\u00be"+
+		"\u00bf\u0005n\u0000\u0000\u00bf\u00c0\u0005t\u0000\u0000\u00c0@\u0001"+
+		"\u0000\u0000\u0000\u00c1\u00c2\u0005r\u0000\u0000\u00c2\u00c3\u0005e\u0000"+
+		"\u0000\u00c3\u00c4\u0005t\u0000\u0000\u00c4\u00c5\u0005u\u0000\u0000\u00c5"+
+		"\u00c6\u0005r\u0000\u0000\u00c6\u00c7\u0005n\u0000\u0000\u00c7B\u0001"+
+		"\u0000\u0000\u0000\u00c8\u00c9\u0005b\u0000\u0000\u00c9\u00ca\u0005r\u0000"+
+		"\u0000\u00ca\u00cb\u0005e\u0000\u0000\u00cb\u00cc\u0005a\u0000\u0000\u00cc"+
+		"\u00cd\u0005k\u0000\u0000\u00cdD\u0001\u0000\u0000\u0000\u00ce\u00cf\u0005"+
+		"c\u0000\u0000\u00cf\u00d0\u0005o\u0000\u0000\u00d0\u00d1\u0005n\u0000"+
+		"\u0000\u00d1\u00d2\u0005t\u0000\u0000\u00d2\u00d3\u0005i\u0000\u0000\u00d3"+
+		"\u00d4\u0005n\u0000\u0000\u00d4\u00d5\u0005u\u0000\u0000\u00d5\u00d6\u0005"+
+		"e\u0000\u0000\u00d6F\u0001\u0000\u0000\u0000\u00d7\u00d8\u0005d\u0000"+
+		"\u0000\u00d8\u00d9\u0005o\u0000\u0000\u00d9\u00da\u0005u\u0000\u0000\u00da"+
+		"\u00db\u0005b\u0000\u0000\u00db\u00dc\u0005l\u0000\u0000\u00dc\u00dd\u0005"+
+		"e\u0000\u0000\u00ddH\u0001\u0000\u0000\u0000\u00de\u00df\u0005b\u0000"+
+		"\u0000\u00df\u00e0\u0005o\u0000\u0000\u00e0\u00e1\u0005o\u0000\u0000\u00e1"+
+		"\u00e2\u0005l\u0000\u0000\u00e2\u00e3\u0005e\u0000\u0000\u00e3\u00e4\u0005"+
+		"a\u0000\u0000\u00e4\u00e5\u0005n\u0000\u0000\u00e5J\u0001\u0000\u0000"+
+		"\u0000\u00e6\u00e7\u0005s\u0000\u0000\u00e7\u00e8\u0005t\u0000\u0000\u00e8"+
+		"\u00e9\u0005r\u0000\u0000\u00e9\u00ea\u0005i\u0000\u0000\u00ea\u00eb\u0005"+
+		"n\u0000\u0000\u00eb\u00ec\u0005g\u0000\u0000\u00ecL\u0001\u0000\u0000"+
+		"\u0000\u00ed\u00ee\u0005p\u0000\u0000\u00ee\u00ef\u0005r\u0000\u0000\u00ef"+
+		"\u00f0\u0005i\u0000\u0000\u00f0\u00f1\u0005n\u0000\u0000\u00f1\u00f2\u0005"+
+		"t\u0000\u0000\u00f2N\u0001\u0000\u0000\u0000\u00f3\u00f7\u0007\u0000\u0000"+
+		"\u0000\u00f4\u00f6\u0007\u0001\u0000\u0000\u00f5\u00f4\u0001\u0000\u0000"+
+		"\u0000\u00f6\u00f9\u0001\u0000\u0000\u0000\u00f7\u00f5\u0001\u0000\u0000"+
+		"\u0000\u00f7\u00f8\u0001\u0000\u0000\u0000\u00f8P\u0001\u0000\u0000\u0000"+
+		"\u00f9\u00f7\u0001\u0000\u0000\u0000\u00fa\u00fe\u0007\u0002\u0000\u0000"+
+		"\u00fb\u00fd\u0007\u0003\u0000\u0000\u00fc\u00fb\u0001\u0000\u0000\u0000"+
+		"\u00fd\u0100\u0001\u0000\u0000\u0000\u00fe\u00fc\u0001\u0000\u0000\u0000"+
+		"\u00fe\u00ff\u0001\u0000\u0000\u0000\u00ff\u0103\u0001\u0000\u0000\u0000"+
+		"\u0100\u00fe\u0001\u0000\u0000\u0000\u0101\u0103\u00050\u0000\u0000\u0102"+
+		"\u00fa\u0001\u0000\u0000\u0000\u0102\u0101\u0001\u0000\u0000\u0000\u0103"+
+		"R\u0001\u0000\u0000\u0000\u0104\u0108\u0007\u0002\u0000\u0000\u0105\u0107"+
+		"\u0007\u0003\u0000\u0000\u0106\u0105\u0001\u0000\u0000\u0000\u0107\u010a"+
+		"\u0001\u0000\u0000\u0000\u0108\u0106\u0001\u0000\u0000\u0000\u0108\u0109"+
+		"\u0001\u0000\u0000\u0000\u0109\u010d\u0001\u0000\u0000\u0000\u010a\u0108"+
+		"\u0001\u0000\u0000\u0000\u010b\u010d\u00050\u0000\u0000\u010c\u0104\u0001"+
+		"\u0000\u0000\u0000\u010c\u010b\u0001\u0000\u0000\u0000\u010d\u010e\u0001"+
+		"\u0000\u0000\u0000\u010e\u0110\u0005.\u0000\u0000\u010f\u0111\u0007\u0003"+
+		"\u0000\u0000\u0110\u010f\u0001\u0000\u0000\u0000\u0111\u0112\u0001\u0000"+
+		"\u0000\u0000\u0112\u0110\u0001\u0000\u0000\u0000\u0112\u0113\u0001\u0000"+
+		"\u0000\u0000\u0113T\u0001\u0000\u0000\u0000\u0114\u011a\u0005\"\u0000"+
+		"\u0000\u0115\u0116\u0005\\\u0000\u0000\u0116\u0119\t\u0000\u0000\u0000"+
+		"\u0117\u0119\b\u0004\u0000\u0000\u0118\u0115\u0001\u0000\u0000\u0000\u0118"+
+		"\u0117\u0001\u0000\u0000\u0000\u0119\u011c\u0001\u0000\u0000\u0000\u011a"+
+		"\u0118\u0001\u0000\u0000\u0000\u011a\u011b\u0001\u0000\u0000\u0000\u011b"+
+		"\u011d\u0001\u0000\u0000\u0000\u011c\u011a\u0001\u0000\u0000\u0000\u011d"+
+		"\u011e\u0005\"\u0000\u0000\u011eV\u0001\u0000\u0000\u0000\u011f\u0120"+
+		"\u0007\u0005\u0000\u0000\u0120X\u0001\u0000\u0000\u0000\u0121\u0122\u0005"+
+		"&\u0000\u0000\u0122\u0127\u0005&\u0000\u0000\u0123\u0124\u0005|\u0000"+
+		"\u0000\u0124\u0127\u0005|\u0000\u0000\u0125\u0127\u0005!\u0000\u0000\u0126"+
+		"\u0121\u0001\u0000\u0000\u0000\u0126\u0123\u0001\u0000\u0000\u0000\u0126"+
+		"\u0125\u0001\u0000\u0000\u0000\u0127Z\u0001\u0000\u0000\u0000\u0128\u0132"+
+		"\u0007\u0006\u0000\u0000\u0129\u012a\u0005<\u0000\u0000\u012a\u0132\u0005"+
+		"=\u0000\u0000\u012b\u012c\u0005>\u0000\u0000\u012c\u0132\u0005=\u0000"+
+		"\u0000\u012d\u012e\u0005=\u0000\u0000\u012e\u0132\u0005=\u0000\u0000\u012f"+
+		"\u0130\u0005!\u0000\u0000\u0130\u0132\u0005=\u0000\u0000\u0131\u0128\u0001"+
+		"\u0000\u0000\u0000\u0131\u0129\u0001\u0000\u0000\u0000\u0131\u012b\u0001"+
+		"\u0000\u0000\u0000\u0131\u012d\u0001\u0000\u0000\u0000\u0131\u012f\u0001"+
+		"\u0000\u0000\u0000\u0132\\\u0001\u0000\u0000\u0000\u0133\u0134\u0005="+
+		"\u0000\u0000\u0134^\u0001\u0000\u0000\u0000\u0135\u0136\u0007\u0007\u0000"+
+		"\u0000\u0136`\u0001\u0000\u0000\u0000\u0137\u0139\u0007\b\u0000\u0000"+
+		"\u0138\u0137\u0001\u0000\u0000\u0000\u0139\u013a\u0001\u0000\u0000\u0000"+
+		"\u013a\u0138\u0001\u0000\u0000\u0000\u013a\u013b\u0001\u0000\u0000\u0000"+
+		"\u013b\u013c\u0001\u0000\u0000\u0000\u013c\u013d\u00060\u0000\u0000\u013d"+
+		"b\u0001\u0000\u0000\u0000\f\u0000\u00f7\u00fe\u0102\u0108\u010c\u0112"+
+		"\u0118\u011a\u0126\u0131\u013a\u0001\u0006\u0000\u0000";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
@@ -1,4 +1,4 @@
-package org.example.compiladorFX;// Generated from C:/Users/Bruno/IdeaProjects/Compiladorsito/src/main/g.g4 by ANTLR 4.13.1
+package org.example.compiladorFX;// Generated from g.g4 by ANTLR 4.13.2
 import org.antlr.v4.runtime.tree.ParseTreeListener;
 
 /**
@@ -106,6 +106,16 @@ public interface gListener extends ParseTreeListener {
 	 * @param ctx the parse tree
 	 */
 	void exitFunction_declaration(gParser.Function_declarationContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link gParser#function_body}.
+	 * @param ctx the parse tree
+	 */
+	void enterFunction_body(gParser.Function_bodyContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link gParser#function_body}.
+	 * @param ctx the parse tree
+	 */
+	void exitFunction_body(gParser.Function_bodyContext ctx);
 	/**
 	 * Enter a parse tree produced by {@link gParser#return_expression}.
 	 * @param ctx the parse tree
@@ -116,6 +126,26 @@ public interface gListener extends ParseTreeListener {
 	 * @param ctx the parse tree
 	 */
 	void exitReturn_expression(gParser.Return_expressionContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link gParser#break_statement}.
+	 * @param ctx the parse tree
+	 */
+	void enterBreak_statement(gParser.Break_statementContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link gParser#break_statement}.
+	 * @param ctx the parse tree
+	 */
+	void exitBreak_statement(gParser.Break_statementContext ctx);
+	/**
+	 * Enter a parse tree produced by {@link gParser#continue_statement}.
+	 * @param ctx the parse tree
+	 */
+	void enterContinue_statement(gParser.Continue_statementContext ctx);
+	/**
+	 * Exit a parse tree produced by {@link gParser#continue_statement}.
+	 * @param ctx the parse tree
+	 */
+	void exitContinue_statement(gParser.Continue_statementContext ctx);
 	/**
 	 * Enter a parse tree produced by {@link gParser#params}.
 	 * @param ctx the parse tree
@@ -1,4 +1,4 @@
-package org.example.compiladorFX;// Generated from C:/Users/Bruno/IdeaProjects/Compiladorsito/src/main/g.g4 by ANTLR 4.13.1
+package org.example.compiladorFX;// Generated from g.g4 by ANTLR 4.13.2
 import org.antlr.v4.runtime.atn.*;
 import org.antlr.v4.runtime.dfa.DFA;
 import org.antlr.v4.runtime.*;
@@ -8,9 +8,9 @@ import java.util.List;
 import java.util.Iterator;
 import java.util.ArrayList;
 
-@SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast", "CheckReturnValue"})
+@SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast", "CheckReturnValue", "this-escape"})
 public class gParser extends Parser {
-	static { RuntimeMetaData.checkVersion("4.13.1", RuntimeMetaData.VERSION); }
+	static { RuntimeMetaData.checkVersion("4.13.2", RuntimeMetaData.VERSION); }
 
 	protected static final DFA[] _decisionToDFA;
 	protected static final PredictionContextCache _sharedContextCache =
@@ -20,26 +20,28 @@ public class gParser extends Parser {
 		T__9=10, T__10=11, T__11=12, T__12=13, T__13=14, T__14=15, T__15=16, T__16=17, 
 		T__17=18, T__18=19, T__19=20, T__20=21, T__21=22, T__22=23, T__23=24, 
 		IF=25, ELSE=26, WHILE=27, DO=28, FOR=29, TRUE=30, FALSE=31, INT_TYPE=32, 
-		RETURN=33, DOUBLE_TYPE=34, BOOLEAN_TYPE=35, STRING_TYPE=36, PRINT_ID=37, 
-		ID=38, INT=39, DOUBLE=40, STRING=41, MATH_OP=42, LOG_OP=43, COMP_OP=44, 
-		ASSIGN=45, PUNCT=46, WS=47;
+		RETURN=33, BREAK=34, CONTINUE=35, DOUBLE_TYPE=36, BOOLEAN_TYPE=37, STRING_TYPE=38, 
+		PRINT_ID=39, ID=40, INT=41, DOUBLE=42, STRING=43, MATH_OP=44, LOG_OP=45, 
+		COMP_OP=46, ASSIGN=47, PUNCT=48, WS=49;
 	public static final int
 		RULE_program = 0, RULE_statement = 1, RULE_if_statement = 2, RULE_while_loop = 3, 
 		RULE_do_while = 4, RULE_for_loop = 5, RULE_variable_declaration = 6, RULE_variable_assign = 7, 
-		RULE_variable_update = 8, RULE_function_declaration = 9, RULE_return_expression = 10, 
-		RULE_params = 11, RULE_function_call = 12, RULE_params_call = 13, RULE_print_call = 14, 
-		RULE_print_params = 15, RULE_expression = 16, RULE_string_expression = 17, 
-		RULE_math_expression = 18, RULE_term = 19, RULE_power_expr = 20, RULE_factor = 21, 
-		RULE_number = 22, RULE_type = 23, RULE_logical_operation = 24, RULE_logical_term = 25, 
-		RULE_logical_factor = 26, RULE_boolean = 27, RULE_comparison_operator = 28;
+		RULE_variable_update = 8, RULE_function_declaration = 9, RULE_function_body = 10, 
+		RULE_return_expression = 11, RULE_break_statement = 12, RULE_continue_statement = 13, 
+		RULE_params = 14, RULE_function_call = 15, RULE_params_call = 16, RULE_print_call = 17, 
+		RULE_print_params = 18, RULE_expression = 19, RULE_string_expression = 20, 
+		RULE_math_expression = 21, RULE_term = 22, RULE_power_expr = 23, RULE_factor = 24, 
+		RULE_number = 25, RULE_type = 26, RULE_logical_operation = 27, RULE_logical_term = 28, 
+		RULE_logical_factor = 29, RULE_boolean = 30, RULE_comparison_operator = 31;
 	private static String[] makeRuleNames() {
 		return new String[] {
 			"program", "statement", "if_statement", "while_loop", "do_while", "for_loop", 
 			"variable_declaration", "variable_assign", "variable_update", "function_declaration", 
-			"return_expression", "params", "function_call", "params_call", "print_call", 
-			"print_params", "expression", "string_expression", "math_expression", 
-			"term", "power_expr", "factor", "number", "type", "logical_operation", 
-			"logical_term", "logical_factor", "boolean", "comparison_operator"
+			"function_body", "return_expression", "break_statement", "continue_statement", 
+			"params", "function_call", "params_call", "print_call", "print_params", 
+			"expression", "string_expression", "math_expression", "term", "power_expr", 
+			"factor", "number", "type", "logical_operation", "logical_term", "logical_factor", 
+			"boolean", "comparison_operator"
 		};
 	}
 	public static final String[] ruleNames = makeRuleNames();
@@ -49,8 +51,9 @@ public class gParser extends Parser {
 			null, "';'", "'('", "')'", "'{'", "'}'", "'++'", "'--'", "'+='", "'-='", 
 			"','", "'+'", "'-'", "'*'", "'/'", "'^'", "'||'", "'&&'", "'!'", "'=='", 
 			"'!='", "'<'", "'>'", "'<='", "'>='", "'if'", "'else'", "'while'", "'do'", 
-			"'for'", "'true'", "'false'", "'int'", "'return'", "'double'", "'boolean'", 
-			"'string'", "'print'", null, null, null, null, null, null, null, "'='"
+			"'for'", "'true'", "'false'", "'int'", "'return'", "'break'", "'continue'", 
+			"'double'", "'boolean'", "'string'", "'print'", null, null, null, null, 
+			null, null, null, "'='"
 		};
 	}
 	private static final String[] _LITERAL_NAMES = makeLiteralNames();
@@ -59,9 +62,9 @@ public class gParser extends Parser {
 			null, null, null, null, null, null, null, null, null, null, null, null, 
 			null, null, null, null, null, null, null, null, null, null, null, null, 
 			null, "IF", "ELSE", "WHILE", "DO", "FOR", "TRUE", "FALSE", "INT_TYPE", 
-			"RETURN", "DOUBLE_TYPE", "BOOLEAN_TYPE", "STRING_TYPE", "PRINT_ID", "ID", 
-			"INT", "DOUBLE", "STRING", "MATH_OP", "LOG_OP", "COMP_OP", "ASSIGN", 
-			"PUNCT", "WS"
+			"RETURN", "BREAK", "CONTINUE", "DOUBLE_TYPE", "BOOLEAN_TYPE", "STRING_TYPE", 
+			"PRINT_ID", "ID", "INT", "DOUBLE", "STRING", "MATH_OP", "LOG_OP", "COMP_OP", 
+			"ASSIGN", "PUNCT", "WS"
 		};
 	}
 	private static final String[] _SYMBOLIC_NAMES = makeSymbolicNames();
@@ -137,7 +140,7 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitProgram(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitProgram(this);
 			else return visitor.visitChildren(this);
 		}
 	}
@@ -149,17 +152,17 @@ public class gParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(61);
+			setState(67);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
-			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & 537843990528L) != 0)) {
+			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & 2195701366784L) != 0)) {
 				{
 				{
-				setState(58);
+				setState(64);
 				statement();
 				}
 				}
-				setState(63);
+				setState(69);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
@@ -208,6 +211,15 @@ public class gParser extends Parser {
 		public Print_callContext print_call() {
 			return getRuleContext(Print_callContext.class,0);
 		}
+		public Return_expressionContext return_expression() {
+			return getRuleContext(Return_expressionContext.class,0);
+		}
+		public Break_statementContext break_statement() {
+			return getRuleContext(Break_statementContext.class,0);
+		}
+		public Continue_statementContext continue_statement() {
+			return getRuleContext(Continue_statementContext.class,0);
+		}
 		public StatementContext(ParserRuleContext parent, int invokingState) {
 			super(parent, invokingState);
 		}
@@ -222,7 +234,7 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitStatement(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitStatement(this);
 			else return visitor.visitChildren(this);
 		}
 	}
@@ -231,89 +243,110 @@ public class gParser extends Parser {
 		StatementContext _localctx = new StatementContext(_ctx, getState());
 		enterRule(_localctx, 2, RULE_statement);
 		try {
-			setState(84);
+			setState(93);
 			_errHandler.sync(this);
 			switch ( getInterpreter().adaptivePredict(_input,1,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(64);
+				setState(70);
 				variable_declaration();
-				setState(65);
+				setState(71);
 				match(T__0);
 				}
 				break;
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(67);
+				setState(73);
 				variable_assign();
-				setState(68);
+				setState(74);
 				match(T__0);
 				}
 				break;
 			case 3:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(70);
+				setState(76);
 				variable_update();
-				setState(71);
+				setState(77);
 				match(T__0);
 				}
 				break;
 			case 4:
 				enterOuterAlt(_localctx, 4);
 				{
-				setState(73);
+				setState(79);
 				if_statement();
 				}
 				break;
 			case 5:
 				enterOuterAlt(_localctx, 5);
 				{
-				setState(74);
+				setState(80);
 				while_loop();
 				}
 				break;
 			case 6:
 				enterOuterAlt(_localctx, 6);
 				{
-				setState(75);
+				setState(81);
 				do_while();
 				}
 				break;
 			case 7:
 				enterOuterAlt(_localctx, 7);
 				{
-				setState(76);
+				setState(82);
 				for_loop();
 				}
 				break;
 			case 8:
 				enterOuterAlt(_localctx, 8);
 				{
-				setState(77);
+				setState(83);
 				function_declaration();
 				}
 				break;
 			case 9:
 				enterOuterAlt(_localctx, 9);
 				{
-				setState(78);
+				setState(84);
 				function_call();
-				setState(79);
+				setState(85);
 				match(T__0);
 				}
 				break;
 			case 10:
 				enterOuterAlt(_localctx, 10);
 				{
-				setState(81);
+				setState(87);
 				print_call();
-				setState(82);
+				setState(88);
 				match(T__0);
 				}
 				break;
+			case 11:
+				enterOuterAlt(_localctx, 11);
+				{
+				setState(90);
+				return_expression();
+				}
+				break;
+			case 12:
+				enterOuterAlt(_localctx, 12);
+				{
+				setState(91);
+				break_statement();
+				}
+				break;
+			case 13:
+				enterOuterAlt(_localctx, 13);
+				{
+				setState(92);
+				continue_statement();
+				}
+				break;
 			}
 		}
 		catch (RecognitionException re) {
@@ -354,7 +387,7 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitIf_statement(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitIf_statement(this);
 			else return visitor.visitChildren(this);
 		}
 	}
@@ -366,32 +399,32 @@ public class gParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(86);
+			setState(95);
 			match(IF);
-			setState(87);
+			setState(96);
 			match(T__1);
-			setState(88);
+			setState(97);
 			logical_operation();
-			setState(89);
+			setState(98);
 			match(T__2);
-			setState(90);
+			setState(99);
 			match(T__3);
-			setState(91);
+			setState(100);
 			program();
-			setState(92);
+			setState(101);
 			match(T__4);
-			setState(98);
+			setState(107);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			if (_la==ELSE) {
 				{
-				setState(93);
+				setState(102);
 				match(ELSE);
-				setState(94);
+				setState(103);
 				match(T__3);
-				setState(95);
+				setState(104);
 				program();
-				setState(96);
+				setState(105);
 				match(T__4);
 				}
 			}
@@ -432,7 +465,7 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitWhile_loop(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitWhile_loop(this);
 			else return visitor.visitChildren(this);
 		}
 	}
@@ -443,19 +476,19 @@ public class gParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(100);
+			setState(109);
 			match(WHILE);
-			setState(101);
+			setState(110);
 			match(T__1);
-			setState(102);
+			setState(111);
 			logical_operation();
-			setState(103);
+			setState(112);
 			match(T__2);
-			setState(104);
+			setState(113);
 			match(T__3);
-			setState(105);
+			setState(114);
 			program();
-			setState(106);
+			setState(115);
 			match(T__4);
 			}
 		}
@@ -494,7 +527,7 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitDo_while(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitDo_while(this);
 			else return visitor.visitChildren(this);
 		}
 	}
@@ -505,23 +538,23 @@ public class gParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(108);
+			setState(117);
 			match(DO);
-			setState(109);
+			setState(118);
 			match(T__3);
-			setState(110);
+			setState(119);
 			program();
-			setState(111);
+			setState(120);
 			match(T__4);
-			setState(112);
+			setState(121);
 			match(WHILE);
-			setState(113);
+			setState(122);
 			match(T__1);
-			setState(114);
+			setState(123);
 			logical_operation();
-			setState(115);
+			setState(124);
 			match(T__2);
-			setState(116);
+			setState(125);
 			match(T__0);
 			}
 		}
@@ -565,7 +598,7 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitFor_loop(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitFor_loop(this);
 			else return visitor.visitChildren(this);
 		}
 	}
@@ -576,27 +609,27 @@ public class gParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(118);
+			setState(127);
 			match(FOR);
-			setState(119);
+			setState(128);
 			match(T__1);
-			setState(120);
+			setState(129);
 			variable_declaration();
-			setState(121);
+			setState(130);
 			match(T__0);
-			setState(122);
+			setState(131);
 			logical_operation();
-			setState(123);
+			setState(132);
 			match(T__0);
-			setState(124);
+			setState(133);
 			variable_update();
-			setState(125);
+			setState(134);
 			match(T__2);
-			setState(126);
+			setState(135);
 			match(T__3);
-			setState(127);
+			setState(136);
 			program();
-			setState(128);
+			setState(137);
 			match(T__4);
 			}
 		}
@@ -638,7 +671,7 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitVariable_declaration(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitVariable_declaration(this);
 			else return visitor.visitChildren(this);
 		}
 	}
@@ -647,41 +680,41 @@ public class gParser extends Parser {
 		Variable_declarationContext _localctx = new Variable_declarationContext(_ctx, getState());
 		enterRule(_localctx, 12, RULE_variable_declaration);
 		try {
-			setState(143);
+			setState(152);
 			_errHandler.sync(this);
 			switch ( getInterpreter().adaptivePredict(_input,3,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(130);
+				setState(139);
 				type();
-				setState(131);
+				setState(140);
 				match(ID);
 				}
 				break;
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(133);
+				setState(142);
 				type();
-				setState(134);
+				setState(143);
 				match(ID);
-				setState(135);
+				setState(144);
 				match(ASSIGN);
-				setState(136);
+				setState(145);
 				match(ID);
 				}
 				break;
 			case 3:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(138);
+				setState(147);
 				type();
-				setState(139);
+				setState(148);
 				match(ID);
-				setState(140);
+				setState(149);
 				match(ASSIGN);
-				setState(141);
+				setState(150);
 				expression();
 				}
 				break;
@@ -719,7 +752,7 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitVariable_assign(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitVariable_assign(this);
 			else return visitor.visitChildren(this);
 		}
 	}
@@ -730,11 +763,11 @@ public class gParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(145);
+			setState(154);
 			match(ID);
-			setState(146);
+			setState(155);
 			match(ASSIGN);
-			setState(147);
+			setState(156);
 			expression();
 			}
 		}
@@ -769,7 +802,7 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitVariable_update(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitVariable_update(this);
 			else return visitor.visitChildren(this);
 		}
 	}
@@ -779,15 +812,15 @@ public class gParser extends Parser {
 		enterRule(_localctx, 16, RULE_variable_update);
 		int _la;
 		try {
-			setState(154);
+			setState(163);
 			_errHandler.sync(this);
 			switch ( getInterpreter().adaptivePredict(_input,4,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(149);
+				setState(158);
 				match(ID);
-				setState(150);
+				setState(159);
 				_la = _input.LA(1);
 				if ( !(_la==T__5 || _la==T__6) ) {
 				_errHandler.recoverInline(this);
@@ -802,9 +835,9 @@ public class gParser extends Parser {
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(151);
+				setState(160);
 				match(ID);
-				setState(152);
+				setState(161);
 				_la = _input.LA(1);
 				if ( !(_la==T__7 || _la==T__8) ) {
 				_errHandler.recoverInline(this);
@@ -814,7 +847,7 @@ public class gParser extends Parser {
 					_errHandler.reportMatch(this);
 					consume();
 				}
-				setState(153);
+				setState(162);
 				math_expression();
 				}
 				break;
@@ -840,11 +873,8 @@ public class gParser extends Parser {
 		public ParamsContext params() {
 			return getRuleContext(ParamsContext.class,0);
 		}
-		public ProgramContext program() {
-			return getRuleContext(ProgramContext.class,0);
-		}
-		public Return_expressionContext return_expression() {
-			return getRuleContext(Return_expressionContext.class,0);
+		public Function_bodyContext function_body() {
+			return getRuleContext(Function_bodyContext.class,0);
 		}
 		public Function_declarationContext(ParserRuleContext parent, int invokingState) {
 			super(parent, invokingState);
@@ -860,7 +890,7 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitFunction_declaration(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitFunction_declaration(this);
 			else return visitor.visitChildren(this);
 		}
 	}
@@ -871,23 +901,21 @@ public class gParser extends Parser {
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(156);
+			setState(165);
 			type();
-			setState(157);
+			setState(166);
 			match(ID);
-			setState(158);
+			setState(167);
 			match(T__1);
-			setState(159);
+			setState(168);
 			params();
-			setState(160);
+			setState(169);
 			match(T__2);
-			setState(161);
+			setState(170);
 			match(T__3);
-			setState(162);
-			program();
-			setState(163);
-			return_expression();
-			setState(164);
+			setState(171);
+			function_body();
+			setState(172);
 			match(T__4);
 			}
 		}
@@ -902,6 +930,74 @@ public class gParser extends Parser {
 		return _localctx;
 	}
 
+	@SuppressWarnings("CheckReturnValue")
+	public static class Function_bodyContext extends ParserRuleContext {
+		public Return_expressionContext return_expression() {
+			return getRuleContext(Return_expressionContext.class,0);
+		}
+		public List<StatementContext> statement() {
+			return getRuleContexts(StatementContext.class);
+		}
+		public StatementContext statement(int i) {
+			return getRuleContext(StatementContext.class,i);
+		}
+		public Function_bodyContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_function_body; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof gListener ) ((gListener)listener).enterFunction_body(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof gListener ) ((gListener)listener).exitFunction_body(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitFunction_body(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Function_bodyContext function_body() throws RecognitionException {
+		Function_bodyContext _localctx = new Function_bodyContext(_ctx, getState());
+		enterRule(_localctx, 20, RULE_function_body);
+		try {
+			int _alt;
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(177);
+			_errHandler.sync(this);
+			_alt = getInterpreter().adaptivePredict(_input,5,_ctx);
+			while ( _alt!=1 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+				if ( _alt==1+1 ) {
+					{
+					{
+					setState(174);
+					statement();
+					}
+					} 
+				}
+				setState(179);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,5,_ctx);
+			}
+			setState(180);
+			return_expression();
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
 	@SuppressWarnings("CheckReturnValue")
 	public static class Return_expressionContext extends ParserRuleContext {
 		public TerminalNode RETURN() { return getToken(gParser.RETURN, 0); }
@@ -922,22 +1018,112 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitReturn_expression(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitReturn_expression(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
 	public final Return_expressionContext return_expression() throws RecognitionException {
 		Return_expressionContext _localctx = new Return_expressionContext(_ctx, getState());
-		enterRule(_localctx, 20, RULE_return_expression);
+		enterRule(_localctx, 22, RULE_return_expression);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(166);
+			setState(182);
 			match(RETURN);
-			setState(167);
+			setState(183);
 			expression();
-			setState(168);
+			setState(184);
+			match(T__0);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	@SuppressWarnings("CheckReturnValue")
+	public static class Break_statementContext extends ParserRuleContext {
+		public TerminalNode BREAK() { return getToken(gParser.BREAK, 0); }
+		public Break_statementContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_break_statement; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof gListener ) ((gListener)listener).enterBreak_statement(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof gListener ) ((gListener)listener).exitBreak_statement(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitBreak_statement(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Break_statementContext break_statement() throws RecognitionException {
+		Break_statementContext _localctx = new Break_statementContext(_ctx, getState());
+		enterRule(_localctx, 24, RULE_break_statement);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(186);
+			match(BREAK);
+			setState(187);
+			match(T__0);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	@SuppressWarnings("CheckReturnValue")
+	public static class Continue_statementContext extends ParserRuleContext {
+		public TerminalNode CONTINUE() { return getToken(gParser.CONTINUE, 0); }
+		public Continue_statementContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_continue_statement; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof gListener ) ((gListener)listener).enterContinue_statement(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof gListener ) ((gListener)listener).exitContinue_statement(this);
+		}
+		@Override
+		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitContinue_statement(this);
+			else return visitor.visitChildren(this);
+		}
+	}
+
+	public final Continue_statementContext continue_statement() throws RecognitionException {
+		Continue_statementContext _localctx = new Continue_statementContext(_ctx, getState());
+		enterRule(_localctx, 26, RULE_continue_statement);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(189);
+			match(CONTINUE);
+			setState(190);
 			match(T__0);
 			}
 		}
@@ -975,37 +1161,37 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitParams(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitParams(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
 	public final ParamsContext params() throws RecognitionException {
 		ParamsContext _localctx = new ParamsContext(_ctx, getState());
-		enterRule(_localctx, 22, RULE_params);
+		enterRule(_localctx, 28, RULE_params);
 		try {
-			setState(178);
+			setState(200);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,5,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,6,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(170);
+				setState(192);
 				type();
-				setState(171);
+				setState(193);
 				match(ID);
 				}
 				break;
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(173);
+				setState(195);
 				type();
-				setState(174);
+				setState(196);
 				match(ID);
-				setState(175);
+				setState(197);
 				match(T__9);
-				setState(176);
+				setState(198);
 				params();
 				}
 				break;
@@ -1042,24 +1228,24 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitFunction_call(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitFunction_call(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
 	public final Function_callContext function_call() throws RecognitionException {
 		Function_callContext _localctx = new Function_callContext(_ctx, getState());
-		enterRule(_localctx, 24, RULE_function_call);
+		enterRule(_localctx, 30, RULE_function_call);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(180);
+			setState(202);
 			match(ID);
-			setState(181);
+			setState(203);
 			match(T__1);
-			setState(182);
+			setState(204);
 			params_call();
-			setState(183);
+			setState(205);
 			match(T__2);
 			}
 		}
@@ -1096,33 +1282,33 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitParams_call(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitParams_call(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
 	public final Params_callContext params_call() throws RecognitionException {
 		Params_callContext _localctx = new Params_callContext(_ctx, getState());
-		enterRule(_localctx, 26, RULE_params_call);
+		enterRule(_localctx, 32, RULE_params_call);
 		try {
-			setState(190);
+			setState(212);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,6,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,7,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(185);
+				setState(207);
 				expression();
 				}
 				break;
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(186);
+				setState(208);
 				expression();
-				setState(187);
+				setState(209);
 				match(T__9);
-				setState(188);
+				setState(210);
 				params_call();
 				}
 				break;
@@ -1159,24 +1345,24 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitPrint_call(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitPrint_call(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
 	public final Print_callContext print_call() throws RecognitionException {
 		Print_callContext _localctx = new Print_callContext(_ctx, getState());
-		enterRule(_localctx, 28, RULE_print_call);
+		enterRule(_localctx, 34, RULE_print_call);
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(192);
+			setState(214);
 			match(PRINT_ID);
-			setState(193);
+			setState(215);
 			match(T__1);
-			setState(194);
+			setState(216);
 			print_params();
-			setState(195);
+			setState(217);
 			match(T__2);
 			}
 		}
@@ -1213,33 +1399,33 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitPrint_params(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitPrint_params(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
 	public final Print_paramsContext print_params() throws RecognitionException {
 		Print_paramsContext _localctx = new Print_paramsContext(_ctx, getState());
-		enterRule(_localctx, 30, RULE_print_params);
+		enterRule(_localctx, 36, RULE_print_params);
 		try {
-			setState(202);
+			setState(224);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,7,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,8,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(197);
+				setState(219);
 				expression();
 				}
 				break;
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(198);
+				setState(220);
 				expression();
-				setState(199);
+				setState(221);
 				match(T__10);
-				setState(200);
+				setState(222);
 				print_params();
 				}
 				break;
@@ -1284,43 +1470,43 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitExpression(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitExpression(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
 	public final ExpressionContext expression() throws RecognitionException {
 		ExpressionContext _localctx = new ExpressionContext(_ctx, getState());
-		enterRule(_localctx, 32, RULE_expression);
+		enterRule(_localctx, 38, RULE_expression);
 		try {
-			setState(208);
+			setState(230);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,8,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,9,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(204);
+				setState(226);
 				math_expression();
 				}
 				break;
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(205);
+				setState(227);
 				logical_operation();
 				}
 				break;
 			case 3:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(206);
+				setState(228);
 				string_expression();
 				}
 				break;
 			case 4:
 				enterOuterAlt(_localctx, 4);
 				{
-				setState(207);
+				setState(229);
 				function_call();
 				}
 				break;
@@ -1357,33 +1543,33 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitString_expression(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitString_expression(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
 	public final String_expressionContext string_expression() throws RecognitionException {
 		String_expressionContext _localctx = new String_expressionContext(_ctx, getState());
-		enterRule(_localctx, 34, RULE_string_expression);
+		enterRule(_localctx, 40, RULE_string_expression);
 		try {
-			setState(214);
+			setState(236);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,9,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,10,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(210);
+				setState(232);
 				match(STRING);
 				}
 				break;
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(211);
+				setState(233);
 				match(STRING);
-				setState(212);
+				setState(234);
 				match(T__10);
-				setState(213);
+				setState(235);
 				string_expression();
 				}
 				break;
@@ -1422,29 +1608,29 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitMath_expression(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitMath_expression(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
 	public final Math_expressionContext math_expression() throws RecognitionException {
 		Math_expressionContext _localctx = new Math_expressionContext(_ctx, getState());
-		enterRule(_localctx, 36, RULE_math_expression);
+		enterRule(_localctx, 42, RULE_math_expression);
 		int _la;
 		try {
 			int _alt;
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(216);
+			setState(238);
 			term();
-			setState(221);
+			setState(243);
 			_errHandler.sync(this);
-			_alt = getInterpreter().adaptivePredict(_input,10,_ctx);
-			while ( _alt!=2 && _alt!= ATN.INVALID_ALT_NUMBER ) {
+			_alt = getInterpreter().adaptivePredict(_input,11,_ctx);
+			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
 				if ( _alt==1 ) {
 					{
 					{
-					setState(217);
+					setState(239);
 					_la = _input.LA(1);
 					if ( !(_la==T__10 || _la==T__11) ) {
 					_errHandler.recoverInline(this);
@@ -1454,14 +1640,14 @@ public class gParser extends Parser {
 						_errHandler.reportMatch(this);
 						consume();
 					}
-					setState(218);
+					setState(240);
 					term();
 					}
 					} 
 				}
-				setState(223);
+				setState(245);
 				_errHandler.sync(this);
-				_alt = getInterpreter().adaptivePredict(_input,10,_ctx);
+				_alt = getInterpreter().adaptivePredict(_input,11,_ctx);
 			}
 			}
 		}
@@ -1498,27 +1684,27 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitTerm(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitTerm(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
 	public final TermContext term() throws RecognitionException {
 		TermContext _localctx = new TermContext(_ctx, getState());
-		enterRule(_localctx, 38, RULE_term);
+		enterRule(_localctx, 44, RULE_term);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(224);
+			setState(246);
 			power_expr();
-			setState(229);
+			setState(251);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while (_la==T__12 || _la==T__13) {
 				{
 				{
-				setState(225);
+				setState(247);
 				_la = _input.LA(1);
 				if ( !(_la==T__12 || _la==T__13) ) {
 				_errHandler.recoverInline(this);
@@ -1528,11 +1714,11 @@ public class gParser extends Parser {
 					_errHandler.reportMatch(this);
 					consume();
 				}
-				setState(226);
+				setState(248);
 				power_expr();
 				}
 				}
-				setState(231);
+				setState(253);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
@@ -1571,27 +1757,27 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitPower_expr(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitPower_expr(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
 	public final Power_exprContext power_expr() throws RecognitionException {
 		Power_exprContext _localctx = new Power_exprContext(_ctx, getState());
-		enterRule(_localctx, 40, RULE_power_expr);
+		enterRule(_localctx, 46, RULE_power_expr);
 		try {
-			setState(237);
+			setState(259);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,12,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,13,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(232);
+				setState(254);
 				factor();
 				{
-				setState(233);
+				setState(255);
 				match(T__14);
-				setState(234);
+				setState(256);
 				factor();
 				}
 				}
@@ -1599,7 +1785,7 @@ public class gParser extends Parser {
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(236);
+				setState(258);
 				factor();
 				}
 				break;
@@ -1642,47 +1828,47 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitFactor(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitFactor(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
 	public final FactorContext factor() throws RecognitionException {
 		FactorContext _localctx = new FactorContext(_ctx, getState());
-		enterRule(_localctx, 42, RULE_factor);
+		enterRule(_localctx, 48, RULE_factor);
 		try {
-			setState(246);
+			setState(268);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,13,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,14,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(239);
+				setState(261);
 				match(ID);
 				}
 				break;
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(240);
+				setState(262);
 				number();
 				}
 				break;
 			case 3:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(241);
+				setState(263);
 				match(T__1);
-				setState(242);
+				setState(264);
 				math_expression();
-				setState(243);
+				setState(265);
 				match(T__2);
 				}
 				break;
 			case 4:
 				enterOuterAlt(_localctx, 4);
 				{
-				setState(245);
+				setState(267);
 				function_call();
 				}
 				break;
@@ -1717,28 +1903,28 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitNumber(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitNumber(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
 	public final NumberContext number() throws RecognitionException {
 		NumberContext _localctx = new NumberContext(_ctx, getState());
-		enterRule(_localctx, 44, RULE_number);
+		enterRule(_localctx, 50, RULE_number);
 		int _la;
 		try {
-			setState(256);
+			setState(278);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,16,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,17,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(249);
+				setState(271);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				if (_la==T__10 || _la==T__11) {
 					{
-					setState(248);
+					setState(270);
 					_la = _input.LA(1);
 					if ( !(_la==T__10 || _la==T__11) ) {
 					_errHandler.recoverInline(this);
@@ -1751,19 +1937,19 @@ public class gParser extends Parser {
 					}
 				}
 
-				setState(251);
+				setState(273);
 				match(INT);
 				}
 				break;
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(253);
+				setState(275);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 				if (_la==T__10 || _la==T__11) {
 					{
-					setState(252);
+					setState(274);
 					_la = _input.LA(1);
 					if ( !(_la==T__10 || _la==T__11) ) {
 					_errHandler.recoverInline(this);
@@ -1776,7 +1962,7 @@ public class gParser extends Parser {
 					}
 				}
 
-				setState(255);
+				setState(277);
 				match(DOUBLE);
 				}
 				break;
@@ -1813,21 +1999,21 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitType(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitType(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
 	public final TypeContext type() throws RecognitionException {
 		TypeContext _localctx = new TypeContext(_ctx, getState());
-		enterRule(_localctx, 46, RULE_type);
+		enterRule(_localctx, 52, RULE_type);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(258);
+			setState(280);
 			_la = _input.LA(1);
-			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & 124554051584L) != 0)) ) {
+			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & 485331304448L) != 0)) ) {
 			_errHandler.recoverInline(this);
 			}
 			else {
@@ -1870,33 +2056,33 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitLogical_operation(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitLogical_operation(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
 	public final Logical_operationContext logical_operation() throws RecognitionException {
 		Logical_operationContext _localctx = new Logical_operationContext(_ctx, getState());
-		enterRule(_localctx, 48, RULE_logical_operation);
+		enterRule(_localctx, 54, RULE_logical_operation);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(260);
+			setState(282);
 			logical_term();
-			setState(265);
+			setState(287);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while (_la==T__15) {
 				{
 				{
-				setState(261);
+				setState(283);
 				match(T__15);
-				setState(262);
+				setState(284);
 				logical_term();
 				}
 				}
-				setState(267);
+				setState(289);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
@@ -1935,33 +2121,33 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitLogical_term(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitLogical_term(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
 	public final Logical_termContext logical_term() throws RecognitionException {
 		Logical_termContext _localctx = new Logical_termContext(_ctx, getState());
-		enterRule(_localctx, 50, RULE_logical_term);
+		enterRule(_localctx, 56, RULE_logical_term);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(268);
+			setState(290);
 			logical_factor();
-			setState(273);
+			setState(295);
 			_errHandler.sync(this);
 			_la = _input.LA(1);
 			while (_la==T__16) {
 				{
 				{
-				setState(269);
+				setState(291);
 				match(T__16);
-				setState(270);
+				setState(292);
 				logical_factor();
 				}
 				}
-				setState(275);
+				setState(297);
 				_errHandler.sync(this);
 				_la = _input.LA(1);
 			}
@@ -2006,49 +2192,49 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitLogical_factor(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitLogical_factor(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
 	public final Logical_factorContext logical_factor() throws RecognitionException {
 		Logical_factorContext _localctx = new Logical_factorContext(_ctx, getState());
-		enterRule(_localctx, 52, RULE_logical_factor);
+		enterRule(_localctx, 58, RULE_logical_factor);
 		try {
-			setState(284);
+			setState(306);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,19,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,20,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(276);
+				setState(298);
 				boolean_();
 				}
 				break;
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(277);
+				setState(299);
 				function_call();
 				}
 				break;
 			case 3:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(278);
+				setState(300);
 				match(T__17);
-				setState(279);
+				setState(301);
 				logical_factor();
 				}
 				break;
 			case 4:
 				enterOuterAlt(_localctx, 4);
 				{
-				setState(280);
+				setState(302);
 				match(T__1);
-				setState(281);
+				setState(303);
 				logical_operation();
-				setState(282);
+				setState(304);
 				match(T__2);
 				}
 				break;
@@ -2093,47 +2279,47 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitBoolean(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitBoolean(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
 	public final BooleanContext boolean_() throws RecognitionException {
 		BooleanContext _localctx = new BooleanContext(_ctx, getState());
-		enterRule(_localctx, 54, RULE_boolean);
+		enterRule(_localctx, 60, RULE_boolean);
 		try {
-			setState(293);
+			setState(315);
 			_errHandler.sync(this);
-			switch ( getInterpreter().adaptivePredict(_input,20,_ctx) ) {
+			switch ( getInterpreter().adaptivePredict(_input,21,_ctx) ) {
 			case 1:
 				enterOuterAlt(_localctx, 1);
 				{
-				setState(286);
+				setState(308);
 				math_expression();
-				setState(287);
+				setState(309);
 				comparison_operator();
-				setState(288);
+				setState(310);
 				math_expression();
 				}
 				break;
 			case 2:
 				enterOuterAlt(_localctx, 2);
 				{
-				setState(290);
+				setState(312);
 				match(TRUE);
 				}
 				break;
 			case 3:
 				enterOuterAlt(_localctx, 3);
 				{
-				setState(291);
+				setState(313);
 				match(FALSE);
 				}
 				break;
 			case 4:
 				enterOuterAlt(_localctx, 4);
 				{
-				setState(292);
+				setState(314);
 				match(ID);
 				}
 				break;
@@ -2166,19 +2352,19 @@ public class gParser extends Parser {
 		}
 		@Override
 		public <T> T accept(ParseTreeVisitor<? extends T> visitor) {
-			if ( visitor instanceof gVisitor) return ((gVisitor<? extends T>)visitor).visitComparison_operator(this);
+			if ( visitor instanceof gVisitor ) return ((gVisitor<? extends T>)visitor).visitComparison_operator(this);
 			else return visitor.visitChildren(this);
 		}
 	}
 
 	public final Comparison_operatorContext comparison_operator() throws RecognitionException {
 		Comparison_operatorContext _localctx = new Comparison_operatorContext(_ctx, getState());
-		enterRule(_localctx, 56, RULE_comparison_operator);
+		enterRule(_localctx, 62, RULE_comparison_operator);
 		int _la;
 		try {
 			enterOuterAlt(_localctx, 1);
 			{
-			setState(295);
+			setState(317);
 			_la = _input.LA(1);
 			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & 33030144L) != 0)) ) {
 			_errHandler.recoverInline(this);
@@ -2202,7 +2388,7 @@ public class gParser extends Parser {
 	}
 
 	public static final String _serializedATN =
-		"\u0004\u0001/\u012a\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0002"+
+		"\u0004\u00011\u0140\u0002\u0000\u0007\u0000\u0002\u0001\u0007\u0001\u0002"+
 		"\u0002\u0007\u0002\u0002\u0003\u0007\u0003\u0002\u0004\u0007\u0004\u0002"+
 		"\u0005\u0007\u0005\u0002\u0006\u0007\u0006\u0002\u0007\u0007\u0007\u0002"+
 		"\b\u0007\b\u0002\t\u0007\t\u0002\n\u0007\n\u0002\u000b\u0007\u000b\u0002"+
@@ -2211,184 +2397,199 @@ public class gParser extends Parser {
 		"\u0002\u0013\u0007\u0013\u0002\u0014\u0007\u0014\u0002\u0015\u0007\u0015"+
 		"\u0002\u0016\u0007\u0016\u0002\u0017\u0007\u0017\u0002\u0018\u0007\u0018"+
 		"\u0002\u0019\u0007\u0019\u0002\u001a\u0007\u001a\u0002\u001b\u0007\u001b"+
-		"\u0002\u001c\u0007\u001c\u0001\u0000\u0005\u0000<\b\u0000\n\u0000\f\u0000"+
-		"?\t\u0000\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0002\u001c\u0007\u001c\u0002\u001d\u0007\u001d\u0002\u001e\u0007\u001e"+
+		"\u0002\u001f\u0007\u001f\u0001\u0000\u0005\u0000B\b\u0000\n\u0000\f\u0000"+
+		"E\t\u0000\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
+		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
 		"\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001\u0001"+
-		"\u0001\u0001\u0001\u0001\u0001\u0001\u0003\u0001U\b\u0001\u0001\u0002"+
+		"\u0003\u0001^\b\u0001\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002"+
 		"\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002"+
-		"\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0001\u0002\u0003\u0002"+
-		"c\b\u0002\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003"+
-		"\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0004\u0001\u0004\u0001\u0004"+
+		"\u0001\u0002\u0001\u0002\u0003\u0002l\b\u0002\u0001\u0003\u0001\u0003"+
+		"\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003\u0001\u0003"+
 		"\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004"+
-		"\u0001\u0004\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
+		"\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0004\u0001\u0005\u0001\u0005"+
 		"\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005"+
-		"\u0001\u0005\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006"+
+		"\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0005\u0001\u0006\u0001\u0006"+
 		"\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006"+
-		"\u0001\u0006\u0001\u0006\u0003\u0006\u0090\b\u0006\u0001\u0007\u0001\u0007"+
-		"\u0001\u0007\u0001\u0007\u0001\b\u0001\b\u0001\b\u0001\b\u0001\b\u0003"+
-		"\b\u009b\b\b\u0001\t\u0001\t\u0001\t\u0001\t\u0001\t\u0001\t\u0001\t\u0001"+
-		"\t\u0001\t\u0001\t\u0001\n\u0001\n\u0001\n\u0001\n\u0001\u000b\u0001\u000b"+
-		"\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b\u0001\u000b"+
-		"\u0003\u000b\u00b3\b\u000b\u0001\f\u0001\f\u0001\f\u0001\f\u0001\f\u0001"+
-		"\r\u0001\r\u0001\r\u0001\r\u0001\r\u0003\r\u00bf\b\r\u0001\u000e\u0001"+
-		"\u000e\u0001\u000e\u0001\u000e\u0001\u000e\u0001\u000f\u0001\u000f\u0001"+
-		"\u000f\u0001\u000f\u0001\u000f\u0003\u000f\u00cb\b\u000f\u0001\u0010\u0001"+
-		"\u0010\u0001\u0010\u0001\u0010\u0003\u0010\u00d1\b\u0010\u0001\u0011\u0001"+
-		"\u0011\u0001\u0011\u0001\u0011\u0003\u0011\u00d7\b\u0011\u0001\u0012\u0001"+
-		"\u0012\u0001\u0012\u0005\u0012\u00dc\b\u0012\n\u0012\f\u0012\u00df\t\u0012"+
-		"\u0001\u0013\u0001\u0013\u0001\u0013\u0005\u0013\u00e4\b\u0013\n\u0013"+
-		"\f\u0013\u00e7\t\u0013\u0001\u0014\u0001\u0014\u0001\u0014\u0001\u0014"+
-		"\u0001\u0014\u0003\u0014\u00ee\b\u0014\u0001\u0015\u0001\u0015\u0001\u0015"+
-		"\u0001\u0015\u0001\u0015\u0001\u0015\u0001\u0015\u0003\u0015\u00f7\b\u0015"+
-		"\u0001\u0016\u0003\u0016\u00fa\b\u0016\u0001\u0016\u0001\u0016\u0003\u0016"+
-		"\u00fe\b\u0016\u0001\u0016\u0003\u0016\u0101\b\u0016\u0001\u0017\u0001"+
-		"\u0017\u0001\u0018\u0001\u0018\u0001\u0018\u0005\u0018\u0108\b\u0018\n"+
-		"\u0018\f\u0018\u010b\t\u0018\u0001\u0019\u0001\u0019\u0001\u0019\u0005"+
-		"\u0019\u0110\b\u0019\n\u0019\f\u0019\u0113\t\u0019\u0001\u001a\u0001\u001a"+
-		"\u0001\u001a\u0001\u001a\u0001\u001a\u0001\u001a\u0001\u001a\u0001\u001a"+
-		"\u0003\u001a\u011d\b\u001a\u0001\u001b\u0001\u001b\u0001\u001b\u0001\u001b"+
-		"\u0001\u001b\u0001\u001b\u0001\u001b\u0003\u001b\u0126\b\u001b\u0001\u001c"+
-		"\u0001\u001c\u0001\u001c\u0000\u0000\u001d\u0000\u0002\u0004\u0006\b\n"+
-		"\f\u000e\u0010\u0012\u0014\u0016\u0018\u001a\u001c\u001e \"$&(*,.0246"+
-		"8\u0000\u0006\u0001\u0000\u0006\u0007\u0001\u0000\b\t\u0001\u0000\u000b"+
-		"\f\u0001\u0000\r\u000e\u0002\u0000  \"$\u0001\u0000\u0013\u0018\u0132"+
-		"\u0000=\u0001\u0000\u0000\u0000\u0002T\u0001\u0000\u0000\u0000\u0004V"+
-		"\u0001\u0000\u0000\u0000\u0006d\u0001\u0000\u0000\u0000\bl\u0001\u0000"+
-		"\u0000\u0000\nv\u0001\u0000\u0000\u0000\f\u008f\u0001\u0000\u0000\u0000"+
-		"\u000e\u0091\u0001\u0000\u0000\u0000\u0010\u009a\u0001\u0000\u0000\u0000"+
-		"\u0012\u009c\u0001\u0000\u0000\u0000\u0014\u00a6\u0001\u0000\u0000\u0000"+
-		"\u0016\u00b2\u0001\u0000\u0000\u0000\u0018\u00b4\u0001\u0000\u0000\u0000"+
-		"\u001a\u00be\u0001\u0000\u0000\u0000\u001c\u00c0\u0001\u0000\u0000\u0000"+
-		"\u001e\u00ca\u0001\u0000\u0000\u0000 \u00d0\u0001\u0000\u0000\u0000\""+
-		"\u00d6\u0001\u0000\u0000\u0000$\u00d8\u0001\u0000\u0000\u0000&\u00e0\u0001"+
-		"\u0000\u0000\u0000(\u00ed\u0001\u0000\u0000\u0000*\u00f6\u0001\u0000\u0000"+
-		"\u0000,\u0100\u0001\u0000\u0000\u0000.\u0102\u0001\u0000\u0000\u00000"+
-		"\u0104\u0001\u0000\u0000\u00002\u010c\u0001\u0000\u0000\u00004\u011c\u0001"+
-		"\u0000\u0000\u00006\u0125\u0001\u0000\u0000\u00008\u0127\u0001\u0000\u0000"+
-		"\u0000:<\u0003\u0002\u0001\u0000;:\u0001\u0000\u0000\u0000<?\u0001\u0000"+
-		"\u0000\u0000=;\u0001\u0000\u0000\u0000=>\u0001\u0000\u0000\u0000>\u0001"+
-		"\u0001\u0000\u0000\u0000?=\u0001\u0000\u0000\u0000@A\u0003\f\u0006\u0000"+
-		"AB\u0005\u0001\u0000\u0000BU\u0001\u0000\u0000\u0000CD\u0003\u000e\u0007"+
-		"\u0000DE\u0005\u0001\u0000\u0000EU\u0001\u0000\u0000\u0000FG\u0003\u0010"+
-		"\b\u0000GH\u0005\u0001\u0000\u0000HU\u0001\u0000\u0000\u0000IU\u0003\u0004"+
-		"\u0002\u0000JU\u0003\u0006\u0003\u0000KU\u0003\b\u0004\u0000LU\u0003\n"+
-		"\u0005\u0000MU\u0003\u0012\t\u0000NO\u0003\u0018\f\u0000OP\u0005\u0001"+
-		"\u0000\u0000PU\u0001\u0000\u0000\u0000QR\u0003\u001c\u000e\u0000RS\u0005"+
-		"\u0001\u0000\u0000SU\u0001\u0000\u0000\u0000T@\u0001\u0000\u0000\u0000"+
-		"TC\u0001\u0000\u0000\u0000TF\u0001\u0000\u0000\u0000TI\u0001\u0000\u0000"+
-		"\u0000TJ\u0001\u0000\u0000\u0000TK\u0001\u0000\u0000\u0000TL\u0001\u0000"+
-		"\u0000\u0000TM\u0001\u0000\u0000\u0000TN\u0001\u0000\u0000\u0000TQ\u0001"+
-		"\u0000\u0000\u0000U\u0003\u0001\u0000\u0000\u0000VW\u0005\u0019\u0000"+
-		"\u0000WX\u0005\u0002\u0000\u0000XY\u00030\u0018\u0000YZ\u0005\u0003\u0000"+
-		"\u0000Z[\u0005\u0004\u0000\u0000[\\\u0003\u0000\u0000\u0000\\b\u0005\u0005"+
-		"\u0000\u0000]^\u0005\u001a\u0000\u0000^_\u0005\u0004\u0000\u0000_`\u0003"+
-		"\u0000\u0000\u0000`a\u0005\u0005\u0000\u0000ac\u0001\u0000\u0000\u0000"+
-		"b]\u0001\u0000\u0000\u0000bc\u0001\u0000\u0000\u0000c\u0005\u0001\u0000"+
-		"\u0000\u0000de\u0005\u001b\u0000\u0000ef\u0005\u0002\u0000\u0000fg\u0003"+
-		"0\u0018\u0000gh\u0005\u0003\u0000\u0000hi\u0005\u0004\u0000\u0000ij\u0003"+
-		"\u0000\u0000\u0000jk\u0005\u0005\u0000\u0000k\u0007\u0001\u0000\u0000"+
-		"\u0000lm\u0005\u001c\u0000\u0000mn\u0005\u0004\u0000\u0000no\u0003\u0000"+
-		"\u0000\u0000op\u0005\u0005\u0000\u0000pq\u0005\u001b\u0000\u0000qr\u0005"+
-		"\u0002\u0000\u0000rs\u00030\u0018\u0000st\u0005\u0003\u0000\u0000tu\u0005"+
-		"\u0001\u0000\u0000u\t\u0001\u0000\u0000\u0000vw\u0005\u001d\u0000\u0000"+
-		"wx\u0005\u0002\u0000\u0000xy\u0003\f\u0006\u0000yz\u0005\u0001\u0000\u0000"+
-		"z{\u00030\u0018\u0000{|\u0005\u0001\u0000\u0000|}\u0003\u0010\b\u0000"+
-		"}~\u0005\u0003\u0000\u0000~\u007f\u0005\u0004\u0000\u0000\u007f\u0080"+
-		"\u0003\u0000\u0000\u0000\u0080\u0081\u0005\u0005\u0000\u0000\u0081\u000b"+
-		"\u0001\u0000\u0000\u0000\u0082\u0083\u0003.\u0017\u0000\u0083\u0084\u0005"+
-		"&\u0000\u0000\u0084\u0090\u0001\u0000\u0000\u0000\u0085\u0086\u0003.\u0017"+
-		"\u0000\u0086\u0087\u0005&\u0000\u0000\u0087\u0088\u0005-\u0000\u0000\u0088"+
-		"\u0089\u0005&\u0000\u0000\u0089\u0090\u0001\u0000\u0000\u0000\u008a\u008b"+
-		"\u0003.\u0017\u0000\u008b\u008c\u0005&\u0000\u0000\u008c\u008d\u0005-"+
-		"\u0000\u0000\u008d\u008e\u0003 \u0010\u0000\u008e\u0090\u0001\u0000\u0000"+
-		"\u0000\u008f\u0082\u0001\u0000\u0000\u0000\u008f\u0085\u0001\u0000\u0000"+
-		"\u0000\u008f\u008a\u0001\u0000\u0000\u0000\u0090\r\u0001\u0000\u0000\u0000"+
-		"\u0091\u0092\u0005&\u0000\u0000\u0092\u0093\u0005-\u0000\u0000\u0093\u0094"+
-		"\u0003 \u0010\u0000\u0094\u000f\u0001\u0000\u0000\u0000\u0095\u0096\u0005"+
-		"&\u0000\u0000\u0096\u009b\u0007\u0000\u0000\u0000\u0097\u0098\u0005&\u0000"+
-		"\u0000\u0098\u0099\u0007\u0001\u0000\u0000\u0099\u009b\u0003$\u0012\u0000"+
-		"\u009a\u0095\u0001\u0000\u0000\u0000\u009a\u0097\u0001\u0000\u0000\u0000"+
-		"\u009b\u0011\u0001\u0000\u0000\u0000\u009c\u009d\u0003.\u0017\u0000\u009d"+
-		"\u009e\u0005&\u0000\u0000\u009e\u009f\u0005\u0002\u0000\u0000\u009f\u00a0"+
-		"\u0003\u0016\u000b\u0000\u00a0\u00a1\u0005\u0003\u0000\u0000\u00a1\u00a2"+
-		"\u0005\u0004\u0000\u0000\u00a2\u00a3\u0003\u0000\u0000\u0000\u00a3\u00a4"+
-		"\u0003\u0014\n\u0000\u00a4\u00a5\u0005\u0005\u0000\u0000\u00a5\u0013\u0001"+
-		"\u0000\u0000\u0000\u00a6\u00a7\u0005!\u0000\u0000\u00a7\u00a8\u0003 \u0010"+
-		"\u0000\u00a8\u00a9\u0005\u0001\u0000\u0000\u00a9\u0015\u0001\u0000\u0000"+
-		"\u0000\u00aa\u00ab\u0003.\u0017\u0000\u00ab\u00ac\u0005&\u0000\u0000\u00ac"+
-		"\u00b3\u0001\u0000\u0000\u0000\u00ad\u00ae\u0003.\u0017\u0000\u00ae\u00af"+
-		"\u0005&\u0000\u0000\u00af\u00b0\u0005\n\u0000\u0000\u00b0\u00b1\u0003"+
-		"\u0016\u000b\u0000\u00b1\u00b3\u0001\u0000\u0000\u0000\u00b2\u00aa\u0001"+
-		"\u0000\u0000\u0000\u00b2\u00ad\u0001\u0000\u0000\u0000\u00b3\u0017\u0001"+
-		"\u0000\u0000\u0000\u00b4\u00b5\u0005&\u0000\u0000\u00b5\u00b6\u0005\u0002"+
-		"\u0000\u0000\u00b6\u00b7\u0003\u001a\r\u0000\u00b7\u00b8\u0005\u0003\u0000"+
-		"\u0000\u00b8\u0019\u0001\u0000\u0000\u0000\u00b9\u00bf\u0003 \u0010\u0000"+
-		"\u00ba\u00bb\u0003 \u0010\u0000\u00bb\u00bc\u0005\n\u0000\u0000\u00bc"+
-		"\u00bd\u0003\u001a\r\u0000\u00bd\u00bf\u0001\u0000\u0000\u0000\u00be\u00b9"+
-		"\u0001\u0000\u0000\u0000\u00be\u00ba\u0001\u0000\u0000\u0000\u00bf\u001b"+
-		"\u0001\u0000\u0000\u0000\u00c0\u00c1\u0005%\u0000\u0000\u00c1\u00c2\u0005"+
-		"\u0002\u0000\u0000\u00c2\u00c3\u0003\u001e\u000f\u0000\u00c3\u00c4\u0005"+
-		"\u0003\u0000\u0000\u00c4\u001d\u0001\u0000\u0000\u0000\u00c5\u00cb\u0003"+
-		" \u0010\u0000\u00c6\u00c7\u0003 \u0010\u0000\u00c7\u00c8\u0005\u000b\u0000"+
-		"\u0000\u00c8\u00c9\u0003\u001e\u000f\u0000\u00c9\u00cb\u0001\u0000\u0000"+
-		"\u0000\u00ca\u00c5\u0001\u0000\u0000\u0000\u00ca\u00c6\u0001\u0000\u0000"+
-		"\u0000\u00cb\u001f\u0001\u0000\u0000\u0000\u00cc\u00d1\u0003$\u0012\u0000"+
-		"\u00cd\u00d1\u00030\u0018\u0000\u00ce\u00d1\u0003\"\u0011\u0000\u00cf"+
-		"\u00d1\u0003\u0018\f\u0000\u00d0\u00cc\u0001\u0000\u0000\u0000\u00d0\u00cd"+
-		"\u0001\u0000\u0000\u0000\u00d0\u00ce\u0001\u0000\u0000\u0000\u00d0\u00cf"+
-		"\u0001\u0000\u0000\u0000\u00d1!\u0001\u0000\u0000\u0000\u00d2\u00d7\u0005"+
-		")\u0000\u0000\u00d3\u00d4\u0005)\u0000\u0000\u00d4\u00d5\u0005\u000b\u0000"+
-		"\u0000\u00d5\u00d7\u0003\"\u0011\u0000\u00d6\u00d2\u0001\u0000\u0000\u0000"+
-		"\u00d6\u00d3\u0001\u0000\u0000\u0000\u00d7#\u0001\u0000\u0000\u0000\u00d8"+
-		"\u00dd\u0003&\u0013\u0000\u00d9\u00da\u0007\u0002\u0000\u0000\u00da\u00dc"+
-		"\u0003&\u0013\u0000\u00db\u00d9\u0001\u0000\u0000\u0000\u00dc\u00df\u0001"+
-		"\u0000\u0000\u0000\u00dd\u00db\u0001\u0000\u0000\u0000\u00dd\u00de\u0001"+
-		"\u0000\u0000\u0000\u00de%\u0001\u0000\u0000\u0000\u00df\u00dd\u0001\u0000"+
-		"\u0000\u0000\u00e0\u00e5\u0003(\u0014\u0000\u00e1\u00e2\u0007\u0003\u0000"+
-		"\u0000\u00e2\u00e4\u0003(\u0014\u0000\u00e3\u00e1\u0001\u0000\u0000\u0000"+
-		"\u00e4\u00e7\u0001\u0000\u0000\u0000\u00e5\u00e3\u0001\u0000\u0000\u0000"+
-		"\u00e5\u00e6\u0001\u0000\u0000\u0000\u00e6\'\u0001\u0000\u0000\u0000\u00e7"+
-		"\u00e5\u0001\u0000\u0000\u0000\u00e8\u00e9\u0003*\u0015\u0000\u00e9\u00ea"+
-		"\u0005\u000f\u0000\u0000\u00ea\u00eb\u0003*\u0015\u0000\u00eb\u00ee\u0001"+
-		"\u0000\u0000\u0000\u00ec\u00ee\u0003*\u0015\u0000\u00ed\u00e8\u0001\u0000"+
-		"\u0000\u0000\u00ed\u00ec\u0001\u0000\u0000\u0000\u00ee)\u0001\u0000\u0000"+
-		"\u0000\u00ef\u00f7\u0005&\u0000\u0000\u00f0\u00f7\u0003,\u0016\u0000\u00f1"+
-		"\u00f2\u0005\u0002\u0000\u0000\u00f2\u00f3\u0003$\u0012\u0000\u00f3\u00f4"+
-		"\u0005\u0003\u0000\u0000\u00f4\u00f7\u0001\u0000\u0000\u0000\u00f5\u00f7"+
-		"\u0003\u0018\f\u0000\u00f6\u00ef\u0001\u0000\u0000\u0000\u00f6\u00f0\u0001"+
-		"\u0000\u0000\u0000\u00f6\u00f1\u0001\u0000\u0000\u0000\u00f6\u00f5\u0001"+
-		"\u0000\u0000\u0000\u00f7+\u0001\u0000\u0000\u0000\u00f8\u00fa\u0007\u0002"+
-		"\u0000\u0000\u00f9\u00f8\u0001\u0000\u0000\u0000\u00f9\u00fa\u0001\u0000"+
-		"\u0000\u0000\u00fa\u00fb\u0001\u0000\u0000\u0000\u00fb\u0101\u0005\'\u0000"+
-		"\u0000\u00fc\u00fe\u0007\u0002\u0000\u0000\u00fd\u00fc\u0001\u0000\u0000"+
-		"\u0000\u00fd\u00fe\u0001\u0000\u0000\u0000\u00fe\u00ff\u0001\u0000\u0000"+
-		"\u0000\u00ff\u0101\u0005(\u0000\u0000\u0100\u00f9\u0001\u0000\u0000\u0000"+
-		"\u0100\u00fd\u0001\u0000\u0000\u0000\u0101-\u0001\u0000\u0000\u0000\u0102"+
-		"\u0103\u0007\u0004\u0000\u0000\u0103/\u0001\u0000\u0000\u0000\u0104\u0109"+
-		"\u00032\u0019\u0000\u0105\u0106\u0005\u0010\u0000\u0000\u0106\u0108\u0003"+
-		"2\u0019\u0000\u0107\u0105\u0001\u0000\u0000\u0000\u0108\u010b\u0001\u0000"+
-		"\u0000\u0000\u0109\u0107\u0001\u0000\u0000\u0000\u0109\u010a\u0001\u0000"+
-		"\u0000\u0000\u010a1\u0001\u0000\u0000\u0000\u010b\u0109\u0001\u0000\u0000"+
-		"\u0000\u010c\u0111\u00034\u001a\u0000\u010d\u010e\u0005\u0011\u0000\u0000"+
-		"\u010e\u0110\u00034\u001a\u0000\u010f\u010d\u0001\u0000\u0000\u0000\u0110"+
-		"\u0113\u0001\u0000\u0000\u0000\u0111\u010f\u0001\u0000\u0000\u0000\u0111"+
-		"\u0112\u0001\u0000\u0000\u0000\u01123\u0001\u0000\u0000\u0000\u0113\u0111"+
-		"\u0001\u0000\u0000\u0000\u0114\u011d\u00036\u001b\u0000\u0115\u011d\u0003"+
-		"\u0018\f\u0000\u0116\u0117\u0005\u0012\u0000\u0000\u0117\u011d\u00034"+
-		"\u001a\u0000\u0118\u0119\u0005\u0002\u0000\u0000\u0119\u011a\u00030\u0018"+
-		"\u0000\u011a\u011b\u0005\u0003\u0000\u0000\u011b\u011d\u0001\u0000\u0000"+
-		"\u0000\u011c\u0114\u0001\u0000\u0000\u0000\u011c\u0115\u0001\u0000\u0000"+
-		"\u0000\u011c\u0116\u0001\u0000\u0000\u0000\u011c\u0118\u0001\u0000\u0000"+
-		"\u0000\u011d5\u0001\u0000\u0000\u0000\u011e\u011f\u0003$\u0012\u0000\u011f"+
-		"\u0120\u00038\u001c\u0000\u0120\u0121\u0003$\u0012\u0000\u0121\u0126\u0001"+
-		"\u0000\u0000\u0000\u0122\u0126\u0005\u001e\u0000\u0000\u0123\u0126\u0005"+
-		"\u001f\u0000\u0000\u0124\u0126\u0005&\u0000\u0000\u0125\u011e\u0001\u0000"+
-		"\u0000\u0000\u0125\u0122\u0001\u0000\u0000\u0000\u0125\u0123\u0001\u0000"+
-		"\u0000\u0000\u0125\u0124\u0001\u0000\u0000\u0000\u01267\u0001\u0000\u0000"+
-		"\u0000\u0127\u0128\u0007\u0005\u0000\u0000\u01289\u0001\u0000\u0000\u0000"+
-		"\u0015=Tb\u008f\u009a\u00b2\u00be\u00ca\u00d0\u00d6\u00dd\u00e5\u00ed"+
-		"\u00f6\u00f9\u00fd\u0100\u0109\u0111\u011c\u0125";
+		"\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0001\u0006\u0003\u0006"+
+		"\u0099\b\u0006\u0001\u0007\u0001\u0007\u0001\u0007\u0001\u0007\u0001\b"+
+		"\u0001\b\u0001\b\u0001\b\u0001\b\u0003\b\u00a4\b\b\u0001\t\u0001\t\u0001"+
+		"\t\u0001\t\u0001\t\u0001\t\u0001\t\u0001\t\u0001\t\u0001\n\u0005\n\u00b0"+
+		"\b\n\n\n\f\n\u00b3\t\n\u0001\n\u0001\n\u0001\u000b\u0001\u000b\u0001\u000b"+
+		"\u0001\u000b\u0001\f\u0001\f\u0001\f\u0001\r\u0001\r\u0001\r\u0001\u000e"+
+		"\u0001\u000e\u0001\u000e\u0001\u000e\u0001\u000e\u0001\u000e\u0001\u000e"+
+		"\u0001\u000e\u0003\u000e\u00c9\b\u000e\u0001\u000f\u0001\u000f\u0001\u000f"+
+		"\u0001\u000f\u0001\u000f\u0001\u0010\u0001\u0010\u0001\u0010\u0001\u0010"+
+		"\u0001\u0010\u0003\u0010\u00d5\b\u0010\u0001\u0011\u0001\u0011\u0001\u0011"+
+		"\u0001\u0011\u0001\u0011\u0001\u0012\u0001\u0012\u0001\u0012\u0001\u0012"+
+		"\u0001\u0012\u0003\u0012\u00e1\b\u0012\u0001\u0013\u0001\u0013\u0001\u0013"+
+		"\u0001\u0013\u0003\u0013\u00e7\b\u0013\u0001\u0014\u0001\u0014\u0001\u0014"+
+		"\u0001\u0014\u0003\u0014\u00ed\b\u0014\u0001\u0015\u0001\u0015\u0001\u0015"+
+		"\u0005\u0015\u00f2\b\u0015\n\u0015\f\u0015\u00f5\t\u0015\u0001\u0016\u0001"+
+		"\u0016\u0001\u0016\u0005\u0016\u00fa\b\u0016\n\u0016\f\u0016\u00fd\t\u0016"+
+		"\u0001\u0017\u0001\u0017\u0001\u0017\u0001\u0017\u0001\u0017\u0003\u0017"+
+		"\u0104\b\u0017\u0001\u0018\u0001\u0018\u0001\u0018\u0001\u0018\u0001\u0018"+
+		"\u0001\u0018\u0001\u0018\u0003\u0018\u010d\b\u0018\u0001\u0019\u0003\u0019"+
+		"\u0110\b\u0019\u0001\u0019\u0001\u0019\u0003\u0019\u0114\b\u0019\u0001"+
+		"\u0019\u0003\u0019\u0117\b\u0019\u0001\u001a\u0001\u001a\u0001\u001b\u0001"+
+		"\u001b\u0001\u001b\u0005\u001b\u011e\b\u001b\n\u001b\f\u001b\u0121\t\u001b"+
+		"\u0001\u001c\u0001\u001c\u0001\u001c\u0005\u001c\u0126\b\u001c\n\u001c"+
+		"\f\u001c\u0129\t\u001c\u0001\u001d\u0001\u001d\u0001\u001d\u0001\u001d"+
+		"\u0001\u001d\u0001\u001d\u0001\u001d\u0001\u001d\u0003\u001d\u0133\b\u001d"+
+		"\u0001\u001e\u0001\u001e\u0001\u001e\u0001\u001e\u0001\u001e\u0001\u001e"+
+		"\u0001\u001e\u0003\u001e\u013c\b\u001e\u0001\u001f\u0001\u001f\u0001\u001f"+
+		"\u0001\u00b1\u0000 \u0000\u0002\u0004\u0006\b\n\f\u000e\u0010\u0012\u0014"+
+		"\u0016\u0018\u001a\u001c\u001e \"$&(*,.02468:<>\u0000\u0006\u0001\u0000"+
+		"\u0006\u0007\u0001\u0000\b\t\u0001\u0000\u000b\f\u0001\u0000\r\u000e\u0002"+
+		"\u0000  $&\u0001\u0000\u0013\u0018\u0149\u0000C\u0001\u0000\u0000\u0000"+
+		"\u0002]\u0001\u0000\u0000\u0000\u0004_\u0001\u0000\u0000\u0000\u0006m"+
+		"\u0001\u0000\u0000\u0000\bu\u0001\u0000\u0000\u0000\n\u007f\u0001\u0000"+
+		"\u0000\u0000\f\u0098\u0001\u0000\u0000\u0000\u000e\u009a\u0001\u0000\u0000"+
+		"\u0000\u0010\u00a3\u0001\u0000\u0000\u0000\u0012\u00a5\u0001\u0000\u0000"+
+		"\u0000\u0014\u00b1\u0001\u0000\u0000\u0000\u0016\u00b6\u0001\u0000\u0000"+
+		"\u0000\u0018\u00ba\u0001\u0000\u0000\u0000\u001a\u00bd\u0001\u0000\u0000"+
+		"\u0000\u001c\u00c8\u0001\u0000\u0000\u0000\u001e\u00ca\u0001\u0000\u0000"+
+		"\u0000 \u00d4\u0001\u0000\u0000\u0000\"\u00d6\u0001\u0000\u0000\u0000"+
+		"$\u00e0\u0001\u0000\u0000\u0000&\u00e6\u0001\u0000\u0000\u0000(\u00ec"+
+		"\u0001\u0000\u0000\u0000*\u00ee\u0001\u0000\u0000\u0000,\u00f6\u0001\u0000"+
+		"\u0000\u0000.\u0103\u0001\u0000\u0000\u00000\u010c\u0001\u0000\u0000\u0000"+
+		"2\u0116\u0001\u0000\u0000\u00004\u0118\u0001\u0000\u0000\u00006\u011a"+
+		"\u0001\u0000\u0000\u00008\u0122\u0001\u0000\u0000\u0000:\u0132\u0001\u0000"+
+		"\u0000\u0000<\u013b\u0001\u0000\u0000\u0000>\u013d\u0001\u0000\u0000\u0000"+
+		"@B\u0003\u0002\u0001\u0000A@\u0001\u0000\u0000\u0000BE\u0001\u0000\u0000"+
+		"\u0000CA\u0001\u0000\u0000\u0000CD\u0001\u0000\u0000\u0000D\u0001\u0001"+
+		"\u0000\u0000\u0000EC\u0001\u0000\u0000\u0000FG\u0003\f\u0006\u0000GH\u0005"+
+		"\u0001\u0000\u0000H^\u0001\u0000\u0000\u0000IJ\u0003\u000e\u0007\u0000"+
+		"JK\u0005\u0001\u0000\u0000K^\u0001\u0000\u0000\u0000LM\u0003\u0010\b\u0000"+
+		"MN\u0005\u0001\u0000\u0000N^\u0001\u0000\u0000\u0000O^\u0003\u0004\u0002"+
+		"\u0000P^\u0003\u0006\u0003\u0000Q^\u0003\b\u0004\u0000R^\u0003\n\u0005"+
+		"\u0000S^\u0003\u0012\t\u0000TU\u0003\u001e\u000f\u0000UV\u0005\u0001\u0000"+
+		"\u0000V^\u0001\u0000\u0000\u0000WX\u0003\"\u0011\u0000XY\u0005\u0001\u0000"+
+		"\u0000Y^\u0001\u0000\u0000\u0000Z^\u0003\u0016\u000b\u0000[^\u0003\u0018"+
+		"\f\u0000\\^\u0003\u001a\r\u0000]F\u0001\u0000\u0000\u0000]I\u0001\u0000"+
+		"\u0000\u0000]L\u0001\u0000\u0000\u0000]O\u0001\u0000\u0000\u0000]P\u0001"+
+		"\u0000\u0000\u0000]Q\u0001\u0000\u0000\u0000]R\u0001\u0000\u0000\u0000"+
+		"]S\u0001\u0000\u0000\u0000]T\u0001\u0000\u0000\u0000]W\u0001\u0000\u0000"+
+		"\u0000]Z\u0001\u0000\u0000\u0000][\u0001\u0000\u0000\u0000]\\\u0001\u0000"+
+		"\u0000\u0000^\u0003\u0001\u0000\u0000\u0000_`\u0005\u0019\u0000\u0000"+
+		"`a\u0005\u0002\u0000\u0000ab\u00036\u001b\u0000bc\u0005\u0003\u0000\u0000"+
+		"cd\u0005\u0004\u0000\u0000de\u0003\u0000\u0000\u0000ek\u0005\u0005\u0000"+
+		"\u0000fg\u0005\u001a\u0000\u0000gh\u0005\u0004\u0000\u0000hi\u0003\u0000"+
+		"\u0000\u0000ij\u0005\u0005\u0000\u0000jl\u0001\u0000\u0000\u0000kf\u0001"+
+		"\u0000\u0000\u0000kl\u0001\u0000\u0000\u0000l\u0005\u0001\u0000\u0000"+
+		"\u0000mn\u0005\u001b\u0000\u0000no\u0005\u0002\u0000\u0000op\u00036\u001b"+
+		"\u0000pq\u0005\u0003\u0000\u0000qr\u0005\u0004\u0000\u0000rs\u0003\u0000"+
+		"\u0000\u0000st\u0005\u0005\u0000\u0000t\u0007\u0001\u0000\u0000\u0000"+
+		"uv\u0005\u001c\u0000\u0000vw\u0005\u0004\u0000\u0000wx\u0003\u0000\u0000"+
+		"\u0000xy\u0005\u0005\u0000\u0000yz\u0005\u001b\u0000\u0000z{\u0005\u0002"+
+		"\u0000\u0000{|\u00036\u001b\u0000|}\u0005\u0003\u0000\u0000}~\u0005\u0001"+
+		"\u0000\u0000~\t\u0001\u0000\u0000\u0000\u007f\u0080\u0005\u001d\u0000"+
+		"\u0000\u0080\u0081\u0005\u0002\u0000\u0000\u0081\u0082\u0003\f\u0006\u0000"+
+		"\u0082\u0083\u0005\u0001\u0000\u0000\u0083\u0084\u00036\u001b\u0000\u0084"+
+		"\u0085\u0005\u0001\u0000\u0000\u0085\u0086\u0003\u0010\b\u0000\u0086\u0087"+
+		"\u0005\u0003\u0000\u0000\u0087\u0088\u0005\u0004\u0000\u0000\u0088\u0089"+
+		"\u0003\u0000\u0000\u0000\u0089\u008a\u0005\u0005\u0000\u0000\u008a\u000b"+
+		"\u0001\u0000\u0000\u0000\u008b\u008c\u00034\u001a\u0000\u008c\u008d\u0005"+
+		"(\u0000\u0000\u008d\u0099\u0001\u0000\u0000\u0000\u008e\u008f\u00034\u001a"+
+		"\u0000\u008f\u0090\u0005(\u0000\u0000\u0090\u0091\u0005/\u0000\u0000\u0091"+
+		"\u0092\u0005(\u0000\u0000\u0092\u0099\u0001\u0000\u0000\u0000\u0093\u0094"+
+		"\u00034\u001a\u0000\u0094\u0095\u0005(\u0000\u0000\u0095\u0096\u0005/"+
+		"\u0000\u0000\u0096\u0097\u0003&\u0013\u0000\u0097\u0099\u0001\u0000\u0000"+
+		"\u0000\u0098\u008b\u0001\u0000\u0000\u0000\u0098\u008e\u0001\u0000\u0000"+
+		"\u0000\u0098\u0093\u0001\u0000\u0000\u0000\u0099\r\u0001\u0000\u0000\u0000"+
+		"\u009a\u009b\u0005(\u0000\u0000\u009b\u009c\u0005/\u0000\u0000\u009c\u009d"+
+		"\u0003&\u0013\u0000\u009d\u000f\u0001\u0000\u0000\u0000\u009e\u009f\u0005"+
+		"(\u0000\u0000\u009f\u00a4\u0007\u0000\u0000\u0000\u00a0\u00a1\u0005(\u0000"+
+		"\u0000\u00a1\u00a2\u0007\u0001\u0000\u0000\u00a2\u00a4\u0003*\u0015\u0000"+
+		"\u00a3\u009e\u0001\u0000\u0000\u0000\u00a3\u00a0\u0001\u0000\u0000\u0000"+
+		"\u00a4\u0011\u0001\u0000\u0000\u0000\u00a5\u00a6\u00034\u001a\u0000\u00a6"+
+		"\u00a7\u0005(\u0000\u0000\u00a7\u00a8\u0005\u0002\u0000\u0000\u00a8\u00a9"+
+		"\u0003\u001c\u000e\u0000\u00a9\u00aa\u0005\u0003\u0000\u0000\u00aa\u00ab"+
+		"\u0005\u0004\u0000\u0000\u00ab\u00ac\u0003\u0014\n\u0000\u00ac\u00ad\u0005"+
+		"\u0005\u0000\u0000\u00ad\u0013\u0001\u0000\u0000\u0000\u00ae\u00b0\u0003"+
+		"\u0002\u0001\u0000\u00af\u00ae\u0001\u0000\u0000\u0000\u00b0\u00b3\u0001"+
+		"\u0000\u0000\u0000\u00b1\u00b2\u0001\u0000\u0000\u0000\u00b1\u00af\u0001"+
+		"\u0000\u0000\u0000\u00b2\u00b4\u0001\u0000\u0000\u0000\u00b3\u00b1\u0001"+
+		"\u0000\u0000\u0000\u00b4\u00b5\u0003\u0016\u000b\u0000\u00b5\u0015\u0001"+
+		"\u0000\u0000\u0000\u00b6\u00b7\u0005!\u0000\u0000\u00b7\u00b8\u0003&\u0013"+
+		"\u0000\u00b8\u00b9\u0005\u0001\u0000\u0000\u00b9\u0017\u0001\u0000\u0000"+
+		"\u0000\u00ba\u00bb\u0005\"\u0000\u0000\u00bb\u00bc\u0005\u0001\u0000\u0000"+
+		"\u00bc\u0019\u0001\u0000\u0000\u0000\u00bd\u00be\u0005#\u0000\u0000\u00be"+
+		"\u00bf\u0005\u0001\u0000\u0000\u00bf\u001b\u0001\u0000\u0000\u0000\u00c0"+
+		"\u00c1\u00034\u001a\u0000\u00c1\u00c2\u0005(\u0000\u0000\u00c2\u00c9\u0001"+
+		"\u0000\u0000\u0000\u00c3\u00c4\u00034\u001a\u0000\u00c4\u00c5\u0005(\u0000"+
+		"\u0000\u00c5\u00c6\u0005\n\u0000\u0000\u00c6\u00c7\u0003\u001c\u000e\u0000"+
+		"\u00c7\u00c9\u0001\u0000\u0000\u0000\u00c8\u00c0\u0001\u0000\u0000\u0000"+
+		"\u00c8\u00c3\u0001\u0000\u0000\u0000\u00c9\u001d\u0001\u0000\u0000\u0000"+
+		"\u00ca\u00cb\u0005(\u0000\u0000\u00cb\u00cc\u0005\u0002\u0000\u0000\u00cc"+
+		"\u00cd\u0003 \u0010\u0000\u00cd\u00ce\u0005\u0003\u0000\u0000\u00ce\u001f"+
+		"\u0001\u0000\u0000\u0000\u00cf\u00d5\u0003&\u0013\u0000\u00d0\u00d1\u0003"+
+		"&\u0013\u0000\u00d1\u00d2\u0005\n\u0000\u0000\u00d2\u00d3\u0003 \u0010"+
+		"\u0000\u00d3\u00d5\u0001\u0000\u0000\u0000\u00d4\u00cf\u0001\u0000\u0000"+
+		"\u0000\u00d4\u00d0\u0001\u0000\u0000\u0000\u00d5!\u0001\u0000\u0000\u0000"+
+		"\u00d6\u00d7\u0005\'\u0000\u0000\u00d7\u00d8\u0005\u0002\u0000\u0000\u00d8"+
+		"\u00d9\u0003$\u0012\u0000\u00d9\u00da\u0005\u0003\u0000\u0000\u00da#\u0001"+
+		"\u0000\u0000\u0000\u00db\u00e1\u0003&\u0013\u0000\u00dc\u00dd\u0003&\u0013"+
+		"\u0000\u00dd\u00de\u0005\u000b\u0000\u0000\u00de\u00df\u0003$\u0012\u0000"+
+		"\u00df\u00e1\u0001\u0000\u0000\u0000\u00e0\u00db\u0001\u0000\u0000\u0000"+
+		"\u00e0\u00dc\u0001\u0000\u0000\u0000\u00e1%\u0001\u0000\u0000\u0000\u00e2"+
+		"\u00e7\u0003*\u0015\u0000\u00e3\u00e7\u00036\u001b\u0000\u00e4\u00e7\u0003"+
+		"(\u0014\u0000\u00e5\u00e7\u0003\u001e\u000f\u0000\u00e6\u00e2\u0001\u0000"+
+		"\u0000\u0000\u00e6\u00e3\u0001\u0000\u0000\u0000\u00e6\u00e4\u0001\u0000"+
+		"\u0000\u0000\u00e6\u00e5\u0001\u0000\u0000\u0000\u00e7\'\u0001\u0000\u0000"+
+		"\u0000\u00e8\u00ed\u0005+\u0000\u0000\u00e9\u00ea\u0005+\u0000\u0000\u00ea"+
+		"\u00eb\u0005\u000b\u0000\u0000\u00eb\u00ed\u0003(\u0014\u0000\u00ec\u00e8"+
+		"\u0001\u0000\u0000\u0000\u00ec\u00e9\u0001\u0000\u0000\u0000\u00ed)\u0001"+
+		"\u0000\u0000\u0000\u00ee\u00f3\u0003,\u0016\u0000\u00ef\u00f0\u0007\u0002"+
+		"\u0000\u0000\u00f0\u00f2\u0003,\u0016\u0000\u00f1\u00ef\u0001\u0000\u0000"+
+		"\u0000\u00f2\u00f5\u0001\u0000\u0000\u0000\u00f3\u00f1\u0001\u0000\u0000"+
+		"\u0000\u00f3\u00f4\u0001\u0000\u0000\u0000\u00f4+\u0001\u0000\u0000\u0000"+
+		"\u00f5\u00f3\u0001\u0000\u0000\u0000\u00f6\u00fb\u0003.\u0017\u0000\u00f7"+
+		"\u00f8\u0007\u0003\u0000\u0000\u00f8\u00fa\u0003.\u0017\u0000\u00f9\u00f7"+
+		"\u0001\u0000\u0000\u0000\u00fa\u00fd\u0001\u0000\u0000\u0000\u00fb\u00f9"+
+		"\u0001\u0000\u0000\u0000\u00fb\u00fc\u0001\u0000\u0000\u0000\u00fc-\u0001"+
+		"\u0000\u0000\u0000\u00fd\u00fb\u0001\u0000\u0000\u0000\u00fe\u00ff\u0003"+
+		"0\u0018\u0000\u00ff\u0100\u0005\u000f\u0000\u0000\u0100\u0101\u00030\u0018"+
+		"\u0000\u0101\u0104\u0001\u0000\u0000\u0000\u0102\u0104\u00030\u0018\u0000"+
+		"\u0103\u00fe\u0001\u0000\u0000\u0000\u0103\u0102\u0001\u0000\u0000\u0000"+
+		"\u0104/\u0001\u0000\u0000\u0000\u0105\u010d\u0005(\u0000\u0000\u0106\u010d"+
+		"\u00032\u0019\u0000\u0107\u0108\u0005\u0002\u0000\u0000\u0108\u0109\u0003"+
+		"*\u0015\u0000\u0109\u010a\u0005\u0003\u0000\u0000\u010a\u010d\u0001\u0000"+
+		"\u0000\u0000\u010b\u010d\u0003\u001e\u000f\u0000\u010c\u0105\u0001\u0000"+
+		"\u0000\u0000\u010c\u0106\u0001\u0000\u0000\u0000\u010c\u0107\u0001\u0000"+
+		"\u0000\u0000\u010c\u010b\u0001\u0000\u0000\u0000\u010d1\u0001\u0000\u0000"+
+		"\u0000\u010e\u0110\u0007\u0002\u0000\u0000\u010f\u010e\u0001\u0000\u0000"+
+		"\u0000\u010f\u0110\u0001\u0000\u0000\u0000\u0110\u0111\u0001\u0000\u0000"+
+		"\u0000\u0111\u0117\u0005)\u0000\u0000\u0112\u0114\u0007\u0002\u0000\u0000"+
+		"\u0113\u0112\u0001\u0000\u0000\u0000\u0113\u0114\u0001\u0000\u0000\u0000"+
+		"\u0114\u0115\u0001\u0000\u0000\u0000\u0115\u0117\u0005*\u0000\u0000\u0116"+
+		"\u010f\u0001\u0000\u0000\u0000\u0116\u0113\u0001\u0000\u0000\u0000\u0117"+
+		"3\u0001\u0000\u0000\u0000\u0118\u0119\u0007\u0004\u0000\u0000\u01195\u0001"+
+		"\u0000\u0000\u0000\u011a\u011f\u00038\u001c\u0000\u011b\u011c\u0005\u0010"+
+		"\u0000\u0000\u011c\u011e\u00038\u001c\u0000\u011d\u011b\u0001\u0000\u0000"+
+		"\u0000\u011e\u0121\u0001\u0000\u0000\u0000\u011f\u011d\u0001\u0000\u0000"+
+		"\u0000\u011f\u0120\u0001\u0000\u0000\u0000\u01207\u0001\u0000\u0000\u0000"+
+		"\u0121\u011f\u0001\u0000\u0000\u0000\u0122\u0127\u0003:\u001d\u0000\u0123"+
+		"\u0124\u0005\u0011\u0000\u0000\u0124\u0126\u0003:\u001d\u0000\u0125\u0123"+
+		"\u0001\u0000\u0000\u0000\u0126\u0129\u0001\u0000\u0000\u0000\u0127\u0125"+
+		"\u0001\u0000\u0000\u0000\u0127\u0128\u0001\u0000\u0000\u0000\u01289\u0001"+
+		"\u0000\u0000\u0000\u0129\u0127\u0001\u0000\u0000\u0000\u012a\u0133\u0003"+
+		"<\u001e\u0000\u012b\u0133\u0003\u001e\u000f\u0000\u012c\u012d\u0005\u0012"+
+		"\u0000\u0000\u012d\u0133\u0003:\u001d\u0000\u012e\u012f\u0005\u0002\u0000"+
+		"\u0000\u012f\u0130\u00036\u001b\u0000\u0130\u0131\u0005\u0003\u0000\u0000"+
+		"\u0131\u0133\u0001\u0000\u0000\u0000\u0132\u012a\u0001\u0000\u0000\u0000"+
+		"\u0132\u012b\u0001\u0000\u0000\u0000\u0132\u012c\u0001\u0000\u0000\u0000"+
+		"\u0132\u012e\u0001\u0000\u0000\u0000\u0133;\u0001\u0000\u0000\u0000\u0134"+
+		"\u0135\u0003*\u0015\u0000\u0135\u0136\u0003>\u001f\u0000\u0136\u0137\u0003"+
+		"*\u0015\u0000\u0137\u013c\u0001\u0000\u0000\u0000\u0138\u013c\u0005\u001e"+
+		"\u0000\u0000\u0139\u013c\u0005\u001f\u0000\u0000\u013a\u013c\u0005(\u0000"+
+		"\u0000\u013b\u0134\u0001\u0000\u0000\u0000\u013b\u0138\u0001\u0000\u0000"+
+		"\u0000\u013b\u0139\u0001\u0000\u0000\u0000\u013b\u013a\u0001\u0000\u0000"+
+		"\u0000\u013c=\u0001\u0000\u0000\u0000\u013d\u013e\u0007\u0005\u0000\u0000"+
+		"\u013e?\u0001\u0000\u0000\u0000\u0016C]k\u0098\u00a3\u00b1\u00c8\u00d4"+
+		"\u00e0\u00e6\u00ec\u00f3\u00fb\u0103\u010c\u010f\u0113\u0116\u011f\u0127"+
+		"\u0132\u013b";
 	public static final ATN _ATN =
 		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
 	static {
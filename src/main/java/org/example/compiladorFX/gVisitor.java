@@ -1,4 +1,4 @@
-package org.example.compiladorFX;// Generated from C:/Users/Bruno/IdeaProjects/Compiladorsito/src/main/g.g4 by ANTLR 4.13.1
+package org.example.compiladorFX;// Generated from g.g4 by ANTLR 4.13.2
 import org.antlr.v4.runtime.tree.ParseTreeVisitor;
 
 /**
@@ -69,12 +69,30 @@ public interface gVisitor<T> extends ParseTreeVisitor<T> {
 	 * @return the visitor result
 	 */
 	T visitFunction_declaration(gParser.Function_declarationContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link gParser#function_body}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitFunction_body(gParser.Function_bodyContext ctx);
 	/**
 	 * Visit a parse tree produced by {@link gParser#return_expression}.
 	 * @param ctx the parse tree
 	 * @return the visitor result
 	 */
 	T visitReturn_expression(gParser.Return_expressionContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link gParser#break_statement}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitBreak_statement(gParser.Break_statementContext ctx);
+	/**
+	 * Visit a parse tree produced by {@link gParser#continue_statement}.
+	 * @param ctx the parse tree
+	 * @return the visitor result
+	 */
+	T visitContinue_statement(gParser.Continue_statementContext ctx);
 	/**
 	 * Visit a parse tree produced by {@link gParser#params}.
 	 * @param ctx the parse tree
@@ -0,0 +1,78 @@
+package org.example.compiladorFX;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Resolución de nombres de {@link AstLowering} y ejecución con {@link AstInterpreter}.
+ */
+class AstInterpreterTest {
+
+    @Test
+    void resolvesNamesToSlotsAndGlobals() {
+        Ast.Program program = Programs.lower("int n = 2;\n"
+                + "if (n > 1) {\n"
+                + "    int m = n * 3;\n"
+                + "    print(m);\n"
+                + "}\n");
+        assertEquals(0, ((Ast.Global) ((Ast.Declare) program.body[0]).target).index);
+        Ast.If branch = (Ast.If) program.body[1];
+        Ast.Local m = (Ast.Local) ((Ast.Declare) branch.then.body[0]).target;
+        assertEquals(0, m.depth);
+        assertEquals(0, m.slot);
+        Ast.Local read = (Ast.Local) ((Ast.Print) branch.then.body[1]).parts[0];
+        assertEquals(m.slot, read.slot);
+    }
+
+    @Test
+    void printsTheSameAsTheVisitor() {
+        gParser.ProgramContext tree = Programs.parse(Programs.read("funciones.lang"));
+        MyVisitorFX visitor = new MyVisitorFX("", "");
+        visitor.visit(tree);
+        AstInterpreter interpreter = new AstInterpreter(new AstLowering().lower(tree));
+        interpreter.run();
+        assertEquals(visitor.getTextOut(), interpreter.getTextOut());
+        assertEquals("", interpreter.getErrorOut());
+    }
+
+    @Test
+    void specializedAndBoxedEvaluationPrintTheSame() {
+        gParser.ProgramContext tree = Programs.parse(Programs.read("serie.lang"));
+        MyVisitorFX visitor = new MyVisitorFX("", "");
+        visitor.visit(tree);
+        for (boolean specialized : new boolean[]{true, false}) {
+            AstInterpreter interpreter = new AstInterpreter(new AstLowering().lower(tree));
+            interpreter.setSpecialized(specialized);
+            interpreter.run();
+            assertEquals(visitor.getTextOut(), interpreter.getTextOut(), "specialized = " + specialized);
+        }
+    }
+
+    @Test
+    void intValuesBeyondSixtyFourBitsAreAnError() {
+        Engine.Result result = Engine.AST.run(Programs.parse("int w = 1;\n"
+                + "for (int i = 0; i < 70; i++) {\n"
+                + "    w = w * 2 + 1;\n"
+                + "}\n"
+                + "print(w);\n"));
+        assertEquals("", result.textOut);
+        assertTrue(result.errorOut.contains("Desbordamiento"), result.errorOut);
+    }
+
+    @Test
+    void intProductsKeepTheSignOfZero() {
+        gParser.ProgramContext tree = Programs.parse("int a = -4;\n"
+                + "double d = a * 0;\n"
+                + "print(d);\n"
+                + "int z = a * 0;\n"
+                + "print(z);\n"
+                + "print(z * -1);\n"
+                + "if (z == 0) {\n"
+                + "    print(-0);\n"
+                + "}\n");
+        assertEquals("\n-0.0\n-0.0\n0.0\n0.0", Engine.VISITOR.run(tree).textOut);
+        assertEquals("\n-0.0\n-0.0\n0.0\n0.0", Engine.AST.run(tree).textOut);
+    }
+}
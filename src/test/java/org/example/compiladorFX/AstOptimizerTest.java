@@ -0,0 +1,85 @@
+package org.example.compiladorFX;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Plegado de constantes, identidades algebraicas y potencias con exponente int de {@link AstOptimizer}.
+ */
+class AstOptimizerTest {
+
+    private static Ast.Expr printed(Ast.Program program, int statement) {
+        return ((Ast.Print) program.body[statement]).parts[0];
+    }
+
+    @Test
+    void foldsConstantSubtrees() {
+        AstOptimizer optimizer = new AstOptimizer();
+        Ast.Program program = optimizer.optimize(Programs.lower("print(2 * 3 + 1);\nprint(2 ^ 10 - 4 / 8);\n"));
+        assertEquals(7.0, ((Ast.Const) printed(program, 0)).number);
+        assertEquals(1023.5, ((Ast.Const) printed(program, 1)).number);
+        assertTrue(optimizer.getRemovedNodes() > 0);
+    }
+
+    @Test
+    void appliesIdentitiesWithoutDroppingCalls() {
+        AstOptimizer optimizer = new AstOptimizer();
+        optimizer.setInlineThreshold(0); // Sin copiar f, la llamada queda en el print.
+        Ast.Program program = optimizer.optimize(Programs.lower("double x = 5;\n"
+                + "print(x * 1 - 0);\n"
+                + "double f(double a) {\n"
+                + "    print(a);\n"
+                + "    return a;\n"
+                + "}\n"
+                + "print(f(1) * 0);\n"));
+        assertEquals(Ast.GLOBAL, printed(program, 1).tag);
+        assertEquals(Ast.ARITH, printed(program, 3).tag);
+    }
+
+    @Test
+    void keepsAdditionsThatChangeTheSignOfZero() {
+        gParser.ProgramContext tree = Programs.parse("int a = -4;\n"
+                + "int z = a * 0;\n"
+                + "print(z + 0);\n"
+                + "print(0 + z);\n"
+                + "print(z - 0);\n");
+        Ast.Program program = new AstOptimizer().optimize(new AstLowering().lower(tree));
+        assertEquals(Ast.ARITH, printed(program, 2).tag);
+        assertEquals(Ast.ARITH, printed(program, 3).tag);
+        assertEquals(Ast.GLOBAL, printed(program, 4).tag);
+        for (Engine engine : Engine.values()) {
+            assertEquals("\n0.0\n0.0\n-0.0", engine.run(tree).textOut, engine.name());
+        }
+    }
+
+    @Test
+    void reducesIntegerPowers() {
+        AstOptimizer optimizer = new AstOptimizer();
+        Ast.Program program = optimizer.optimize(Programs.lower("int n = 3;\n"
+                + "double x = 1.5;\n"
+                + "print(x ^ n);\n"
+                + "print((-1) ^ n);\n"
+                + "print(x ^ x);\n"));
+        assertEquals(Ast.POWI, ((Ast.Arith) printed(program, 2)).op);
+        assertEquals(Ast.POWI, ((Ast.Arith) printed(program, 3)).op);
+        assertEquals(Ast.POW, ((Ast.Arith) printed(program, 4)).op);
+        assertEquals(2, optimizer.getReducedPowers());
+    }
+
+    @Test
+    void intPowerMatchesMathPowBitForBit() {
+        double[] bases = {0.0, -0.0, 1.0, -1.0, 2.0, -2.0, 3.0, 10.0, -7.0, 0.5, -0.5, 1.1, 1e-300, 1e300,
+                Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE, Double.MAX_VALUE,
+                0x1p26 + 1, 0x1p53 - 1, 94906267.0};
+        double[] exponents = {-1075, -64, -3, -2, -1, 0, 1, 2, 3, 4, 5, 7, 31, 52, 53, 63, 64, 1023, 1024, 1075, 1e9,
+                0x1p53, 1e20, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN};
+        for (double base : bases) {
+            for (double exponent : exponents) {
+                assertEquals(Double.doubleToLongBits(Math.pow(base, exponent)),
+                        Double.doubleToLongBits(AstInterpreter.intPower(base, exponent)), base + " ^ " + exponent);
+            }
+        }
+    }
+}
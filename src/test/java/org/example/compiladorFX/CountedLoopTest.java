@@ -0,0 +1,24 @@
+package org.example.compiladorFX;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Ciclos for con contador en {@link MyVisitorFX}: la salida no depende de si se usa el camino rápido.
+ */
+class CountedLoopTest {
+
+    @Test
+    void theFastPathPrintsTheSameAsTheGenericLoop() {
+        gParser.ProgramContext tree = Programs.parse(Programs.read("ciclos.lang"));
+        MyVisitorFX generic = new MyVisitorFX("", "");
+        generic.setCountedLoops(false);
+        generic.visit(tree);
+        MyVisitorFX counted = new MyVisitorFX("", "");
+        counted.visit(tree);
+        assertEquals(generic.getTextOut(), counted.getTextOut());
+        assertEquals(generic.getErrorOut(), counted.getErrorOut());
+        assertEquals(generic.getTextOut(), Engine.AST.run(tree).textOut);
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.compiladorFX;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Declaraciones sin valor inicial en los motores compilados ({@link DefiniteAssignment}).
+ */
+class DefiniteAssignmentTest {
+
+    private static final String ASSIGNED = "int i;\n"
+            + "double pi = 0;\n"
+            + "i = 0;\n"
+            + "while (i < 10) {\n"
+            + "    pi += (-1 ^ i) / (2 * i + 1);\n"
+            + "    i++;\n"
+            + "}\n"
+            + "double r;\n"
+            + "if (pi > 0) {\n"
+            + "    r = pi * 4;\n"
+            + "} else {\n"
+            + "    r = 0;\n"
+            + "}\n"
+            + "print(r);\n";
+
+    private static final String UNASSIGNED = "int i;\n"
+            + "if (true) {\n"
+            + "    i = 1;\n"
+            + "}\n"
+            + "print(i);\n";
+
+    @Test
+    void acceptsVariablesAssignedOnEveryPath() {
+        assertTrue(DefiniteAssignment.isInitialized(Programs.lower(ASSIGNED)));
+        gParser.ProgramContext tree = Programs.parse(ASSIGNED);
+        String expected = Engine.VISITOR.run(tree).textOut;
+        for (Engine engine : Engine.values()) {
+            Engine.Result result = engine.run(tree);
+            assertEquals(expected, result.textOut, engine.name());
+            assertEquals("", result.errorOut, engine.name());
+        }
+    }
+
+    @Test
+    void rejectsReadsThatMayComeFirst() {
+        assertFalse(DefiniteAssignment.isInitialized(Programs.lower(UNASSIGNED)));
+        gParser.ProgramContext tree = Programs.parse(UNASSIGNED);
+        Engine.Result expected = Engine.AST.run(tree);
+        for (Engine engine : new Engine[]{Engine.CLOSURES, Engine.REGISTER_VM, Engine.BYTECODE}) {
+            Engine.Result result = engine.run(tree);
+            assertEquals(expected.textOut, result.textOut, engine.name());
+            assertTrue(result.errorOut.contains("sin valor inicial"), engine.name() + ": " + result.errorOut);
+        }
+    }
+}
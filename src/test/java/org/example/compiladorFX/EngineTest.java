@@ -0,0 +1,210 @@
+package org.example.compiladorFX;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ejecuta los mismos programas con todos los motores y compara la salida con la de {@link MyVisitorFX},
+ * que es la referencia.
+ */
+class EngineTest {
+
+    private static final String[] PROGRAMS = {"funciones.lang", "serie.lang", "potencias.lang", "saltos.lang"};
+
+    @Test
+    void everyEngineMatchesTheVisitor() {
+        for (String name : PROGRAMS) {
+            gParser.ProgramContext tree = Programs.parse(Programs.read(name));
+            String expected = Engine.VISITOR.run(tree).textOut;
+            for (Engine engine : Engine.values()) {
+                Engine.Result result = engine.run(tree);
+                assertEquals(expected, result.textOut, engine.name() + " " + name);
+                if (engine != Engine.VISITOR) {
+                    assertEquals("", withoutNotes(result.errorOut), engine.name() + " " + name);
+                }
+            }
+        }
+    }
+
+    @Test
+    void aCallInALaterOperandDoesNotChangeAGlobalAlreadyRead() {
+        gParser.ProgramContext tree = Programs.parse("double g = 1;\n"
+                + "double bump(double a) {\n"
+                + "    g = g + 10;\n"
+                + "    return a;\n"
+                + "}\n"
+                + "print(g + bump(0));\n"
+                + "double h = g - bump(1);\n"
+                + "print(h);\n");
+        Engine.Options notInlined = new Engine.Options();
+        notInlined.setInlineThreshold(0);
+        for (Engine engine : Engine.values()) {
+            assertEquals("\n1.0\n10.0", engine.run(tree).textOut, engine.name());
+            assertEquals("\n1.0\n10.0", engine.run(tree, notInlined).textOut, engine.name());
+        }
+    }
+
+    @Test
+    void functionsSeeTheVariablesOfTheirCallers() {
+        gParser.ProgramContext tree = Programs.parse("int x = 1;\n"
+                + "int f(int a) {\n"
+                + "    return a + x;\n"
+                + "}\n"
+                + "int g(int x) {\n"
+                + "    return f(x);\n"
+                + "}\n"
+                + "print(g(10));\n"
+                + "print(f(2));\n"
+                + "double y = 0.5;\n"
+                + "double h(int n) {\n"
+                + "    y += n;\n"
+                + "    return y;\n"
+                + "}\n"
+                + "double k(int z) {\n"
+                + "    double y = 100;\n"
+                + "    h(z);\n"
+                + "    return y;\n"
+                + "}\n"
+                + "print(k(3));\n"
+                + "print(y);\n");
+        for (Engine engine : Engine.values()) {
+            Engine.Result result = engine.run(tree);
+            assertEquals("\n20.0\n3.0\n103.0\n0.5", result.textOut, engine.name());
+            assertEquals("", withoutNotes(result.errorOut), engine.name());
+        }
+    }
+
+    @Test
+    void conditionsReadBooleanVariablesOfOuterScopes() {
+        gParser.ProgramContext tree = Programs.parse("boolean f = true;\n"
+                + "int k = 0;\n"
+                + "while (k < 2) {\n"
+                + "    int t = k;\n"
+                + "    if (f) {\n"
+                + "        print(t);\n"
+                + "    }\n"
+                + "    k++;\n"
+                + "}\n");
+        for (Engine engine : Engine.values()) {
+            assertEquals("\n0.0\n1.0", engine.run(tree).textOut, engine.name());
+        }
+    }
+
+    @Test
+    void unsupportedProgramsFallBackToTheAstInterpreter() {
+        gParser.ProgramContext tree = Programs.parse("print(1);\nprint(f(2));\n");
+        Engine.Result expected = Engine.AST.run(tree);
+        Engine.Result result = Engine.BYTECODE.run(tree);
+        assertEquals(expected.textOut, result.textOut);
+        assertTrue(result.errorOut.startsWith("\nNota:"), result.errorOut);
+        assertTrue(result.errorOut.endsWith(expected.errorOut), result.errorOut);
+    }
+
+    @Test
+    void theGrammarRequiresAFinalReturn() {
+        gParser parser = new gParser(new CommonTokenStream(new gLexer(CharStreams.fromString("int f(int n) {\n"
+                + "    if (n > 0) {\n"
+                + "        return n;\n"
+                + "    }\n"
+                + "}\n"))));
+        parser.removeErrorListeners();
+        parser.program();
+        assertEquals(1, parser.getNumberOfSyntaxErrors());
+
+        gParser.ProgramContext tree = Programs.parse("int f(int n) {\n"
+                + "    return n;\n"
+                + "    print(0);\n"
+                + "    return n + 1;\n"
+                + "}\n"
+                + "print(f(2));\n");
+        for (Engine engine : Engine.values()) {
+            Engine.Result result = engine.run(tree);
+            assertEquals("\n2.0", result.textOut, engine.name());
+            assertEquals("", withoutNotes(result.errorOut), engine.name());
+        }
+    }
+
+    @Test
+    void compiledIntArithmeticStopsAtTheSameOverflow() {
+        gParser.ProgramContext tree = Programs.parse("int w = 1;\n"
+                + "for (int i = 0; i < 70; i++) {\n"
+                + "    w = w * 2 + 1;\n"
+                + "}\n"
+                + "print(w);\n");
+        Engine.Result expected = Engine.AST.run(tree);
+        Engine.Result compiled = Engine.BYTECODE.run(tree);
+        assertEquals(expected.textOut, compiled.textOut);
+        assertEquals(expected.errorOut, compiled.errorOut);
+    }
+
+    @Test
+    void intZeroKeepsItsSignOnEveryEngine() {
+        gParser.ProgramContext tree = Programs.parse("int a = -4;\n"
+                + "double d = a * 0;\n"
+                + "print(d);\n"
+                + "int z = a * 0;\n"
+                + "if (z >= 0) {\n"
+                + "    print(z);\n"
+                + "}\n"
+                + "double f(int k) {\n"
+                + "    int t = k * 0;\n"
+                + "    return t;\n"
+                + "}\n"
+                + "print(f(-3));\n"
+                + "print(z * -1);\n");
+        for (Engine engine : Engine.values()) {
+            Engine.Result result = engine.run(tree);
+            assertEquals("\n-0.0\n-0.0\n-0.0\n0.0", result.textOut, engine.name());
+            assertEquals("", result.errorOut, engine.name());
+        }
+    }
+
+    @Test
+    void compoundAssignmentsCanLeaveDecimalsInAnInt() {
+        gParser.ProgramContext tree = Programs.parse("int x = 9;\n"
+                + "x += 0.5;\n"
+                + "print(x);\n"
+                + "x++;\n"
+                + "print(x * 2);\n"
+                + "int f(int n) {\n"
+                + "    n -= 0.25;\n"
+                + "    return n * 4;\n"
+                + "}\n"
+                + "print(f(3));\n"
+                + "int y = x;\n"
+                + "print(y);\n");
+        for (Engine engine : Engine.values()) {
+            Engine.Result result = engine.run(tree);
+            assertEquals("\n9.5\n21.0\n11.0\n0.0", result.textOut, engine.name());
+            assertTrue(withoutNotes(result.errorOut).contains("'y'"), engine.name() + ": " + result.errorOut);
+        }
+    }
+
+    @Test
+    void theVisitorRunsProgramsWithTypeErrorsUnlessStrict() {
+        gParser.ProgramContext tree = Programs.parse("int a = 1;\n"
+                + "int b = 2.5;\n"
+                + "a = true;\n"
+                + "print(a);\n");
+        Engine.Result result = Engine.VISITOR.run(tree);
+        assertEquals("\n1.0", result.textOut);
+        assertTrue(result.errorOut.contains("'b'"), result.errorOut);
+
+        Engine.Options strict = new Engine.Options();
+        strict.setRejectStaticErrors(true);
+        Engine.Result rejected = Engine.VISITOR.run(tree, strict);
+        assertEquals("", rejected.textOut);
+        assertTrue(rejected.report.contains("no se ejecuta"), rejected.report);
+    }
+
+    /**
+     * Quita las notas de los motores que no pudieron compilar el programa y usaron el intérprete AST.
+     */
+    private static String withoutNotes(String errorOut) {
+        return errorOut.replaceAll("\n?Nota:[^\n]*", "");
+    }
+}
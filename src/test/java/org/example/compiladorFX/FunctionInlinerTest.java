@@ -0,0 +1,56 @@
+package org.example.compiladorFX;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Copia de las funciones chicas en las llamadas ({@link FunctionInliner}).
+ */
+class FunctionInlinerTest {
+
+    private static final String CODE = "double sq(double x) {\n"
+            + "    return x * x;\n"
+            + "}\n"
+            + "double hyp(double a, double b) {\n"
+            + "    return sq(a) + sq(b);\n"
+            + "}\n"
+            + "int fib(int n) {\n"
+            + "    int r = n;\n"
+            + "    if (n > 1) {\n"
+            + "        r = fib(n - 1) + fib(n - 2);\n"
+            + "    }\n"
+            + "    return r;\n"
+            + "}\n"
+            + "print(hyp(3, 4));\n"
+            + "print(sq(1.5) + fib(10));\n";
+
+    @Test
+    void inlinesOnlySmallNonRecursiveFunctions() {
+        AstOptimizer optimizer = new AstOptimizer();
+        optimizer.optimize(Programs.lower(CODE));
+        assertEquals(Integer.valueOf(3), optimizer.getInlinedCalls().get("sq"));
+        assertEquals(Integer.valueOf(1), optimizer.getInlinedCalls().get("hyp"));
+        assertNull(optimizer.getInlinedCalls().get("fib"));
+
+        optimizer = new AstOptimizer();
+        optimizer.setInlineThreshold(0);
+        optimizer.optimize(Programs.lower(CODE));
+        assertEquals(Collections.emptyMap(), optimizer.getInlinedCalls());
+    }
+
+    @Test
+    void keepsTheOutput() {
+        Engine.Options plain = new Engine.Options();
+        plain.setInlineThreshold(0);
+        gParser.ProgramContext tree = Programs.parse(CODE);
+        for (Engine engine : Engine.values()) {
+            Engine.Result result = engine.run(tree);
+            assertEquals("\n25.0\n57.25", result.textOut, engine.name());
+            assertEquals(engine.run(tree, plain).textOut, result.textOut, engine.name());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.compiladorFX;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Movimiento de los cálculos invariantes fuera de los ciclos ({@link InvariantHoisting}).
+ */
+class InvariantHoistingTest {
+
+    @Test
+    void hoistsInvariantArithmetic() {
+        String code = "int n = 30;\n"
+                + "double base = 1.5;\n"
+                + "double acc = 0;\n"
+                + "for (int i = 0; i < n; i++) {\n"
+                + "    acc += (base * n + 2) * 0.5 + i;\n"
+                + "}\n"
+                + "print(acc);\n";
+        AstOptimizer optimizer = new AstOptimizer();
+        optimizer.optimize(Programs.lower(code));
+        assertTrue(optimizer.getHoistedExpressions() > 0);
+
+        Engine.Options plain = new Engine.Options();
+        plain.setHoistInvariants(false);
+        gParser.ProgramContext tree = Programs.parse(code);
+        for (Engine engine : Engine.values()) {
+            assertEquals(engine.run(tree, plain).textOut, engine.run(tree).textOut, engine.name());
+        }
+    }
+
+    @Test
+    void keepsExpressionsThatReadAssignedVariables() {
+        AstOptimizer optimizer = new AstOptimizer();
+        optimizer.optimize(Programs.lower("double b = 1;\n"
+                + "double acc = 0;\n"
+                + "for (int i = 0; i < 10; i++) {\n"
+                + "    b = b + 1;\n"
+                + "    acc += b * 2 + i;\n"
+                + "}\n"
+                + "print(acc);\n"));
+        assertEquals(0, optimizer.getHoistedExpressions());
+    }
+
+    @Test
+    void keepsCallsWithEffects() {
+        AstOptimizer optimizer = new AstOptimizer();
+        optimizer.optimize(Programs.lower("int ruido(int v) {\n"
+                + "    print(v);\n"
+                + "    return v;\n"
+                + "}\n"
+                + "int acc = 0;\n"
+                + "int k = 3;\n"
+                + "for (int i = 0; i < 10; i++) {\n"
+                + "    acc += ruido(k) + i;\n"
+                + "}\n"
+                + "print(acc);\n"));
+        assertEquals(0, optimizer.getHoistedExpressions());
+    }
+}
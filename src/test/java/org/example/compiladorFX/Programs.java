@@ -0,0 +1,46 @@
+package org.example.compiladorFX;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Utilidades de las pruebas: leer y analizar los programas de ejemplo.
+ */
+final class Programs {
+
+    private Programs() {
+    }
+
+    /**
+     * Analiza un programa igual que las interfaces, con los identificadores internados.
+     */
+    static gParser.ProgramContext parse(String code) {
+        gParser parser = new gParser(new CommonTokenStream(new SymbolDictionary().install(new gLexer(CharStreams.fromString(code)))));
+        return parser.program();
+    }
+
+    static Ast.Program lower(String code) {
+        return new AstLowering().lower(parse(code));
+    }
+
+    /**
+     * Lee un programa de los recursos de prueba de este paquete.
+     *
+     * @param name El nombre del archivo, por ejemplo "funciones.lang".
+     */
+    static String read(String name) {
+        try (InputStream in = Programs.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("No existe el programa " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.compiladorFX;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Análisis de pureza ({@link PurityAnalysis}) y caché de la memoización ({@link MemoCache}).
+ */
+class PurityAnalysisTest {
+
+    private static final String CODE = "int limite = 10;\n"
+            + "int fib(int n) {\n"
+            + "    int r = n;\n"
+            + "    if (n > 1) {\n"
+            + "        r = fib(n - 1) + fib(n - 2);\n"
+            + "    }\n"
+            + "    return r;\n"
+            + "}\n"
+            + "int ruido(int n) {\n"
+            + "    print(n);\n"
+            + "    return n;\n"
+            + "}\n"
+            + "int tope(int n) {\n"
+            + "    return n + limite;\n"
+            + "}\n"
+            + "int usaRuido(int n) {\n"
+            + "    return ruido(n) + 1;\n"
+            + "}\n"
+            + "print(fib(20));\n";
+
+    @Test
+    void classifiesFunctions() {
+        Ast.Program program = Programs.lower(CODE);
+        PurityAnalysis purity = new PurityAnalysis(program);
+        assertTrue(purity.isPure(index(program, "fib")));
+        assertFalse(purity.isPure(index(program, "ruido")));
+        assertFalse(purity.isPure(index(program, "tope")));
+        assertFalse(purity.isPure(index(program, "usaRuido")));
+        assertEquals(1, purity.countPure());
+    }
+
+    @Test
+    void memoizedCallsGiveTheSameOutput() {
+        gParser.ProgramContext tree = Programs.parse(CODE);
+        Engine.Options plain = new Engine.Options();
+        plain.setMemoCapacity(0);
+        for (Engine engine : new Engine[]{Engine.AST, Engine.CLOSURES, Engine.REGISTER_VM, Engine.BYTECODE}) {
+            Engine.Result result = engine.run(tree);
+            assertEquals("\n6765.0", result.textOut, engine.name());
+            assertEquals(engine.run(tree, plain).textOut, result.textOut, engine.name());
+            assertTrue(result.report.contains("Memoizacion: 1 funciones puras"), engine.name() + ": " + result.report);
+            assertFalse(result.report.contains(" 0 aciertos"), engine.name() + ": " + result.report);
+        }
+    }
+
+    @Test
+    void cacheEvictsTheLeastRecentlyUsedEntry() {
+        MemoCache cache = new MemoCache(2);
+        MemoCache.Key one = new MemoCache.Key(0, new Object[]{1.0});
+        MemoCache.Key two = new MemoCache.Key(0, new Object[]{2.0});
+        cache.put(one, 1.0);
+        cache.put(two, 4.0);
+        assertEquals(1.0, cache.get(new MemoCache.Key(0, new Object[]{1.0})));
+        cache.put(new MemoCache.Key(0, new Object[]{3.0}), 9.0);
+        assertNull(cache.get(two));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    private static int index(Ast.Program program, String name) {
+        return Arrays.asList(program.functionNames).indexOf(name);
+    }
+}
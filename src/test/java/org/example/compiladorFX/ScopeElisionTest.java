@@ -0,0 +1,60 @@
+package org.example.compiladorFX;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Eliminación de los ámbitos de los bloques que no declaran variables ({@link ScopeElision}).
+ */
+class ScopeElisionTest {
+
+    private static final String CODE = "int g(int n) {\n"
+            + "    int acc = 0;\n"
+            + "    int i = 0;\n"
+            + "    while (i < n) {\n"
+            + "        if (i > 1) {\n"
+            + "            int t = i * 2;\n"
+            + "            acc += t;\n"
+            + "        }\n"
+            + "        i++;\n"
+            + "    }\n"
+            + "    return acc;\n"
+            + "}\n"
+            + "print(g(10));\n";
+
+    /**
+     * El if dentro del while de g.
+     */
+    private static Ast.If branch(Ast.Program program) {
+        Ast.Function g = ((Ast.FunctionDecl) program.body[0]).function;
+        return (Ast.If) ((Ast.Loop) g.body[2]).body.body[0];
+    }
+
+    @Test
+    void removesOnlyEmptyScopesAndShortensDepths() {
+        Ast.Program lowered = Programs.lower(CODE);
+        Ast.Update before = (Ast.Update) branch(lowered).then.body[1];
+        assertEquals(2, ((Ast.Local) before.target).depth); // acc: bloque del if, cuerpo del while, función.
+
+        ScopeElision elision = new ScopeElision();
+        Ast.Program program = elision.apply(lowered);
+        Ast.Function g = ((Ast.FunctionDecl) program.body[0]).function;
+        assertFalse(((Ast.Loop) g.body[2]).body.scoped);
+        assertTrue(branch(program).then.scoped);
+        assertEquals(1, elision.getRemoved());
+        Ast.Update after = (Ast.Update) branch(program).then.body[1];
+        assertEquals(1, ((Ast.Local) after.target).depth);
+        assertEquals(((Ast.Local) before.target).slot, ((Ast.Local) after.target).slot);
+    }
+
+    @Test
+    void keepsTheOutput() {
+        gParser.ProgramContext tree = Programs.parse(CODE);
+        for (Engine engine : Engine.values()) {
+            assertEquals("\n88.0", engine.run(tree).textOut, engine.name());
+        }
+    }
+}
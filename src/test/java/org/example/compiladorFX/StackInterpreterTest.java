@@ -0,0 +1,98 @@
+package org.example.compiladorFX;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ejecución con {@link StackInterpreter}, que la máquina de registros usa para los programas que no puede compilar.
+ */
+class StackInterpreterTest {
+
+    private static final String[] PROGRAMS = {"funciones.lang", "serie.lang", "potencias.lang", "saltos.lang", "ciclos.lang"};
+
+    /**
+     * Programa que la máquina de registros no compila porque {@code depth} lee {@code base} de quien la llama.
+     */
+    private static final String DEEP = "int base = 7;\n"
+            + "int depth(int n) {\n"
+            + "    if (n == 0) {\n"
+            + "        return base;\n"
+            + "    }\n"
+            + "    return 1 + depth(n - 1);\n"
+            + "}\n"
+            + "int g(int base) {\n"
+            + "    return depth(3);\n"
+            + "}\n"
+            + "print(depth(200000));\n"
+            + "print(g(100));\n";
+
+    @Test
+    void printsTheSameAsTheBoxedAstInterpreter() {
+        for (String name : PROGRAMS) {
+            gParser.ProgramContext tree = Programs.parse(Programs.read(name));
+            AstInterpreter expected = new AstInterpreter(new AstLowering().lower(tree));
+            expected.setSpecialized(false);
+            expected.setPrimitiveFrames(false);
+            expected.run();
+            StackInterpreter interpreter = new StackInterpreter(new AstLowering().lower(tree));
+            interpreter.run();
+            assertEquals(expected.getTextOut(), interpreter.getTextOut(), name);
+            assertEquals(expected.getErrorOut(), interpreter.getErrorOut(), name);
+        }
+    }
+
+    @Test
+    void deepRecursionDoesNotUseTheJavaStack() {
+        gParser.ProgramContext tree = Programs.parse(DEEP);
+        Engine.Result result = Engine.REGISTER_VM.run(tree);
+        assertEquals("\n200007.0\n103.0", result.textOut);
+        assertTrue(result.errorOut.startsWith("\nNota:"), result.errorOut);
+        assertEquals("", result.errorOut.replaceAll("\n?Nota:[^\n]*", ""), result.errorOut);
+    }
+
+    @Test
+    void theFrameBudgetLimitsTheNestedCalls() {
+        Engine.Options options = new Engine.Options();
+        options.setFrameBudget(1000);
+        Engine.Result result = Engine.REGISTER_VM.run(Programs.parse(DEEP), options);
+        assertEquals("", result.textOut);
+        assertTrue(result.errorOut.contains("Desbordamiento de la pila de llamadas en la funcion 'depth'"), result.errorOut);
+        assertTrue(result.errorOut.contains("limite de 1000 llamadas"), result.errorOut);
+    }
+
+    @Test
+    void breakAndContinueReachTheirLoopAcrossBlocks() {
+        gParser.ProgramContext tree = Programs.parse("int x = 0;\n"
+                + "int f(int n) {\n"
+                + "    int s = 0;\n"
+                + "    for (int i = 0; i < n; i++) {\n"
+                + "        if (i == 1) {\n"
+                + "            continue;\n"
+                + "        }\n"
+                + "        int k = 0;\n"
+                + "        while (true) {\n"
+                + "            k++;\n"
+                + "            if (k > i) {\n"
+                + "                break;\n"
+                + "            }\n"
+                + "        }\n"
+                + "        if (i == 4) {\n"
+                + "            return s + x;\n"
+                + "        }\n"
+                + "        s += k;\n"
+                + "    }\n"
+                + "    return s;\n"
+                + "}\n"
+                + "int g(int x) {\n"
+                + "    return f(x);\n"
+                + "}\n"
+                + "print(g(10));\n"
+                + "print(f(3));\n");
+        StackInterpreter interpreter = new StackInterpreter(new AstLowering().lower(tree));
+        interpreter.run();
+        assertEquals("\n18.0\n4.0", interpreter.getTextOut());
+        assertEquals("", interpreter.getErrorOut());
+    }
+}
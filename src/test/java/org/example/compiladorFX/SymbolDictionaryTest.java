@@ -0,0 +1,45 @@
+package org.example.compiladorFX;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.Token;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Internado de los identificadores en el lexer ({@link SymbolDictionary}).
+ */
+class SymbolDictionaryTest {
+
+    @Test
+    void internsEachNameOnce() {
+        SymbolDictionary dictionary = new SymbolDictionary();
+        CommonTokenStream tokens = new CommonTokenStream(dictionary.install(new gLexer(CharStreams.fromString("int a = 1;\na = a + b;\n"))));
+        tokens.fill();
+        Token first = null;
+        for (Token token : tokens.getTokens()) {
+            if (token.getType() == gLexer.ID) {
+                assertEquals(token.getText().equals("a") ? 0 : 1, dictionary.id(token));
+                if (first == null) {
+                    first = token;
+                } else if (token.getText().equals("a")) {
+                    assertSame(first.getText(), token.getText());
+                }
+            }
+        }
+        assertEquals(2, dictionary.size());
+        assertEquals("b", dictionary.name(1));
+    }
+
+    @Test
+    void theVisitorPrintsTheSameWithoutTheDictionary() {
+        String code = Programs.read("funciones.lang");
+        MyVisitorFX plain = new MyVisitorFX("", "");
+        plain.visit(new gParser(new CommonTokenStream(new gLexer(CharStreams.fromString(code)))).program());
+        MyVisitorFX interned = new MyVisitorFX("", "");
+        interned.visit(Programs.parse(code));
+        assertEquals(plain.getTextOut(), interned.getTextOut());
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.compiladorFX;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Conversión de la recursión de cola en ciclos ({@link TailCallElimination}).
+ */
+class TailCallEliminationTest {
+
+    private static final String TAIL = "int acc(int n, int s) {\n"
+            + "    if (n == 0) {\n"
+            + "        return s;\n"
+            + "    }\n"
+            + "    return acc(n - 1, s + n);\n"
+            + "}\n"
+            + "int cola(int n, int s) {\n"
+            + "    int r = s;\n"
+            + "    if (n > 0) {\n"
+            + "        r = cola(n - 1, s + n);\n"
+            + "    }\n"
+            + "    return r;\n"
+            + "}\n"
+            + "int fib(int n) {\n"
+            + "    int r = n;\n"
+            + "    if (n > 1) {\n"
+            + "        r = fib(n - 1) + fib(n - 2);\n"
+            + "    }\n"
+            + "    return r;\n"
+            + "}\n"
+            + "print(acc(100000, 0));\n"
+            + "print(cola(100000, 0));\n"
+            + "print(fib(10));\n";
+
+    @Test
+    void rewritesOnlyCallsInTailPosition() {
+        AstOptimizer optimizer = new AstOptimizer();
+        optimizer.setInlineThreshold(0);
+        optimizer.optimize(Programs.lower(TAIL));
+        assertTrue(optimizer.getTailCalls().containsKey("acc"), optimizer.getTailCalls().toString());
+        assertTrue(optimizer.getTailCalls().containsKey("cola"), optimizer.getTailCalls().toString());
+        assertFalse(optimizer.getTailCalls().containsKey("fib"), optimizer.getTailCalls().toString());
+
+        optimizer = new AstOptimizer();
+        optimizer.setEliminateTailCalls(false);
+        optimizer.optimize(Programs.lower(TAIL));
+        assertEquals(Collections.emptyMap(), optimizer.getTailCalls());
+    }
+
+    @Test
+    void deepTailRecursionRunsInConstantStack() {
+        gParser.ProgramContext tree = Programs.parse(TAIL);
+        for (Engine engine : new Engine[]{Engine.AST, Engine.CLOSURES, Engine.REGISTER_VM, Engine.BYTECODE}) {
+            Engine.Result result = engine.run(tree);
+            assertEquals("", result.errorOut, engine.name());
+            assertEquals("\n5.00005E9\n5.00005E9\n55.0", result.textOut, engine.name());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.compiladorFX;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Representación primitiva de las ranuras asignada por {@link TypeInference}.
+ */
+class TypeInferenceTest {
+
+    @Test
+    void assignsTheKindOfEachDeclaration() {
+        Ast.Program program = Programs.lower("int n = 3;\n"
+                + "double x = 1.5;\n"
+                + "boolean b = true;\n"
+                + "string s = \"a\";\n"
+                + "double f(int k, double y) {\n"
+                + "    boolean par = k > 2;\n"
+                + "    string t = \"b\";\n"
+                + "    return k * y;\n"
+                + "}\n"
+                + "for (int i = 0; i < n; i++) {\n"
+                + "    double z = f(i, x);\n"
+                + "    print(z);\n"
+                + "}\n");
+        TypeInference inference = new TypeInference();
+        inference.infer(program);
+        assertArrayEquals(new Ast.Kind[]{Ast.Kind.LONG, Ast.Kind.DOUBLE, Ast.Kind.LONG, Ast.Kind.REF},
+                program.globalKinds);
+        Ast.Function f = ((Ast.FunctionDecl) program.body[4]).function;
+        assertArrayEquals(new Ast.Kind[]{Ast.Kind.LONG, Ast.Kind.DOUBLE, Ast.Kind.LONG, Ast.Kind.REF}, f.layout.kinds);
+        assertEquals(2, f.layout.longs);
+        assertEquals(1, f.layout.doubles);
+        assertEquals(1, f.layout.refs);
+        Ast.For loop = (Ast.For) program.body[5];
+        assertArrayEquals(new Ast.Kind[]{Ast.Kind.LONG}, loop.layout.kinds);
+        assertArrayEquals(new Ast.Kind[]{Ast.Kind.DOUBLE}, loop.body.layout.kinds);
+        assertEquals(0, inference.getUntyped());
+    }
+
+    @Test
+    void typesTheSlotsAddedByTheInliner() {
+        Ast.Program program = Engine.prepare(Programs.parse("double sq(double v) {\n"
+                + "    return v * v;\n"
+                + "}\n"
+                + "print(sq(3));\n"), new Engine.Options(), new StringBuilder());
+        Ast.Block inlined = (Ast.Block) program.body[1]; // El print con la copia de sq y su parámetro.
+        assertArrayEquals(new Ast.Kind[]{Ast.Kind.DOUBLE}, inlined.layout.kinds);
+    }
+}